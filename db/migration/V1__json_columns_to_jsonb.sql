@@ -0,0 +1,33 @@
+-- Converts the JSON attribute columns of databases created before they were mapped as jsonb, and adds the GIN
+-- indexes that json_contains filters use. Hibernate neither changes the type of an existing column with
+-- ddl-auto=update nor accepts the old text columns with ddl-auto=validate, so run this once against every existing
+-- PostgreSQL database (prod and dev-pg) before starting the new version:
+--
+--   psql -h localhost -U redline -d redlinedb -v ON_ERROR_STOP=1 -f db/migration/V1__json_columns_to_jsonb.sql
+--
+-- Columns that already are jsonb are left alone, so the script can be run more than once.
+
+do $$
+declare
+    col record;
+begin
+    for col in
+        select table_name, column_name
+        from information_schema.columns
+        where table_schema = current_schema()
+          and data_type <> 'jsonb'
+          and (table_name, column_name) in (('tenants', 'properties'),
+                                            ('dataspaces', 'properties'),
+                                            ('dataspace_info', 'properties'),
+                                            ('dataspace_info_partners', 'properties'),
+                                            ('uploaded_files', 'metadata'),
+                                            ('contract_agreements', 'policy'))
+    loop
+        execute format('alter table %I alter column %I type jsonb using %I::jsonb',
+                       col.table_name, col.column_name, col.column_name);
+    end loop;
+end
+$$;
+
+create index if not exists idx_uploaded_files_metadata on uploaded_files using gin (metadata jsonb_path_ops);
+create index if not exists idx_tenants_properties on tenants using gin (properties jsonb_path_ops);
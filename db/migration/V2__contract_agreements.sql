@@ -0,0 +1,23 @@
+-- Creates the table that contract agreements fetched from the control plane are stored in. With ddl-auto=validate
+-- the prod profile does not start without it. Run once against every existing prod database before starting the new
+-- version:
+--
+--   psql -h localhost -U redline -d redlinedb -v ON_ERROR_STOP=1 -f db/migration/V2__contract_agreements.sql
+--
+-- An existing table is left alone, so the script can be run more than once.
+
+create table if not exists contract_agreements (
+    id                     bigint generated by default as identity primary key,
+    version                integer,
+    created_at             timestamp(6) not null,
+    updated_at             timestamp(6),
+    participant_context_id varchar(255) not null,
+    agreement_id           varchar(255) not null,
+    reported_agreement_id  varchar(255),
+    provider_id            varchar(255),
+    consumer_id            varchar(255),
+    asset_id               varchar(255),
+    contract_signing_date  bigint       not null,
+    policy                 jsonb,
+    constraint uk_contract_agreements_participant_agreement unique (participant_context_id, agreement_id)
+);
@@ -0,0 +1,8 @@
+-- Adds the column that the SHA-256 digest of an uploaded file is stored in. With ddl-auto=validate the prod profile
+-- does not start without it. Run once against every existing prod database before starting the new version:
+--
+--   psql -h localhost -U redline -d redlinedb -v ON_ERROR_STOP=1 -f db/migration/V3__uploaded_file_digest.sql
+--
+-- Files uploaded before have no digest. An existing column is left alone, so the script can be run more than once.
+
+alter table uploaded_files add column if not exists digest varchar(255);
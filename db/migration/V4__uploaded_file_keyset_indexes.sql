@@ -0,0 +1,10 @@
+-- Adds the indexes that the file listing pages through with keyset cursors. ddl-auto=validate does not create
+-- indexes, so without them every page of a prod database scans the files of the participant. Run once against every
+-- existing prod database:
+--
+--   psql -h localhost -U redline -d redlinedb -v ON_ERROR_STOP=1 -f db/migration/V4__uploaded_file_keyset_indexes.sql
+--
+-- Existing indexes are left alone, so the script can be run more than once.
+
+create index if not exists idx_uploaded_files_participant_created on uploaded_files (uploaded_files, created_at, id);
+create index if not exists idx_uploaded_files_participant_filename on uploaded_files (uploaded_files, original_filename, id);
@@ -0,0 +1,13 @@
+-- Adds the indexes that the tenant, service provider, dataspace and partner listings page through with keyset
+-- cursors. ddl-auto=validate does not create indexes, so without them every page of a prod database scans the table.
+-- Run once against every existing prod database:
+--
+--   psql -h localhost -U redline -d redlinedb -v ON_ERROR_STOP=1 -f db/migration/V5__list_keyset_indexes.sql
+--
+-- Existing indexes are left alone, so the script can be run more than once.
+
+create index if not exists idx_tenants_provider_id on tenants (service_provider_id, id);
+create index if not exists idx_tenants_provider_name on tenants (service_provider_id, name, id);
+create index if not exists idx_providers_name on providers (name, id);
+create index if not exists idx_dataspaces_name on dataspaces (name, id);
+create index if not exists idx_dataspace_info_partners_identifier on dataspace_info_partners (dataspace_info_id, identifier);
@@ -0,0 +1,67 @@
+/*
+ *  Copyright (c) 2026 Metaform Systems, Inc.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Metaform Systems, Inc. - initial API and implementation
+ *
+ */
+
+package com.metaformsystems.redline.domain.entity;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes and reads the {@code properties} and {@code metadata} maps that are stored in JSON columns. Hibernate maps
+ * them with Jackson, using an object mapper with the modules found on the classpath, which is what this benchmark
+ * does too.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class JsonColumnBenchmark {
+    private static final TypeReference<Map<String, Object>> MAP_TYPE = new TypeReference<>() {
+    };
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final Map<String, Object> properties = Map.of(
+            "region", "eu-central",
+            "tier", "gold",
+            "maxConnections", 100,
+            "contact", Map.of("name", "Data Steward", "email", "steward@example.com"),
+            "labels", List.of("production", "gdpr", "pull"));
+    private String json;
+
+    @Setup
+    public void setUp() throws IOException {
+        json = objectMapper.writeValueAsString(properties);
+    }
+
+    @Benchmark
+    public String write() throws IOException {
+        return objectMapper.writeValueAsString(properties);
+    }
+
+    @Benchmark
+    public Map<String, Object> read() throws IOException {
+        return objectMapper.readValue(json, MAP_TYPE);
+    }
+}
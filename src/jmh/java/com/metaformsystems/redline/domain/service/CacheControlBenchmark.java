@@ -0,0 +1,51 @@
+/*
+ *  Copyright (c) 2026 Metaform Systems, Inc.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Metaform Systems, Inc. - initial API and implementation
+ *
+ */
+
+package com.metaformsystems.redline.domain.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parses the {@code Cache-Control} headers that decide whether a cached catalog or DID document can be served.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CacheControlBenchmark {
+
+    @Param({"max-age=300", "public, max-age=3600, stale-while-revalidate=60", "no-cache"})
+    private String cacheControl;
+
+    private final WebDidResolver webDidResolver = new WebDidResolver();
+
+    @Benchmark
+    public Duration catalogMaxAge() {
+        return CatalogCache.maxAge(cacheControl);
+    }
+
+    @Benchmark
+    public Instant didDocumentExpiry() {
+        return webDidResolver.expiry(cacheControl);
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ *  Copyright (c) 2026 Metaform Systems, Inc.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Metaform Systems, Inc. - initial API and implementation
+ *
+ */
+
+package com.metaformsystems.redline.domain.service;
+
+import com.metaformsystems.redline.api.dto.response.Participant;
+import com.metaformsystems.redline.api.dto.response.Tenant;
+import com.metaformsystems.redline.domain.entity.DataspaceInfo;
+import com.metaformsystems.redline.domain.entity.DeploymentState;
+import com.metaformsystems.redline.domain.entity.ServiceProvider;
+import com.metaformsystems.redline.domain.entity.VirtualParticipantAgent;
+import com.metaformsystems.redline.domain.entity.VirtualParticipantAgent.VpaType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Maps tenant and participant entities to their API resources, which every tenant and participant response does.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TenantMappingBenchmark {
+
+    @Param({"1", "10"})
+    private int participants;
+
+    private TenantService tenantService;
+    private com.metaformsystems.redline.domain.entity.Tenant tenant;
+    private com.metaformsystems.redline.domain.entity.Participant participant;
+
+    @Setup
+    public void setUp() {
+        // the mappers do not touch any of the collaborators
+        tenantService = new TenantService(null, null, null, null, null, null, null);
+
+        var serviceProvider = new ServiceProvider();
+        serviceProvider.setName("Benchmark Provider");
+        tenant = new com.metaformsystems.redline.domain.entity.Tenant();
+        tenant.setName("Benchmark Tenant");
+        tenant.setServiceProvider(serviceProvider);
+        tenant.setProperties(Map.of("region", "eu-central", "tier", "gold"));
+        for (var i = 0; i < participants; i++) {
+            var participant = new com.metaformsystems.redline.domain.entity.Participant();
+            participant.setIdentifier("did:web:participant-" + i);
+            for (var type : List.of(VpaType.CONTROL_PLANE, VpaType.DATA_PLANE, VpaType.CREDENTIAL_SERVICE)) {
+                participant.getAgents().add(new VirtualParticipantAgent(type, DeploymentState.ACTIVE));
+            }
+            for (var j = 0; j < 2; j++) {
+                var info = new DataspaceInfo();
+                info.setDataspaceId((long) j);
+                info.setAgreementTypes(new ArrayList<>(List.of("MembershipCredential", "DataProcessorCredential")));
+                info.setRoles(new ArrayList<>(List.of("provider", "consumer")));
+                info.setProperties(Map.of("key", "value"));
+                participant.getDataspaceInfos().add(info);
+            }
+            tenant.addParticipant(participant);
+        }
+        participant = tenant.getParticipants().iterator().next();
+    }
+
+    @Benchmark
+    public Tenant toTenantResource() {
+        return tenantService.toTenantResource(tenant);
+    }
+
+    @Benchmark
+    public Participant toParticipantResource() {
+        return tenantService.toParticipantResource(participant);
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ *  Copyright (c) 2026 Metaform Systems, Inc.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Metaform Systems, Inc. - initial API and implementation
+ *
+ */
+
+package com.metaformsystems.redline.domain.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parses a {@code did:web} document and extracts its protocol endpoints, as done for every DID that is not cached.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class WebDidDocumentBenchmark {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final WebDidResolver webDidResolver = new WebDidResolver(null, objectMapper);
+    private String didDocument;
+
+    @Setup
+    public void setUp() throws IOException {
+        try (var in = Objects.requireNonNull(getClass().getResourceAsStream("/did.json"))) {
+            didDocument = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    @Benchmark
+    public List<String> parseDidDocument() throws IOException {
+        return webDidResolver.extractProtocolEndpoints(objectMapper.readTree(didDocument));
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ *  Copyright (c) 2026 Metaform Systems, Inc.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Metaform Systems, Inc. - initial API and implementation
+ *
+ */
+
+package com.metaformsystems.redline.infrastructure.client.management.dto;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reads and writes the management API DTOs that are passed through on every catalog, negotiation and transfer
+ * request, with an object mapper configured like the one of the application.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ManagementDtoJsonBenchmark {
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private String catalogJson;
+    private String negotiationJson;
+    private String transferProcessJson;
+    private Catalog catalog;
+    private ContractNegotiation negotiation;
+    private TransferProcess transferProcess;
+
+    @Setup
+    public void setUp() throws IOException {
+        catalogJson = resource("/catalog.json");
+        negotiationJson = resource("/contract-negotiation.json");
+        transferProcessJson = resource("/transfer-process.json");
+        catalog = objectMapper.readValue(catalogJson, Catalog.class);
+        negotiation = objectMapper.readValue(negotiationJson, ContractNegotiation.class);
+        transferProcess = objectMapper.readValue(transferProcessJson, TransferProcess.class);
+    }
+
+    @Benchmark
+    public Catalog readCatalog() throws IOException {
+        return objectMapper.readValue(catalogJson, Catalog.class);
+    }
+
+    @Benchmark
+    public String writeCatalog() throws IOException {
+        return objectMapper.writeValueAsString(catalog);
+    }
+
+    @Benchmark
+    public ContractNegotiation readContractNegotiation() throws IOException {
+        return objectMapper.readValue(negotiationJson, ContractNegotiation.class);
+    }
+
+    @Benchmark
+    public String writeContractNegotiation() throws IOException {
+        return objectMapper.writeValueAsString(negotiation);
+    }
+
+    @Benchmark
+    public TransferProcess readTransferProcess() throws IOException {
+        return objectMapper.readValue(transferProcessJson, TransferProcess.class);
+    }
+
+    @Benchmark
+    public String writeTransferProcess() throws IOException {
+        return objectMapper.writeValueAsString(transferProcess);
+    }
+
+    private String resource(String name) throws IOException {
+        try (var in = Objects.requireNonNull(getClass().getResourceAsStream(name))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ *  Copyright (c) 2026 Metaform Systems, Inc.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Metaform Systems, Inc. - initial API and implementation
+ *
+ */
+
+package com.metaformsystems.redline.infrastructure.config;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.security.authentication.AbstractAuthenticationToken;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Converts a Keycloak access token with scopes, realm roles and client roles into an authentication, as done for
+ * every authenticated request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class JwtAuthenticationConverterBenchmark {
+
+    private final JwtAuthenticationConverter converter = new SecurityConfig().jwtAuthenticationConverter();
+    private final Jwt jwt = Jwt.withTokenValue("token")
+            .header("alg", "RS256")
+            .subject("f3b1c2d4-5e6f-4a7b-8c9d-0e1f2a3b4c5d")
+            .issuer("https://keycloak.example.com/realms/redline")
+            .issuedAt(Instant.now())
+            .expiresAt(Instant.now().plusSeconds(300))
+            .claim("scope", "openid profile email")
+            .claim("realm_access", Map.of("roles", List.of("offline_access", "uma_authorization", "USER")))
+            .claim("resource_access", Map.of(
+                    "redline", Map.of("roles", List.of("PROVIDER_ADMIN", "TENANT_ADMIN")),
+                    "account", Map.of("roles", List.of("manage-account", "view-profile"))))
+            .build();
+
+    @Benchmark
+    public AbstractAuthenticationToken convert() {
+        return converter.convert(jwt);
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ *  Copyright (c) 2026 Metaform Systems, Inc.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Metaform Systems, Inc. - initial API and implementation
+ *
+ */
+
+package com.metaformsystems.redline.loadtest;
+
+import com.metaformsystems.redline.loadtest.TrafficMix.Operation;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Records the latencies of the requests of one simulated user. Recorders are not thread-safe, the latencies of all
+ * users are merged once the run is over.
+ */
+class LatencyRecorder {
+    private final Map<Operation, Samples> samples = new EnumMap<>(Operation.class);
+
+    void record(Operation operation, long latencyNanos, boolean failed) {
+        samples.computeIfAbsent(operation, o -> new Samples()).add(latencyNanos, failed);
+    }
+
+    void addAll(LatencyRecorder other) {
+        other.samples.forEach((operation, otherSamples) -> samples.computeIfAbsent(operation, o -> new Samples()).addAll(otherSamples));
+    }
+
+    Map<Operation, Samples> samples() {
+        return samples;
+    }
+
+    static class Samples {
+        private long[] latencies = new long[1024];
+        private int count;
+        private long errors;
+
+        void add(long latencyNanos, boolean failed) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = latencyNanos;
+            if (failed) {
+                errors++;
+            }
+        }
+
+        void addAll(Samples other) {
+            if (count + other.count > latencies.length) {
+                latencies = Arrays.copyOf(latencies, Math.max(latencies.length * 2, count + other.count));
+            }
+            System.arraycopy(other.latencies, 0, latencies, count, other.count);
+            count += other.count;
+            errors += other.errors;
+        }
+
+        int count() {
+            return count;
+        }
+
+        long errors() {
+            return errors;
+        }
+
+        /**
+         * Returns the latencies in ascending order.
+         */
+        long[] sorted() {
+            var sorted = Arrays.copyOf(latencies, count);
+            Arrays.sort(sorted);
+            return sorted;
+        }
+    }
+}
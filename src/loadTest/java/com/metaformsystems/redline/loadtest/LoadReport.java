@@ -0,0 +1,111 @@
+/*
+ *  Copyright (c) 2026 Metaform Systems, Inc.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Metaform Systems, Inc. - initial API and implementation
+ *
+ */
+
+package com.metaformsystems.redline.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.metaformsystems.redline.loadtest.LatencyRecorder.Samples;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Throughput and latency percentiles of a load test run, per operation and in total. Written as JSON, so that runs
+ * with different settings or execution modes can be compared.
+ */
+record LoadReport(String executionMode,
+                  int users,
+                  String duration,
+                  String mix,
+                  Map<String, String> standInLatencies,
+                  List<OperationResult> operations,
+                  OperationResult total) {
+
+    static LoadReport of(LoadTestSettings settings, Duration measured, LatencyRecorder recorder) {
+        var operations = new ArrayList<OperationResult>();
+        var all = new Samples();
+        recorder.samples().forEach((operation, samples) -> {
+            operations.add(OperationResult.of(operation.key(), samples, measured));
+            all.addAll(samples);
+        });
+        var latencies = new LinkedHashMap<String, String>();
+        settings.latencies().forEach((standIn, latency) -> latencies.put(standIn.key(), latency.toString()));
+        return new LoadReport(settings.executionMode(), settings.users(), measured.toString(), settings.mix().toString(),
+                latencies, operations, OperationResult.of("total", all, measured));
+    }
+
+    /**
+     * Writes the report to {@code load-test-<execution mode>.json} in the given directory and returns the file.
+     */
+    Path write(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        var file = directory.resolve("load-test-%s.json".formatted(executionMode));
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file.toFile(), this);
+        return file;
+    }
+
+    String toTable() {
+        var table = new StringBuilder("%-16s %10s %8s %10s %10s %10s %10s %10s%n"
+                .formatted("operation", "requests", "errors", "req/s", "p50 ms", "p99 ms", "p999 ms", "max ms"));
+        for (var result : operations) {
+            table.append(result.toRow());
+        }
+        return table.append(total.toRow()).toString();
+    }
+
+    record OperationResult(String operation,
+                           long requests,
+                           long errors,
+                           double throughput,
+                           double p50Millis,
+                           double p99Millis,
+                           double p999Millis,
+                           double maxMillis) {
+
+        static OperationResult of(String operation, Samples samples, Duration measured) {
+            var sorted = samples.sorted();
+            var seconds = measured.toNanos() / 1e9;
+            return new OperationResult(operation, sorted.length, samples.errors(), sorted.length / seconds,
+                    percentile(sorted, 0.5), percentile(sorted, 0.99), percentile(sorted, 0.999),
+                    sorted.length > 0 ? millis(sorted[sorted.length - 1]) : 0);
+        }
+
+        /**
+         * Nearest-rank percentile of the sorted latencies, in milliseconds.
+         */
+        private static double percentile(long[] sorted, double percentile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            var rank = (int) Math.ceil(percentile * sorted.length);
+            return millis(sorted[Math.max(rank, 1) - 1]);
+        }
+
+        private static double millis(long nanos) {
+            return nanos / 1e6;
+        }
+
+        private String toRow() {
+            return "%-16s %10d %8d %10.1f %10.2f %10.2f %10.2f %10.2f%n"
+                    .formatted(operation, requests, errors, throughput, p50Millis, p99Millis, p999Millis, maxMillis);
+        }
+    }
+}
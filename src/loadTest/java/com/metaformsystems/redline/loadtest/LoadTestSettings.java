@@ -0,0 +1,86 @@
+/*
+ *  Copyright (c) 2026 Metaform Systems, Inc.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Metaform Systems, Inc. - initial API and implementation
+ *
+ */
+
+package com.metaformsystems.redline.loadtest;
+
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Settings of a load test run, read from {@code loadTest.*} system properties. {@code ./gradlew loadTest} passes on
+ * all {@code -PloadTest.*} project properties.
+ *
+ * @param duration       how long requests are measured, {@code loadTest.duration}
+ * @param warmUp         how long requests are sent before measuring starts, {@code loadTest.warmUp}
+ * @param users          number of simulated users, each sending one request after the other, {@code loadTest.users}
+ * @param virtualThreads whether Redline serves requests on virtual threads, {@code loadTest.virtualThreads}
+ * @param requestThreads size of the Tomcat request thread pool, {@code loadTest.requestThreads}
+ * @param latencies      response latency of each stand-in, {@code loadTest.latency.<stand-in>}
+ * @param mix            relative weights of the operations, {@code loadTest.mix}
+ * @param uploadSize     size of an uploaded file, {@code loadTest.uploadSize}
+ * @param downloadSize   size of a downloaded file, {@code loadTest.downloadSize}
+ * @param maxErrorRate   share of failed requests above which the run fails, {@code loadTest.maxErrorRate}
+ * @param reportDir      directory the JSON report is written to, {@code loadTest.reportDir}
+ */
+record LoadTestSettings(Duration duration,
+                        Duration warmUp,
+                        int users,
+                        boolean virtualThreads,
+                        int requestThreads,
+                        Map<StandIn, Duration> latencies,
+                        TrafficMix mix,
+                        DataSize uploadSize,
+                        DataSize downloadSize,
+                        double maxErrorRate,
+                        Path reportDir) {
+
+    static LoadTestSettings fromSystemProperties() {
+        var latencies = new EnumMap<StandIn, Duration>(StandIn.class);
+        for (var standIn : StandIn.values()) {
+            latencies.put(standIn, duration("latency." + standIn.key(), standIn.defaultLatency()));
+        }
+        return new LoadTestSettings(
+                duration("duration", "30s"),
+                duration("warmUp", "5s"),
+                Integer.parseInt(property("users", "32")),
+                Boolean.parseBoolean(property("virtualThreads", "false")),
+                Integer.parseInt(property("requestThreads", "200")),
+                latencies,
+                TrafficMix.parse(property("mix", "catalog=30,negotiate=10,transfer=10,transferStatus=10,upload=10,download=30")),
+                DataSize.parse(property("uploadSize", "64KB")),
+                DataSize.parse(property("downloadSize", "1MB")),
+                Double.parseDouble(property("maxErrorRate", "0.01")),
+                Path.of(property("reportDir", "build/reports/load-test")));
+    }
+
+    /**
+     * Name of the execution mode, used to tell the reports of different runs apart.
+     */
+    String executionMode() {
+        return virtualThreads ? "virtual-threads" : "platform-threads-" + requestThreads;
+    }
+
+    private static Duration duration(String name, String defaultValue) {
+        return DurationStyle.detectAndParse(property(name, defaultValue));
+    }
+
+    private static String property(String name, String defaultValue) {
+        return System.getProperty("loadTest." + name, defaultValue);
+    }
+}
@@ -0,0 +1,226 @@
+/*
+ *  Copyright (c) 2026 Metaform Systems, Inc.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Metaform Systems, Inc. - initial API and implementation
+ *
+ */
+
+package com.metaformsystems.redline.loadtest;
+
+import com.metaformsystems.redline.domain.entity.ClientCredentials;
+import com.metaformsystems.redline.domain.entity.Participant;
+import com.metaformsystems.redline.domain.entity.ServiceProvider;
+import com.metaformsystems.redline.domain.entity.Tenant;
+import com.metaformsystems.redline.domain.repository.ParticipantRepository;
+import com.metaformsystems.redline.domain.repository.ServiceProviderRepository;
+import com.metaformsystems.redline.domain.repository.TenantRepository;
+import com.metaformsystems.redline.loadtest.TrafficMix.Operation;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Drives a mix of {@code /api/ui} traffic against Redline, with every service Redline talks to replaced by a
+ * {@link StandIns stand-in} that answers after a configurable latency. Each simulated user sends one request after the
+ * other for the duration of the run. Throughput and latency percentiles are logged and written to the report
+ * directory, see {@link LoadTestSettings} for the settings.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("dev")
+class RedlineLoadTest {
+    private static final Logger log = LoggerFactory.getLogger(RedlineLoadTest.class);
+    private static final String BOUNDARY = "redline-load-test-boundary";
+    private static final int COUNTER_PARTIES = 10;
+    private static final LoadTestSettings settings = LoadTestSettings.fromSystemProperties();
+    private static StandIns standIns;
+
+    @LocalServerPort
+    private int port;
+    @Autowired
+    private ServiceProviderRepository serviceProviderRepository;
+    @Autowired
+    private TenantRepository tenantRepository;
+    @Autowired
+    private ParticipantRepository participantRepository;
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+    private String participantUrl;
+    private byte[] uploadBody;
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) throws IOException {
+        standIns = StandIns.start(settings.latencies(), (int) settings.downloadSize().toBytes());
+        for (var standIn : StandIn.values()) {
+            standIn.properties().forEach(property -> registry.add(property, () -> standIns.url(standIn)));
+        }
+        var workloadToken = Files.createTempFile("workload-token", null);
+        Files.writeString(workloadToken, "workload-token");
+        workloadToken.toFile().deleteOnExit();
+        registry.add("token.file.path", workloadToken::toString);
+
+        registry.add("spring.threads.virtual.enabled", settings::virtualThreads);
+        registry.add("server.tomcat.threads.max", settings::requestThreads);
+        // participant profiles are not reconciled against the tenant manager stand-in
+        registry.add("scheduling.enabled", () -> false);
+        // request logging would drown the report
+        registry.add("logging.level.com.metaformsystems.redline", () -> "WARN");
+    }
+
+    @AfterAll
+    static void stopStandIns() throws IOException {
+        standIns.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        // requests are served outside the test thread, so the test data must be committed
+        var serviceProvider = new ServiceProvider();
+        serviceProvider.setName("Load Test Provider");
+        serviceProvider = serviceProviderRepository.save(serviceProvider);
+
+        var tenant = new Tenant();
+        tenant.setName("Load Test Tenant");
+        tenant.setServiceProvider(serviceProvider);
+        tenant = tenantRepository.save(tenant);
+
+        var participant = new Participant();
+        participant.setParticipantContextId("ctx-load-test");
+        participant.setIdentifier("did:web:load-test");
+        participant.setClientCredentials(new ClientCredentials("client-id", "client-secret"));
+        participant.setTenant(tenant);
+        participant = participantRepository.save(participant);
+
+        participantUrl = "http://localhost:%d/api/ui/service-providers/%d/tenants/%d/participants/%d"
+                .formatted(port, serviceProvider.getId(), tenant.getId(), participant.getId());
+        uploadBody = multipartBody((int) settings.uploadSize().toBytes());
+    }
+
+    @Test
+    void trafficMix() throws Exception {
+        log.warn("Load test: {} users for {} after {} warm-up, {}, mix {}", settings.users(), settings.duration(),
+                settings.warmUp(), settings.executionMode(), settings.mix());
+
+        var start = System.nanoTime();
+        var measureFrom = start + settings.warmUp().toNanos();
+        var measureUntil = measureFrom + settings.duration().toNanos();
+        var recorders = new ArrayList<LatencyRecorder>();
+        try (var users = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (var i = 0; i < settings.users(); i++) {
+                var recorder = new LatencyRecorder();
+                recorders.add(recorder);
+                users.submit(() -> simulateUser(recorder, measureFrom, measureUntil));
+            }
+        }
+
+        var recorder = new LatencyRecorder();
+        recorders.forEach(recorder::addAll);
+        var report = LoadReport.of(settings, settings.duration(), recorder);
+        var file = report.write(settings.reportDir());
+        log.warn("Load test results, written to {}:{}{}", file, System.lineSeparator(), report.toTable());
+
+        assertThat(report.total().requests()).isPositive();
+        assertThat((double) report.total().errors() / report.total().requests())
+                .as("error rate")
+                .isLessThanOrEqualTo(settings.maxErrorRate());
+    }
+
+    private void simulateUser(LatencyRecorder recorder, long measureFrom, long measureUntil) {
+        long now;
+        while ((now = System.nanoTime()) < measureUntil) {
+            var operation = settings.mix().next();
+            var failed = false;
+            try {
+                var response = httpClient.send(request(operation), HttpResponse.BodyHandlers.discarding());
+                failed = response.statusCode() >= 400;
+            } catch (IOException e) {
+                failed = true;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (now >= measureFrom) {
+                recorder.record(operation, System.nanoTime() - now, failed);
+            }
+        }
+    }
+
+    private HttpRequest request(Operation operation) {
+        var counterParty = standIns.did("provider-" + ThreadLocalRandom.current().nextInt(COUNTER_PARTIES));
+        return switch (operation) {
+            case CATALOG -> post("/catalog", """
+                    {"counterPartyIdentifier": "%s"}""".formatted(counterParty));
+            case NEGOTIATE -> post("/contracts", """
+                    {"assetId": "asset-1", "offerId": "offer-1", "providerId": "%s"}""".formatted(counterParty));
+            case TRANSFER -> post("/transfers", """
+                    {"counterPartyId": "%s", "contractId": "agreement-1", "transferType": "HttpData-PULL", "dataDestination": {"type": "HttpProxy"}}"""
+                    .formatted(counterParty));
+            case TRANSFER_STATUS -> HttpRequest.newBuilder(URI.create(participantUrl + "/transfers/transfer-1")).GET().build();
+            case UPLOAD -> HttpRequest.newBuilder(URI.create(participantUrl + "/files"))
+                    .header("Content-Type", "multipart/form-data; boundary=" + BOUNDARY)
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(uploadBody))
+                    .build();
+            case DOWNLOAD -> HttpRequest.newBuilder(URI.create(participantUrl + "/files/file-1"))
+                    .header("Authorization", "Bearer edr-token")
+                    .GET()
+                    .build();
+        };
+    }
+
+    private HttpRequest post(String path, String json) {
+        return HttpRequest.newBuilder(URI.create(participantUrl + path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    /**
+     * Builds an upload request body, with the metadata parts before the file part as the upload endpoint expects.
+     */
+    private static byte[] multipartBody(int fileSize) {
+        var content = new byte[fileSize];
+        ThreadLocalRandom.current().nextBytes(content);
+        var body = new ByteArrayOutputStream();
+        for (var part : List.of("publicMetadata", "privateMetadata")) {
+            body.writeBytes("--%s\r\nContent-Disposition: form-data; name=\"%s\"\r\nContent-Type: application/json\r\n\r\n{}\r\n"
+                    .formatted(BOUNDARY, part).getBytes(StandardCharsets.UTF_8));
+        }
+        body.writeBytes("--%s\r\nContent-Disposition: form-data; name=\"file\"; filename=\"load-test.bin\"\r\nContent-Type: application/octet-stream\r\n\r\n"
+                .formatted(BOUNDARY).getBytes(StandardCharsets.UTF_8));
+        body.writeBytes(content);
+        body.writeBytes("\r\n--%s--\r\n".formatted(BOUNDARY).getBytes(StandardCharsets.UTF_8));
+        return body.toByteArray();
+    }
+}
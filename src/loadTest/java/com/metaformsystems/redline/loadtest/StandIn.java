@@ -0,0 +1,78 @@
+/*
+ *  Copyright (c) 2026 Metaform Systems, Inc.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Metaform Systems, Inc. - initial API and implementation
+ *
+ */
+
+package com.metaformsystems.redline.loadtest;
+
+import java.util.List;
+
+/**
+ * The services Redline talks to, each replaced by a local stand-in under its own path prefix.
+ */
+enum StandIn {
+    CONTROL_PLANE("controlPlane", "/cp", "50ms", List.of("controlplane.url", "management.url")),
+    DATA_PLANE("dataPlane", "/dp", "20ms", List.of("dataplane.url", "dataplane.internal.url")),
+    TENANT_MANAGER("tenantManager", "/tm", "50ms", List.of("tenant-manager.url")),
+    IDENTITY_HUB("identityHub", "/ih", "20ms", List.of("identityhub.url")),
+    VAULT("vault", "/vault", "5ms", List.of("vault.url")),
+    SIGLET("siglet", "/siglet", "10ms", List.of("siglet.url")),
+    TOKEN_EXCHANGE("tokenExchange", "/sts", "20ms", List.of("token.exchange.url", "keycloak.tokenurl")),
+    // did:web documents of the counter-parties, resolved without a Redline property
+    DID_HOST("didHost", "/did", "30ms", List.of());
+
+    private final String key;
+    private final String pathPrefix;
+    private final String defaultLatency;
+    private final List<String> properties;
+
+    StandIn(String key, String pathPrefix, String defaultLatency, List<String> properties) {
+        this.key = key;
+        this.pathPrefix = pathPrefix;
+        this.defaultLatency = defaultLatency;
+        this.properties = properties;
+    }
+
+    /**
+     * Returns the stand-in that serves the given request path, or {@code null} if there is none.
+     */
+    static StandIn of(String path) {
+        for (var standIn : values()) {
+            if (path.startsWith(standIn.pathPrefix + "/") || path.equals(standIn.pathPrefix)) {
+                return standIn;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Name of the stand-in in settings and reports.
+     */
+    String key() {
+        return key;
+    }
+
+    String pathPrefix() {
+        return pathPrefix;
+    }
+
+    String defaultLatency() {
+        return defaultLatency;
+    }
+
+    /**
+     * The Redline properties that point to this service.
+     */
+    List<String> properties() {
+        return properties;
+    }
+}
@@ -0,0 +1,192 @@
+/*
+ *  Copyright (c) 2026 Metaform Systems, Inc.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Metaform Systems, Inc. - initial API and implementation
+ *
+ */
+
+package com.metaformsystems.redline.loadtest;
+
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import okio.Buffer;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serves all {@link StandIn}s from one mock web server. Every response is held back for the configured latency of its
+ * stand-in before its headers are sent, like a slow connector would.
+ */
+class StandIns extends Dispatcher implements AutoCloseable {
+    private static final String CATALOG = """
+            {
+              "@id": "catalog-1",
+              "@type": "Catalog",
+              "participantId": "did:web:provider",
+              "dataset": [%s],
+              "service": [
+                {"@id": "dsp", "@type": "DataService", "endpointURL": "%s"}
+              ]
+            }
+            """;
+    private static final String DATASET = """
+            {
+              "@id": "asset-%1$d",
+              "@type": "Dataset",
+              "hasPolicy": [
+                {
+                  "@id": "offer-%1$d",
+                  "@type": "Offer",
+                  "permission": [{"action": "use", "constraint": [{"leftOperand": "MembershipCredential", "operator": "eq", "rightOperand": "active"}]}],
+                  "prohibition": [],
+                  "obligation": []
+                }
+              ],
+              "distribution": [{"@type": "Distribution", "format": "HttpData-PULL"}]
+            }
+            """;
+    private static final String TRANSFER_PROCESS = """
+            {
+              "@id": "%s",
+              "type": "CONSUMER",
+              "state": "STARTED",
+              "assetId": "asset-1",
+              "contractId": "agreement-1",
+              "transferType": "HttpData-PULL"
+            }
+            """;
+    private static final String DID_DOCUMENT = """
+            {
+              "id": "did:web:stand-in",
+              "service": [{"id": "dsp", "type": "ProtocolEndpoint", "serviceEndpoint": "%s"}]
+            }
+            """;
+
+    private final MockWebServer server = new MockWebServer();
+    private final Map<StandIn, Duration> latencies;
+    private final byte[] download;
+    private final String catalog;
+    private final Thread drain;
+
+    private StandIns(Map<StandIn, Duration> latencies, int downloadSize) {
+        this.latencies = latencies;
+        this.download = new byte[downloadSize];
+        ThreadLocalRandom.current().nextBytes(download);
+        var datasets = new StringBuilder();
+        for (var i = 0; i < 10; i++) {
+            datasets.append(i > 0 ? "," : "").append(DATASET.formatted(i));
+        }
+        this.catalog = CATALOG.formatted(datasets, "http://localhost/dsp");
+        // the mock web server keeps every request it receives, which would add up to the whole upload volume
+        this.drain = Thread.ofPlatform().daemon().name("stand-in-drain").unstarted(() -> {
+            try {
+                while (!Thread.currentThread().isInterrupted()) {
+                    server.takeRequest();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+    }
+
+    static StandIns start(Map<StandIn, Duration> latencies, int downloadSize) throws IOException {
+        var standIns = new StandIns(latencies, downloadSize);
+        standIns.server.setDispatcher(standIns);
+        standIns.server.start(InetAddress.getByName("localhost"), 0);
+        standIns.drain.start();
+        return standIns;
+    }
+
+    /**
+     * Base URL of the given stand-in.
+     */
+    String url(StandIn standIn) {
+        return server.url(standIn.pathPrefix()).toString();
+    }
+
+    /**
+     * Returns a {@code did:web} DID that resolves to a document served by the DID host stand-in.
+     */
+    String did(String name) {
+        return "did:web:%s%%3A%d:%s:%s".formatted(server.getHostName(), server.getPort(), StandIn.DID_HOST.pathPrefix().substring(1), name);
+    }
+
+    @Override
+    public MockResponse dispatch(RecordedRequest request) {
+        var path = request.getPath();
+        var standIn = path != null ? StandIn.of(path) : null;
+        if (standIn == null) {
+            return new MockResponse().setResponseCode(404);
+        }
+        return respond(standIn, request.getMethod(), path.substring(standIn.pathPrefix().length()))
+                .setHeadersDelay(latencies.get(standIn).toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void close() throws IOException {
+        drain.interrupt();
+        server.shutdown();
+    }
+
+    private MockResponse respond(StandIn standIn, String method, String path) {
+        return switch (standIn) {
+            case CONTROL_PLANE -> controlPlane(method, path);
+            case DATA_PLANE -> dataPlane(method, path);
+            case SIGLET -> json("{\"token\": \"edr-token\"}");
+            case VAULT -> json("{\"data\": {\"data\": {\"content\": \"stand-in-secret\"}}, \"lease_duration\": 0}");
+            case TOKEN_EXCHANGE -> json("{\"access_token\": \"stand-in-token\", \"token_type\": \"Bearer\", \"expires_in\": 300}");
+            case DID_HOST -> json(DID_DOCUMENT.formatted(server.url("/dsp")));
+            case TENANT_MANAGER, IDENTITY_HUB -> json("{}");
+        };
+    }
+
+    private MockResponse controlPlane(String method, String path) {
+        if (path.endsWith("/catalog/request")) {
+            return json(catalog);
+        }
+        if (path.endsWith("/request")) {
+            return json("[]");
+        }
+        if ("POST".equals(method) && (path.endsWith("/contractnegotiations") || path.endsWith("/transferprocesses"))) {
+            return json("{\"@id\": \"%s\"}".formatted(UUID.randomUUID()));
+        }
+        if ("GET".equals(method) && path.contains("/transferprocesses/")) {
+            return json(TRANSFER_PROCESS.formatted(path.substring(path.lastIndexOf('/') + 1)));
+        }
+        // assets, policies and contract definitions are created and deleted without a response body
+        return new MockResponse().setResponseCode(200);
+    }
+
+    private MockResponse dataPlane(String method, String path) {
+        if ("POST".equals(method) && path.endsWith("/certs")) {
+            return json("{\"id\": \"%s\"}".formatted(UUID.randomUUID()));
+        }
+        if ("GET".equals(method) && path.startsWith("/certs/")) {
+            return new MockResponse()
+                    .addHeader("Content-Type", "application/octet-stream")
+                    .setBody(new Buffer().write(download));
+        }
+        return json("[]");
+    }
+
+    private static MockResponse json(String body) {
+        return new MockResponse()
+                .addHeader("Content-Type", "application/json")
+                .setBody(body);
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ *  Copyright (c) 2026 Metaform Systems, Inc.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Metaform Systems, Inc. - initial API and implementation
+ *
+ */
+
+package com.metaformsystems.redline.loadtest;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+
+/**
+ * Relative weights of the operations the simulated users perform, parsed from e.g. {@code catalog=30,download=70}.
+ * Operations that are not mentioned are not performed.
+ */
+record TrafficMix(Map<Operation, Integer> weights) {
+
+    TrafficMix {
+        if (weights.isEmpty() || weights.values().stream().anyMatch(weight -> weight < 0)
+                || weights.values().stream().mapToInt(Integer::intValue).sum() == 0) {
+            throw new IllegalArgumentException("the traffic mix needs at least one operation with a positive weight: " + weights);
+        }
+    }
+
+    static TrafficMix parse(String mix) {
+        var weights = new EnumMap<Operation, Integer>(Operation.class);
+        for (var entry : mix.split(",")) {
+            var keyAndWeight = entry.trim().split("=");
+            if (keyAndWeight.length != 2) {
+                throw new IllegalArgumentException("expected <operation>=<weight>, got " + entry);
+            }
+            weights.put(Operation.of(keyAndWeight[0].trim()), Integer.parseInt(keyAndWeight[1].trim()));
+        }
+        return new TrafficMix(weights);
+    }
+
+    /**
+     * Picks an operation at random, according to the weights.
+     */
+    Operation next() {
+        var total = weights.values().stream().mapToInt(Integer::intValue).sum();
+        var pick = ThreadLocalRandom.current().nextInt(total);
+        for (var entry : weights.entrySet()) {
+            pick -= entry.getValue();
+            if (pick < 0) {
+                return entry.getKey();
+            }
+        }
+        throw new IllegalStateException("unreachable");
+    }
+
+    @Override
+    public String toString() {
+        return weights.entrySet().stream()
+                .map(entry -> entry.getKey().key() + "=" + entry.getValue())
+                .collect(Collectors.joining(","));
+    }
+
+    enum Operation {
+        CATALOG("catalog"),
+        NEGOTIATE("negotiate"),
+        TRANSFER("transfer"),
+        TRANSFER_STATUS("transferStatus"),
+        UPLOAD("upload"),
+        DOWNLOAD("download");
+
+        private final String key;
+
+        Operation(String key) {
+            this.key = key;
+        }
+
+        static Operation of(String key) {
+            return Arrays.stream(values())
+                    .filter(operation -> operation.key.equals(key))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalArgumentException("unknown operation " + key + ", expected one of " +
+                            Arrays.stream(values()).map(Operation::key).toList()));
+        }
+
+        String key() {
+            return key;
+        }
+    }
+}
@@ -0,0 +1,217 @@
+/*
+ *  Copyright (c) 2026 Metaform Systems, Inc.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Metaform Systems, Inc. - initial API and implementation
+ *
+ */
+
+package com.metaformsystems.redline.loadtest;
+
+import com.metaformsystems.redline.application.service.TokenProvider;
+import com.metaformsystems.redline.domain.entity.ClientCredentials;
+import com.metaformsystems.redline.domain.entity.Participant;
+import com.metaformsystems.redline.domain.entity.ServiceProvider;
+import com.metaformsystems.redline.domain.entity.Tenant;
+import com.metaformsystems.redline.domain.repository.ParticipantRepository;
+import com.metaformsystems.redline.domain.repository.ServiceProviderRepository;
+import com.metaformsystems.redline.domain.repository.TenantRepository;
+import com.metaformsystems.redline.domain.service.WebDidResolver;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingStream;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.util.TestSocketUtils;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+/**
+ * Compares the servlet stack on platform threads and on virtual threads while every request waits for a slow
+ * connector. The request pool is limited to {@value #MAX_THREADS} threads, which is what bounds throughput in platform
+ * thread mode.
+ */
+abstract class VirtualThreadLoadTest {
+    static final int MAX_THREADS = 4;
+    static final int CONCURRENT_REQUESTS = 16;
+    static final Duration CONNECTOR_DELAY = Duration.ofMillis(500);
+    static final String mockBackEndHost = "localhost";
+    static final int mockBackEndPort = TestSocketUtils.findAvailableTcpPort();
+    private static final String NEGOTIATION_RESPONSE = """
+            {
+                "@id": "negotiation-id"
+            }
+            """;
+
+    @LocalServerPort
+    private int port;
+    @Autowired
+    private ServiceProviderRepository serviceProviderRepository;
+    @Autowired
+    private TenantRepository tenantRepository;
+    @Autowired
+    private ParticipantRepository participantRepository;
+    @MockitoBean("token-exchange")
+    private TokenProvider tokenProvider;
+    @MockitoBean
+    private WebDidResolver webDidResolver;
+
+    private MockWebServer mockWebServer;
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+    private ServiceProvider serviceProvider;
+    private Tenant tenant;
+    private Participant participant;
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("tenant-manager.url", () -> "http://%s:%s/tm".formatted(mockBackEndHost, mockBackEndPort));
+        registry.add("vault.url", () -> "http://%s:%s/vault".formatted(mockBackEndHost, mockBackEndPort));
+        registry.add("controlplane.url", () -> "http://%s:%s/cp".formatted(mockBackEndHost, mockBackEndPort));
+        registry.add("dataplane.url", () -> "http://%s:%s/dataplane".formatted(mockBackEndHost, mockBackEndPort));
+        registry.add("dataplane.internal.url", () -> "http://%s:%s/dataplane".formatted(mockBackEndHost, mockBackEndPort));
+    }
+
+    @BeforeEach
+    void setUp() throws IOException {
+        mockWebServer = new MockWebServer();
+        mockWebServer.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                return new MockResponse()
+                        .setBody(NEGOTIATION_RESPONSE)
+                        .addHeader("Content-Type", "application/json")
+                        .setHeadersDelay(CONNECTOR_DELAY.toMillis(), TimeUnit.MILLISECONDS);
+            }
+        });
+        mockWebServer.start(InetAddress.getByName(mockBackEndHost), mockBackEndPort);
+        when(tokenProvider.getToken(anyString(), anyString())).thenReturn("mock-token");
+        when(webDidResolver.resolveProtocolEndpoints(anyString())).thenReturn("http://example.com/api/dsp");
+
+        // requests are served outside the test thread, so the test data must be committed
+        serviceProvider = new ServiceProvider();
+        serviceProvider.setName("Load Test Provider");
+        serviceProvider = serviceProviderRepository.save(serviceProvider);
+
+        tenant = new Tenant();
+        tenant.setName("Load Test Tenant");
+        tenant.setServiceProvider(serviceProvider);
+        tenant = tenantRepository.save(tenant);
+
+        participant = new Participant();
+        participant.setParticipantContextId("ctx-load");
+        participant.setIdentifier("did:web:load");
+        participant.setClientCredentials(new ClientCredentials("client-id", "client-secret"));
+        participant.setTenant(tenant);
+        participant = participantRepository.save(participant);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        participantRepository.deleteById(participant.getId());
+        tenantRepository.deleteById(tenant.getId());
+        serviceProviderRepository.deleteById(serviceProvider.getId());
+        mockWebServer.shutdown();
+    }
+
+    /**
+     * Sends {@link #CONCURRENT_REQUESTS} contract requests at once and returns how long it took until all were answered.
+     * Contract requests wait for the control plane on the request thread.
+     */
+    Duration sendConcurrentContractRequests() {
+        // warm up the request path, so that only the waiting time is measured
+        assertThat(requestContract("asset-warmup").join().statusCode()).isEqualTo(200);
+
+        var start = System.nanoTime();
+        var responses = IntStream.range(0, CONCURRENT_REQUESTS)
+                .mapToObj(i -> requestContract("asset-" + i))
+                .toList();
+        CompletableFuture.allOf(responses.toArray(CompletableFuture[]::new)).join();
+        var elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        assertThat(responses).allSatisfy(response -> assertThat(response.join().statusCode()).isEqualTo(200));
+        return elapsed;
+    }
+
+    private CompletableFuture<HttpResponse<String>> requestContract(String assetId) {
+        var request = HttpRequest.newBuilder()
+                .uri(URI.create("http://localhost:%d/api/ui/service-providers/%d/tenants/%d/participants/%d/contracts"
+                        .formatted(port, serviceProvider.getId(), tenant.getId(), participant.getId())))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"assetId\": \"%s\", \"offerId\": \"offer-1\", \"providerId\": \"did:web:provider\"}".formatted(assetId)))
+                .build();
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+            properties = {"server.tomcat.threads.max=" + MAX_THREADS, "server.tomcat.threads.min-spare=" + MAX_THREADS,
+                    "spring.threads.virtual.enabled=false"})
+    @ActiveProfiles("dev")
+    static class PlatformThreadsTest extends VirtualThreadLoadTest {
+
+        @Test
+        void slowConnectorExhaustsRequestPool() {
+            var elapsed = sendConcurrentContractRequests();
+
+            // at most MAX_THREADS requests can wait for the connector at the same time
+            assertThat(elapsed).isGreaterThanOrEqualTo(CONNECTOR_DELAY.multipliedBy(CONCURRENT_REQUESTS / MAX_THREADS));
+        }
+    }
+
+    @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+            properties = {"server.tomcat.threads.max=" + MAX_THREADS, "server.tomcat.threads.min-spare=" + MAX_THREADS,
+                    "spring.threads.virtual.enabled=true"})
+    @ActiveProfiles("dev")
+    static class VirtualThreadsTest extends VirtualThreadLoadTest {
+
+        @Test
+        void slowConnectorDoesNotExhaustRequestPool() {
+            List<RecordedEvent> pinnedEvents = new CopyOnWriteArrayList<>();
+            Duration elapsed;
+            try (var recording = new RecordingStream()) {
+                // a virtual thread pinned while waiting for the connector blocks its carrier for the whole delay
+                recording.enable("jdk.VirtualThreadPinned").withThreshold(CONNECTOR_DELAY.dividedBy(5)).withStackTrace();
+                recording.onEvent("jdk.VirtualThreadPinned", pinnedEvents::add);
+                recording.startAsync();
+
+                elapsed = sendConcurrentContractRequests();
+
+                recording.stop();
+            }
+
+            assertThat(elapsed).isLessThan(CONNECTOR_DELAY.multipliedBy(CONCURRENT_REQUESTS / MAX_THREADS));
+            assertThat(pinnedEvents).isEmpty();
+        }
+    }
+}
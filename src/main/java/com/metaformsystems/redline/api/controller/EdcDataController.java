@@ -15,23 +15,30 @@
 
 package com.metaformsystems.redline.api.controller;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.metaformsystems.redline.api.dto.request.ContractRequest;
 import com.metaformsystems.redline.api.dto.request.CounterPartyIdWrapper;
+import com.metaformsystems.redline.api.dto.request.FileManifestEntry;
 import com.metaformsystems.redline.api.dto.request.TransferProcessRequest;
+import com.metaformsystems.redline.api.dto.response.BulkPublicationResult;
 import com.metaformsystems.redline.api.dto.response.Contract;
 import com.metaformsystems.redline.api.dto.response.ContractNegotiation;
 import com.metaformsystems.redline.api.dto.response.FileResource;
 import com.metaformsystems.redline.domain.service.DataAccessService;
+import com.metaformsystems.redline.domain.service.FileUpload;
+import com.metaformsystems.redline.domain.service.PageQuery;
 import com.metaformsystems.redline.infrastructure.client.management.dto.Catalog;
 import com.metaformsystems.redline.infrastructure.client.management.dto.CelExpression;
 import com.metaformsystems.redline.infrastructure.client.management.dto.Constraint;
+import com.metaformsystems.redline.infrastructure.client.management.dto.Criterion;
 import com.metaformsystems.redline.infrastructure.client.management.dto.Obligation;
 import com.metaformsystems.redline.infrastructure.client.management.dto.Offer;
 import com.metaformsystems.redline.infrastructure.client.management.dto.Permission;
 import com.metaformsystems.redline.infrastructure.client.management.dto.PolicySet;
 import com.metaformsystems.redline.infrastructure.client.management.dto.Prohibition;
+import com.metaformsystems.redline.infrastructure.client.management.dto.QuerySpec;
 import com.metaformsystems.redline.infrastructure.client.management.dto.TransferProcess;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -40,28 +47,50 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
-import org.springframework.web.bind.annotation.RequestPart;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
-import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
-import java.io.IOException;
 import java.time.Instant;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 
 @RestController
 @Tag(name = "EDC data operations", description = "UI API for uploading and downloading data, managing EDC data transfers, and related operations")
 @RequestMapping(value = "/api/ui", produces = MediaType.APPLICATION_JSON_VALUE)
 public class EdcDataController {
 
+    private static final List<String> DOWNLOAD_HEADERS = List.of(HttpHeaders.CONTENT_TYPE, HttpHeaders.CONTENT_LENGTH,
+            HttpHeaders.CONTENT_RANGE, HttpHeaders.ACCEPT_RANGES, HttpHeaders.CONTENT_DISPOSITION, HttpHeaders.ETAG,
+            HttpHeaders.LAST_MODIFIED);
+    private static final int DOWNLOAD_DEMAND = 16;
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 1000;
+    private static final TypeReference<Map<String, Object>> MAP_TYPE = new TypeReference<>() {
+    };
+    private static final TypeReference<List<CelExpression>> CEL_EXPRESSIONS_TYPE = new TypeReference<>() {
+    };
+    private static final TypeReference<PolicySet> POLICY_SET_TYPE = new TypeReference<>() {
+    };
+    private static final TypeReference<List<FileManifestEntry>> MANIFEST_TYPE = new TypeReference<>() {
+    };
     private final DataAccessService dataAccessService;
     private final ObjectMapper objectMapper;
 
@@ -72,7 +101,9 @@ public class EdcDataController {
 
     @PostMapping(path = "service-providers/{providerId}/tenants/{tenantId}/participants/{participantId}/files", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
 //    @PreAuthorize("hasRole('USER')")
-    @Operation(summary = "Upload a file", description = "Uploads a file for a specific participant with associated metadata")
+    @Operation(summary = "Upload a file", description = "Uploads a file for a specific participant with associated metadata. " +
+            "The file is streamed to the data plane while it is being received, so the parts publicMetadata, privateMetadata " +
+            "and the optional celExpressions and policySet must be sent before the file part.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "File successfully uploaded"),
             @ApiResponse(responseCode = "400", description = "Invalid file or metadata"),
@@ -85,48 +116,110 @@ public class EdcDataController {
     public ResponseEntity<Void> uploadFile(@PathVariable Long participantId,
                                            @PathVariable Long tenantId,
                                            @PathVariable Long providerId,
-                                           @RequestPart("publicMetadata") Map<String, Object> publicMetadata,
-                                           @RequestPart("privateMetadata") Map<String, Object> privateMetadata,
-                                           @RequestPart(value = "celExpressions", required = false) List<CelExpression> celExpressions,
-                                           @RequestPart(value = "policySet", required = false) PolicySet policySet,
-                                           @RequestPart("file") MultipartFile file) {
-        try {
+                                           HttpServletRequest request) {
+        try (var multipart = StreamingMultipartRequest.of(request)) {
+            var formParts = multipart.readFormParts();
+            Map<String, Object> publicMetadata = readPart(formParts, "publicMetadata", MAP_TYPE, true);
+            Map<String, Object> privateMetadata = readPart(formParts, "privateMetadata", MAP_TYPE, true);
+            List<CelExpression> celExpressions = readPart(formParts, "celExpressions", CEL_EXPRESSIONS_TYPE, false);
+            PolicySet policySet = readPart(formParts, "policySet", POLICY_SET_TYPE, false);
+
+            var file = multipart.readFile();
             dataAccessService.uploadFileForParticipant(
                     participantId,
                     publicMetadata,
                     privateMetadata,
-                    file.getInputStream(),
-                    file.getContentType(),
-                    file.getOriginalFilename(),
+                    file.content(),
+                    file.contentType() != null ? file.contentType().toString() : null,
+                    file.filename(),
                     celExpressions != null ? celExpressions : List.of(),
                     policySet
             );
-        } catch (IOException e) {
-            return ResponseEntity.internalServerError().build();
         }
 
         return ResponseEntity.ok(null);
     }
 
+    @PostMapping(path = "service-providers/{providerId}/tenants/{tenantId}/participants/{participantId}/files/bulk", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+//    @PreAuthorize("hasRole('USER')")
+    @Operation(summary = "Upload files in bulk", description = "Uploads a batch of files for a specific participant and " +
+            "offers all of them through one shared policy and contract definition. The manifest part lists the file name " +
+            "and metadata of every file. It must be sent, along with the optional celExpressions and policySet, before " +
+            "the file parts, which are streamed to the data plane one after the other. The outcome is reported per file.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Batch processed, see the status of each item",
+                    content = @Content(schema = @Schema(implementation = BulkPublicationResult.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid manifest, or a file that is not listed in the manifest"),
+            @ApiResponse(responseCode = "404", description = "Service provider, tenant, or participant not found"),
+            @ApiResponse(responseCode = "500", description = "The shared offer could not be created, the batch was rolled back")
+    })
+    @Parameter(name = "participantId", description = "Database ID of the participant", required = true)
+    @Parameter(name = "tenantId", description = "Database ID of the tenant", required = true)
+    @Parameter(name = "providerId", description = "Database ID of the service provider", required = true)
+    public ResponseEntity<BulkPublicationResult> uploadFiles(@PathVariable Long participantId,
+                                                             @PathVariable Long tenantId,
+                                                             @PathVariable Long providerId,
+                                                             HttpServletRequest request) {
+        try (var multipart = StreamingMultipartRequest.of(request)) {
+            var formParts = multipart.readFormParts();
+            List<FileManifestEntry> manifest = readPart(formParts, "manifest", MANIFEST_TYPE, true);
+            List<CelExpression> celExpressions = readPart(formParts, "celExpressions", CEL_EXPRESSIONS_TYPE, false);
+            PolicySet policySet = readPart(formParts, "policySet", POLICY_SET_TYPE, false);
+
+            var entries = new HashMap<String, FileManifestEntry>();
+            for (var entry : manifest) {
+                if (entry.filename() == null || entries.putIfAbsent(entry.filename(), entry) != null) {
+                    throw new IllegalArgumentException("Manifest entries must have a unique filename: " + entry.filename());
+                }
+            }
+
+            var result = dataAccessService.uploadFilesForParticipant(
+                    participantId,
+                    new ManifestFiles(multipart, entries),
+                    celExpressions != null ? celExpressions : List.of(),
+                    policySet
+            );
+            return ResponseEntity.ok(result);
+        }
+    }
+
     @GetMapping("service-providers/{providerId}/tenants/{tenantId}/participants/{participantId}/files")
 //    @PreAuthorize("hasRole('USER')")
-    @Operation(summary = "List files", description = "Retrieves a list of all files associated with a specific participant")
+    @Operation(summary = "List files", description = "Retrieves one page of the files associated with a specific participant, " +
+            "optionally filtered by content type and metadata entries. The cursor of the next page is returned in the " +
+            PageResponses.NEXT_CURSOR + " header, which is absent on the last page.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Successfully retrieved file list"),
+            @ApiResponse(responseCode = "400", description = "Invalid paging, sort or filter parameters"),
             @ApiResponse(responseCode = "404", description = "Service provider, tenant, or participant not found")
     })
     @Parameter(name = "participantId", description = "Database ID of the participant", required = true)
     @Parameter(name = "tenantId", description = "Database ID of the tenant", required = true)
     @Parameter(name = "providerId", description = "Database ID of the service provider", required = true)
+    @Parameter(name = "cursor", description = "Cursor of the page to return, as returned in the " + PageResponses.NEXT_CURSOR + " header of the previous page")
+    @Parameter(name = "limit", description = "Maximum number of files to return, at most " + PageQuery.MAX_LIMIT)
+    @Parameter(name = "sort", description = "Sort key, createdAt (default) or fileName")
+    @Parameter(name = "order", description = "Sort order, ASC or DESC")
+    @Parameter(name = "contentType", description = "Only return files of this content type")
+    @Parameter(name = "metadata", description = "Only return files with this metadata entry, given as key:value. May be repeated")
     public ResponseEntity<List<FileResource>> listFiles(@PathVariable Long participantId,
                                                         @PathVariable Long tenantId,
-                                                        @PathVariable Long providerId) {
-        var files = dataAccessService.listFilesForParticipant(participantId);
-        return ResponseEntity.ok(files);
+                                                        @PathVariable Long providerId,
+                                                        @RequestParam(required = false) String cursor,
+                                                        @RequestParam(defaultValue = "" + PageQuery.DEFAULT_LIMIT) int limit,
+                                                        @RequestParam(required = false) String sort,
+                                                        @RequestParam(defaultValue = "ASC") String order,
+                                                        @RequestParam(required = false) String contentType,
+                                                        @RequestParam(name = "metadata", required = false) List<String> metadata) {
+        var page = dataAccessService.listFilesForParticipant(participantId, contentType, metadataFilter(metadata),
+                PageResponses.pageQuery(cursor, limit, sort, order));
+        return PageResponses.of(page);
     }
 
     @PostMapping("service-providers/{providerId}/tenants/{tenantId}/participants/{participantId}/catalog")
-    @Operation(summary = "Request catalog", description = "Requests a catalog from a counter-party participant")
+    @Operation(summary = "Request catalog", description = "Requests a catalog from a counter-party participant. " +
+            "Catalogs are cached; send Cache-Control: no-cache to fetch the catalog again, or max-age=<seconds> to bound " +
+            "the age of a cached catalog.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Successfully retrieved catalog",
                     content = @Content(schema = @Schema(implementation = Catalog.class))),
@@ -136,67 +229,77 @@ public class EdcDataController {
     @Parameter(name = "providerId", description = "Database ID of the service provider", required = true)
     @Parameter(name = "tenantId", description = "Database ID of the tenant", required = true)
     @Parameter(name = "participantId", description = "Database ID of the participant", required = true)
-    public ResponseEntity<Catalog> requestCatalog(@RequestHeader(name = "Cache-Control", required = false, defaultValue = "no-cache") String cacheControl,
-                                                  @PathVariable Long providerId,
-                                                  @PathVariable Long tenantId,
-                                                  @PathVariable Long participantId,
-                                                  @RequestBody CounterPartyIdWrapper counterPartyIdentifierWrapper) {
+    public Mono<ResponseEntity<Catalog>> requestCatalog(@RequestHeader(name = HttpHeaders.CACHE_CONTROL, required = false) String cacheControl,
+                                                        @PathVariable Long providerId,
+                                                        @PathVariable Long tenantId,
+                                                        @PathVariable Long participantId,
+                                                        @RequestBody CounterPartyIdWrapper counterPartyIdentifierWrapper) {
 
-        var catalog = dataAccessService.requestCatalog(participantId, counterPartyIdentifierWrapper.counterPartyIdentifier(), cacheControl);
-        return ResponseEntity.ok(catalog);
+        return dataAccessService.requestCatalogAsync(participantId, counterPartyIdentifierWrapper.counterPartyIdentifier(), cacheControl)
+                .map(ResponseEntity::ok);
     }
 
-    @GetMapping("service-providers/{providerId}/tenants/{tenantId}/participants/{participantId}/transfers")
-    @Operation(summary = "List transfer processes", description = "Retrieves a list of all transfer processes associated with a specific participant")
+    @GetMapping(path = "service-providers/{providerId}/tenants/{tenantId}/participants/{participantId}/transfers",
+            produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    @Operation(summary = "List transfer processes", description = "Retrieves one page of the transfer processes associated " +
+            "with a specific participant, optionally filtered by state and sorted by a transfer process property. " +
+            "With Accept: application/x-ndjson, transfer processes are streamed as they are received from the control plane.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Successfully retrieved transfer process list. May be empty."),
+            @ApiResponse(responseCode = "400", description = "Invalid paging or sort parameters"),
             @ApiResponse(responseCode = "404", description = "Service provider, tenant, or participant not found"),
             @ApiResponse(responseCode = "500", description = "Internal server error occurred while processing the request")
     })
     @Parameter(name = "providerId", description = "Database ID of the service provider", required = true)
     @Parameter(name = "tenantId", description = "Database ID of the tenant", required = true)
     @Parameter(name = "participantId", description = "Database ID of the participant", required = true)
+    @Parameter(name = "offset", description = "Number of transfer processes to skip")
+    @Parameter(name = "limit", description = "Maximum number of transfer processes to return, at most " + MAX_PAGE_SIZE)
+    @Parameter(name = "sort", description = "Transfer process property to sort by, e.g. stateTimestamp")
+    @Parameter(name = "order", description = "Sort order, ASC or DESC")
+    @Parameter(name = "state", description = "Only return transfer processes in one of these states, e.g. STARTED")
     //    @PreAuthorize("hasRole('USER')")
-    public ResponseEntity<List<TransferProcess>> listTransferProcesses(@PathVariable Long providerId,
-                                                                       @PathVariable Long tenantId,
-                                                                       @PathVariable Long participantId) {
-        return ResponseEntity.ok(dataAccessService.listTransferProcesses(participantId));
+    public Flux<TransferProcess> listTransferProcesses(@PathVariable Long providerId,
+                                                       @PathVariable Long tenantId,
+                                                       @PathVariable Long participantId,
+                                                       @RequestParam(defaultValue = "0") int offset,
+                                                       @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int limit,
+                                                       @RequestParam(required = false) String sort,
+                                                       @RequestParam(defaultValue = "ASC") String order,
+                                                       @RequestParam(name = "state", required = false) List<String> states) {
+        return dataAccessService.listTransferProcessesAsync(participantId, pageQuery(offset, limit, sort, order, states));
     }
 
-    @GetMapping("service-providers/{providerId}/tenants/{tenantId}/participants/{participantId}/contracts")
-    @Operation(summary = "List transfer processes", description = "Retrieves a list of all contracts (pending and agreed-on) associated with a specific participant")
+    @GetMapping(path = "service-providers/{providerId}/tenants/{tenantId}/participants/{participantId}/contracts",
+            produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    @Operation(summary = "List contracts", description = "Retrieves one page of the contracts (pending and agreed-on) " +
+            "associated with a specific participant, optionally filtered by negotiation state and sorted by a negotiation " +
+            "property. With Accept: application/x-ndjson, contracts are streamed as their agreements are looked up.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Successfully retrieved contracts list. May be empty."),
+            @ApiResponse(responseCode = "400", description = "Invalid paging or sort parameters"),
             @ApiResponse(responseCode = "404", description = "Service provider, tenant, or participant not found"),
             @ApiResponse(responseCode = "500", description = "Internal server error occurred while processing the request")
     })
     @Parameter(name = "providerId", description = "Database ID of the service provider", required = true)
     @Parameter(name = "tenantId", description = "Database ID of the tenant", required = true)
     @Parameter(name = "participantId", description = "Database ID of the participant", required = true)
+    @Parameter(name = "offset", description = "Number of contracts to skip")
+    @Parameter(name = "limit", description = "Maximum number of contracts to return, at most " + MAX_PAGE_SIZE)
+    @Parameter(name = "sort", description = "Contract negotiation property to sort by, e.g. createdAt")
+    @Parameter(name = "order", description = "Sort order, ASC or DESC")
+    @Parameter(name = "state", description = "Only return contracts whose negotiation is in one of these states, e.g. FINALIZED")
     //    @PreAuthorize("hasRole('USER')")
-    public ResponseEntity<List<Contract>> listContracts(@PathVariable Long providerId,
-                                                        @PathVariable Long tenantId,
-                                                        @PathVariable Long participantId) {
-        var contractNegotiations = dataAccessService.listContracts(participantId);
-        var contracts = contractNegotiations.stream().map(cn -> {
-            var builder = Contract.Builder.aContract()
-                    .counterParty(cn.getCounterPartyId())
-                    .type(cn.getType());
-
-            if (cn.getContractAgreement() != null) {
-                builder.id(cn.getContractAgreement().getId());
-                builder.agreementId(cn.getContractAgreement().getAgreementId());
-                builder.assetId(cn.getContractAgreement().getAssetId());
-                builder.signingDate(Instant.ofEpochSecond(cn.getContractAgreement().getContractSigningDate()));
-                builder.provider(cn.getContractAgreement().getProviderId());
-                builder.consumer(cn.getContractAgreement().getConsumerId());
-                builder.policy(cn.getContractAgreement().getPolicy());
-                builder.pending(false);
-            }
-
-            return builder.build();
-        }).toList();
-        return ResponseEntity.ok(contracts);
+    public Flux<Contract> listContracts(@PathVariable Long providerId,
+                                        @PathVariable Long tenantId,
+                                        @PathVariable Long participantId,
+                                        @RequestParam(defaultValue = "0") int offset,
+                                        @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int limit,
+                                        @RequestParam(required = false) String sort,
+                                        @RequestParam(defaultValue = "ASC") String order,
+                                        @RequestParam(name = "state", required = false) List<String> states) {
+        return dataAccessService.listContractsAsync(participantId, pageQuery(offset, limit, sort, order, states))
+                .map(this::toContract);
     }
 
     @Operation(summary = "Initiate a contract negotiation", description = "Triggers a contract negotiation with a counter-party based on the provided contract request details")
@@ -258,13 +361,16 @@ public class EdcDataController {
     @Parameter(name = "tenantId", description = "Database ID of the tenant", required = true)
     @Parameter(name = "participantId", description = "Database ID of the participant", required = true)
     @Parameter(name = "contractNegotiationId", description = "EDC-ID of the contract negotiation", required = true)
-    public ResponseEntity<ContractNegotiation> getContractNegotiation(@PathVariable Long providerId,
-                                                                      @PathVariable Long tenantId,
-                                                                      @PathVariable Long participantId,
-                                                                      @PathVariable String contractNegotiationId) {
-        var contractNegotiation = dataAccessService.getContractNegotiation(participantId, contractNegotiationId);
+    public Mono<ResponseEntity<ContractNegotiation>> getContractNegotiation(@PathVariable Long providerId,
+                                                                            @PathVariable Long tenantId,
+                                                                            @PathVariable Long participantId,
+                                                                            @PathVariable String contractNegotiationId) {
+        return dataAccessService.getContractNegotiationAsync(participantId, contractNegotiationId)
+                .map(contractNegotiation -> ResponseEntity.ok(toContractNegotiation(contractNegotiation)));
+    }
 
-        var dto = ContractNegotiation.Builder.aContractNegotiationDto()
+    private ContractNegotiation toContractNegotiation(com.metaformsystems.redline.infrastructure.client.management.dto.ContractNegotiation contractNegotiation) {
+        return ContractNegotiation.Builder.aContractNegotiationDto()
                 .id(contractNegotiation.getId())
                 .state(contractNegotiation.getState())
                 .correlationId(contractNegotiation.getCorrelationId())
@@ -276,8 +382,6 @@ public class EdcDataController {
                 .contractAgreementId(contractNegotiation.getContractAgreementId())
                 .contractOffers(contractNegotiation.getContractOffers())
                 .build();
-
-        return ResponseEntity.ok(dto);
     }
 
 
@@ -291,24 +395,25 @@ public class EdcDataController {
     @Parameter(name = "providerId", description = "Database ID of the service provider", required = true)
     @Parameter(name = "tenantId", description = "Database ID of the tenant", required = true)
     @Parameter(name = "participantId", description = "Database ID of the participant", required = true)
-    public ResponseEntity<String> requestTransfer(@PathVariable Long providerId,
-                                                  @PathVariable Long tenantId,
-                                                  @PathVariable Long participantId,
-                                                  @RequestBody TransferProcessRequest transferRequest) {
+    public Mono<ResponseEntity<String>> requestTransfer(@PathVariable Long providerId,
+                                                        @PathVariable Long tenantId,
+                                                        @PathVariable Long participantId,
+                                                        @RequestBody TransferProcessRequest transferRequest) {
 
-        return ResponseEntity.ok(dataAccessService.initiateTransferProcess(participantId, transferRequest));
+        return dataAccessService.initiateTransferProcessAsync(participantId, transferRequest)
+                .map(ResponseEntity::ok);
     }
 
     @GetMapping("service-providers/{providerId}/tenants/{tenantId}/participants/{participantId}/transfers/{transferProcessId}")
-    public ResponseEntity<TransferProcess> getTransferProcess(@PathVariable Long providerId,
-                                                              @PathVariable Long tenantId,
-                                                              @PathVariable Long participantId,
-                                                              @PathVariable String transferProcessId) {
-        var transferProcess = dataAccessService.getTransferProcess(participantId, transferProcessId);
-        return ResponseEntity.ok(transferProcess);
+    public Mono<ResponseEntity<TransferProcess>> getTransferProcess(@PathVariable Long providerId,
+                                                                    @PathVariable Long tenantId,
+                                                                    @PathVariable Long participantId,
+                                                                    @PathVariable String transferProcessId) {
+        return dataAccessService.getTransferProcessAsync(participantId, transferProcessId)
+                .map(ResponseEntity::ok);
     }
 
-    @Operation(summary = "Download file")
+    @Operation(summary = "Download file", description = "Streams a file from the provider's data plane. Range requests are forwarded to the data plane.")
     @ApiResponse(
             responseCode = "200",
             content = @Content(
@@ -316,14 +421,150 @@ public class EdcDataController {
                     schema = @Schema(type = "string", format = "binary")
             )
     )
+    @ApiResponse(responseCode = "206", description = "The requested range of the file")
+    @ApiResponse(responseCode = "416", description = "The requested range cannot be satisfied")
     @GetMapping(value = "service-providers/{providerId}/tenants/{tenantId}/participants/{participantId}/files/{fileId}", produces = MediaType.APPLICATION_OCTET_STREAM_VALUE)
-    public ResponseEntity<byte[]> downloadData(@PathVariable Long providerId,
-                                               @PathVariable Long tenantId,
-                                               @PathVariable Long participantId,
-                                               @PathVariable String fileId,
-                                               @RequestHeader(name = "Authorization") String authorizationHeader) {
-        var data = dataAccessService.downloadData(participantId, fileId, authorizationHeader);
-        return ResponseEntity.ok(data);
+    public ResponseEntity<StreamingResponseBody> downloadData(@PathVariable Long providerId,
+                                                              @PathVariable Long tenantId,
+                                                              @PathVariable Long participantId,
+                                                              @PathVariable String fileId,
+                                                              @RequestHeader(name = "Authorization") String authorizationHeader,
+                                                              @RequestHeader(name = HttpHeaders.RANGE, required = false) String range) {
+        var download = dataAccessService.downloadData(participantId, fileId, authorizationHeader, range);
+
+        var headers = new HttpHeaders();
+        DOWNLOAD_HEADERS.forEach(name -> {
+            var value = download.headers().getFirst(name);
+            if (value != null) {
+                headers.set(name, value);
+            }
+        });
+
+        // buffers are requested from the data plane only as fast as the client reads them
+        StreamingResponseBody body = outputStream -> {
+            try (var content = DataBufferUtils.subscriberInputStream(download.content(), DOWNLOAD_DEMAND)) {
+                content.transferTo(outputStream);
+            }
+        };
+        return ResponseEntity.status(download.status()).headers(headers).body(body);
+    }
+
+    private Contract toContract(com.metaformsystems.redline.infrastructure.client.management.dto.ContractNegotiation cn) {
+        var builder = Contract.Builder.aContract()
+                .counterParty(cn.getCounterPartyId())
+                .type(cn.getType());
+
+        if (cn.getContractAgreement() != null) {
+            builder.id(cn.getContractAgreement().getId());
+            builder.agreementId(cn.getContractAgreement().getAgreementId());
+            builder.assetId(cn.getContractAgreement().getAssetId());
+            builder.signingDate(Instant.ofEpochSecond(cn.getContractAgreement().getContractSigningDate()));
+            builder.provider(cn.getContractAgreement().getProviderId());
+            builder.consumer(cn.getContractAgreement().getConsumerId());
+            builder.policy(cn.getContractAgreement().getPolicy());
+            builder.pending(false);
+        }
+
+        return builder.build();
+    }
+
+    /**
+     * Parses metadata filters given as {@code key:value}.
+     */
+    private Map<String, String> metadataFilter(List<String> entries) {
+        var filter = new HashMap<String, String>();
+        if (entries != null) {
+            for (var entry : entries) {
+                var separator = entry.indexOf(':');
+                if (separator < 1) {
+                    throw new IllegalArgumentException("metadata filter must be given as key:value");
+                }
+                filter.put(entry.substring(0, separator), entry.substring(separator + 1));
+            }
+        }
+        return filter;
+    }
+
+    /**
+     * Maps paging, sorting and a state filter onto a control plane query.
+     */
+    private QuerySpec pageQuery(int offset, int limit, String sort, String order, List<String> states) {
+        if (offset < 0) {
+            throw new IllegalArgumentException("offset must not be negative");
+        }
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        if (!"ASC".equalsIgnoreCase(order) && !"DESC".equalsIgnoreCase(order)) {
+            throw new IllegalArgumentException("order must be ASC or DESC");
+        }
+        var query = QuerySpec.Builder.aQuerySpecDto()
+                .offset(offset)
+                .limit(limit);
+        if (StringUtils.hasText(sort)) {
+            query.sortField(sort).sortOrder(order.toUpperCase());
+        }
+        if (states != null && !states.isEmpty()) {
+            query.filterExpression(List.of(states.size() == 1
+                    ? new Criterion("state", "=", states.getFirst())
+                    : new Criterion("state", "in", states)));
+        }
+        return query.build();
+    }
+
+    private <T> T readPart(Map<String, String> formParts, String name, TypeReference<T> type, boolean required) {
+        var value = formParts.get(name);
+        if (value == null) {
+            if (required) {
+                throw new IllegalArgumentException("Part '%s' is missing or not sent before the file part".formatted(name));
+            }
+            return null;
+        }
+        try {
+            return objectMapper.readValue(value, type);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Part '%s' is not valid: %s".formatted(name, e.getOriginalMessage()));
+        }
     }
 
+    /**
+     * Hands out the file parts of a bulk upload as they arrive, each with the metadata of its manifest entry.
+     */
+    private static class ManifestFiles implements Iterator<FileUpload> {
+        private final StreamingMultipartRequest multipart;
+        private final Map<String, FileManifestEntry> entries;
+        private StreamingMultipartRequest.FilePart next;
+
+        ManifestFiles(StreamingMultipartRequest multipart, Map<String, FileManifestEntry> entries) {
+            this.multipart = multipart;
+            this.entries = entries;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (next == null) {
+                next = multipart.nextFile();
+            }
+            return next != null;
+        }
+
+        @Override
+        public FileUpload next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            var file = next;
+            next = null;
+            var entry = entries.remove(file.filename());
+            if (entry == null) {
+                throw new IllegalArgumentException("File '%s' is not listed in the manifest, or was sent twice".formatted(file.filename()));
+            }
+            return new FileUpload(
+                    file.filename(),
+                    file.contentType() != null ? file.contentType().toString() : null,
+                    entry.publicMetadata() != null ? new HashMap<>(entry.publicMetadata()) : new HashMap<>(),
+                    entry.privateMetadata() != null ? new HashMap<>(entry.privateMetadata()) : new HashMap<>(),
+                    file.content());
+        }
+    }
 }
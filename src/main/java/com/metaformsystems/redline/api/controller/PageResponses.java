@@ -0,0 +1,53 @@
+/*
+ *  Copyright (c) 2026 Metaform Systems, Inc.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Metaform Systems, Inc. - initial API and implementation
+ *
+ */
+
+package com.metaformsystems.redline.api.controller;
+
+import com.metaformsystems.redline.domain.service.CursorPage;
+import com.metaformsystems.redline.domain.service.PageQuery;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+
+/**
+ * Maps keyset-paginated listings onto requests and responses. The page is the response body, the cursor of the next
+ * page is sent in the {@value #NEXT_CURSOR} header, which is absent on the last page. Listings that are counted send
+ * the number of elements across all pages in the {@value #TOTAL_COUNT} header.
+ */
+final class PageResponses {
+    static final String NEXT_CURSOR = "X-Next-Cursor";
+    static final String TOTAL_COUNT = "X-Total-Count";
+
+    private PageResponses() {
+    }
+
+    /**
+     * @throws IllegalArgumentException if the order is neither ASC nor DESC, or the limit is out of range
+     */
+    static PageQuery pageQuery(String cursor, int limit, String sort, String order) {
+        return new PageQuery(sort, Sort.Direction.fromString(order), limit, cursor);
+    }
+
+    static <T> ResponseEntity<List<T>> of(CursorPage<T> page) {
+        var response = ResponseEntity.ok();
+        if (page.nextCursor() != null) {
+            response.header(NEXT_CURSOR, page.nextCursor());
+        }
+        if (page.total() != null) {
+            response.header(TOTAL_COUNT, String.valueOf(page.total()));
+        }
+        return response.body(page.items());
+    }
+}
@@ -0,0 +1,233 @@
+/*
+ *  Copyright (c) 2026 Metaform Systems, Inc.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Metaform Systems, Inc. - initial API and implementation
+ *
+ */
+
+package com.metaformsystems.redline.api.controller;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ReactiveHttpInputMessage;
+import org.springframework.http.codec.multipart.FilePartEvent;
+import org.springframework.http.codec.multipart.FormPartEvent;
+import org.springframework.http.codec.multipart.PartEvent;
+import org.springframework.http.codec.multipart.PartEventHttpMessageReader;
+import reactor.core.publisher.Flux;
+
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Reads a {@code multipart/form-data} request part by part, straight from the servlet input stream. Form parts are
+ * read into memory as they arrive, the content of the file parts, i.e. the parts named {@value #FILE_PART}, is handed
+ * out as an {@link InputStream} that reads through to the request. At most {@value #PREFETCH} buffers of {@value #BUFFER_SIZE} bytes are held at any time,
+ * regardless of the size of the file.
+ * <p>
+ * All form parts that are needed to process the files must be sent before the first file part.
+ */
+final class StreamingMultipartRequest implements AutoCloseable {
+    static final String FILE_PART = "file";
+    private static final int BUFFER_SIZE = 8192;
+    private static final int PREFETCH = 16;
+    private static final int MAX_FORM_PART_SIZE = 256 * 1024;
+
+    private final Stream<PartEvent> stream;
+    private final Iterator<PartEvent> events;
+    private FilePartEvent pendingFile;
+    private FilePartInputStream currentFile;
+
+    private StreamingMultipartRequest(Flux<PartEvent> events) {
+        this.stream = events.toStream(PREFETCH);
+        this.events = stream.iterator();
+    }
+
+    static StreamingMultipartRequest of(HttpServletRequest request) {
+        var headers = new HttpHeaders();
+        headers.setContentType(MediaType.parseMediaType(request.getContentType()));
+        var body = DataBufferUtils.readInputStream(request::getInputStream, DefaultDataBufferFactory.sharedInstance, BUFFER_SIZE);
+
+        var message = new ReactiveHttpInputMessage() {
+            @Override
+            public HttpHeaders getHeaders() {
+                return headers;
+            }
+
+            @Override
+            public Flux<DataBuffer> getBody() {
+                return body;
+            }
+        };
+        return new StreamingMultipartRequest(new PartEventHttpMessageReader()
+                .read(ResolvableType.forClass(PartEvent.class), message, Map.of()));
+    }
+
+    /**
+     * Reads all parts up to the first file part. All other parts are form parts, including those with a content type
+     * other than {@code text/plain} or with a file name, e.g. JSON metadata sent as a blob, and are read as UTF-8 text.
+     *
+     * @return the values of the form parts by part name
+     * @throws IllegalArgumentException if a part exceeds {@value #MAX_FORM_PART_SIZE} bytes
+     */
+    Map<String, String> readFormParts() {
+        var parts = new LinkedHashMap<String, String>();
+        while (events.hasNext()) {
+            var event = events.next();
+            if (event instanceof FormPartEvent form) {
+                parts.put(form.name(), form.value());
+            } else if (event instanceof FilePartEvent file) {
+                if (FILE_PART.equals(file.name())) {
+                    pendingFile = file;
+                    break;
+                }
+                parts.put(file.name(), readText(file));
+            }
+        }
+        return parts;
+    }
+
+    /**
+     * Returns the file part that follows the form parts. Its content must be read before any further part.
+     *
+     * @throws IllegalArgumentException if the request does not contain a file part
+     */
+    FilePart readFile() {
+        if (pendingFile == null) {
+            throw new IllegalArgumentException("Multipart request does not contain a part named '%s'".formatted(FILE_PART));
+        }
+        var first = pendingFile;
+        pendingFile = null;
+        currentFile = new FilePartInputStream(first);
+        return new FilePart(first.name(), first.filename(), first.headers().getContentType(), currentFile);
+    }
+
+    /**
+     * Returns the next file part, skipping whatever was not read of the previous file part and any form parts in
+     * between.
+     *
+     * @return the file part, or {@code null} if the request contains no further file part
+     */
+    FilePart nextFile() {
+        if (currentFile != null) {
+            currentFile.close();
+            currentFile = null;
+        }
+        if (pendingFile == null) {
+            readFormParts();
+        }
+        return pendingFile != null ? readFile() : null;
+    }
+
+    private String readText(FilePartEvent first) {
+        var content = new ByteArrayOutputStream();
+        var event = first;
+        while (true) {
+            var buffer = event.content();
+            try {
+                if (content.size() + buffer.readableByteCount() > MAX_FORM_PART_SIZE) {
+                    throw new IllegalArgumentException("Part '%s' exceeds %d bytes".formatted(first.name(), MAX_FORM_PART_SIZE));
+                }
+                var bytes = new byte[buffer.readableByteCount()];
+                buffer.read(bytes);
+                content.writeBytes(bytes);
+            } finally {
+                DataBufferUtils.release(buffer);
+            }
+            if (event.isLast() || !events.hasNext() || !(events.next() instanceof FilePartEvent next)) {
+                break;
+            }
+            event = next;
+        }
+        return content.toString(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public void close() {
+        // cancels the subscription, if the request was not read to the end
+        stream.close();
+    }
+
+    record FilePart(String name, String filename, MediaType contentType, InputStream content) {
+    }
+
+    /**
+     * Reads the content of the events of one file part, releasing each buffer once it is consumed. Closing the stream
+     * skips the remaining content of the part.
+     */
+    private class FilePartInputStream extends InputStream {
+        private FilePartEvent current;
+        private DataBuffer buffer;
+
+        FilePartInputStream(FilePartEvent first) {
+            this.current = first;
+            this.buffer = first.content();
+        }
+
+        @Override
+        public int read() {
+            var single = new byte[1];
+            return read(single, 0, 1) == -1 ? -1 : single[0] & 0xff;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) {
+            if (length == 0) {
+                return 0;
+            }
+            while (buffer == null || buffer.readableByteCount() == 0) {
+                if (!advance()) {
+                    return -1;
+                }
+            }
+            var count = Math.min(length, buffer.readableByteCount());
+            buffer.read(bytes, offset, count);
+            return count;
+        }
+
+        @Override
+        public void close() {
+            while (advance()) {
+                release();
+            }
+        }
+
+        private boolean advance() {
+            release();
+            if (current == null || current.isLast() || !events.hasNext()) {
+                current = null;
+                return false;
+            }
+            if (!(events.next() instanceof FilePartEvent next)) {
+                throw new IllegalStateException("Unexpected part in the content of file part " + current.name());
+            }
+            current = next;
+            buffer = next.content();
+            return true;
+        }
+
+        private void release() {
+            if (buffer != null) {
+                DataBufferUtils.release(buffer);
+                buffer = null;
+            }
+        }
+    }
+}
@@ -25,6 +25,7 @@ import com.metaformsystems.redline.api.dto.response.Participant;
 import com.metaformsystems.redline.api.dto.response.PartnerReference;
 import com.metaformsystems.redline.api.dto.response.ServiceProviderResponse;
 import com.metaformsystems.redline.api.dto.response.Tenant;
+import com.metaformsystems.redline.domain.service.PageQuery;
 import com.metaformsystems.redline.domain.service.ServiceProviderService;
 import com.metaformsystems.redline.domain.service.TenantService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -40,6 +41,7 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.List;
@@ -51,6 +53,8 @@ import java.util.List;
 @RequestMapping(value = "/api/ui", produces = "application/json")
 @Tag(name = "Tenant operations", description = "UI API for managing dataspaces, service providers, tenants, and participants")
 public class TenantController {
+    private static final String PAGING = " The cursor of the next page is returned in the " + PageResponses.NEXT_CURSOR +
+            " header, which is absent on the last page, and the total number of items in the " + PageResponses.TOTAL_COUNT + " header.";
     private final ServiceProviderService serviceProviderService;
     private final TenantService tenantService;
 
@@ -67,22 +71,38 @@ public class TenantController {
 
     @GetMapping("dataspaces")
 //    @PreAuthorize("hasRole('USER')")
-    @Operation(summary = "Get all dataspaces", description = "Retrieves a list of all available dataspaces")
+    @Operation(summary = "Get all dataspaces", description = "Retrieves one page of the available dataspaces." + PAGING)
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Successfully retrieved dataspaces")
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved dataspaces"),
+            @ApiResponse(responseCode = "400", description = "Invalid paging or sort parameters")
     })
-    public ResponseEntity<List<DataspaceResponse>> getDataspaces() {
-        return ResponseEntity.ok(serviceProviderService.getDataspaces());
+    @Parameter(name = "cursor", description = "Cursor of the page to return, as returned in the " + PageResponses.NEXT_CURSOR + " header of the previous page")
+    @Parameter(name = "limit", description = "Maximum number of dataspaces to return, at most " + PageQuery.MAX_LIMIT)
+    @Parameter(name = "sort", description = "Sort key, id (default) or name")
+    @Parameter(name = "order", description = "Sort order, ASC or DESC")
+    public ResponseEntity<List<DataspaceResponse>> getDataspaces(@RequestParam(required = false) String cursor,
+                                                                 @RequestParam(defaultValue = "" + PageQuery.DEFAULT_LIMIT) int limit,
+                                                                 @RequestParam(required = false) String sort,
+                                                                 @RequestParam(defaultValue = "ASC") String order) {
+        return PageResponses.of(serviceProviderService.getDataspaces(PageResponses.pageQuery(cursor, limit, sort, order)));
     }
 
     @GetMapping("service-providers")
 //    @PreAuthorize("hasRole('USER')")
-    @Operation(summary = "Get all service providers", description = "Retrieves a list of all registered service providers")
+    @Operation(summary = "Get all service providers", description = "Retrieves one page of the registered service providers." + PAGING)
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Successfully retrieved service providers")
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved service providers"),
+            @ApiResponse(responseCode = "400", description = "Invalid paging or sort parameters")
     })
-    public ResponseEntity<List<ServiceProviderResponse>> getServiceProviders() {
-        return ResponseEntity.ok(serviceProviderService.getServiceProviders());
+    @Parameter(name = "cursor", description = "Cursor of the page to return, as returned in the " + PageResponses.NEXT_CURSOR + " header of the previous page")
+    @Parameter(name = "limit", description = "Maximum number of service providers to return, at most " + PageQuery.MAX_LIMIT)
+    @Parameter(name = "sort", description = "Sort key, id (default) or name")
+    @Parameter(name = "order", description = "Sort order, ASC or DESC")
+    public ResponseEntity<List<ServiceProviderResponse>> getServiceProviders(@RequestParam(required = false) String cursor,
+                                                                             @RequestParam(defaultValue = "" + PageQuery.DEFAULT_LIMIT) int limit,
+                                                                             @RequestParam(required = false) String sort,
+                                                                             @RequestParam(defaultValue = "ASC") String order) {
+        return PageResponses.of(serviceProviderService.getServiceProviders(PageResponses.pageQuery(cursor, limit, sort, order)));
     }
 
     @PostMapping("service-providers")
@@ -100,15 +120,24 @@ public class TenantController {
 
     @GetMapping("service-providers/{serviceProviderId}/tenants")
 //    @PreAuthorize("hasRole('USER')")
-    @Operation(summary = "List tenants", description = "List all tenants under a specific service provider.")
+    @Operation(summary = "List tenants", description = "List one page of the tenants under a specific service provider." + PAGING)
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Tenants Successfully retrieved",
                     content = @Content(schema = @Schema(implementation = Tenant.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid paging or sort parameters")
     })
     @Parameter(name = "serviceProviderId", description = "Database ID of the service provider", required = true)
-    public ResponseEntity<List<Tenant>> listTenants(@PathVariable Long serviceProviderId) {
-        var tenants = tenantService.getTenants(serviceProviderId);
-        return ResponseEntity.ok(tenants);
+    @Parameter(name = "cursor", description = "Cursor of the page to return, as returned in the " + PageResponses.NEXT_CURSOR + " header of the previous page")
+    @Parameter(name = "limit", description = "Maximum number of tenants to return, at most " + PageQuery.MAX_LIMIT)
+    @Parameter(name = "sort", description = "Sort key, id (default) or name")
+    @Parameter(name = "order", description = "Sort order, ASC or DESC")
+    public ResponseEntity<List<Tenant>> listTenants(@PathVariable Long serviceProviderId,
+                                                    @RequestParam(required = false) String cursor,
+                                                    @RequestParam(defaultValue = "" + PageQuery.DEFAULT_LIMIT) int limit,
+                                                    @RequestParam(required = false) String sort,
+                                                    @RequestParam(defaultValue = "ASC") String order) {
+        var tenants = tenantService.getTenants(serviceProviderId, PageResponses.pageQuery(cursor, limit, sort, order));
+        return PageResponses.of(tenants);
     }
 
     @PostMapping("service-providers/{serviceProviderId}/tenants")
@@ -193,22 +222,31 @@ public class TenantController {
 
     @GetMapping("service-providers/{providerId}/tenants/{tenantId}/participants/{participantId}/partners/{dataspaceId}")
 //    @PreAuthorize("hasRole('USER')")
-    @Operation(summary = "Get partner references", description = "Retrieves a list of partner references for a participant in a specific dataspace")
+    @Operation(summary = "Get partner references", description = "Retrieves one page of the partner references for a participant in a specific dataspace." + PAGING)
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Successfully retrieved partner references"),
+            @ApiResponse(responseCode = "400", description = "Invalid paging or sort parameters"),
             @ApiResponse(responseCode = "404", description = "Service provider, tenant, participant, or dataspace not found")
     })
     @Parameter(name = "providerId", description = "Database ID of the service provider", required = true)
     @Parameter(name = "tenantId", description = "Database ID of the tenant", required = true)
     @Parameter(name = "participantId", description = "Database ID of the participant", required = true)
     @Parameter(name = "dataspaceId", description = "Database ID of the dataspace", required = true)
+    @Parameter(name = "cursor", description = "Cursor of the page to return, as returned in the " + PageResponses.NEXT_CURSOR + " header of the previous page")
+    @Parameter(name = "limit", description = "Maximum number of partner references to return, at most " + PageQuery.MAX_LIMIT)
+    @Parameter(name = "sort", description = "Sort key, identifier (default)")
+    @Parameter(name = "order", description = "Sort order, ASC only")
     public ResponseEntity<List<PartnerReference>> getPartners(@PathVariable Long providerId,
                                                               @PathVariable Long tenantId,
                                                               @PathVariable Long participantId,
-                                                              @PathVariable Long dataspaceId) {
-        var references = tenantService.getPartnerReferences(participantId, dataspaceId);
+                                                              @PathVariable Long dataspaceId,
+                                                              @RequestParam(required = false) String cursor,
+                                                              @RequestParam(defaultValue = "" + PageQuery.DEFAULT_LIMIT) int limit,
+                                                              @RequestParam(required = false) String sort,
+                                                              @RequestParam(defaultValue = "ASC") String order) {
+        var references = tenantService.getPartnerReferences(participantId, dataspaceId, PageResponses.pageQuery(cursor, limit, sort, order));
         // TODO auth check for provider access
-        return ResponseEntity.ok(references);
+        return PageResponses.of(references);
     }
 
     @PostMapping("service-providers/{providerId}/tenants/{tenantId}/participants/{participantId}/partners/{dataspaceId}")
@@ -236,20 +274,29 @@ public class TenantController {
 
     @GetMapping("service-providers/{serviceProviderId}/tenants/{tenantId}/participants/{participantId}/dataspaces")
 //    @PreAuthorize("hasRole('USER')")
-    @Operation(summary = "Get participant dataspaces", description = "Retrieves a list of dataspaces associated with a specific participant")
+    @Operation(summary = "Get participant dataspaces", description = "Retrieves one page of the dataspaces associated with a specific participant." + PAGING)
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Successfully retrieved participant dataspaces"),
+            @ApiResponse(responseCode = "400", description = "Invalid paging or sort parameters"),
             @ApiResponse(responseCode = "404", description = "Service provider, tenant, or participant not found")
     })
     @Parameter(name = "serviceProviderId", description = "Database ID of the service provider", required = true)
     @Parameter(name = "tenantId", description = "Database ID of the tenant", required = true)
     @Parameter(name = "participantId", description = "Database ID of the participant", required = true)
+    @Parameter(name = "cursor", description = "Cursor of the page to return, as returned in the " + PageResponses.NEXT_CURSOR + " header of the previous page")
+    @Parameter(name = "limit", description = "Maximum number of dataspaces to return, at most " + PageQuery.MAX_LIMIT)
+    @Parameter(name = "sort", description = "Sort key, id (default) or name")
+    @Parameter(name = "order", description = "Sort order, ASC or DESC")
     public ResponseEntity<List<DataspaceResponse>> getParticipantDataspaces(@PathVariable Long serviceProviderId,
                                                                             @PathVariable Long tenantId,
-                                                                            @PathVariable Long participantId) {
-        var dataspaces = tenantService.getParticipantDataspaces(participantId);
+                                                                            @PathVariable Long participantId,
+                                                                            @RequestParam(required = false) String cursor,
+                                                                            @RequestParam(defaultValue = "" + PageQuery.DEFAULT_LIMIT) int limit,
+                                                                            @RequestParam(required = false) String sort,
+                                                                            @RequestParam(defaultValue = "ASC") String order) {
+        var dataspaces = tenantService.getParticipantDataspaces(participantId, PageResponses.pageQuery(cursor, limit, sort, order));
         // TODO auth check for provider access
-        return ResponseEntity.ok(dataspaces);
+        return PageResponses.of(dataspaces);
     }
 
 }
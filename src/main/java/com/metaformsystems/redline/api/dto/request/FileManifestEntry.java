@@ -0,0 +1,24 @@
+/*
+ *  Copyright (c) 2026 Metaform Systems, Inc.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Metaform Systems, Inc. - initial API and implementation
+ *
+ */
+
+package com.metaformsystems.redline.api.dto.request;
+
+import java.util.Map;
+
+/**
+ * Describes one file of a bulk upload. The file part is matched to its entry by file name.
+ */
+public record FileManifestEntry(String filename, Map<String, Object> publicMetadata,
+                                Map<String, Object> privateMetadata) {
+}
@@ -0,0 +1,42 @@
+/*
+ *  Copyright (c) 2026 Metaform Systems, Inc.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Metaform Systems, Inc. - initial API and implementation
+ *
+ */
+
+package com.metaformsystems.redline.api.dto.response;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk upload. All published files are offered through the same policy and contract definition, the
+ * items are listed in the order in which the files were received.
+ */
+public record BulkPublicationResult(String batchId, String policyId, String contractDefinitionId,
+                                    List<PublicationItem> items) {
+
+    public record PublicationItem(String filename, Status status, String fileId, String assetId, String digest,
+                                  String error) {
+
+        public static PublicationItem published(String filename, String fileId, String assetId, String digest) {
+            return new PublicationItem(filename, Status.PUBLISHED, fileId, assetId, digest, null);
+        }
+
+        public static PublicationItem failed(String filename, String fileId, String error) {
+            return new PublicationItem(filename, Status.FAILED, fileId, null, null, error);
+        }
+    }
+
+    public enum Status {
+        PUBLISHED,
+        FAILED
+    }
+}
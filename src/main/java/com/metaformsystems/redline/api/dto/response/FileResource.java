@@ -17,5 +17,5 @@ package com.metaformsystems.redline.api.dto.response;
 import java.util.Map;
 
 public record FileResource(String fileId, String fileName, String contentType, String uploadDateIso,
-                           Map<String, Object> metadata) {
+                           Map<String, Object> metadata, String digest) {
 }
@@ -0,0 +1,121 @@
+/*
+ *  Copyright (c) 2026 Metaform Systems, Inc.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Metaform Systems, Inc. - initial API and implementation
+ *
+ */
+
+package com.metaformsystems.redline.application.service;
+
+import com.metaformsystems.redline.application.service.WorkloadTokenProvider.ExchangedToken;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Caches exchanged tokens per (resource, scopes) until {@code token.cache.refresh-margin} before they expire, but for
+ * at least half of their lifetime, so that short-lived tokens are not exchanged on every call. Concurrent callers
+ * asking for the same token while it is being (re-)fetched wait for the single in-flight exchange instead of starting
+ * their own.
+ * <p>
+ * Tokens for which the token endpoint did not report an {@code expires_in} are kept for {@code token.cache.default-ttl}.
+ */
+@Component("token-exchange")
+public class CachingTokenProvider implements TokenProvider {
+    private final WorkloadTokenProvider delegate;
+    private final Duration refreshMargin;
+    private final Duration defaultTtl;
+    private final Clock clock;
+    private final Map<CacheKey, CompletableFuture<CachedToken>> tokens = new ConcurrentHashMap<>();
+
+    @Autowired
+    public CachingTokenProvider(WorkloadTokenProvider delegate,
+                                @Value("${token.cache.refresh-margin:30s}") Duration refreshMargin,
+                                @Value("${token.cache.default-ttl:60s}") Duration defaultTtl) {
+        this(delegate, refreshMargin, defaultTtl, Clock.systemUTC());
+    }
+
+    CachingTokenProvider(WorkloadTokenProvider delegate, Duration refreshMargin, Duration defaultTtl, Clock clock) {
+        this.delegate = delegate;
+        this.refreshMargin = refreshMargin;
+        this.defaultTtl = defaultTtl;
+        this.clock = clock;
+    }
+
+    @Override
+    public String getToken(String resource, String scopes) {
+        var key = new CacheKey(resource, scopes);
+        var fresh = new CompletableFuture<CachedToken>();
+        var current = tokens.compute(key, (k, existing) -> existing != null && isUsable(existing) ? existing : fresh);
+
+        if (current == fresh) {
+            try {
+                fresh.complete(toCachedToken(delegate.exchangeToken(resource, scopes)));
+            } catch (RuntimeException e) {
+                tokens.remove(key, fresh);
+                fresh.completeExceptionally(e);
+            }
+        }
+
+        try {
+            return current.join().accessToken();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Removes all cached tokens, e.g. after the workload identity changed.
+     */
+    public void evictAll() {
+        tokens.clear();
+    }
+
+    /**
+     * An entry is usable while it is still being fetched, or when it was fetched successfully and is not due for a
+     * refresh yet.
+     */
+    private boolean isUsable(CompletableFuture<CachedToken> entry) {
+        if (!entry.isDone()) {
+            return true;
+        }
+        if (entry.isCompletedExceptionally()) {
+            return false;
+        }
+        return clock.instant().isBefore(entry.join().refreshAt());
+    }
+
+    private CachedToken toCachedToken(ExchangedToken token) {
+        var now = clock.instant();
+        if (token.expiresIn() == null) {
+            return new CachedToken(token.accessToken(), now.plus(defaultTtl));
+        }
+        var ttl = token.expiresIn();
+        var margin = refreshMargin.compareTo(ttl.dividedBy(2)) < 0 ? refreshMargin : ttl.dividedBy(2);
+        return new CachedToken(token.accessToken(), now.plus(ttl).minus(margin));
+    }
+
+    private record CacheKey(String resource, String scopes) {
+    }
+
+    private record CachedToken(String accessToken, Instant refreshAt) {
+    }
+}
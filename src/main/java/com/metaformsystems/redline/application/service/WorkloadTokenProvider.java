@@ -15,6 +15,7 @@
 package com.metaformsystems.redline.application.service;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.metaformsystems.redline.infrastructure.client.ClientMetrics;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.MediaType;
@@ -25,6 +26,8 @@ import org.springframework.web.reactive.function.client.WebClient;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
 import java.util.Objects;
 
 import static java.util.Optional.ofNullable;
@@ -32,49 +35,87 @@ import static java.util.Optional.ofNullable;
 /**
  * This provider reads a workload token from a file share, provided by Kubernetes, and exchanges it for a scoped token
  * using the Token Exchange Protocol (RFC 8693 - OAuth 2.0 Token Exchange).
+ * <p>
+ * The workload token is only re-read when the projected file is rotated, i.e. when its modification time changes.
+ * Exchanged tokens are not cached here, see {@link CachingTokenProvider}.
  */
-@Component("token-exchange")
+@Component("workload-token")
 public class WorkloadTokenProvider implements TokenProvider {
-    private final String tokenFilePath;
+    private final Path tokenFilePath;
     private final String tokenExchangeAudience;
     private final String defaultResource;
     private final WebClient webClient;
+    private final ClientMetrics clientMetrics;
+    private volatile WorkloadToken workloadToken;
 
     public WorkloadTokenProvider(@Value("${token.file.path:/var/run/secrets/jwtlet/token}") String tokenFilePath,
                                  @Value("${token.exchange.audience:edcv}") String tokenExchangeAudience,
                                  @Value("${token.exchange.resource:redline}") String defaultResource,
-                                 @Qualifier("tokenExchangeClient") WebClient webClient) {
-        this.tokenFilePath = tokenFilePath;
+                                 @Qualifier("tokenExchangeClient") WebClient webClient,
+                                 ClientMetrics clientMetrics) {
+        this.tokenFilePath = Path.of(tokenFilePath);
         this.tokenExchangeAudience = tokenExchangeAudience;
         this.defaultResource = defaultResource;
         this.webClient = webClient;
+        this.clientMetrics = clientMetrics;
     }
 
     @Override
     public String getToken(String resource, String scopes) {
-        try {
-            var tokenContent = Files.readString(Path.of(tokenFilePath));
+        return exchangeToken(resource, scopes).accessToken();
+    }
 
-            var response = webClient.post()
-                    .uri("/token")
-                    .contentType(MediaType.APPLICATION_FORM_URLENCODED)
-                    .body(BodyInserters.fromFormData("grant_type", "urn:ietf:params:oauth:grant-type:token-exchange")
-                            .with("subject_token", tokenContent)
-                            .with("subject_token_type", "urn:ietf:params:oauth:token-type:jwt")
-                            .with("audience", tokenExchangeAudience)
-                            .with("resource", ofNullable(resource).orElse(defaultResource))
-                            .with("scope", scopes))
-                    .retrieve()
-                    .bodyToMono(TokenResponse.class)
-                    .block();
+    /**
+     * Exchanges the workload token for a token scoped to the given resource, including its lifetime if the token
+     * endpoint reported one. The lifetime is not turned into an expiry here, so that callers measure it with their own
+     * clock.
+     */
+    public ExchangedToken exchangeToken(String resource, String scopes) {
+        var response = webClient.post()
+                .uri("/token")
+                .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                .body(BodyInserters.fromFormData("grant_type", "urn:ietf:params:oauth:grant-type:token-exchange")
+                        .with("subject_token", readWorkloadToken())
+                        .with("subject_token_type", "urn:ietf:params:oauth:token-type:jwt")
+                        .with("audience", tokenExchangeAudience)
+                        .with("resource", ofNullable(resource).orElse(defaultResource))
+                        .with("scope", scopes))
+                .retrieve()
+                .bodyToMono(TokenResponse.class)
+                .transform(clientMetrics.mono("token", "exchange", resource))
+                .block();
 
-            return Objects.requireNonNull(response).accessToken();
+        Objects.requireNonNull(response);
+        var expiresIn = response.expiresIn() != null ? Duration.ofSeconds(response.expiresIn()) : null;
+        return new ExchangedToken(response.accessToken(), expiresIn);
+    }
 
+    /**
+     * Returns the workload token, reading the file only if it was rotated since the last read. Kubernetes rotates
+     * projected tokens by swapping a symlink, which changes the modification time of the resolved file.
+     */
+    private String readWorkloadToken() {
+        try {
+            var lastModified = Files.getLastModifiedTime(tokenFilePath);
+            var current = workloadToken;
+            if (current != null && current.lastModified().equals(lastModified)) {
+                return current.content();
+            }
+            var content = Files.readString(tokenFilePath);
+            workloadToken = new WorkloadToken(content, lastModified);
+            return content;
         } catch (IOException e) {
             throw new RuntimeException(e);
         }
     }
 
-    private record TokenResponse(@JsonProperty("access_token") String accessToken) {
+    public record ExchangedToken(String accessToken, Duration expiresIn) {
+    }
+
+    private record WorkloadToken(String content, FileTime lastModified) {
+    }
+
+    private record TokenResponse(@JsonProperty("access_token") String accessToken,
+                                 @JsonProperty("expires_in") Long expiresIn) {
     }
 }
@@ -14,13 +14,18 @@
 
 package com.metaformsystems.redline.domain.entity;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
-import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
 import jakarta.validation.constraints.NotBlank;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 
 import java.util.HashMap;
 import java.util.HashSet;
@@ -32,19 +37,22 @@ import java.util.Set;
  * if more than one protocol version or policy set is supported.
  */
 @Entity
-@Table(name = "dataspaces")
+@Table(name = "dataspaces", indexes = @Index(name = "idx_dataspaces_name", columnList = "name, id"))
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class Dataspace extends VersionedEntity {
 
     @NotBlank
     @Column(nullable = false)
     private String name;
 
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     @OneToMany
     @JoinColumn(name = "dataspace_id")
     private Set<DataspaceProfile> profiles = new HashSet<>();
 
-    @Column(name = "properties", columnDefinition = "TEXT")
-    @Convert(converter = HashMapConverter.class)
+    @Column(name = "properties")
+    @JdbcTypeCode(SqlTypes.JSON)
     private Map<String, Object> properties = new HashMap<>();
 
     public String getName() {
@@ -14,14 +14,19 @@
 
 package com.metaformsystems.redline.domain.entity;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.CollectionTable;
 import jakarta.persistence.Column;
-import jakarta.persistence.Convert;
 import jakarta.persistence.ElementCollection;
 import jakarta.persistence.Entity;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.Table;
 import jakarta.validation.constraints.NotNull;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -32,11 +37,14 @@ import java.util.Map;
  */
 @Entity
 @Table(name = "dataspace_info")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class DataspaceInfo extends VersionedEntity {
     @NotNull
     @Column(nullable = false)
     private Long dataspaceId;
 
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     @ElementCollection
     @CollectionTable(
             name = "dataspace_info_agreement_types",
@@ -44,6 +52,7 @@ public class DataspaceInfo extends VersionedEntity {
     )
     @Column(name = "agreement_type")
     private List<String> agreementTypes = new ArrayList<>();
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     @ElementCollection
     @CollectionTable(
             name = "dataspace_info_roles",
@@ -52,15 +61,17 @@ public class DataspaceInfo extends VersionedEntity {
     @Column(name = "role")
     private List<String> roles = new ArrayList<>();
 
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     @ElementCollection
     @CollectionTable(
             name = "dataspace_info_partners",
-            joinColumns = @JoinColumn(name = "dataspace_info_id")
+            joinColumns = @JoinColumn(name = "dataspace_info_id"),
+            indexes = @Index(name = "idx_dataspace_info_partners_identifier", columnList = "dataspace_info_id, identifier")
     )
     private List<PartnerReference> partners = new ArrayList<>();
 
-    @Column(name = "properties", columnDefinition = "TEXT")
-    @Convert(converter = HashMapConverter.class)
+    @Column(name = "properties")
+    @JdbcTypeCode(SqlTypes.JSON)
     private Map<String, Object> properties;
 
 
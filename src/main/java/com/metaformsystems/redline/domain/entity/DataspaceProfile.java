@@ -14,14 +14,19 @@
 
 package com.metaformsystems.redline.domain.entity;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Table;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 /**
  * Represents a profile in a dataspace ecosystem. A profile consists of a DSP version, DCP version, policies, and credential types.
  */
 @Entity
 @Table(name = "dataspace_profiles")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class DataspaceProfile extends VersionedEntity {
     private String correlationId;
 
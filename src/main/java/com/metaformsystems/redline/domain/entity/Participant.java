@@ -14,13 +14,17 @@
 
 package com.metaformsystems.redline.domain.entity;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Embedded;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.ArrayList;
 import java.util.HashSet;
@@ -32,6 +36,9 @@ import java.util.Set;
  */
 @Entity
 @Table(name = "participants")
+@EntityListeners(ParticipantChangeListener.class)
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class Participant extends VersionedEntity {
 
     private String identifier;
@@ -41,10 +48,12 @@ public class Participant extends VersionedEntity {
     @JoinColumn(name = "tenant_id")
     private Tenant tenant;
 
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     @OneToMany(cascade = CascadeType.ALL, orphanRemoval = true)
     @JoinColumn(name = "participant_id")
     private Set<DataspaceInfo> dataspaceInfos = new HashSet<>();
 
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     @OneToMany(cascade = CascadeType.ALL, orphanRemoval = true)
     @JoinColumn(name = "participant_id")
     private Set<VirtualParticipantAgent> agents = new HashSet<>();
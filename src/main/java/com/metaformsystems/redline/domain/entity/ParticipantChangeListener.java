@@ -0,0 +1,39 @@
+/*
+ *  Copyright (c) 2026 Metaform Systems, Inc.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Metaform Systems, Inc. - initial API and implementation
+ *
+ */
+
+package com.metaformsystems.redline.domain.entity;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.context.ApplicationEventPublisher;
+
+/**
+ * Publishes a {@link ParticipantChangedEvent} whenever a participant is written to or removed from the database.
+ * Instantiated by Hibernate through the Spring bean container.
+ */
+public class ParticipantChangeListener {
+    private final ApplicationEventPublisher eventPublisher;
+
+    public ParticipantChangeListener(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    void participantChanged(Participant participant) {
+        eventPublisher.publishEvent(new ParticipantChangedEvent(participant.getId(), participant.getParticipantContextId()));
+    }
+}
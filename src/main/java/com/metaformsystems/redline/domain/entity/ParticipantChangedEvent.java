@@ -0,0 +1,24 @@
+/*
+ *  Copyright (c) 2026 Metaform Systems, Inc.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Metaform Systems, Inc. - initial API and implementation
+ *
+ */
+
+package com.metaformsystems.redline.domain.entity;
+
+/**
+ * Signals that a participant was created, updated or removed.
+ *
+ * @param participantId        the id of the participant
+ * @param participantContextId the participant context id after the change, may be {@code null}
+ */
+public record ParticipantChangedEvent(Long participantId, String participantContextId) {
+}
@@ -15,8 +15,9 @@
 package com.metaformsystems.redline.domain.entity;
 
 import jakarta.persistence.Column;
-import jakarta.persistence.Convert;
 import jakarta.persistence.Embeddable;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -29,8 +30,8 @@ public record PartnerReference(
         String identifier,
         String nickname,
 
-        @Column(name = "properties", columnDefinition = "TEXT")
-        @Convert(converter = HashMapConverter.class)
+        @Column(name = "properties")
+        @JdbcTypeCode(SqlTypes.JSON)
         Map<String, Object> properties
 ) {
     public PartnerReference {
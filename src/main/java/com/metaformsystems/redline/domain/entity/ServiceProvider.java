@@ -14,11 +14,15 @@
 
 package com.metaformsystems.redline.domain.entity;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.Index;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
 import jakarta.validation.constraints.NotBlank;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.HashSet;
 import java.util.Set;
@@ -27,13 +31,16 @@ import java.util.Set;
  * An organization that provides dataspace services (e.g., a connector and credential service) to tenants.
  */
 @Entity
-@Table(name = "providers")
+@Table(name = "providers", indexes = @Index(name = "idx_providers_name", columnList = "name, id"))
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class ServiceProvider extends VersionedEntity {
 
     @NotBlank
     @Column(nullable = false)
     private String name;
 
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     @OneToMany(mappedBy = "serviceProvider")
     private Set<Tenant> tenants = new HashSet<>();
 
@@ -0,0 +1,100 @@
+/*
+ *  Copyright (c) 2026 Metaform Systems, Inc.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Metaform Systems, Inc. - initial API and implementation
+ *
+ */
+
+package com.metaformsystems.redline.domain.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.util.Map;
+
+/**
+ * A contract agreement as it was received from the control plane. Agreements do not change once they are signed, so
+ * a stored agreement is never updated.
+ */
+@Entity
+@Table(name = "contract_agreements",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"participant_context_id", "agreement_id"}))
+public class StoredContractAgreement extends VersionedEntity {
+    @Column(name = "participant_context_id", nullable = false, updatable = false)
+    private String participantContextId;
+    @Column(name = "agreement_id", nullable = false, updatable = false)
+    private String agreementId;
+    // the agreementId property that the control plane reports next to the @id of the agreement
+    @Column(updatable = false)
+    private String reportedAgreementId;
+    @Column(updatable = false)
+    private String providerId;
+    @Column(updatable = false)
+    private String consumerId;
+    @Column(updatable = false)
+    private String assetId;
+    @Column(updatable = false)
+    private long contractSigningDate;
+    @Column(name = "policy", updatable = false)
+    @JdbcTypeCode(SqlTypes.JSON)
+    private Map<String, Object> policy;
+
+    public StoredContractAgreement(String participantContextId, String agreementId, String reportedAgreementId, String providerId,
+                                   String consumerId, String assetId, long contractSigningDate, Map<String, Object> policy) {
+        this.participantContextId = participantContextId;
+        this.agreementId = agreementId;
+        this.reportedAgreementId = reportedAgreementId;
+        this.providerId = providerId;
+        this.consumerId = consumerId;
+        this.assetId = assetId;
+        this.contractSigningDate = contractSigningDate;
+        this.policy = policy;
+    }
+
+    public StoredContractAgreement() {
+
+    }
+
+    public String getParticipantContextId() {
+        return participantContextId;
+    }
+
+    public String getAgreementId() {
+        return agreementId;
+    }
+
+    public String getReportedAgreementId() {
+        return reportedAgreementId;
+    }
+
+    public String getProviderId() {
+        return providerId;
+    }
+
+    public String getConsumerId() {
+        return consumerId;
+    }
+
+    public String getAssetId() {
+        return assetId;
+    }
+
+    public long getContractSigningDate() {
+        return contractSigningDate;
+    }
+
+    public Map<String, Object> getPolicy() {
+        return policy;
+    }
+}
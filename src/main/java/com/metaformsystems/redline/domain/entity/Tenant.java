@@ -14,15 +14,20 @@
 
 package com.metaformsystems.redline.domain.entity;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
-import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
 import jakarta.validation.constraints.NotBlank;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 
 import java.util.HashMap;
 import java.util.HashSet;
@@ -34,7 +39,12 @@ import java.util.Set;
  * if it uses unique identifiers for different dataspaces.
  */
 @Entity
-@Table(name = "tenants")
+@Table(name = "tenants", indexes = {
+        @Index(name = "idx_tenants_provider_id", columnList = "service_provider_id, id"),
+        @Index(name = "idx_tenants_provider_name", columnList = "service_provider_id, name, id")
+})
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class Tenant extends VersionedEntity {
 
     @NotBlank
@@ -45,10 +55,11 @@ public class Tenant extends VersionedEntity {
     @JoinColumn(name = "service_provider_id")
     private ServiceProvider serviceProvider;
 
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     @OneToMany(mappedBy = "tenant", cascade = CascadeType.ALL, orphanRemoval = true)
     private Set<Participant> participants = new HashSet<>();
-    @Column(name = "properties", columnDefinition = "TEXT")
-    @Convert(converter = HashMapConverter.class)
+    @Column(name = "properties")
+    @JdbcTypeCode(SqlTypes.JSON)
     private Map<String, Object> properties = new HashMap<>();
     private String correlationId;
 
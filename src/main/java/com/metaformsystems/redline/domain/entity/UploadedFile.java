@@ -15,21 +15,40 @@
 package com.metaformsystems.redline.domain.entity;
 
 import jakarta.persistence.Column;
-import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 
 import java.util.Map;
 
+/**
+ * A file that a participant uploaded. Files are listed per participant with keyset pagination, ordered by creation time
+ * or file name, which is what the indexes cover. The id is the tie-breaker.
+ */
 @Entity
-@Table(name = "uploaded_files")
+@Table(name = "uploaded_files", indexes = {
+        @Index(name = "idx_uploaded_files_participant_created", columnList = "uploaded_files, created_at, id"),
+        @Index(name = "idx_uploaded_files_participant_filename", columnList = "uploaded_files, original_filename, id")
+})
 public class UploadedFile extends VersionedEntity {
+    /**
+     * The owning participant, see {@link Participant#getUploadedFiles()}. Read-only, the participant maintains the column.
+     */
+    @Column(name = "uploaded_files", insertable = false, updatable = false)
+    private Long participantId;
     private String fileId;
+    @Column(name = "original_filename")
     private String originalFilename;
     private String contentType;
-    @Column(name = "metadata", columnDefinition = "TEXT")
-    @Convert(converter = HashMapConverter.class)
+    @Column(name = "metadata")
+    @JdbcTypeCode(SqlTypes.JSON)
     private Map<String, Object> metadata;
+    /**
+     * Hex-encoded SHA-256 digest of the file content, computed while the file was streamed to the data plane.
+     */
+    private String digest;
 
     public UploadedFile(String fileId, String originalFilename, String contentType, Map<String, Object> metadata) {
         this.fileId = fileId;
@@ -50,6 +69,10 @@ public class UploadedFile extends VersionedEntity {
         this.metadata = metadata;
     }
 
+    public Long getParticipantId() {
+        return participantId;
+    }
+
     public String getFileId() {
         return fileId;
     }
@@ -61,4 +84,12 @@ public class UploadedFile extends VersionedEntity {
     public String getContentType() {
         return contentType;
     }
+
+    public String getDigest() {
+        return digest;
+    }
+
+    public void setDigest(String digest) {
+        this.digest = digest;
+    }
 }
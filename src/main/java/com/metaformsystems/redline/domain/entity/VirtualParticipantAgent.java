@@ -14,16 +14,21 @@
 
 package com.metaformsystems.redline.domain.entity;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.Table;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 /**
  * A virtual resource associated with a {@link Participant}.
  */
 @Entity
 @Table(name = "virtual_participant_agents")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class VirtualParticipantAgent extends VersionedEntity {
     @Enumerated(EnumType.STRING)
     private VpaType type;
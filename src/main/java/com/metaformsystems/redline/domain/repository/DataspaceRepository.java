@@ -15,9 +15,34 @@
 package com.metaformsystems.redline.domain.repository;
 
 import com.metaformsystems.redline.domain.entity.Dataspace;
+import com.metaformsystems.redline.domain.entity.Participant;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
-public interface DataspaceRepository extends JpaRepository<Dataspace, Long> {
+public interface DataspaceRepository extends JpaRepository<Dataspace, Long>, JpaSpecificationExecutor<Dataspace> {
+
+    /**
+     * Dataspaces the given participant is a member of.
+     */
+    static Specification<Dataspace> ofParticipant(Long participantId) {
+        return (root, query, cb) -> {
+            var dataspaceIds = query.subquery(Long.class);
+            var participant = dataspaceIds.from(Participant.class);
+            dataspaceIds.select(participant.join("dataspaceInfos").get("dataspaceId"))
+                    .where(cb.equal(participant.get("id"), participantId));
+            return root.get("id").in(dataspaceIds);
+        };
+    }
+
+    @Override
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
+    List<Dataspace> findAll();
 }
\ No newline at end of file
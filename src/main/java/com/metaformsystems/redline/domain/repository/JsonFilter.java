@@ -0,0 +1,38 @@
+/*
+ *  Copyright (c) 2026 Metaform Systems, Inc.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Metaform Systems, Inc. - initial API and implementation
+ *
+ */
+
+package com.metaformsystems.redline.domain.repository;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.util.Map;
+
+/**
+ * Builds the JSON object that is passed to {@code json_contains} to filter JSON columns by one entry.
+ */
+final class JsonFilter {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private JsonFilter() {
+    }
+
+    static String of(String key, Object value) {
+        try {
+            return MAPPER.writeValueAsString(Map.of(key, value));
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Value of '%s' cannot be written as JSON".formatted(key), e);
+        }
+    }
+}
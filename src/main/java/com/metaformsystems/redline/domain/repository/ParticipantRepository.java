@@ -15,14 +15,43 @@
 package com.metaformsystems.redline.domain.repository;
 
 import com.metaformsystems.redline.domain.entity.Participant;
+import com.metaformsystems.redline.domain.entity.PartnerReference;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface ParticipantRepository extends JpaRepository<Participant, Long> {
     Optional<Participant> findByCorrelationId(String correlationId);
 
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     Optional<Participant> findByParticipantContextId(String participantContextId);
+
+    /**
+     * Returns the first partner references of a participant in a dataspace, ordered by identifier.
+     */
+    @Query("select r from Participant p join p.dataspaceInfos i join i.partners r " +
+            "where p.id = :participantId and i.dataspaceId = :dataspaceId order by r.identifier")
+    List<PartnerReference> findPartners(@Param("participantId") Long participantId, @Param("dataspaceId") Long dataspaceId, Limit limit);
+
+    /**
+     * Returns the partner references of a participant in a dataspace that follow the given identifier, ordered by
+     * identifier.
+     */
+    @Query("select r from Participant p join p.dataspaceInfos i join i.partners r " +
+            "where p.id = :participantId and i.dataspaceId = :dataspaceId and r.identifier > :after order by r.identifier")
+    List<PartnerReference> findPartnersAfter(@Param("participantId") Long participantId, @Param("dataspaceId") Long dataspaceId,
+                                             @Param("after") String after, Limit limit);
+
+    @Query("select count(r) from Participant p join p.dataspaceInfos i join i.partners r " +
+            "where p.id = :participantId and i.dataspaceId = :dataspaceId")
+    long countPartners(@Param("participantId") Long participantId, @Param("dataspaceId") Long dataspaceId);
 }
\ No newline at end of file
@@ -16,8 +16,9 @@ package com.metaformsystems.redline.domain.repository;
 
 import com.metaformsystems.redline.domain.entity.ServiceProvider;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.stereotype.Repository;
 
 @Repository
-public interface ServiceProviderRepository extends JpaRepository<ServiceProvider, Long> {
+public interface ServiceProviderRepository extends JpaRepository<ServiceProvider, Long>, JpaSpecificationExecutor<ServiceProvider> {
 }
\ No newline at end of file
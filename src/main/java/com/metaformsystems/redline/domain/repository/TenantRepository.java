@@ -15,13 +15,47 @@
 package com.metaformsystems.redline.domain.repository;
 
 import com.metaformsystems.redline.domain.entity.Tenant;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 
 @Repository
-public interface TenantRepository extends JpaRepository<Tenant, Long> {
+public interface TenantRepository extends JpaRepository<Tenant, Long>, JpaSpecificationExecutor<Tenant> {
 
-    List<Tenant> findByServiceProviderId(Long serviceProviderId);
+    /**
+     * Tenants of the given service provider. The service provider is fetched along with the tenants, their participants
+     * are loaded in batches, see {@code hibernate.default_batch_fetch_size}. Fetching the participants with the
+     * tenants would make Hibernate page in memory.
+     */
+    static Specification<Tenant> ofServiceProvider(Long serviceProviderId) {
+        return (root, query, cb) -> {
+            if (query.getResultType() != Long.class) {
+                root.fetch("serviceProvider");
+            }
+            return cb.equal(root.get("serviceProvider").get("id"), serviceProviderId);
+        };
+    }
+
+    long countByServiceProviderId(Long serviceProviderId);
+
+    /**
+     * Returns the tenants that were created in CFM.
+     */
+    List<Tenant> findByCorrelationIdIsNotNull();
+
+    /**
+     * Returns the tenants of the service provider that have the given property. On PostgreSQL the filter is served by
+     * the GIN index on {@code tenants.properties}.
+     */
+    default List<Tenant> findByServiceProviderIdAndProperty(Long serviceProviderId, String key, Object value) {
+        return findByServiceProviderIdAndPropertiesContaining(serviceProviderId, JsonFilter.of(key, value));
+    }
+
+    @Query("select t from Tenant t where t.serviceProvider.id = :serviceProviderId and json_contains(t.properties, :filter) = true")
+    List<Tenant> findByServiceProviderIdAndPropertiesContaining(@Param("serviceProviderId") Long serviceProviderId, @Param("filter") String filter);
 }
\ No newline at end of file
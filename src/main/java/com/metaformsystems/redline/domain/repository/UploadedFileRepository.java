@@ -0,0 +1,58 @@
+/*
+ *  Copyright (c) 2026 Metaform Systems, Inc.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Metaform Systems, Inc. - initial API and implementation
+ *
+ */
+
+package com.metaformsystems.redline.domain.repository;
+
+import com.metaformsystems.redline.domain.entity.UploadedFile;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface UploadedFileRepository extends JpaRepository<UploadedFile, Long>, JpaSpecificationExecutor<UploadedFile> {
+
+    /**
+     * Files of the given participant.
+     */
+    static Specification<UploadedFile> ofParticipant(Long participantId) {
+        return (root, query, cb) -> cb.equal(root.get("participantId"), participantId);
+    }
+
+    static Specification<UploadedFile> hasContentType(String contentType) {
+        return (root, query, cb) -> cb.equal(root.get("contentType"), contentType);
+    }
+
+    /**
+     * Files that have the given metadata entry. On PostgreSQL the filter is served by the GIN index on
+     * {@code uploaded_files.metadata}.
+     */
+    static Specification<UploadedFile> hasMetadata(String key, Object value) {
+        return (root, query, cb) -> cb.isTrue(cb.function("json_contains", Boolean.class, root.get("metadata"), cb.literal(JsonFilter.of(key, value))));
+    }
+
+    /**
+     * Returns the files of the participant that have the given metadata entry.
+     */
+    default List<UploadedFile> findByParticipantIdAndMetadata(Long participantId, String key, Object value) {
+        return findByParticipantIdAndMetadataContaining(participantId, JsonFilter.of(key, value));
+    }
+
+    @Query("select f from UploadedFile f where f.participantId = :participantId and json_contains(f.metadata, :filter) = true")
+    List<UploadedFile> findByParticipantIdAndMetadataContaining(@Param("participantId") Long participantId, @Param("filter") String filter);
+}
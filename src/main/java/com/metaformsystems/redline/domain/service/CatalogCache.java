@@ -0,0 +1,179 @@
+/*
+ *  Copyright (c) 2026 Metaform Systems, Inc.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Metaform Systems, Inc. - initial API and implementation
+ *
+ */
+
+package com.metaformsystems.redline.domain.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.metaformsystems.redline.infrastructure.client.management.ReactiveManagementApiClient;
+import com.metaformsystems.redline.infrastructure.client.management.dto.Catalog;
+import com.metaformsystems.redline.infrastructure.client.management.dto.CatalogRequest;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Caches the catalogs of counter-parties per (participant context, counter-party DID) in a bounded cache.
+ * <p>
+ * A catalog is fresh for {@code catalog.cache.ttl}, or for the {@code max-age} the caller asks for. Past the TTL it is
+ * still served for {@code catalog.cache.stale-while-revalidate}, while a single background fetch refreshes it. A caller
+ * that asks for a {@code max-age} or sends {@code no-cache} waits for the fetch instead. If a fetch fails, a catalog
+ * that expired less than {@code catalog.cache.stale-if-error} ago is served in its place.
+ * <p>
+ * Concurrent fetches of the same catalog, whether by callers or in the background, share one request. The cache is
+ * reported as the {@code cache.*} meters of the {@value #CACHE_NAME} cache, where a stale catalog that is found counts
+ * as a hit.
+ */
+@Component
+public class CatalogCache {
+
+    static final String CACHE_NAME = "catalogs";
+    private static final Logger log = LoggerFactory.getLogger(CatalogCache.class);
+    private static final Pattern MAX_AGE = Pattern.compile("max-age=(\\d+)");
+    private final ReactiveManagementApiClient reactiveManagementApiClient;
+    private final WebDidResolver webDidResolver;
+    private final Duration ttl;
+    private final Duration staleWhileRevalidate;
+    private final Duration staleIfError;
+    private final Clock clock;
+    private final Map<LookupKey, CompletableFuture<CachedCatalog>> inFlight = new ConcurrentHashMap<>();
+    private final Cache<LookupKey, CachedCatalog> cache;
+
+    @Autowired
+    public CatalogCache(ReactiveManagementApiClient reactiveManagementApiClient,
+                        WebDidResolver webDidResolver,
+                        @Value("${catalog.cache.max-size:100}") int maxSize,
+                        @Value("${catalog.cache.ttl:5m}") Duration ttl,
+                        @Value("${catalog.cache.stale-while-revalidate:10m}") Duration staleWhileRevalidate,
+                        @Value("${catalog.cache.stale-if-error:1h}") Duration staleIfError) {
+        this(reactiveManagementApiClient, webDidResolver, maxSize, ttl, staleWhileRevalidate, staleIfError, Clock.systemUTC());
+    }
+
+    CatalogCache(ReactiveManagementApiClient reactiveManagementApiClient, WebDidResolver webDidResolver, int maxSize,
+                 Duration ttl, Duration staleWhileRevalidate, Duration staleIfError, Clock clock) {
+        this.reactiveManagementApiClient = reactiveManagementApiClient;
+        this.webDidResolver = webDidResolver;
+        this.ttl = ttl;
+        this.staleWhileRevalidate = staleWhileRevalidate;
+        this.staleIfError = staleIfError;
+        this.clock = clock;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .recordStats()
+                .build();
+    }
+
+    @Autowired(required = false)
+    void bindMetrics(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, CACHE_NAME);
+    }
+
+    /**
+     * Returns the catalog of the counter-party, as seen by the given participant context.
+     *
+     * @param cacheControl the {@code Cache-Control} header of the caller, may be {@code null}
+     */
+    public Mono<Catalog> get(String participantContextId, String counterPartyDid, String cacheControl) {
+        return Mono.defer(() -> {
+            var key = new LookupKey(participantContextId, counterPartyDid);
+            var noCache = cacheControl != null && (cacheControl.contains("no-cache") || cacheControl.contains("no-store"));
+            var maxAge = maxAge(cacheControl);
+            var freshFor = maxAge != null ? maxAge : ttl;
+            var cached = cache.getIfPresent(key);
+
+            if (cached != null && !noCache) {
+                var age = Duration.between(cached.fetchedAt(), clock.instant());
+                if (age.compareTo(freshFor) < 0) {
+                    return Mono.just(cached.catalog());
+                }
+                // a max-age asked for by the caller is not stretched by the revalidation window
+                if (maxAge == null && age.compareTo(freshFor.plus(staleWhileRevalidate)) < 0) {
+                    fetch(key).exceptionally(e -> {
+                        log.warn("Failed to refresh catalog of {} for participant {}", counterPartyDid, participantContextId, e);
+                        return null;
+                    });
+                    return Mono.just(cached.catalog());
+                }
+            }
+
+            return Mono.fromFuture(fetch(key), true)
+                    .map(CachedCatalog::catalog)
+                    .onErrorResume(e -> {
+                        if (cached == null || Duration.between(cached.fetchedAt(), clock.instant()).compareTo(freshFor.plus(staleIfError)) >= 0) {
+                            return Mono.error(e);
+                        }
+                        log.warn("Failed to fetch catalog of {} for participant {}, serving the cached catalog from {}", counterPartyDid, participantContextId, cached.fetchedAt(), e);
+                        return Mono.just(cached.catalog());
+                    });
+        });
+    }
+
+    /**
+     * Fetches the catalog, or joins the fetch that is in flight for it already. The fetch does not access the
+     * database and does not block the calling thread.
+     */
+    private CompletableFuture<CachedCatalog> fetch(LookupKey key) {
+        var fresh = new CompletableFuture<CachedCatalog>();
+        var current = inFlight.putIfAbsent(key, fresh);
+        if (current != null) {
+            return current;
+        }
+        // DID resolution is blocking
+        Mono.fromCallable(() -> CatalogRequest.Builder.newInstance()
+                        .counterPartyId(key.did())
+                        .counterPartyAddress(webDidResolver.resolveProtocolEndpoints(key.did()))
+                        .build())
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(request -> reactiveManagementApiClient.getCatalog(key.participantContextId(), request))
+                .switchIfEmpty(Mono.error(() -> new IllegalStateException("No catalog received from " + key.did())))
+                .map(catalog -> new CachedCatalog(catalog, clock.instant()))
+                .subscribe(catalog -> {
+                    cache.put(key, catalog);
+                    inFlight.remove(key, fresh);
+                    fresh.complete(catalog);
+                }, e -> {
+                    inFlight.remove(key, fresh);
+                    fresh.completeExceptionally(e);
+                });
+        return fresh;
+    }
+
+    static Duration maxAge(String cacheControl) {
+        if (cacheControl == null) {
+            return null;
+        }
+        var maxAge = MAX_AGE.matcher(cacheControl);
+        return maxAge.find() ? Duration.ofSeconds(Long.parseLong(maxAge.group(1))) : null;
+    }
+
+    private record CachedCatalog(Catalog catalog, Instant fetchedAt) {
+    }
+
+    private record LookupKey(String participantContextId, String did) {
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ *  Copyright (c) 2026 Metaform Systems, Inc.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Metaform Systems, Inc. - initial API and implementation
+ *
+ */
+
+package com.metaformsystems.redline.domain.service;
+
+import com.metaformsystems.redline.infrastructure.client.management.ReactiveManagementApiClient;
+import com.metaformsystems.redline.infrastructure.client.management.dto.CelExpression;
+import com.metaformsystems.redline.infrastructure.client.management.dto.QuerySpec;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers which CEL expressions are registered with the control plane, by id and content, so that publications only
+ * send expressions that are new. Concurrent registrations of the same expression share one request.
+ * <p>
+ * CEL expressions are shared by all participants, so a registered expression is never overwritten. An expression that
+ * is registered already, also with different content, e.g. by another instance, is left as it is.
+ * <p>
+ * The registry is warmed with the expressions that already exist once the application is ready. If the control plane
+ * cannot be reached within {@code cel.registry.warm-up-timeout}, expressions are registered on first use instead.
+ */
+@Component
+public class CelExpressionRegistry {
+
+    private static final Logger log = LoggerFactory.getLogger(CelExpressionRegistry.class);
+    private static final int PAGE_SIZE = 100;
+    private final ReactiveManagementApiClient reactiveManagementApiClient;
+    private final Duration warmUpTimeout;
+    private final Map<String, Registration> registrations = new ConcurrentHashMap<>();
+
+    public CelExpressionRegistry(ReactiveManagementApiClient reactiveManagementApiClient,
+                                 @Value("${cel.registry.warm-up-timeout:10s}") Duration warmUpTimeout) {
+        this.reactiveManagementApiClient = reactiveManagementApiClient;
+        this.warmUpTimeout = warmUpTimeout;
+    }
+
+    /**
+     * Registers the expression, unless it is known to be registered already. A mismatch with the content of a
+     * registered expression is logged, the registered expression is kept.
+     */
+    public Mono<Void> register(CelExpression expression) {
+        return Mono.defer(() -> {
+            var content = Content.of(expression);
+            var registration = registrations.computeIfAbsent(expression.getId(), id -> newRegistration(expression, content));
+            if (!registration.content.equals(content)) {
+                log.warn("CEL expression {} is registered with different content, keeping the registered expression", expression.getId());
+            }
+            return registration.result;
+        });
+    }
+
+    /**
+     * Records the expressions that are registered with the control plane already.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        try {
+            var count = listRegistered()
+                    .doOnNext(expression -> registrations.putIfAbsent(expression.getId(), new Registration(Content.of(expression), Mono.empty())))
+                    .count()
+                    .block(warmUpTimeout);
+            log.info("Found {} registered CEL expressions", count);
+        } catch (RuntimeException e) {
+            log.warn("Could not list registered CEL expressions, they are registered on first use", e);
+        }
+    }
+
+    /**
+     * Forgets all registrations, e.g. after the control plane was reset.
+     */
+    public void evictAll() {
+        registrations.clear();
+    }
+
+    private Registration newRegistration(CelExpression expression, Content content) {
+        var registration = new Registration(content);
+        // a conflict means the expression is registered already, e.g. by another instance
+        var send = reactiveManagementApiClient.createCelExpression(expression)
+                .onErrorResume(WebClientResponseException.Conflict.class, e -> {
+                    log.debug("CEL expression {} is registered already", expression.getId());
+                    return Mono.empty();
+                });
+        // failed registrations are forgotten, so that the next publication tries again
+        registration.result = send
+                .doOnError(e -> registrations.remove(expression.getId(), registration))
+                .cache();
+        return registration;
+    }
+
+    private Flux<CelExpression> listRegistered() {
+        return listPage(0).expand(page -> page.expressions().size() < PAGE_SIZE
+                        ? Mono.empty()
+                        : listPage(page.offset() + PAGE_SIZE))
+                .flatMapIterable(Page::expressions);
+    }
+
+    private Mono<Page> listPage(int offset) {
+        var query = QuerySpec.Builder.aQuerySpecDto().offset(offset).limit(PAGE_SIZE).build();
+        return reactiveManagementApiClient.queryCelExpressions(query)
+                .collectList()
+                .map(expressions -> new Page(offset, expressions));
+    }
+
+    private static final class Registration {
+        private final Content content;
+        private Mono<Void> result;
+
+        Registration(Content content) {
+            this.content = content;
+        }
+
+        Registration(Content content, Mono<Void> result) {
+            this.content = content;
+            this.result = result;
+        }
+    }
+
+    /**
+     * The parts of an expression that the control plane evaluates. Two expressions with the same id and content are
+     * the same registration.
+     */
+    private record Content(String leftOperand, String expression, Set<String> scopes, String description) {
+        static Content of(CelExpression expression) {
+            return new Content(expression.getLeftOperand(), expression.getExpression(),
+                    expression.getScopes() != null ? Set.copyOf(expression.getScopes()) : Set.of(), expression.getDescription());
+        }
+    }
+
+    private record Page(int offset, List<CelExpression> expressions) {
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ *  Copyright (c) 2026 Metaform Systems, Inc.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Metaform Systems, Inc. - initial API and implementation
+ *
+ */
+
+package com.metaformsystems.redline.domain.service;
+
+import com.metaformsystems.redline.domain.entity.StoredContractAgreement;
+import com.metaformsystems.redline.domain.repository.ContractAgreementRepository;
+import com.metaformsystems.redline.infrastructure.client.management.dto.ContractAgreement;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps the contract agreements that were fetched from the control plane, per (participant context, agreement id).
+ * Agreements are immutable once signed, so a stored agreement is served as is and never refreshed.
+ * <p>
+ * The repository is blocking, so all lookups and writes run on the bounded elastic scheduler.
+ */
+@Component
+public class ContractAgreementStore {
+    private static final Logger log = LoggerFactory.getLogger(ContractAgreementStore.class);
+    private final ContractAgreementRepository repository;
+
+    public ContractAgreementStore(ContractAgreementRepository repository) {
+        this.repository = repository;
+    }
+
+    /**
+     * Looks up the stored agreements among the given agreement ids.
+     *
+     * @return the stored agreements by agreement id, ids that are not stored are missing from the map
+     */
+    public Mono<Map<String, ContractAgreement>> findAll(String participantContextId, Collection<String> agreementIds) {
+        if (agreementIds.isEmpty()) {
+            return Mono.just(Map.of());
+        }
+        return Mono.fromCallable(() -> repository.findByParticipantContextIdAndAgreementIdIn(participantContextId, agreementIds))
+                .subscribeOn(Schedulers.boundedElastic())
+                .map(stored -> stored.stream().collect(Collectors.toMap(StoredContractAgreement::getAgreementId, this::toAgreement)));
+    }
+
+    /**
+     * Stores an agreement under the given id. Storing is best effort: if the agreement was stored concurrently, or the
+     * write fails, the agreement is fetched from the control plane again next time.
+     */
+    public Mono<Void> store(String participantContextId, String agreementId, ContractAgreement agreement) {
+        return Mono.fromRunnable(() -> repository.save(new StoredContractAgreement(participantContextId, agreementId,
+                        agreement.getAgreementId(), agreement.getProviderId(), agreement.getConsumerId(), agreement.getAssetId(),
+                        agreement.getContractSigningDate(), agreement.getPolicy())))
+                .subscribeOn(Schedulers.boundedElastic())
+                .onErrorResume(DataIntegrityViolationException.class, e -> Mono.empty())
+                .onErrorResume(e -> {
+                    log.warn("Could not store contract agreement {} of participant context {}", agreementId, participantContextId, e);
+                    return Mono.empty();
+                })
+                .then();
+    }
+
+    private ContractAgreement toAgreement(StoredContractAgreement stored) {
+        var agreement = new ContractAgreement();
+        agreement.setId(stored.getAgreementId());
+        agreement.setAgreementId(stored.getReportedAgreementId());
+        agreement.setParticipantContextId(stored.getParticipantContextId());
+        agreement.setProviderId(stored.getProviderId());
+        agreement.setConsumerId(stored.getConsumerId());
+        agreement.setAssetId(stored.getAssetId());
+        agreement.setContractSigningDate(stored.getContractSigningDate());
+        agreement.setPolicy(stored.getPolicy());
+        return agreement;
+    }
+}
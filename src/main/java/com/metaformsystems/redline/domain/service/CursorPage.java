@@ -0,0 +1,31 @@
+/*
+ *  Copyright (c) 2026 Metaform Systems, Inc.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Metaform Systems, Inc. - initial API and implementation
+ *
+ */
+
+package com.metaformsystems.redline.domain.service;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated listing.
+ *
+ * @param items      the elements of the page
+ * @param nextCursor the cursor to request the next page with, or {@code null} if this is the last page
+ * @param total      the number of elements of the listing across all pages, or {@code null} if it is not counted
+ */
+public record CursorPage<T>(List<T> items, String nextCursor, Long total) {
+
+    public CursorPage(List<T> items, String nextCursor) {
+        this(items, nextCursor, null);
+    }
+}
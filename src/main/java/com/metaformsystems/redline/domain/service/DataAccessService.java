@@ -16,43 +16,65 @@
 package com.metaformsystems.redline.domain.service;
 
 import com.metaformsystems.redline.api.dto.request.TransferProcessRequest;
+import com.metaformsystems.redline.api.dto.response.BulkPublicationResult;
+import com.metaformsystems.redline.api.dto.response.BulkPublicationResult.PublicationItem;
+import com.metaformsystems.redline.api.dto.response.BulkPublicationResult.Status;
 import com.metaformsystems.redline.api.dto.response.FileResource;
 import com.metaformsystems.redline.domain.entity.UploadedFile;
 import com.metaformsystems.redline.domain.exception.ObjectNotFoundException;
 import com.metaformsystems.redline.domain.repository.ParticipantRepository;
+import com.metaformsystems.redline.domain.repository.UploadedFileRepository;
+import com.metaformsystems.redline.domain.service.KeysetCursor.SortKey;
 import com.metaformsystems.redline.infrastructure.client.dataplane.DataPlaneApiClient;
+import com.metaformsystems.redline.infrastructure.client.dataplane.dto.FileDownload;
 import com.metaformsystems.redline.infrastructure.client.management.ManagementApiClient;
+import com.metaformsystems.redline.infrastructure.client.management.ReactiveManagementApiClient;
 import com.metaformsystems.redline.infrastructure.client.management.dto.Asset;
 import com.metaformsystems.redline.infrastructure.client.management.dto.Catalog;
-import com.metaformsystems.redline.infrastructure.client.management.dto.CatalogRequest;
 import com.metaformsystems.redline.infrastructure.client.management.dto.CelExpression;
+import com.metaformsystems.redline.infrastructure.client.management.dto.ContractAgreement;
 import com.metaformsystems.redline.infrastructure.client.management.dto.ContractNegotiation;
 import com.metaformsystems.redline.infrastructure.client.management.dto.ContractRequest;
 import com.metaformsystems.redline.infrastructure.client.management.dto.Criterion;
 import com.metaformsystems.redline.infrastructure.client.management.dto.NewContractDefinition;
 import com.metaformsystems.redline.infrastructure.client.management.dto.NewPolicyDefinition;
 import com.metaformsystems.redline.infrastructure.client.management.dto.PolicySet;
+import com.metaformsystems.redline.infrastructure.client.management.dto.QuerySpec;
 import com.metaformsystems.redline.infrastructure.client.management.dto.TransferProcess;
 import com.metaformsystems.redline.infrastructure.client.management.dto.TransferRequest;
 import com.metaformsystems.redline.infrastructure.client.siglet.SigletApiClient;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.util.ConcurrentLruCache;
-import org.springframework.util.StringUtils;
-import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 import java.io.InputStream;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.Duration;
 import java.time.Instant;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Deque;
 import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.UUID;
-import java.util.regex.Pattern;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -64,19 +86,48 @@ import static com.metaformsystems.redline.domain.service.Constants.MEMBERSHIP_EX
 @Service
 public class DataAccessService {
     private static final Logger log = LoggerFactory.getLogger(DataAccessService.class);
+    /**
+     * Asset property by which the contract definition of a bulk upload selects the assets of its batch.
+     */
+    static final String PUBLICATION_BATCH_PROPERTY = "publicationBatch";
+    private static final int AGREEMENT_LOOKUP_BATCH_SIZE = 100;
+    private static final Map<String, SortKey> FILE_SORT_KEYS = Map.of(
+            "createdAt", new SortKey("createdAt", LocalDateTime::parse),
+            "fileName", SortKey.text("originalFilename"));
     private final DataPlaneApiClient dataPlaneApiClient;
-    private final ConcurrentLruCache<LookupKey, CacheableEntry<Catalog>> catalogCache;
+    private final CatalogCache catalogCache;
+    private final ContractAgreementStore contractAgreementStore;
     private final WebDidResolver webDidResolver;
     private final ParticipantRepository participantRepository;
+    private final ParticipantContextRegistry participantContextRegistry;
+    private final UploadedFileRepository uploadedFileRepository;
     private final ManagementApiClient managementApiClient;
+    private final ReactiveManagementApiClient reactiveManagementApiClient;
     private final SigletApiClient sigletApiClient;
-
-    public DataAccessService(DataPlaneApiClient dataPlaneApiClient, WebDidResolver webDidResolver, ParticipantRepository participantRepository, ManagementApiClient managementApiClient, SigletApiClient sigletApiClient) {
+    private final CelExpressionRegistry celExpressionRegistry;
+    private final int publicationConcurrency;
+    private final int agreementConcurrency;
+    private final Duration agreementTimeout;
+
+    public DataAccessService(DataPlaneApiClient dataPlaneApiClient, WebDidResolver webDidResolver, ParticipantRepository participantRepository, ManagementApiClient managementApiClient, ReactiveManagementApiClient reactiveManagementApiClient, SigletApiClient sigletApiClient,
+                             CelExpressionRegistry celExpressionRegistry, CatalogCache catalogCache, ContractAgreementStore contractAgreementStore,
+                             ParticipantContextRegistry participantContextRegistry, UploadedFileRepository uploadedFileRepository,
+                             @Value("${publication.bulk.concurrency:8}") int publicationConcurrency,
+                             @Value("${contracts.agreement.concurrency:8}") int agreementConcurrency,
+                             @Value("${contracts.agreement.timeout:5s}") Duration agreementTimeout) {
         this.dataPlaneApiClient = dataPlaneApiClient;
         this.participantRepository = participantRepository;
         this.managementApiClient = managementApiClient;
+        this.reactiveManagementApiClient = reactiveManagementApiClient;
         this.sigletApiClient = sigletApiClient;
-        this.catalogCache = new ConcurrentLruCache<>(100, key -> fetchCatalog(key.participantId(), key.did()));
+        this.celExpressionRegistry = celExpressionRegistry;
+        this.publicationConcurrency = publicationConcurrency;
+        this.agreementConcurrency = agreementConcurrency;
+        this.agreementTimeout = agreementTimeout;
+        this.catalogCache = catalogCache;
+        this.contractAgreementStore = contractAgreementStore;
+        this.participantContextRegistry = participantContextRegistry;
+        this.uploadedFileRepository = uploadedFileRepository;
         this.webDidResolver = webDidResolver;
     }
 
@@ -86,114 +137,284 @@ public class DataAccessService {
         var participant = participantRepository.findById(participantId).orElseThrow(() -> new ObjectNotFoundException("Participant not found with id: " + participantId));
         var participantContextId = participant.getParticipantContextId();
 
-        //0. upload file to data plane
         var assetId = UUID.randomUUID().toString();
         publicMetadata.put("assetId", assetId);
         var combinedMetadata = Stream.of(publicMetadata, privateMetadata).flatMap(m -> m.entrySet().stream())
                 .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
-        var response = dataPlaneApiClient.uploadMultipart(participantContextId, combinedMetadata, fileStream);
-        var fileId = response.id();
-
-        //1. create CEL expressions
-        var expressions = new ArrayList<>(celExpressions);
-        expressions.add(CelExpression.Builder.aNewCelExpression()
-                .id(MEMBERSHIP_EXPRESSION_ID)
-                .leftOperand("MembershipCredential")
-                .description("Expression for evaluating membership credential")
-                .scopes(Set.of("catalog", "contract.negotiation", "transfer.process"))
-                .expression(MEMBERSHIP_EXPRESSION)
-                .build());
-        expressions.forEach(celExpression -> {
-            try {
-                managementApiClient.createCelExpression(celExpression);
-            } catch (WebClientResponseException.Conflict e) {
-                //do nothing, CEL expression already exists
-            }
-        });
 
-        //2. create asset
-        publicMetadata.put("fileId", fileId);
-        var asset = createAsset(assetId, publicMetadata, privateMetadata, contentType, originalFilename);
-        managementApiClient.createAsset(participantContextId, asset);
-
-        //3. create policy
-        if (policySet != null) {
-            var constraints = new ArrayList<>(List.of(MEMBERSHIP_CONSTRAINT));
-            constraints.addAll(policySet.getPermission().getFirst().getConstraint());
-            policySet.getPermission().getFirst().setConstraint(constraints);
-        } else {
-            policySet = new PolicySet(List.of(new PolicySet.Permission("use",
-                    new ArrayList<>(List.of(MEMBERSHIP_CONSTRAINT))
-            )));
-        }
         var policy = NewPolicyDefinition.Builder.aNewPolicyDefinition()
                 .id(UUID.randomUUID().toString())
-                .policy(policySet).build();
-        managementApiClient.createPolicy(participantContextId, policy);
+                .policy(withMembershipConstraint(policySet)).build();
 
-        //4. create contract definition if none exists
         var contractDef = NewContractDefinition.Builder.aNewContractDefinition()
                 .id(UUID.randomUUID().toString())
                 .contractPolicyId(policy.getId())
                 .accessPolicyId(policy.getId())
                 .assetsSelector(Set.of(new Criterion("id", "=", assetId)))
                 .build();
-        managementApiClient.createContractDefinition(participantContextId, contractDef);
 
+        // undo actions for everything created so far, the most recent first
+        var compensations = new ConcurrentLinkedDeque<Mono<Void>>();
+
+        // CEL expressions -> policy -> contract definition. None of these depend on the uploaded file.
+        var offerDefined = defineOffer(participantContextId, celExpressions, policy, contractDef, compensations);
+
+        // file upload -> asset. The upload reads the request body and blocks the calling thread.
+        var digestStream = new DigestInputStream(fileStream, sha256());
+        var fileId = new AtomicReference<String>();
+        var assetCreated = Mono.fromCallable(() -> dataPlaneApiClient.uploadMultipart(participantContextId, combinedMetadata, digestStream))
+                .flatMap(response -> {
+                    fileId.set(response.id());
+                    publicMetadata.put("fileId", response.id());
+                    var asset = createAsset(assetId, publicMetadata, privateMetadata, contentType, originalFilename, null);
+                    return reactiveManagementApiClient.createAsset(participantContextId, asset);
+                })
+                .doOnSuccess(v -> compensations.push(reactiveManagementApiClient.deleteAsset(participantContextId, assetId)));
+
+        // the offer pipeline is subscribed to first, so it runs while the upload blocks. Both pipelines are always run to
+        // completion, so that exactly the resources that were created are compensated.
+        try {
+            Mono.whenDelayError(offerDefined, assetCreated).block();
+        } catch (RuntimeException e) {
+            compensate(participantContextId, fileId.get(), compensations);
+            throw e;
+        }
 
-        //5. track uploaded file in DB
-        participant.getUploadedFiles().add(new UploadedFile(fileId, originalFilename, contentType, combinedMetadata));
+        var uploadedFile = new UploadedFile(fileId.get(), originalFilename, contentType, combinedMetadata);
+        uploadedFile.setDigest(HexFormat.of().formatHex(digestStream.getMessageDigest().digest()));
+        participant.getUploadedFiles().add(uploadedFile);
     }
 
+    /**
+     * Publishes a batch of files through a single policy and contract definition, which selects the assets of the batch
+     * by their {@value #PUBLICATION_BATCH_PROPERTY} property. The files are uploaded one after the other as the iterator
+     * hands them out, while the assets of the files uploaded so far are created with at most
+     * {@code publication.bulk.concurrency} requests in flight. The outcome of each file is logged as soon as it is known.
+     * <p>
+     * A file that cannot be uploaded, or whose asset cannot be created, is reported as failed and the rest of the batch
+     * is still published. If the shared offer cannot be created, no further files are read, or if the files cannot be
+     * read, the whole batch is compensated and the error is rethrown.
+     */
     @Transactional
-    public List<FileResource> listFilesForParticipant(Long participantId) {
+    public BulkPublicationResult uploadFilesForParticipant(Long participantId, Iterator<FileUpload> files, List<CelExpression> celExpressions, PolicySet policySet) {
+
         var participant = participantRepository.findById(participantId).orElseThrow(() -> new ObjectNotFoundException("Participant not found with id: " + participantId));
-        return participant.getUploadedFiles().stream()
-                .map(f -> new FileResource(f.getFileId(), f.getOriginalFilename(), f.getContentType(), f.getCreatedAt().toString(), f.getMetadata()))
-                .toList();
+        var participantContextId = participant.getParticipantContextId();
+
+        var batchId = UUID.randomUUID().toString();
+        var policy = NewPolicyDefinition.Builder.aNewPolicyDefinition()
+                .id(UUID.randomUUID().toString())
+                .policy(withMembershipConstraint(policySet)).build();
+
+        var contractDef = NewContractDefinition.Builder.aNewContractDefinition()
+                .id(UUID.randomUUID().toString())
+                .contractPolicyId(policy.getId())
+                .accessPolicyId(policy.getId())
+                .assetsSelector(Set.of(new Criterion(PUBLICATION_BATCH_PROPERTY, "=", batchId)))
+                .build();
+
+        var compensations = new ConcurrentLinkedDeque<Mono<Void>>();
+
+        // the offer does not depend on the files, it is created while the first files are uploaded
+        var offerDefined = defineOffer(participantContextId, celExpressions, policy, contractDef, compensations).toFuture();
+
+        var inFlight = new Semaphore(publicationConcurrency);
+        var done = new AtomicInteger();
+        var pending = new ArrayList<PendingPublication>();
+        RuntimeException failure = null;
+        try {
+            // once the offer has failed the batch is compensated anyway, so the remaining files are not uploaded
+            while (files.hasNext() && !offerDefined.isCompletedExceptionally()) {
+                pending.add(publish(participantContextId, batchId, files.next(), inFlight, done, compensations));
+            }
+        } catch (RuntimeException e) {
+            failure = e;
+        }
+
+        // asset creation never completes exceptionally, failures are reported per item
+        var items = pending.stream().map(p -> p.item().join()).toList();
+        try {
+            offerDefined.join();
+        } catch (CompletionException e) {
+            var cause = e.getCause() instanceof RuntimeException r ? r : e;
+            if (failure == null) {
+                failure = cause;
+            } else {
+                failure.addSuppressed(cause);
+            }
+        }
+
+        if (failure != null) {
+            compensate(participantContextId, null, compensations);
+            var fileIds = items.stream().map(PublicationItem::fileId).filter(Objects::nonNull).toList();
+            if (!fileIds.isEmpty()) {
+                log.warn("Files {} of participant {} remain on the data plane after failed publication", fileIds, participantContextId);
+            }
+            throw failure;
+        }
+
+        for (var p : pending) {
+            if (p.item().join().status() == Status.PUBLISHED) {
+                participant.getUploadedFiles().add(p.uploadedFile());
+            }
+        }
+        var published = items.stream().filter(item -> item.status() == Status.PUBLISHED).count();
+        log.info("Published {} of {} files of batch {} for participant {}", published, items.size(), batchId, participantContextId);
+        return new BulkPublicationResult(batchId, policy.getId(), contractDef.getId(), items);
     }
 
-    @Transactional
-    public Catalog requestCatalog(Long participantId, String counterPartyIdentifier, String cacheControl) {
+    /**
+     * Uploads one file of a batch on the calling thread and starts the creation of its asset, once fewer than
+     * {@code publication.bulk.concurrency} asset creations are in flight.
+     */
+    private PendingPublication publish(String participantContextId, String batchId, FileUpload file, Semaphore inFlight, AtomicInteger done, Deque<Mono<Void>> compensations) {
+        var assetId = UUID.randomUUID().toString();
+        var publicMetadata = file.publicMetadata();
+        var privateMetadata = file.privateMetadata();
+        publicMetadata.put("assetId", assetId);
+        var combinedMetadata = Stream.of(publicMetadata, privateMetadata).flatMap(m -> m.entrySet().stream())
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
 
-        var participant = participantRepository.findById(participantId).orElseThrow(() -> new ObjectNotFoundException("Participant not found with id: " + participantId));
+        var digestStream = new DigestInputStream(file.content(), sha256());
+        String fileId;
+        try {
+            fileId = dataPlaneApiClient.uploadMultipart(participantContextId, combinedMetadata, digestStream).id();
+        } catch (RuntimeException e) {
+            log.warn("Failed to upload file {} of batch {} for participant {} ({} files done)", file.filename(), batchId, participantContextId, done.incrementAndGet(), e);
+            return new PendingPublication(null, CompletableFuture.completedFuture(PublicationItem.failed(file.filename(), null, e.getMessage())));
+        }
+        var digest = HexFormat.of().formatHex(digestStream.getMessageDigest().digest());
+        var uploadedFile = new UploadedFile(fileId, file.filename(), file.contentType(), combinedMetadata);
+        uploadedFile.setDigest(digest);
+
+        publicMetadata.put("fileId", fileId);
+        var asset = createAsset(assetId, publicMetadata, privateMetadata, file.contentType(), file.filename(), batchId);
+
+        inFlight.acquireUninterruptibly();
+        var item = reactiveManagementApiClient.createAsset(participantContextId, asset)
+                .doOnSuccess(v -> compensations.push(reactiveManagementApiClient.deleteAsset(participantContextId, assetId)))
+                .thenReturn(PublicationItem.published(file.filename(), fileId, assetId, digest))
+                .doOnNext(published -> log.info("Published file {} of batch {} for participant {} ({} files done)", file.filename(), batchId, participantContextId, done.incrementAndGet()))
+                .onErrorResume(e -> {
+                    log.warn("Failed to create asset for file {} of participant {}, the file remains on the data plane ({} files done)", fileId, participantContextId, done.incrementAndGet(), e);
+                    return Mono.just(PublicationItem.failed(file.filename(), fileId, e.getMessage()));
+                })
+                .doFinally(signal -> inFlight.release())
+                .toFuture();
+        return new PendingPublication(uploadedFile, item);
+    }
+
+    /**
+     * Registers the CEL expressions, including the membership expression, then creates the policy and then the
+     * contract definition. Expressions that are registered with the same content already are not sent again.
+     */
+    private Mono<Void> defineOffer(String participantContextId, List<CelExpression> celExpressions, NewPolicyDefinition policy, NewContractDefinition contractDef, Deque<Mono<Void>> compensations) {
+        var expressions = new ArrayList<>(celExpressions);
+        expressions.add(CelExpression.Builder.aNewCelExpression()
+                .id(MEMBERSHIP_EXPRESSION_ID)
+                .leftOperand("MembershipCredential")
+                .description("Expression for evaluating membership credential")
+                .scopes(Set.of("catalog", "contract.negotiation", "transfer.process"))
+                .expression(MEMBERSHIP_EXPRESSION)
+                .build());
+
+        return Flux.fromIterable(expressions)
+                .flatMap(celExpressionRegistry::register)
+                .then(reactiveManagementApiClient.createPolicy(participantContextId, policy))
+                .doOnSuccess(v -> compensations.push(reactiveManagementApiClient.deletePolicyDefinition(participantContextId, policy.getId())))
+                .then(reactiveManagementApiClient.createContractDefinition(participantContextId, contractDef))
+                .doOnSuccess(v -> compensations.push(reactiveManagementApiClient.deleteContractDefinition(participantContextId, contractDef.getId())));
+    }
 
-        var key = new LookupKey(participant.getParticipantContextId(), counterPartyIdentifier);
-        var catalogEntry = catalogCache.get(key);
-        //todo: check if expired or must be reloaded
-        if (isExpired(catalogEntry, cacheControl)) {
-            log.info("Catalog cache expired or no-cache requested for participant {} and counterparty {}", participantId, counterPartyIdentifier);
+    private PolicySet withMembershipConstraint(PolicySet policySet) {
+        if (policySet == null) {
+            return new PolicySet(List.of(new PolicySet.Permission("use",
+                    new ArrayList<>(List.of(MEMBERSHIP_CONSTRAINT))
+            )));
+        }
+        var constraints = new ArrayList<>(List.of(MEMBERSHIP_CONSTRAINT));
+        constraints.addAll(policySet.getPermission().getFirst().getConstraint());
+        policySet.getPermission().getFirst().setConstraint(constraints);
+        return policySet;
+    }
+
+    /**
+     * Deletes the resources of a failed publication in reverse order of their creation. Failures are logged only, the
+     * error that caused the publication to fail is what is reported to the caller.
+     */
+    private void compensate(String participantContextId, String fileId, Deque<Mono<Void>> compensations) {
+        Flux.fromIterable(compensations)
+                .concatMap(compensation -> compensation.onErrorResume(e -> {
+                    log.warn("Failed to clean up after failed publication for participant {}", participantContextId, e);
+                    return Mono.empty();
+                }))
+                .then()
+                .block();
+        if (fileId != null) {
+            log.warn("File {} of participant {} remains on the data plane after failed publication", fileId, participantContextId);
+        }
+    }
 
-            // removing and re-getting forces a cache update, i.e., reading the remote catalog again
-            catalogCache.remove(key);
-            return catalogCache.get(key).value();
+    /**
+     * Lists one page of the files of a participant, optionally filtered by content type and metadata entries. Files
+     * are sorted by {@code createdAt} (default) or {@code fileName}, see {@link PageQuery}.
+     *
+     * @param contentType only list files of this content type, or {@code null}
+     * @param metadata    only list files that have all of these metadata entries
+     * @throws IllegalArgumentException if the sort key or the cursor is invalid
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<FileResource> listFilesForParticipant(Long participantId, String contentType, Map<String, String> metadata, PageQuery page) {
+        participantContextRegistry.resolve(participantId);
+
+        var sortKey = KeysetCursor.sortKey(page, FILE_SORT_KEYS, "createdAt");
+        var spec = UploadedFileRepository.ofParticipant(participantId);
+        if (contentType != null) {
+            spec = spec.and(UploadedFileRepository.hasContentType(contentType));
+        }
+        for (var entry : metadata.entrySet()) {
+            spec = spec.and(UploadedFileRepository.hasMetadata(entry.getKey(), entry.getValue()));
         }
+        var window = KeysetCursor.scroll(uploadedFileRepository, spec, sortKey, page);
+
+        var files = window.getContent().stream()
+                .map(f -> new FileResource(f.getFileId(), f.getOriginalFilename(), f.getContentType(), f.getCreatedAt().toString(), f.getMetadata(), f.getDigest()))
+                .toList();
+        return new CursorPage<>(files, KeysetCursor.next(window));
+    }
+
+    @Transactional
+    public Catalog requestCatalog(Long participantId, String counterPartyIdentifier, String cacheControl) {
+        return requestCatalogAsync(participantId, counterPartyIdentifier, cacheControl).block();
+    }
 
-        return catalogEntry.value();
+    /**
+     * Non-blocking variant of {@link #requestCatalog(Long, String, String)}. The participant is looked up on the
+     * calling thread.
+     */
+    public Mono<Catalog> requestCatalogAsync(Long participantId, String counterPartyIdentifier, String cacheControl) {
+        var participantContextId = getContextId(participantId);
+        return catalogCache.get(participantContextId, counterPartyIdentifier, cacheControl);
     }
 
     @Transactional
     public List<TransferProcess> listTransferProcesses(Long participantId) {
-        var participant = participantRepository.findById(participantId).orElseThrow(() -> new ObjectNotFoundException("Participant not found with id: " + participantId));
-        var participantContextId = participant.getParticipantContextId();
+        var participantContextId = getContextId(participantId);
         return managementApiClient.listTransferProcesses(participantContextId);
     }
 
     @Transactional
     public List<ContractNegotiation> listContracts(Long participantId) {
-        var participant = participantRepository.findById(participantId).orElseThrow(() -> new ObjectNotFoundException("Participant not found with id: " + participantId));
-        var participantContextId = participant.getParticipantContextId();
-
-        var negotiations = managementApiClient.listContracts(participantContextId);
+        var participantContextId = getContextId(participantId);
 
-        return negotiations.stream().map(cn -> getAgreement(participantContextId, cn))
-                .toList();
+        return withAgreements(participantContextId, reactiveManagementApiClient.listContracts(participantContextId))
+                .collectList()
+                .block();
     }
 
     @Transactional
     public String initiateContractNegotiation(Long providerId, ContractRequest request) {
-        var participant = participantRepository.findById(providerId)
-                .orElseThrow(() -> new ObjectNotFoundException("Participant not found with id: " + providerId));
+        var participantContextId = getContextId(providerId);
 
         if (request.getCounterPartyAddress() == null) {
             log.info("Counter party address not provided, resolving from DID: {}", request.getProviderId());
@@ -205,14 +426,12 @@ public class DataAccessService {
             request.setCounterPartyAddress(addressFromDid);
         }
 
-        return managementApiClient.initiateContractNegotiation(participant.getParticipantContextId(), request);
+        return managementApiClient.initiateContractNegotiation(participantContextId, request);
     }
 
     @Transactional
     public ContractNegotiation getContractNegotiation(Long participantId, String contractId) {
-        var participant = participantRepository.findById(participantId)
-                .orElseThrow(() -> new ObjectNotFoundException("Participant not found with id: " + participantId));
-        return managementApiClient.getContractNegotiation(participant.getParticipantContextId(), contractId);
+        return managementApiClient.getContractNegotiation(getContextId(participantId), contractId);
     }
 
     public String initiateTransferProcess(Long providerId, TransferProcessRequest transferRequest) {
@@ -247,59 +466,130 @@ public class DataAccessService {
         return tp;
     }
 
-    @Transactional
-    public byte[] downloadData(Long participantId, String fileId, String authToken) {
-        participantRepository.findById(participantId).orElseThrow(() -> new ObjectNotFoundException("Participant not found with id: " + participantId));
-        return dataPlaneApiClient.downloadFile(authToken, fileId);
+    /**
+     * Lists the page of transfer processes selected by the query. The participant is looked up on the calling thread,
+     * the control plane request is only sent on subscription, and transfer processes are emitted as they are decoded.
+     */
+    public Flux<TransferProcess> listTransferProcessesAsync(Long participantId, QuerySpec query) {
+        var participantContextId = getContextId(participantId);
+        return reactiveManagementApiClient.listTransferProcesses(participantContextId, query);
     }
 
-    private CacheableEntry<Catalog> fetchCatalog(String participantId, String did) {
-        var counterPartyAddress = webDidResolver.resolveProtocolEndpoints(did);
-        var request = CatalogRequest.Builder.newInstance()
-                .counterPartyId(did)
-                .counterPartyAddress(counterPartyAddress)
-                .build();
+    /**
+     * Lists the page of contract negotiations selected by the query, each with its agreement if it has one. The
+     * participant is looked up on the calling thread.
+     */
+    public Flux<ContractNegotiation> listContractsAsync(Long participantId, QuerySpec query) {
+        var participantContextId = getContextId(participantId);
+        return withAgreements(participantContextId, reactiveManagementApiClient.listContracts(participantContextId, query));
+    }
 
-        return new CacheableEntry<>(managementApiClient.getCatalog(participantId, request), Instant.now());
+    /**
+     * Non-blocking variant of {@link #getContractNegotiation(Long, String)}.
+     */
+    public Mono<ContractNegotiation> getContractNegotiationAsync(Long participantId, String contractId) {
+        var participantContextId = getContextId(participantId);
+        return reactiveManagementApiClient.getContractNegotiation(participantContextId, contractId);
     }
 
     /**
-     * Determines if cache entry requires refresh according to the cacheControl value
+     * Non-blocking variant of {@link #initiateTransferProcess(Long, TransferProcessRequest)}. DID resolution is still
+     * blocking, so it runs on the bounded elastic scheduler.
      */
-    private boolean isExpired(CacheableEntry<Catalog> entry, String cacheControl) {
-        if (entry == null) return true;
-        if (!StringUtils.hasText(cacheControl)) return false;
+    public Mono<String> initiateTransferProcessAsync(Long providerId, TransferProcessRequest transferRequest) {
+        var participantContextId = getContextId(providerId);
 
-        if (cacheControl.contains("no-cache") || cacheControl.contains("no-store")) {
-            return true;
-        }
+        return Mono.fromCallable(() -> webDidResolver.resolveProtocolEndpoints(transferRequest.getCounterPartyId()))
+                .subscribeOn(Schedulers.boundedElastic())
+                .switchIfEmpty(Mono.error(() -> new ObjectNotFoundException("Could not resolve protocol endpoint from DID: " + transferRequest.getCounterPartyId())))
+                .flatMap(address -> reactiveManagementApiClient.initiateTransferProcess(participantContextId, TransferRequest.Builder.aTransferRequest()
+                        .counterPartyAddress(address)
+                        .transferType(transferRequest.getTransferType())
+                        .contractId(transferRequest.getContractId())
+                        .dataDestination(transferRequest.getDataDestination())
+                        .build()));
+    }
 
-        // Parse max-age
-        var maxAgeMatch = Pattern.compile("max-age=(\\d+)").matcher(cacheControl);
-        if (maxAgeMatch.find()) {
-            long maxAgeSeconds = Long.parseLong(maxAgeMatch.group(1));
-            return entry.timestamp().plus(Duration.ofSeconds(maxAgeSeconds)).isBefore(Instant.now());
-        }
+    /**
+     * Non-blocking variant of {@link #getTransferProcess(Long, String)}. The siglet client is blocking, so the EDR
+     * lookup runs on the bounded elastic scheduler.
+     */
+    public Mono<TransferProcess> getTransferProcessAsync(Long participantId, String transferProcessId) {
+        var contextId = getContextId(participantId);
+        return reactiveManagementApiClient.getTransferProcess(contextId, transferProcessId)
+                .flatMap(tp -> {
+                    if (!"STARTED".equals(tp.getState())) {
+                        return Mono.just(tp);
+                    }
+                    // TODO shim layer for old EDR format
+                    return Mono.fromCallable(() -> sigletApiClient.getDataAddress(contextId, transferProcessId))
+                            .subscribeOn(Schedulers.boundedElastic())
+                            .map(edr -> {
+                                tp.setContentDataAddress(Map.of(
+                                        "properties", Map.of("https://w3id.org/edc/v0.0.1/ns/authorization", edr.get("token"))
+                                ));
+                                return tp;
+                            });
+                });
+    }
+
+    @Transactional
+    public FileDownload downloadData(Long participantId, String fileId, String authToken, String range) {
+        participantContextRegistry.resolve(participantId);
+        return dataPlaneApiClient.downloadFile(authToken, fileId, range);
+    }
 
-        return false;
+    private String getContextId(Long participantId) {
+        return participantContextRegistry.resolve(participantId).participantContextId();
     }
 
+    /**
+     * Attaches the agreements to the negotiations that have one. Agreements that are stored locally are served from the
+     * {@link ContractAgreementStore}, looked up once per batch of {@value #AGREEMENT_LOOKUP_BATCH_SIZE} negotiations;
+     * only the others are fetched from the control plane, at most {@code contracts.agreement.concurrency} at a time,
+     * each within {@code contracts.agreement.timeout}, and stored. A negotiation whose agreement cannot be fetched in
+     * time is emitted without it, so that one slow lookup does not fail the listing. Negotiations are emitted in the
+     * order they were listed.
+     */
+    private Flux<ContractNegotiation> withAgreements(String participantContextId, Flux<ContractNegotiation> negotiations) {
+        return negotiations.buffer(AGREEMENT_LOOKUP_BATCH_SIZE)
+                .concatMap(batch -> contractAgreementStore.findAll(participantContextId, agreementIds(batch))
+                        .flatMapMany(stored -> Flux.fromIterable(batch)
+                                .flatMapSequential(cn -> stored.containsKey(cn.getContractAgreementId())
+                                        ? Mono.just(withAgreement(cn, stored.get(cn.getContractAgreementId())))
+                                        : getAgreementAsync(participantContextId, cn), agreementConcurrency)));
+    }
 
-    private String getContextId(Long providerId) {
-        var participant = participantRepository.findById(providerId)
-                .orElseThrow(() -> new ObjectNotFoundException("Participant not found with id: " + providerId));
-        return participant.getParticipantContextId();
+    private List<String> agreementIds(List<ContractNegotiation> negotiations) {
+        return negotiations.stream()
+                .map(ContractNegotiation::getContractAgreementId)
+                .filter(Objects::nonNull)
+                .toList();
     }
 
-    private ContractNegotiation getAgreement(String participantContextId, ContractNegotiation negotiation) {
-        if (negotiation.getContractAgreementId() != null) {
-            var agreement = managementApiClient.getAgreement(participantContextId, negotiation.getId());
-            negotiation.setContractAgreement(agreement);
+    private Mono<ContractNegotiation> getAgreementAsync(String participantContextId, ContractNegotiation negotiation) {
+        var agreementId = negotiation.getContractAgreementId();
+        if (agreementId == null) {
+            return Mono.just(negotiation);
         }
+        return reactiveManagementApiClient.getAgreement(participantContextId, negotiation.getId())
+                .timeout(agreementTimeout)
+                .flatMap(agreement -> contractAgreementStore.store(participantContextId, agreementId, agreement)
+                        .thenReturn(withAgreement(negotiation, agreement)))
+                .onErrorResume(e -> {
+                    log.warn("Could not look up agreement {} of negotiation {} for participant {}, listing the negotiation without it",
+                            agreementId, negotiation.getId(), participantContextId, e);
+                    return Mono.just(negotiation);
+                })
+                .defaultIfEmpty(negotiation);
+    }
+
+    private ContractNegotiation withAgreement(ContractNegotiation negotiation, ContractAgreement agreement) {
+        negotiation.setContractAgreement(agreement);
         return negotiation;
     }
 
-    private Asset createAsset(String id, Map<String, Object> publicMetadata, Map<String, Object> privateMetadata, String contentType, String originalFilename) {
+    private Asset createAsset(String id, Map<String, Object> publicMetadata, Map<String, Object> privateMetadata, String contentType, String originalFilename, String batchId) {
 
         var properties = new HashMap<String, Object>(Map.of(
                 "description", "A file uploaded by Redline on " + Instant.now().toString(),
@@ -316,15 +606,21 @@ public class DataAccessService {
                         "@type", "DataAddress"
                 ))
                 .privateProperties(privateMetadata) //this is targeted by the CEL expression, so it must be a private property
-                .properties(Map.of("properties", properties))
+                .properties(batchId != null
+                        ? Map.of("properties", properties, PUBLICATION_BATCH_PROPERTY, batchId)
+                        : Map.of("properties", properties))
                 .build();
     }
 
-    private record CacheableEntry<T>(T value, Instant timestamp) {
-
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
     }
 
-    private record LookupKey(String participantId, String did) {
+    private record PendingPublication(UploadedFile uploadedFile, CompletableFuture<PublicationItem> item) {
 
     }
 }
@@ -0,0 +1,25 @@
+/*
+ *  Copyright (c) 2026 Metaform Systems, Inc.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Metaform Systems, Inc. - initial API and implementation
+ *
+ */
+
+package com.metaformsystems.redline.domain.service;
+
+import java.io.InputStream;
+import java.util.Map;
+
+/**
+ * A file of a bulk upload, together with the metadata it is published with. The content is read exactly once.
+ */
+public record FileUpload(String filename, String contentType, Map<String, Object> publicMetadata,
+                         Map<String, Object> privateMetadata, InputStream content) {
+}
@@ -0,0 +1,141 @@
+/*
+ *  Copyright (c) 2026 Metaform Systems, Inc.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Metaform Systems, Inc. - initial API and implementation
+ *
+ */
+
+package com.metaformsystems.redline.domain.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+
+import java.io.IOException;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.function.Function;
+
+/**
+ * Encodes the keyset position after the last element of a page as an opaque, URL-safe cursor. The cursor holds the
+ * values of the sort key and the id of that element, so the next page is a range scan on an index over
+ * (sort key, id), no matter how deep the client pages. The prod profile does not create these indexes, they are shipped
+ * in db/migration.
+ */
+final class KeysetCursor {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final TypeReference<LinkedHashMap<String, String>> KEYS_TYPE = new TypeReference<>() {
+    };
+
+    private KeysetCursor() {
+    }
+
+    /**
+     * Resolves the sort key of a page query.
+     *
+     * @param sortKeys   the sort keys of the listing by name
+     * @param defaultKey the name of the sort key to use if the query does not name one
+     * @throws IllegalArgumentException if the listing cannot be sorted by the requested key
+     */
+    static SortKey sortKey(PageQuery page, Map<String, SortKey> sortKeys, String defaultKey) {
+        var sortKey = sortKeys.get(page.sort() == null ? defaultKey : page.sort());
+        if (sortKey == null) {
+            throw new IllegalArgumentException("sort must be one of " + String.join(", ", new TreeSet<>(sortKeys.keySet())));
+        }
+        return sortKey;
+    }
+
+    /**
+     * Returns the requested page of the entities that match the specification, sorted by the sort key and then by id,
+     * which makes the order total.
+     *
+     * @throws IllegalArgumentException if the cursor is malformed or was issued for a different sort
+     */
+    static <T> Window<T> scroll(JpaSpecificationExecutor<T> repository, Specification<T> specification, SortKey sortKey, PageQuery page) {
+        var keyParsers = new LinkedHashMap<String, Function<String, ?>>();
+        keyParsers.put(sortKey.property(), sortKey.parser());
+        keyParsers.put(SortKey.ID.property(), SortKey.ID.parser());
+        var sort = sortKey.equals(SortKey.ID)
+                ? Sort.by(page.direction(), SortKey.ID.property())
+                : Sort.by(page.direction(), sortKey.property(), SortKey.ID.property());
+        var position = decode(page.cursor(), keyParsers);
+        return repository.findBy(specification, query -> query.sortBy(sort).limit(page.limit()).scroll(position));
+    }
+
+    /**
+     * Decodes a cursor that was issued for a listing sorted by the properties in {@code keyParsers}.
+     *
+     * @param cursor     the cursor, or {@code null} for the first page
+     * @param keyParsers parses the value of each sort property, including the id
+     * @throws IllegalArgumentException if the cursor is malformed or was issued for a different sort
+     */
+    static KeysetScrollPosition decode(String cursor, Map<String, Function<String, ?>> keyParsers) {
+        if (cursor == null || cursor.isBlank()) {
+            return ScrollPosition.keyset();
+        }
+        try {
+            var keys = MAPPER.readValue(Base64.getUrlDecoder().decode(cursor), KEYS_TYPE);
+            if (!keys.keySet().equals(keyParsers.keySet())) {
+                throw new IllegalArgumentException("cursor does not match the requested sort");
+            }
+            var position = new LinkedHashMap<String, Object>();
+            keys.forEach((property, value) -> position.put(property, keyParsers.get(property).apply(value)));
+            return ScrollPosition.forward(position);
+        } catch (IOException | DateTimeParseException e) {
+            throw new IllegalArgumentException("cursor is malformed", e);
+        }
+    }
+
+    /**
+     * Returns the cursor of the page that follows the window, or {@code null} if there is none.
+     */
+    static String next(Window<?> window) {
+        if (window.isEmpty() || !window.hasNext()) {
+            return null;
+        }
+        return encode(((KeysetScrollPosition) window.positionAt(window.size() - 1)).getKeys());
+    }
+
+    /**
+     * Encodes the values of the sort keys of the last element of a page.
+     */
+    static String encode(Map<String, ?> keys) {
+        var values = new LinkedHashMap<String, String>();
+        keys.forEach((property, value) -> values.put(property, String.valueOf(value)));
+        try {
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(MAPPER.writeValueAsBytes(values));
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * A property a listing can be sorted by, and how to parse its value from a cursor.
+     */
+    record SortKey(String property, Function<String, ?> parser) {
+        static final SortKey ID = new SortKey("id", Long::valueOf);
+        /**
+         * Sort keys of listings that can be sorted by id or name.
+         */
+        static final Map<String, SortKey> ID_OR_NAME = Map.of("id", ID, "name", text("name"));
+
+        static SortKey text(String property) {
+            return new SortKey(property, Function.identity());
+        }
+    }
+}
@@ -0,0 +1,41 @@
+/*
+ *  Copyright (c) 2026 Metaform Systems, Inc.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Metaform Systems, Inc. - initial API and implementation
+ *
+ */
+
+package com.metaformsystems.redline.domain.service;
+
+import org.springframework.data.domain.Sort;
+
+/**
+ * Requests one page of a keyset-paginated listing: up to {@code limit} elements following the position encoded in
+ * {@code cursor}, ordered by {@code sort}. Without a cursor, the first page is returned. A cursor is only valid for the
+ * sort key and direction it was issued for.
+ *
+ * @param sort      the sort key, or {@code null} for the default of the listing
+ * @param direction the sort direction
+ * @param limit     the page size, between 1 and {@value #MAX_LIMIT}
+ * @param cursor    the {@link CursorPage#nextCursor()} of the previous page, or {@code null}
+ */
+public record PageQuery(String sort, Sort.Direction direction, int limit, String cursor) {
+    public static final int DEFAULT_LIMIT = 50;
+    public static final int MAX_LIMIT = 1000;
+
+    public PageQuery {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_LIMIT);
+        }
+        if (direction == null) {
+            direction = Sort.Direction.ASC;
+        }
+    }
+}
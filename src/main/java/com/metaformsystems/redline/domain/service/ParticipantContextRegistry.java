@@ -0,0 +1,173 @@
+/*
+ *  Copyright (c) 2026 Metaform Systems, Inc.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Metaform Systems, Inc. - initial API and implementation
+ *
+ */
+
+package com.metaformsystems.redline.domain.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.metaformsystems.redline.domain.entity.ClientCredentials;
+import com.metaformsystems.redline.domain.entity.Participant;
+import com.metaformsystems.redline.domain.entity.ParticipantChangedEvent;
+import com.metaformsystems.redline.domain.exception.ObjectNotFoundException;
+import com.metaformsystems.redline.domain.repository.ParticipantRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Resolves participant context ids and participant ids to the participant they belong to, from bounded in-memory
+ * caches. Outbound clients use it to verify a participant context before calling a downstream API, services use it to
+ * find the participant context of a participant.
+ * <p>
+ * Entries are dropped once a change to or the removal of the participant is committed (see
+ * {@link ParticipantChangedEvent}), and in any case after {@code participant.registry.ttl}, so that changes made by other
+ * instances sharing the database are picked up as well. Participants that are not found are not remembered.
+ * <p>
+ * A load that overlaps with an invalidation may have read the row as it was before the change, so it is returned to its
+ * caller but not remembered. The caches are reported as the {@code cache.*} meters of the {@value #PARTICIPANTS_CACHE}
+ * and {@value #PARTICIPANT_CONTEXTS_CACHE} caches.
+ */
+@Component
+public class ParticipantContextRegistry {
+    static final String PARTICIPANTS_CACHE = "participants";
+    static final String PARTICIPANT_CONTEXTS_CACHE = "participant-contexts";
+    private final ParticipantRepository participantRepository;
+    private final Cache<Long, ParticipantContext> byParticipantId;
+    private final Cache<String, ParticipantContext> byParticipantContextId;
+    // incremented by every invalidation
+    private final AtomicLong generation = new AtomicLong();
+
+    @Autowired
+    public ParticipantContextRegistry(ParticipantRepository participantRepository,
+                                      @Value("${participant.registry.max-size:1000}") int maxSize,
+                                      @Value("${participant.registry.ttl:10m}") Duration ttl) {
+        this(participantRepository, maxSize, ttl, Clock.systemUTC());
+    }
+
+    ParticipantContextRegistry(ParticipantRepository participantRepository, int maxSize, Duration ttl, Clock clock) {
+        this.participantRepository = participantRepository;
+        this.byParticipantId = newCache(maxSize, ttl, clock);
+        this.byParticipantContextId = newCache(maxSize, ttl, clock);
+    }
+
+    @Autowired(required = false)
+    void bindMetrics(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, byParticipantId, PARTICIPANTS_CACHE);
+        CaffeineCacheMetrics.monitor(registry, byParticipantContextId, PARTICIPANT_CONTEXTS_CACHE);
+    }
+
+    /**
+     * Resolves a participant context id.
+     *
+     * @throws ObjectNotFoundException if no participant has the given participant context id
+     */
+    public ParticipantContext resolve(String participantContextId) {
+        return lookup(byParticipantContextId, participantContextId,
+                () -> participantRepository.findByParticipantContextId(participantContextId),
+                () -> "Participant not found with context id: " + participantContextId);
+    }
+
+    /**
+     * Resolves a participant id.
+     *
+     * @throws ObjectNotFoundException if there is no participant with the given id
+     */
+    public ParticipantContext resolve(Long participantId) {
+        return lookup(byParticipantId, participantId,
+                () -> participantRepository.findById(participantId),
+                () -> "Participant not found with id: " + participantId);
+    }
+
+    /**
+     * Drops the entries of a participant that was changed or removed, once the change is committed. Dropping them
+     * before, a concurrent lookup could load and remember the participant as it was before the change. The entries of
+     * a participant whose context id was taken over are dropped as well.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onParticipantChanged(ParticipantChangedEvent event) {
+        generation.incrementAndGet();
+        Predicate<ParticipantContext> affected = context -> context.participantId().equals(event.participantId())
+                || event.participantContextId() != null && event.participantContextId().equals(context.participantContextId());
+        byParticipantId.asMap().values().removeIf(affected);
+        byParticipantContextId.asMap().values().removeIf(affected);
+    }
+
+    private <K> ParticipantContext lookup(Cache<K, ParticipantContext> cache, K key, Supplier<Optional<Participant>> loader, Supplier<String> notFound) {
+        var cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        // concurrent misses for the same participant may both load it
+        var loadGeneration = generation.get();
+        var participant = loader.get().orElseThrow(() -> new ObjectNotFoundException(notFound.get()));
+        var context = new ParticipantContext(participant.getId(), participant.getParticipantContextId(),
+                participant.getTenant() != null ? participant.getTenant().getId() : null, participant.getClientCredentials());
+        remember(context, loadGeneration);
+        return context;
+    }
+
+    /**
+     * Remembers a participant under both of its ids. If it was invalidated since it was loaded, the entries are removed
+     * again: an invalidation that ran before they were added is told by the generation, one that runs after removes
+     * them itself.
+     */
+    private void remember(ParticipantContext context, long loadGeneration) {
+        byParticipantId.put(context.participantId(), context);
+        if (context.participantContextId() != null) {
+            byParticipantContextId.put(context.participantContextId(), context);
+        }
+        if (generation.get() != loadGeneration) {
+            byParticipantId.asMap().remove(context.participantId(), context);
+            if (context.participantContextId() != null) {
+                byParticipantContextId.asMap().remove(context.participantContextId(), context);
+            }
+        }
+    }
+
+    private static <K> Cache<K, ParticipantContext> newCache(int maxSize, Duration ttl, Clock clock) {
+        return Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .ticker(() -> {
+                    var now = clock.instant();
+                    return TimeUnit.SECONDS.toNanos(now.getEpochSecond()) + now.getNano();
+                })
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * The identifiers of a participant, as they were when it was resolved.
+     *
+     * @param participantContextId may be {@code null} while the participant is not yet deployed
+     * @param tenantId             the id of the tenant the participant belongs to
+     * @param clientCredentials    may be {@code null} if they were not yet read from the vault
+     */
+    public record ParticipantContext(Long participantId, String participantContextId, Long tenantId,
+                                     ClientCredentials clientCredentials) {
+    }
+}
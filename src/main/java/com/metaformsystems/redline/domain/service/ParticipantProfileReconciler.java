@@ -0,0 +1,107 @@
+/*
+ *  Copyright (c) 2026 Metaform Systems, Inc.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Metaform Systems, Inc. - initial API and implementation
+ *
+ */
+
+package com.metaformsystems.redline.domain.service;
+
+import com.metaformsystems.redline.domain.entity.ParticipantChangedEvent;
+import com.metaformsystems.redline.domain.repository.TenantRepository;
+import com.metaformsystems.redline.infrastructure.client.tenantmanager.v1alpha1.TenantManagerClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Pulls the participant profiles of all tenants from CFM and applies them to the local participants, see
+ * {@link TenantService#applyParticipantProfiles}. Reads of participants are then served from the database only.
+ * <p>
+ * The polling interval adapts to the deployment state: while a participant is being deployed, profiles are pulled
+ * every {@code cfm.reconciliation.deploying-interval}, once all VPAs are settled only every
+ * {@code cfm.reconciliation.stable-interval}. Any change to a participant, e.g. a new deployment, switches back to the
+ * short interval.
+ */
+@Component
+public class ParticipantProfileReconciler {
+    private static final Logger log = LoggerFactory.getLogger(ParticipantProfileReconciler.class);
+    private final TenantRepository tenantRepository;
+    private final TenantManagerClient tenantManagerClient;
+    private final TenantService tenantService;
+    private final Duration stableInterval;
+    private final Clock clock;
+    private volatile boolean deploying = true;
+    private volatile Instant lastRun = Instant.MIN;
+
+    @Autowired
+    public ParticipantProfileReconciler(TenantRepository tenantRepository,
+                                        TenantManagerClient tenantManagerClient,
+                                        TenantService tenantService,
+                                        @Value("${cfm.reconciliation.stable-interval:5m}") Duration stableInterval) {
+        this(tenantRepository, tenantManagerClient, tenantService, stableInterval, Clock.systemUTC());
+    }
+
+    ParticipantProfileReconciler(TenantRepository tenantRepository, TenantManagerClient tenantManagerClient,
+                                 TenantService tenantService, Duration stableInterval, Clock clock) {
+        this.tenantRepository = tenantRepository;
+        this.tenantManagerClient = tenantManagerClient;
+        this.tenantService = tenantService;
+        this.stableInterval = stableInterval;
+        this.clock = clock;
+    }
+
+    /**
+     * Runs every {@code cfm.reconciliation.deploying-interval}, but only reconciles if a participant is being deployed
+     * or the stable interval has passed.
+     */
+    @Scheduled(fixedDelayString = "${cfm.reconciliation.deploying-interval:5s}", initialDelayString = "${cfm.reconciliation.deploying-interval:5s}")
+    public void reconcileIfDue() {
+        if (!deploying && clock.instant().isBefore(lastRun.plus(stableInterval))) {
+            return;
+        }
+        reconcile();
+    }
+
+    /**
+     * Reconciles the participants of all tenants that were created in CFM. A tenant that cannot be reconciled is
+     * retried with the short interval.
+     *
+     * @return {@code true} if a participant is still being deployed
+     */
+    public boolean reconcile() {
+        lastRun = clock.instant();
+        var stillDeploying = false;
+        for (var tenant : tenantRepository.findByCorrelationIdIsNotNull()) {
+            try {
+                var cfmProfiles = tenantManagerClient.listParticipantProfiles(tenant.getCorrelationId());
+                stillDeploying |= tenantService.applyParticipantProfiles(tenant.getId(), cfmProfiles);
+            } catch (RuntimeException e) {
+                log.warn("Failed to reconcile the participants of tenant {}", tenant.getName(), e);
+                stillDeploying = true;
+            }
+        }
+        deploying = stillDeploying;
+        return stillDeploying;
+    }
+
+    @EventListener
+    public void onParticipantChanged(ParticipantChangedEvent event) {
+        deploying = true;
+    }
+}
@@ -21,11 +21,11 @@ import com.metaformsystems.redline.api.dto.response.ServiceProviderResponse;
 import com.metaformsystems.redline.domain.entity.Dataspace;
 import com.metaformsystems.redline.domain.repository.DataspaceRepository;
 import com.metaformsystems.redline.domain.repository.ServiceProviderRepository;
+import com.metaformsystems.redline.domain.service.KeysetCursor.SortKey;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.List;
-
 @Service
 public class ServiceProviderService {
     private final ServiceProviderRepository serviceProviderRepository;
@@ -53,20 +53,34 @@ public class ServiceProviderService {
         return new ServiceProviderResponse(saved.getId(), saved.getName());
     }
 
-    @Transactional
-    public List<DataspaceResponse> getDataspaces() {
-        return dataspaceRepository.findAll().stream()
+    /**
+     * Lists one page of the dataspaces, sorted by {@code id} (default) or {@code name}.
+     *
+     * @throws IllegalArgumentException if the sort key or the cursor is invalid
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<DataspaceResponse> getDataspaces(PageQuery page) {
+        var sortKey = KeysetCursor.sortKey(page, SortKey.ID_OR_NAME, "id");
+        var window = KeysetCursor.scroll(dataspaceRepository, Specification.where(null), sortKey, page);
+        var dataspaces = window.getContent().stream()
                 .map(dataspace -> new DataspaceResponse(dataspace.getId(), dataspace.getName(), dataspace.getProperties()))
                 .toList();
+        return new CursorPage<>(dataspaces, KeysetCursor.next(window), dataspaceRepository.count());
     }
 
-    @Transactional
-    public List<ServiceProviderResponse> getServiceProviders() {
-        return serviceProviderRepository.findAll().stream()
+    /**
+     * Lists one page of the service providers, sorted by {@code id} (default) or {@code name}.
+     *
+     * @throws IllegalArgumentException if the sort key or the cursor is invalid
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<ServiceProviderResponse> getServiceProviders(PageQuery page) {
+        var sortKey = KeysetCursor.sortKey(page, SortKey.ID_OR_NAME, "id");
+        var window = KeysetCursor.scroll(serviceProviderRepository, Specification.where(null), sortKey, page);
+        var providers = window.getContent().stream()
                 .map(provider -> new ServiceProviderResponse(provider.getId(), provider.getName()))
                 .toList();
+        return new CursorPage<>(providers, KeysetCursor.next(window), serviceProviderRepository.count());
     }
-
-
 }
 
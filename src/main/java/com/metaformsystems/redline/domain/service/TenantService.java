@@ -31,6 +31,7 @@ import com.metaformsystems.redline.domain.repository.DataspaceRepository;
 import com.metaformsystems.redline.domain.repository.ParticipantRepository;
 import com.metaformsystems.redline.domain.repository.ServiceProviderRepository;
 import com.metaformsystems.redline.domain.repository.TenantRepository;
+import com.metaformsystems.redline.domain.service.KeysetCursor.SortKey;
 import com.metaformsystems.redline.infrastructure.client.hashicorpvault.HashicorpVaultClient;
 import com.metaformsystems.redline.infrastructure.client.management.ManagementApiClient;
 import com.metaformsystems.redline.infrastructure.client.management.dto.DataplaneRegistration;
@@ -40,6 +41,8 @@ import com.metaformsystems.redline.infrastructure.client.tenantmanager.v1alpha1.
 import org.jspecify.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
 import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -47,9 +50,12 @@ import org.springframework.util.StringUtils;
 
 import java.time.Instant;
 import java.util.Collections;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import static java.util.Optional.ofNullable;
@@ -61,8 +67,10 @@ import static java.util.stream.Collectors.toSet;
 @Service
 public class TenantService {
     public static final String STATE_PROPERTY_KEY = "cfm.vpa.state";
+    private static final Set<DeploymentState> TRANSITIONAL_STATES = EnumSet.of(DeploymentState.INITIAL, DeploymentState.PENDING, DeploymentState.DISPOSING);
 
     private static final Logger log = LoggerFactory.getLogger(TenantService.class);
+    private static final Map<String, SortKey> PARTNER_SORT_KEYS = Map.of("identifier", SortKey.text("identifier"));
     private final TenantRepository tenantRepository;
     private final ParticipantRepository participantRepository;
     private final ServiceProviderRepository serviceProviderRepository;
@@ -87,11 +95,19 @@ public class TenantService {
         this.managementApiClient = managementApiClient;
     }
 
-    @Transactional
-    public List<Tenant> getTenants(Long serviceProviderId) {
-        return tenantRepository.findByServiceProviderId(serviceProviderId).stream()
+    /**
+     * Lists one page of the tenants of a service provider, sorted by {@code id} (default) or {@code name}.
+     *
+     * @throws IllegalArgumentException if the sort key or the cursor is invalid
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<Tenant> getTenants(Long serviceProviderId, PageQuery page) {
+        var sortKey = KeysetCursor.sortKey(page, SortKey.ID_OR_NAME, "id");
+        var window = KeysetCursor.scroll(tenantRepository, TenantRepository.ofServiceProvider(serviceProviderId), sortKey, page);
+        var tenants = window.getContent().stream()
                 .map(this::toTenantResource)
-                .collect(Collectors.toList());
+                .toList();
+        return new CursorPage<>(tenants, KeysetCursor.next(window), tenantRepository.countByServiceProviderId(serviceProviderId));
     }
 
     @Transactional
@@ -205,29 +221,43 @@ public class TenantService {
 
     @Transactional
     public Participant getParticipant(Long id) {
-
+        // VPA states, the participant context id and credentials are kept up to date by ParticipantProfileReconciler
         var profile = participantRepository.findById(id)
                 .orElseThrow(() -> new ObjectNotFoundException("Participant not found with id: " + id));
-
-        // fixme: figure out a better way to synchronize redline with CFM (periodically, NATS, etc.)
-        // update VPA state
-        var cfmProfile = tenantManagerClient.getParticipantProfile(profile.getTenant().getCorrelationId(), profile.getCorrelationId());
-        profile.setParticipantContextId(extractParticipantContextId(cfmProfile));
-
-        // update credentials
-        ofNullable(profile.getClientCredentials()).orElseGet(() -> getClientCredentials(profile.getParticipantContextId()));
-
-        // update VPA deployment state
-        cfmProfile.vpas().forEach(cfmVpa -> {
-            var type = com.metaformsystems.redline.domain.entity.VirtualParticipantAgent.VpaType.fromCfmName(cfmVpa.type());
-            ofNullable(profile.getAgentForType(type)).ifPresentOrElse(agent -> agent.setState(DeploymentState.valueOf(cfmVpa.state().toUpperCase())),
-                    () -> log.warn("VPA received {} from CFM, but not found in participant {}", cfmVpa.type(), profile.getIdentifier()));
-        });
-
-        // No need to save - changes will be automatically persisted at transaction end
         return toParticipantResource(profile);
     }
 
+    /**
+     * Applies the participant profiles of a tenant, as reported by CFM, to its deployed participants: the participant
+     * context id, the client credentials and the deployment states of the VPAs.
+     *
+     * @return {@code true} if a participant is still being deployed, i.e. it has no participant context or
+     * credentials yet, or a VPA in a transitional state
+     */
+    @Transactional
+    public boolean applyParticipantProfiles(Long tenantId, List<ParticipantProfile> cfmProfiles) {
+        var tenant = tenantRepository.findById(tenantId)
+                .orElseThrow(() -> new ObjectNotFoundException("Tenant not found with id: " + tenantId));
+        var cfmProfilesById = cfmProfiles.stream()
+                .collect(Collectors.toMap(ParticipantProfile::id, Function.identity(), (first, second) -> first));
+
+        var deploying = false;
+        for (var profile : tenant.getParticipants()) {
+            if (profile.getCorrelationId() == null) {
+                // not deployed
+                continue;
+            }
+            var cfmProfile = cfmProfilesById.get(profile.getCorrelationId());
+            if (cfmProfile == null) {
+                log.warn("Participant {} not found in CFM tenant {}", profile.getIdentifier(), tenant.getCorrelationId());
+                continue;
+            }
+            applyParticipantProfile(profile, cfmProfile);
+            deploying |= isDeploying(profile);
+        }
+        return deploying;
+    }
+
     @Transactional
     public PartnerReference createPartnerReference(Long providerId, Long tenantId, Long participantId, Long dataspaceId, PartnerReferenceRequest request) {
         // Find participant first
@@ -264,30 +294,52 @@ public class TenantService {
         return new PartnerReference(partnerReference.identifier(), partnerReference.nickname(), partnerReference.properties());
     }
 
-    @Transactional
-    public List<PartnerReference> getPartnerReferences(Long participantId, Long dataspacesId) {
-        return participantRepository.findById(participantId).stream()
-                .flatMap(p -> p.getDataspaceInfos().stream())
-                .filter(i -> i.getDataspaceId().equals(dataspacesId))
-                .flatMap(i -> i.getPartners().stream())
+    /**
+     * Lists one page of the partner references of a participant in a dataspace, in ascending order of their
+     * identifiers, which are expected to be unique within a dataspace.
+     *
+     * @throws IllegalArgumentException if the page is not sorted by ascending identifier, or the cursor is invalid
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<PartnerReference> getPartnerReferences(Long participantId, Long dataspacesId, PageQuery page) {
+        var sortKey = KeysetCursor.sortKey(page, PARTNER_SORT_KEYS, "identifier");
+        if (page.direction() != Sort.Direction.ASC) {
+            throw new IllegalArgumentException("partner references can only be sorted in ascending order");
+        }
+        var position = KeysetCursor.decode(page.cursor(), Map.of(sortKey.property(), sortKey.parser()));
+        var after = (String) position.getKeys().get(sortKey.property());
+
+        // one more than requested, to tell whether there is a next page
+        var limit = Limit.of(page.limit() + 1);
+        var references = after == null
+                ? participantRepository.findPartners(participantId, dataspacesId, limit)
+                : participantRepository.findPartnersAfter(participantId, dataspacesId, after, limit);
+        var hasNext = references.size() > page.limit();
+        var items = hasNext ? references.subList(0, page.limit()) : references;
+        var nextCursor = hasNext ? KeysetCursor.encode(Map.of(sortKey.property(), items.getLast().identifier())) : null;
+
+        return new CursorPage<>(items.stream()
                 .map(r -> new PartnerReference(r.identifier(), r.nickname(), r.properties()))
-                .toList();
+                .toList(), nextCursor, participantRepository.countPartners(participantId, dataspacesId));
     }
 
-    @Transactional
-    public List<DataspaceResponse> getParticipantDataspaces(Long participantId) {
-        var participant = participantRepository.findById(participantId)
-                .orElseThrow(() -> new ObjectNotFoundException("Participant not found with id: " + participantId));
-        var dataspaceIds = participant.getDataspaceInfos().stream()
-                .map(DataspaceInfo::getDataspaceId)
-                .toList();
-        if (dataspaceIds.isEmpty()) {
-            return List.of();
+    /**
+     * Lists one page of the dataspaces a participant is a member of, sorted by {@code id} (default) or {@code name}.
+     *
+     * @throws IllegalArgumentException if the sort key or the cursor is invalid
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<DataspaceResponse> getParticipantDataspaces(Long participantId, PageQuery page) {
+        if (!participantRepository.existsById(participantId)) {
+            throw new ObjectNotFoundException("Participant not found with id: " + participantId);
         }
-        var dataspaces = dataspaceRepository.findAllById(dataspaceIds);
-        return dataspaces.stream()
+        var sortKey = KeysetCursor.sortKey(page, SortKey.ID_OR_NAME, "id");
+        var specification = DataspaceRepository.ofParticipant(participantId);
+        var window = KeysetCursor.scroll(dataspaceRepository, specification, sortKey, page);
+        var dataspaces = window.getContent().stream()
                 .map(ds -> new DataspaceResponse(ds.getId(), ds.getName(), ds.getProperties()))
                 .toList();
+        return new CursorPage<>(dataspaces, KeysetCursor.next(window), dataspaceRepository.count(specification));
     }
 
     public void registerDataPlane(Long participantId, DataPlaneRegistrationRequest request) {
@@ -304,6 +356,27 @@ public class TenantService {
                 .build());
     }
 
+    private void applyParticipantProfile(com.metaformsystems.redline.domain.entity.Participant profile, ParticipantProfile cfmProfile) {
+        ofNullable(extractParticipantContextId(cfmProfile)).ifPresent(profile::setParticipantContextId);
+
+        // update credentials
+        if (profile.getClientCredentials() == null && profile.getParticipantContextId() != null) {
+            getClientCredentials(profile.getParticipantContextId());
+        }
+
+        // update VPA deployment state, entities are only written if a state changed
+        cfmProfile.vpas().forEach(cfmVpa -> {
+            var type = com.metaformsystems.redline.domain.entity.VirtualParticipantAgent.VpaType.fromCfmName(cfmVpa.type());
+            ofNullable(profile.getAgentForType(type)).ifPresentOrElse(agent -> agent.setState(DeploymentState.valueOf(cfmVpa.state().toUpperCase())),
+                    () -> log.warn("VPA received {} from CFM, but not found in participant {}", cfmVpa.type(), profile.getIdentifier()));
+        });
+    }
+
+    private boolean isDeploying(com.metaformsystems.redline.domain.entity.Participant profile) {
+        return profile.getParticipantContextId() == null || profile.getClientCredentials() == null ||
+                profile.getAgents().stream().anyMatch(agent -> TRANSITIONAL_STATES.contains(agent.getState()));
+    }
+
     private @Nullable String extractParticipantContextId(ParticipantProfile participant) {
 
         var props = participant.properties();
@@ -318,7 +391,7 @@ public class TenantService {
     }
 
     @NonNull
-    private Participant toParticipantResource(com.metaformsystems.redline.domain.entity.Participant saved) {
+    Participant toParticipantResource(com.metaformsystems.redline.domain.entity.Participant saved) {
         var vpas = saved.getAgents().stream().map(vpa -> new VirtualParticipantAgent(vpa.getId(),
                 VirtualParticipantAgent.Type.valueOf(vpa.getType().name()),
                 com.metaformsystems.redline.api.dto.response.DeploymentState.valueOf(vpa.getState().name()))).toList();
@@ -326,15 +399,16 @@ public class TenantService {
                 .map(entity -> new com.metaformsystems.redline.api.dto.response.DataspaceInfo(
                         entity.getId(),
                         entity.getDataspaceId(),
-                        entity.getAgreementTypes(),
-                        entity.getRoles(),
+                        // copied, so that the lazy collections are loaded here rather than when the response is written
+                        List.copyOf(entity.getAgreementTypes()),
+                        List.copyOf(entity.getRoles()),
                         entity.getProperties()))
                 .toList();
         return new Participant(saved.getId(), saved.getIdentifier(), vpas, infos);
     }
 
     @NonNull
-    private Tenant toTenantResource(com.metaformsystems.redline.domain.entity.Tenant t) {
+    Tenant toTenantResource(com.metaformsystems.redline.domain.entity.Tenant t) {
         var participants = t.getParticipants().stream()
                 .map(this::toParticipantResource).toList();
         return new Tenant(t.getId(), t.getServiceProvider().getId(), t.getName(), participants, t.getProperties());
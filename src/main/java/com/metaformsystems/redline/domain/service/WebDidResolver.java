@@ -16,8 +16,16 @@ package com.metaformsystems.redline.domain.service;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.metaformsystems.redline.infrastructure.client.ClientMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import io.micrometer.tracing.Tracer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
@@ -27,20 +35,57 @@ import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.regex.Pattern;
 
+/**
+ * Resolves {@code did:web} documents. Resolved documents are kept in a bounded cache for as long as the DID host
+ * allows via {@code Cache-Control: max-age}, or for {@code web.did.cache.ttl} if it does not say. The {@code ETag} of
+ * a document is kept beyond that, so that an expired document is revalidated with {@code If-None-Match}. Failed lookups
+ * are cached separately for {@code web.did.cache.negative-ttl}, so that an unreachable host does not stall every
+ * request.
+ * <p>
+ * The document cache is reported as the {@code cache.*} meters of the {@value #CACHE_NAME} cache, so a hit is a
+ * document served without a request to its host. Lookups answered from the failed lookups count as neither.
+ */
 @Component
 public class WebDidResolver {
 
+    static final String CACHE_NAME = "did-documents";
     private static final Logger log = LoggerFactory.getLogger(WebDidResolver.class);
+    private static final Pattern MAX_AGE = Pattern.compile("max-age=(\\d+)");
     private final HttpClient httpClient;
     private final ObjectMapper objectMapper;
+    private final Cache<String, CachedDidDocument> documents = Caffeine.newBuilder()
+            .maximumSize(1000)
+            .expireAfter(new DocumentExpiry())
+            .recordStats()
+            .build();
+    private final Cache<String, CachedDidDocument> failedLookups = Caffeine.newBuilder()
+            .maximumSize(1000)
+            .expireAfter(new DocumentExpiry())
+            .build();
+    private final Cache<String, Validator> validators = Caffeine.newBuilder()
+            .maximumSize(1000)
+            .build();
     @Value("${web.did.forceHttps:false}")
     private boolean forceHttps;
+    @Value("${web.did.cache.ttl:5m}")
+    private Duration cacheTtl = Duration.ofMinutes(5);
+    @Value("${web.did.cache.negative-ttl:30s}")
+    private Duration negativeCacheTtl = Duration.ofSeconds(30);
+    @Value("${web.did.timeout:10s}")
+    private Duration requestTimeout = Duration.ofSeconds(10);
+    @Autowired
+    private ClientMetrics clientMetrics = ClientMetrics.NOOP;
+    @Autowired(required = false)
+    private Tracer tracer = Tracer.NOOP;
 
     public WebDidResolver() {
-        this.httpClient = HttpClient.newBuilder().build();
+        this.httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
         this.objectMapper = new ObjectMapper();
     }
 
@@ -57,12 +102,75 @@ public class WebDidResolver {
      */
     public String resolveProtocolEndpoints(String did) {
         var url = convertDidToUrl(did, forceHttps);
-        var didDocument = fetchDidDocument(url);
-        if (didDocument == null) {
+        var endpoints = resolve(url);
+        if (endpoints == null || endpoints.isEmpty()) {
+            return null;
+        }
+        return endpoints.getFirst();
+    }
+
+    @Value("${web.did.cache.max-size:1000}")
+    void setMaxCacheSize(long maxCacheSize) {
+        for (var cache : List.of(documents, failedLookups, validators)) {
+            cache.policy().eviction().ifPresent(eviction -> eviction.setMaximum(maxCacheSize));
+        }
+    }
+
+    @Autowired(required = false)
+    void bindMetrics(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, documents, CACHE_NAME);
+    }
+
+    private List<String> resolve(String url) {
+        if (failedLookups.getIfPresent(url) != null) {
+            return null;
+        }
+        var cached = documents.getIfPresent(url);
+        if (cached != null) {
+            return cached.endpoints();
+        }
+
+        var validator = validators.getIfPresent(url);
+        var fetched = fetchDidDocument(url, validator != null ? validator.etag() : null);
+
+        if (fetched.notModified()) {
+            documents.put(url, new CachedDidDocument(validator.endpoints(), expiry(fetched.cacheControl())));
+            return validator.endpoints();
+        }
+        if (fetched.document() == null) {
+            failedLookups.put(url, new CachedDidDocument(null, Instant.now().plus(negativeCacheTtl)));
             return null;
         }
-        var endpoints = extractProtocolEndpoints(didDocument);
-        return endpoints.isEmpty() ? null : endpoints.getFirst();
+
+        var endpoints = List.copyOf(extractProtocolEndpoints(fetched.document()));
+        if (fetched.cacheControl() == null || !fetched.cacheControl().contains("no-store")) {
+            documents.put(url, new CachedDidDocument(endpoints, expiry(fetched.cacheControl())));
+            if (fetched.etag() != null) {
+                validators.put(url, new Validator(endpoints, fetched.etag()));
+            } else {
+                validators.invalidate(url);
+            }
+        }
+        return endpoints;
+    }
+
+    /**
+     * Computes the expiry of a DID document from the Cache-Control header of the response, falling back to the
+     * configured TTL. {@code no-cache} documents are kept only for revalidation.
+     */
+    Instant expiry(String cacheControl) {
+        var now = Instant.now();
+        if (cacheControl == null) {
+            return now.plus(cacheTtl);
+        }
+        if (cacheControl.contains("no-cache")) {
+            return now;
+        }
+        var maxAge = MAX_AGE.matcher(cacheControl);
+        if (maxAge.find()) {
+            return now.plusSeconds(Long.parseLong(maxAge.group(1)));
+        }
+        return now.plus(cacheTtl);
     }
 
     private String convertDidToUrl(String did, boolean forceHttps) {
@@ -76,31 +184,63 @@ public class WebDidResolver {
         return (forceHttps ? "https://" : "http://") + path + "/.well-known/did.json";
     }
 
-    private JsonNode fetchDidDocument(String url) {
-        var request = HttpRequest.newBuilder()
+    private FetchResult fetchDidDocument(String url, String etag) {
+        var builder = HttpRequest.newBuilder()
                 .uri(URI.create(url))
+                .timeout(requestTimeout)
                 .GET()
-                .header("Accept", "application/json")
-                .build();
+                .header("Accept", "application/json");
+        if (etag != null) {
+            builder.header("If-None-Match", etag);
+        }
 
-        try {
-            var response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        // only fetches are recorded, DID documents served from the cache are not. The trace context is not passed on,
+        // DID documents are usually hosted outside of the dataspace deployment
+        var call = clientMetrics.start("did", "resolve", null);
+        var span = tracer.nextSpan().name("did resolve").tag("url", url).start();
+        try (var ignored = tracer.withSpan(span)) {
+            var response = httpClient.send(builder.build(), HttpResponse.BodyHandlers.ofString());
+            span.tag("http.status_code", String.valueOf(response.statusCode()));
+            if (response.statusCode() == 200 || response.statusCode() == 304) {
+                call.success();
+            } else {
+                call.failure(String.valueOf(response.statusCode()), null);
+            }
+            var cacheControl = header(response, "Cache-Control");
+            if (response.statusCode() == 304 && etag != null) {
+                return new FetchResult(null, etag, cacheControl, true);
+            }
             if (response.statusCode() != 200) {
                 log.error("Failed to fetch DID document, HTTP request {}: {}", url, response.body());
+                return FetchResult.FAILED;
             }
-            return objectMapper.readTree(response.body());
+            return new FetchResult(objectMapper.readTree(response.body()), header(response, "ETag"), cacheControl, false);
         } catch (ConnectException e) {
+            call.failure(e);
+            span.error(e);
             log.error("Failed to resolve DID Web URL '{}' (ConnectException): {}", url, e.getMessage());
-            return null;
-        } catch (IOException | InterruptedException e) {
+            return FetchResult.FAILED;
+        } catch (IOException e) {
+            call.failure(e);
+            span.error(e);
             log.error("Failed to fetch DID document for url '{}': {}", url, e.getMessage());
-            return null;
+            return FetchResult.FAILED;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            call.failure(e);
+            span.error(e);
+            throw new IllegalStateException("Interrupted while fetching DID document for url '%s'".formatted(url), e);
+        } finally {
+            span.end();
         }
+    }
 
-
+    private String header(HttpResponse<?> response, String name) {
+        var headers = response.headers();
+        return headers != null ? headers.firstValue(name).orElse(null) : null;
     }
 
-    private List<String> extractProtocolEndpoints(JsonNode didDocument) {
+    List<String> extractProtocolEndpoints(JsonNode didDocument) {
         var endpoints = new ArrayList<String>();
         var services = didDocument.get("service");
 
@@ -119,4 +259,37 @@ public class WebDidResolver {
         return endpoints;
     }
 
+    /**
+     * A resolved document, or a failed lookup without endpoints, that is kept until {@code expiresAt}.
+     */
+    private record CachedDidDocument(List<String> endpoints, Instant expiresAt) {
+    }
+
+    /**
+     * The endpoints of the last document that came with an {@code ETag}, which a {@code 304} response confirms.
+     */
+    private record Validator(List<String> endpoints, String etag) {
+    }
+
+    private static class DocumentExpiry implements Expiry<String, CachedDidDocument> {
+
+        @Override
+        public long expireAfterCreate(String url, CachedDidDocument document, long currentTime) {
+            return Math.max(0, Duration.between(Instant.now(), document.expiresAt()).toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(String url, CachedDidDocument document, long currentTime, long currentDuration) {
+            return expireAfterCreate(url, document, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String url, CachedDidDocument document, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+
+    private record FetchResult(JsonNode document, String etag, String cacheControl, boolean notModified) {
+        static final FetchResult FAILED = new FetchResult(null, null, null, false);
+    }
 }
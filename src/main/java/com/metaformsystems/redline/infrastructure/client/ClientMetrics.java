@@ -0,0 +1,202 @@
+/*
+ *  Copyright (c) 2026 Metaform Systems, Inc.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Metaform Systems, Inc. - initial API and implementation
+ *
+ */
+
+package com.metaformsystems.redline.infrastructure.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.net.http.HttpTimeoutException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Records calls to downstream services, e.g. the control plane or the tenant manager:
+ * <ul>
+ *     <li>{@code redline.client.requests}, a timer tagged by downstream, operation, status and participant</li>
+ *     <li>{@code redline.client.errors}, a counter of failed calls with the same tags and the exception type</li>
+ *     <li>{@code redline.client.requests.active}, a gauge of the calls in flight per downstream and operation</li>
+ * </ul>
+ * The status is {@code success}, the HTTP status code the downstream responded with, {@code io_error} if no response
+ * was received, {@code timeout}, {@code cancelled} or {@code error}. Only the first {@code metrics.client.max-participant-tags}
+ * participant context ids get their own participant tag, calls for all others are tagged {@code other}, and calls that
+ * are not made on behalf of a participant {@code none}.
+ */
+@Component
+public class ClientMetrics {
+    /**
+     * Does not publish anything, for clients that are created outside of the application context.
+     */
+    public static final ClientMetrics NOOP = new ClientMetrics(new CompositeMeterRegistry(), 0);
+
+    static final String REQUESTS = "redline.client.requests";
+    static final String ERRORS = "redline.client.errors";
+    static final String ACTIVE = "redline.client.requests.active";
+    static final String OTHER_PARTICIPANTS = "other";
+    static final String NO_PARTICIPANT = "none";
+
+    private final MeterRegistry registry;
+    private final int maxParticipantTags;
+    private final Set<String> taggedParticipants = ConcurrentHashMap.newKeySet();
+    private final Map<Tags, AtomicInteger> active = new ConcurrentHashMap<>();
+
+    public ClientMetrics(MeterRegistry registry, @Value("${metrics.client.max-participant-tags:50}") int maxParticipantTags) {
+        this.registry = registry;
+        this.maxParticipantTags = maxParticipantTags;
+    }
+
+    /**
+     * Starts recording a call. The returned call must be stopped exactly once, further stops are ignored.
+     *
+     * @param participantContextId the participant the call is made for, or null
+     */
+    public Call start(String downstream, String operation, String participantContextId) {
+        var operationTags = Tags.of("downstream", downstream, "operation", operation);
+        var inFlight = active.computeIfAbsent(operationTags, tags -> {
+            var counter = new AtomicInteger();
+            Gauge.builder(ACTIVE, counter, AtomicInteger::get)
+                    .tags(tags)
+                    .description("Calls to downstream services in flight")
+                    .register(registry);
+            return counter;
+        });
+        inFlight.incrementAndGet();
+        return new Call(operationTags.and("participant", participantTag(participantContextId)), inFlight, Timer.start(registry));
+    }
+
+    /**
+     * Records the given publisher from subscription until it completes, fails or is cancelled.
+     */
+    public <T> Function<Mono<T>, Mono<T>> mono(String downstream, String operation, String participantContextId) {
+        return mono -> Mono.defer(() -> {
+            var call = start(downstream, operation, participantContextId);
+            return mono.doOnSuccess(value -> call.success())
+                    .doOnError(call::failure)
+                    .doOnCancel(call::cancel);
+        });
+    }
+
+    /**
+     * Records the given publisher from subscription until it completes, fails or is cancelled.
+     */
+    public <T> Function<Flux<T>, Flux<T>> flux(String downstream, String operation, String participantContextId) {
+        return flux -> Flux.defer(() -> {
+            var call = start(downstream, operation, participantContextId);
+            return flux.doOnComplete(call::success)
+                    .doOnError(call::failure)
+                    .doOnCancel(call::cancel);
+        });
+    }
+
+    private String participantTag(String participantContextId) {
+        if (participantContextId == null) {
+            return NO_PARTICIPANT;
+        }
+        if (taggedParticipants.contains(participantContextId)) {
+            return participantContextId;
+        }
+        synchronized (taggedParticipants) {
+            if (taggedParticipants.size() < maxParticipantTags) {
+                taggedParticipants.add(participantContextId);
+                return participantContextId;
+            }
+        }
+        return OTHER_PARTICIPANTS;
+    }
+
+    static String status(Throwable error) {
+        if (error instanceof WebClientResponseException e) {
+            return String.valueOf(e.getStatusCode().value());
+        }
+        if (error instanceof TimeoutException || error instanceof HttpTimeoutException) {
+            return "timeout";
+        }
+        if (error instanceof WebClientRequestException || error instanceof IOException) {
+            return "io_error";
+        }
+        return "error";
+    }
+
+    /**
+     * A call that is being recorded.
+     */
+    public final class Call {
+        private final Tags tags;
+        private final AtomicInteger inFlight;
+        private final Timer.Sample sample;
+        private final AtomicBoolean stopped = new AtomicBoolean();
+
+        private Call(Tags tags, AtomicInteger inFlight, Timer.Sample sample) {
+            this.tags = tags;
+            this.inFlight = inFlight;
+            this.sample = sample;
+        }
+
+        public void success() {
+            stop("success");
+        }
+
+        public void failure(Throwable error) {
+            failure(status(error), error);
+        }
+
+        /**
+         * Records a call that failed without an exception, e.g. one that returned an unexpected status code.
+         */
+        public void failure(String status, Throwable error) {
+            if (stop(status)) {
+                Counter.builder(ERRORS)
+                        .tags(tags)
+                        .tag("status", status)
+                        .tag("exception", error != null ? error.getClass().getSimpleName() : "none")
+                        .description("Failed calls to downstream services")
+                        .register(registry)
+                        .increment();
+            }
+        }
+
+        public void cancel() {
+            stop("cancelled");
+        }
+
+        private boolean stop(String status) {
+            if (!stopped.compareAndSet(false, true)) {
+                return false;
+            }
+            inFlight.decrementAndGet();
+            sample.stop(Timer.builder(REQUESTS)
+                    .tags(tags)
+                    .tag("status", status)
+                    .description("Calls to downstream services")
+                    .register(registry));
+            return true;
+        }
+    }
+}
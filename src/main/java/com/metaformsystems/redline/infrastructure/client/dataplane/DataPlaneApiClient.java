@@ -14,6 +14,7 @@
 
 package com.metaformsystems.redline.infrastructure.client.dataplane;
 
+import com.metaformsystems.redline.infrastructure.client.dataplane.dto.FileDownload;
 import com.metaformsystems.redline.infrastructure.client.dataplane.dto.UploadResponse;
 import com.metaformsystems.redline.infrastructure.client.management.dto.QuerySpec;
 
@@ -41,9 +42,11 @@ public interface DataPlaneApiClient {
     List<UploadResponse> listPublicFiles(String participantContextId, QuerySpec querySpec);
 
     /**
-     * Downloads a file from the provider's dataplane
+     * Downloads a file from the provider's dataplane. Returns as soon as the response headers have arrived, the file
+     * content is streamed from the data plane while it is being consumed.
      *
      * @param fileId the id of the file to download
+     * @param range  an optional HTTP {@code Range} header value, which is forwarded to the data plane
      */
-    byte[] downloadFile(String authToken, String fileId);
+    FileDownload downloadFile(String authToken, String fileId, String range);
 }
@@ -15,22 +15,24 @@
 package com.metaformsystems.redline.infrastructure.client.dataplane;
 
 import com.metaformsystems.redline.application.service.TokenProvider;
-import com.metaformsystems.redline.domain.exception.ObjectNotFoundException;
-import com.metaformsystems.redline.domain.repository.ParticipantRepository;
+import com.metaformsystems.redline.domain.service.ParticipantContextRegistry;
+import com.metaformsystems.redline.infrastructure.client.ClientMetrics;
+import com.metaformsystems.redline.infrastructure.client.dataplane.dto.FileDownload;
 import com.metaformsystems.redline.infrastructure.client.dataplane.dto.UploadResponse;
 import com.metaformsystems.redline.infrastructure.client.management.dto.QuerySpec;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.core.ParameterizedTypeReference;
-import org.springframework.core.io.InputStreamResource;
 import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.client.MultipartBodyBuilder;
 import org.springframework.stereotype.Component;
-import org.springframework.web.reactive.function.client.ExchangeStrategies;
 import org.springframework.web.reactive.function.client.WebClient;
-import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 import java.io.InputStream;
 import java.util.List;
@@ -38,21 +40,21 @@ import java.util.Map;
 
 @Component
 public class DataPlaneApiClientImpl implements DataPlaneApiClient {
+    private static final int UPLOAD_BUFFER_SIZE = 8192;
+    private static final String DOWNSTREAM = "dataplane";
     private final WebClient dataPlanePublicClient;
     private final WebClient dataPlaneInternalClient;
-    private final ParticipantRepository participantRepository;
+    private final ParticipantContextRegistry participantContextRegistry;
     private final TokenProvider tokenProvider;
+    private final ClientMetrics clientMetrics;
 
-    public DataPlaneApiClientImpl(WebClient dataPlanePublicClient, WebClient dataPlaneInternalClient, ParticipantRepository participantRepository,
-                                  @Qualifier("token-exchange") TokenProvider tokenProvider) {
-        this.dataPlanePublicClient = dataPlanePublicClient.mutate()
-                .exchangeStrategies(ExchangeStrategies.builder()
-                        .codecs(configurer -> configurer.defaultCodecs().maxInMemorySize(50 * 1024 * 1024))
-                        .build())
-                .build();
+    public DataPlaneApiClientImpl(WebClient dataPlanePublicClient, WebClient dataPlaneInternalClient, ParticipantContextRegistry participantContextRegistry,
+                                  @Qualifier("token-exchange") TokenProvider tokenProvider, ClientMetrics clientMetrics) {
+        this.dataPlanePublicClient = dataPlanePublicClient;
         this.dataPlaneInternalClient = dataPlaneInternalClient;
-        this.participantRepository = participantRepository;
+        this.participantContextRegistry = participantContextRegistry;
         this.tokenProvider = tokenProvider;
+        this.clientMetrics = clientMetrics;
     }
 
     @Override
@@ -64,9 +66,12 @@ public class DataPlaneApiClientImpl implements DataPlaneApiClient {
             bodyBuilder.part("metadata", metadata);
         }
 
-        // Add file data
+        // Add file data, read in chunks as the data plane connection accepts them. Reading the stream may block, so it
+        // must not happen on the event loop.
+        var content = DataBufferUtils.readInputStream(() -> data, DefaultDataBufferFactory.sharedInstance, UPLOAD_BUFFER_SIZE)
+                .subscribeOn(Schedulers.boundedElastic());
         bodyBuilder
-                .part("file", new InputStreamResource(data))
+                .asyncPart("file", content, DataBuffer.class)
                 .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_OCTET_STREAM_VALUE);
 
         return dataPlaneInternalClient.post()
@@ -76,6 +81,7 @@ public class DataPlaneApiClientImpl implements DataPlaneApiClient {
                 .bodyValue(bodyBuilder.build())
                 .retrieve()
                 .bodyToMono(UploadResponse.class)
+                .transform(clientMetrics.mono(DOWNSTREAM, "uploadMultipart", participantContextId))
                 .block();
     }
 
@@ -86,6 +92,7 @@ public class DataPlaneApiClientImpl implements DataPlaneApiClient {
                 .retrieve()
                 .bodyToMono(new ParameterizedTypeReference<List<UploadResponse>>() {
                 })
+                .transform(clientMetrics.mono(DOWNSTREAM, "getAllUploads", null))
                 .block();
     }
 
@@ -97,31 +104,32 @@ public class DataPlaneApiClientImpl implements DataPlaneApiClient {
                 .retrieve()
                 .bodyToMono(new ParameterizedTypeReference<List<UploadResponse>>() {
                 })
+                .transform(clientMetrics.mono(DOWNSTREAM, "listPublicFiles", participantContextId))
                 .block();
     }
 
     @Override
-    public byte[] downloadFile(String authToken, String fileId) {
-
-        Flux<DataBuffer> dataBufferFlux = dataPlanePublicClient.get()
+    public FileDownload downloadFile(String authToken, String fileId, String range) {
+        var entity = dataPlanePublicClient.get()
                 .uri("/certs/" + fileId)
                 .header("Authorization", "Bearer " + authToken)
-                .retrieve()
-                .bodyToFlux(DataBuffer.class);
-
-        return DataBufferUtils.join(dataBufferFlux)
-                .map(dataBuffer -> {
-                    byte[] bytes = new byte[dataBuffer.readableByteCount()];
-                    dataBuffer.read(bytes);
-                    DataBufferUtils.release(dataBuffer);
-                    return bytes;
+                .headers(headers -> {
+                    if (range != null) {
+                        headers.set(HttpHeaders.RANGE, range);
+                    }
                 })
+                .retrieve()
+                // an unsatisfiable range is passed on to the caller rather than treated as an error
+                .onStatus(status -> status.value() == HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value(), response -> Mono.empty())
+                .toEntityFlux(DataBuffer.class)
+                .transform(clientMetrics.mono(DOWNSTREAM, "downloadFile", null))
                 .block();
+
+        return new FileDownload(entity.getStatusCode(), entity.getHeaders(), entity.getBody());
     }
 
     private String getToken(String participantContextId) {
-        participantRepository.findByParticipantContextId(participantContextId)
-                .orElseThrow(() -> new ObjectNotFoundException("Participant not found with context id: " + participantContextId));
+        participantContextRegistry.resolve(participantContextId);
         return tokenProvider.getToken(participantContextId, "read write");
     }
 }
@@ -0,0 +1,32 @@
+/*
+ *  Copyright (c) 2026 Metaform Systems, Inc.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Metaform Systems, Inc. - initial API and implementation
+ *
+ */
+
+package com.metaformsystems.redline.infrastructure.client.dataplane.dto;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import reactor.core.publisher.Flux;
+
+/**
+ * Status and headers of a data plane download, with the file content still on the wire. The content must be
+ * subscribed to exactly once, otherwise the connection is not released.
+ *
+ * @param status  {@code 200}, or {@code 206}/{@code 416} for range requests
+ * @param headers the response headers of the data plane, e.g. {@code Content-Type}, {@code Content-Length} and
+ *                {@code Content-Range}
+ * @param content the file content, as it arrives from the data plane
+ */
+public record FileDownload(HttpStatusCode status, HttpHeaders headers, Flux<DataBuffer> content) {
+}
@@ -14,41 +14,204 @@
 
 package com.metaformsystems.redline.infrastructure.client.hashicorpvault;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.metaformsystems.redline.infrastructure.client.ClientMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Mono;
 
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * Reads secrets from Vault and caches them for their {@code lease_duration}, or for {@code vault.cache.default-ttl}
+ * if Vault does not report one, which is the case for KV v2 secrets. Concurrent reads of the same path wait for the
+ * single in-flight request instead of starting their own.
+ * <p>
+ * A secret that is read within {@code vault.cache.refresh-margin} of its expiry is served from the cache and refreshed
+ * in the background. A refresh never replaces a secret with an older KV version, e.g. one read from a lagging standby.
+ * Secrets that do not exist are not cached. The cache is reported as the {@code cache.*} meters of the
+ * {@value #CACHE_NAME} cache.
+ */
 @Component
 public class HashicorpVaultClientImpl implements HashicorpVaultClient {
+    static final String CACHE_NAME = "vault-secrets";
+    private static final Logger log = LoggerFactory.getLogger(HashicorpVaultClientImpl.class);
+    private static final String DOWNSTREAM = "vault";
     private final WebClient vaultWebClient;
-    @Value("${vault.token:root}")
-    private String vaultToken;
+    private final String vaultToken;
+    private final Duration defaultTtl;
+    private final Duration refreshMargin;
+    private final Clock clock;
+    private final ClientMetrics clientMetrics;
+    private final AsyncCache<String, CachedSecret> secrets;
+    private final Set<String> refreshing = ConcurrentHashMap.newKeySet();
+
+    @Autowired
+    public HashicorpVaultClientImpl(WebClient vaultWebClient,
+                                    @Value("${vault.token:root}") String vaultToken,
+                                    @Value("${vault.cache.default-ttl:5m}") Duration defaultTtl,
+                                    @Value("${vault.cache.refresh-margin:30s}") Duration refreshMargin,
+                                    ClientMetrics clientMetrics) {
+        this(vaultWebClient, vaultToken, defaultTtl, refreshMargin, Clock.systemUTC(), clientMetrics);
+    }
 
-    public HashicorpVaultClientImpl(WebClient vaultWebClient) {
+    HashicorpVaultClientImpl(WebClient vaultWebClient, String vaultToken, Duration defaultTtl, Duration refreshMargin, Clock clock,
+                             ClientMetrics clientMetrics) {
         this.vaultWebClient = vaultWebClient;
+        this.vaultToken = vaultToken;
+        this.defaultTtl = defaultTtl;
+        this.refreshMargin = refreshMargin;
+        this.clock = clock;
+        this.clientMetrics = clientMetrics;
+        // reads that fail or find nothing are not kept, secrets without content expire right away
+        this.secrets = Caffeine.newBuilder()
+                .expireAfter(new LeaseExpiry())
+                .ticker(() -> {
+                    var now = clock.instant();
+                    return TimeUnit.SECONDS.toNanos(now.getEpochSecond()) + now.getNano();
+                })
+                .recordStats()
+                .buildAsync();
+    }
+
+    @Autowired(required = false)
+    void bindMetrics(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, secrets.synchronous(), CACHE_NAME);
     }
 
     @Override
     public String readSecret(String path) {
+        var secret = join(secrets.get(path, (key, executor) -> fetch(key).toFuture()));
+        if (secret == null) {
+            return null;
+        }
+        if (secret.exists() && !clock.instant().isBefore(secret.refreshAt())) {
+            refreshAhead(path);
+        }
+        return secret.content();
+    }
+
+    /**
+     * Removes the cached secret of the given path, e.g. after it was rotated.
+     */
+    public void evict(String path) {
+        secrets.synchronous().invalidate(path);
+    }
+
+    /**
+     * Re-reads the secret in the background, at most once at a time per path. The cached secret keeps being served
+     * until the refresh completes; if it fails, the secret is fetched again once it has expired.
+     */
+    private void refreshAhead(String path) {
+        if (!refreshing.add(path)) {
+            return;
+        }
+        fetch(path)
+                .doFinally(signal -> refreshing.remove(path))
+                .subscribe(refreshed -> secrets.asMap().computeIfPresent(path, (k, existing) -> merge(existing, refreshed)),
+                        e -> log.warn("Failed to refresh secret {}", path, e));
+    }
+
+    private CompletableFuture<CachedSecret> merge(CompletableFuture<CachedSecret> existing, CachedSecret refreshed) {
+        if (!refreshed.exists()) {
+            return null;
+        }
+        if (!existing.isDone() || existing.isCompletedExceptionally()) {
+            return existing;
+        }
+        var current = existing.join();
+        if (current != null && current.version() > refreshed.version()) {
+            // keep the newer secret, but do not refresh it again on every read
+            return CompletableFuture.completedFuture(new CachedSecret(current.content(), current.version(), refreshed.refreshAt(), refreshed.expiresAt()));
+        }
+        return CompletableFuture.completedFuture(refreshed);
+    }
+
+    private Mono<CachedSecret> fetch(String path) {
         return vaultWebClient.get()
                 .uri(path)
                 .header("X-Vault-Token", vaultToken)
                 .retrieve()
                 .onStatus(status -> status.equals(HttpStatus.NOT_FOUND), r -> Mono.empty())
                 .bodyToMono(VaultGetSecretResponse.class)
-                // for some braindead reason it is not allowed to map to null, so we need to map to an empty string...
-                .map(r -> r.data() == null ? "" : r.data().getData().get("content"))
-                .block();
+                .map(this::toCachedSecret)
+                .transform(clientMetrics.mono(DOWNSTREAM, "readSecret", null));
     }
 
-    private record VaultGetSecretResponse(VaultDataWrapper data) {
+    private CachedSecret toCachedSecret(VaultGetSecretResponse response) {
+        var now = clock.instant();
+        if (response.data() == null || response.data().getData() == null) {
+            // for some braindead reason it is not allowed to map to null, so we need to map to an empty string...
+            return new CachedSecret("", 0, now, now);
+        }
+        var ttl = response.leaseDuration() > 0 ? Duration.ofSeconds(response.leaseDuration()) : defaultTtl;
+        var margin = refreshMargin.compareTo(ttl.dividedBy(2)) < 0 ? refreshMargin : ttl.dividedBy(2);
+        var metadata = response.data().getMetadata();
+        var version = metadata != null && metadata.get("version") instanceof Number number ? number.longValue() : 0;
+        return new CachedSecret(response.data().getData().get("content"), version, now.plus(ttl).minus(margin), now.plus(ttl));
+    }
+
+    private CachedSecret join(CompletableFuture<CachedSecret> entry) {
+        try {
+            return entry.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Keeps a secret until its {@code expiresAt}, which is not moved by reads.
+     */
+    private class LeaseExpiry implements Expiry<String, CachedSecret> {
+
+        @Override
+        public long expireAfterCreate(String path, CachedSecret secret, long currentTime) {
+            return Math.max(0, Duration.between(clock.instant(), secret.expiresAt()).toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(String path, CachedSecret secret, long currentTime, long currentDuration) {
+            return expireAfterCreate(path, secret, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String path, CachedSecret secret, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+
+    private record CachedSecret(String content, long version, Instant refreshAt, Instant expiresAt) {
+        boolean exists() {
+            return content != null && !content.isEmpty();
+        }
+    }
+
+    private record VaultGetSecretResponse(VaultDataWrapper data, @JsonProperty("lease_duration") long leaseDuration) {
 
         public static class VaultDataWrapper {
             private Map<String, String> data;
+            private Map<String, Object> metadata;
 
             // Getters and Setters
             public Map<String, String> getData() {
@@ -58,6 +221,14 @@ public class HashicorpVaultClientImpl implements HashicorpVaultClient {
             public void setData(Map<String, String> data) {
                 this.data = data;
             }
+
+            public Map<String, Object> getMetadata() {
+                return metadata;
+            }
+
+            public void setMetadata(Map<String, Object> metadata) {
+                this.metadata = metadata;
+            }
         }
     }
 }
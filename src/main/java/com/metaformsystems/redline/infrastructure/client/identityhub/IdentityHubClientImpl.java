@@ -15,8 +15,8 @@
 package com.metaformsystems.redline.infrastructure.client.identityhub;
 
 import com.metaformsystems.redline.application.service.TokenProvider;
-import com.metaformsystems.redline.domain.exception.ObjectNotFoundException;
-import com.metaformsystems.redline.domain.repository.ParticipantRepository;
+import com.metaformsystems.redline.domain.service.ParticipantContextRegistry;
+import com.metaformsystems.redline.infrastructure.client.ClientMetrics;
 import com.metaformsystems.redline.infrastructure.client.identityhub.dto.CredentialRequestDto;
 import com.metaformsystems.redline.infrastructure.client.identityhub.dto.DidRequestPayload;
 import com.metaformsystems.redline.infrastructure.client.identityhub.dto.IdentityHubParticipantContext;
@@ -37,22 +37,26 @@ import static com.nimbusds.jose.util.Base64URL.encode;
 public class IdentityHubClientImpl implements IdentityHubClient {
 
     private static final String IDENTITY_API_BASE = "/api/identity/v1alpha";
+    private static final String DOWNSTREAM = "identityhub";
     private final WebClient webClient;
     private final TokenProvider tokenProvider;
     private final String provisionerClientId;
     private final String provisionerClientSecret;
-    private final ParticipantRepository participantRepository;
+    private final ParticipantContextRegistry participantContextRegistry;
+    private final ClientMetrics clientMetrics;
 
     public IdentityHubClientImpl(WebClient identityHubWebClient,
                                  @Qualifier("token-exchange") TokenProvider tokenProvider,
-                                 ParticipantRepository participantRepository,
+                                 ParticipantContextRegistry participantContextRegistry,
                                  @Value("${edc.api.clientId:provisioner}") String provisionerClientId,
-                                 @Value("${edc.api.clientsecret:provisioner-secret}") String provisionerClientSecret) {
+                                 @Value("${edc.api.clientsecret:provisioner-secret}") String provisionerClientSecret,
+                                 ClientMetrics clientMetrics) {
         this.webClient = identityHubWebClient;
         this.tokenProvider = tokenProvider;
         this.provisionerClientId = provisionerClientId;
         this.provisionerClientSecret = provisionerClientSecret;
-        this.participantRepository = participantRepository;
+        this.participantContextRegistry = participantContextRegistry;
+        this.clientMetrics = clientMetrics;
     }
 
     @Override
@@ -62,6 +66,7 @@ public class IdentityHubClientImpl implements IdentityHubClient {
                 .header("Authorization", "Bearer " + getToken(participantContextId))
                 .retrieve()
                 .bodyToMono(IdentityHubParticipantContext.class)
+                .transform(clientMetrics.mono(DOWNSTREAM, "getParticipant", participantContextId))
                 .block();
     }
 
@@ -79,6 +84,7 @@ public class IdentityHubClientImpl implements IdentityHubClient {
                 .retrieve()
                 .bodyToMono(new ParameterizedTypeReference<List<VerifiableCredentialResource>>() {
                 })
+                .transform(clientMetrics.mono(DOWNSTREAM, "queryCredentialsByType", participantContextId))
                 .block();
     }
 
@@ -90,6 +96,7 @@ public class IdentityHubClientImpl implements IdentityHubClient {
                 .header("Authorization", "Bearer " + getToken(participantContextId))
                 .retrieve()
                 .bodyToMono(VerifiableCredentialResource.class)
+                .transform(clientMetrics.mono(DOWNSTREAM, "getCredentialRequest", participantContextId))
                 .block();
     }
 
@@ -101,6 +108,7 @@ public class IdentityHubClientImpl implements IdentityHubClient {
                 .bodyValue(request)
                 .retrieve()
                 .toBodilessEntity()
+                .transform(clientMetrics.mono(DOWNSTREAM, "requestCredential", participantContextId))
                 .block();
     }
 
@@ -112,6 +120,7 @@ public class IdentityHubClientImpl implements IdentityHubClient {
                 .retrieve()
                 .bodyToMono(new ParameterizedTypeReference<List<KeyPairResource>>() {
                 })
+                .transform(clientMetrics.mono(DOWNSTREAM, "queryKeyPairByParticipantContextId", participantContextId))
                 .block();
     }
 
@@ -123,6 +132,7 @@ public class IdentityHubClientImpl implements IdentityHubClient {
                 .header("Authorization", "Bearer " + getToken(participantContextId))
                 .retrieve()
                 .bodyToMono(KeyPairResource.class)
+                .transform(clientMetrics.mono(DOWNSTREAM, "getKeyPair", participantContextId))
                 .block();
     }
 
@@ -140,6 +150,7 @@ public class IdentityHubClientImpl implements IdentityHubClient {
                 .bodyValue(keyDescriptor)
                 .retrieve()
                 .toBodilessEntity()
+                .transform(clientMetrics.mono(DOWNSTREAM, "addKeyPair", participantContextId))
                 .block();
     }
 
@@ -157,6 +168,7 @@ public class IdentityHubClientImpl implements IdentityHubClient {
                 .bodyValue(keyDescriptor)
                 .retrieve()
                 .toBodilessEntity()
+                .transform(clientMetrics.mono(DOWNSTREAM, "rotateKeyPair", participantContextId))
                 .block();
     }
 
@@ -169,6 +181,7 @@ public class IdentityHubClientImpl implements IdentityHubClient {
                 .bodyValue(keyDescriptor)
                 .retrieve()
                 .toBodilessEntity()
+                .transform(clientMetrics.mono(DOWNSTREAM, "revokeKeyPair", participantContextId))
                 .block();
     }
 
@@ -180,12 +193,12 @@ public class IdentityHubClientImpl implements IdentityHubClient {
                 .bodyValue(payload)
                 .retrieve()
                 .toBodilessEntity()
+                .transform(clientMetrics.mono(DOWNSTREAM, "getDidState", participantContextId))
                 .block();
     }
 
     private String getToken(String participantContextId) {
-        participantRepository.findByParticipantContextId(participantContextId)
-                .orElseThrow(() -> new ObjectNotFoundException("Participant not found with context id: " + participantContextId));
+        participantContextRegistry.resolve(participantContextId);
 
         return tokenProvider.getToken(participantContextId, "read write");
     }
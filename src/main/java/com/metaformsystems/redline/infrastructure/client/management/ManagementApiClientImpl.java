@@ -14,12 +14,11 @@
 
 package com.metaformsystems.redline.infrastructure.client.management;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.metaformsystems.redline.application.service.TokenProvider;
 import com.metaformsystems.redline.domain.entity.ClientCredentials;
-import com.metaformsystems.redline.domain.exception.ObjectNotFoundException;
-import com.metaformsystems.redline.domain.repository.ParticipantRepository;
+import com.metaformsystems.redline.domain.service.ParticipantContextRegistry;
+import com.metaformsystems.redline.infrastructure.client.ClientMetrics;
 import com.metaformsystems.redline.infrastructure.client.management.dto.Asset;
 import com.metaformsystems.redline.infrastructure.client.management.dto.Catalog;
 import com.metaformsystems.redline.infrastructure.client.management.dto.CatalogRequest;
@@ -33,197 +32,118 @@ import com.metaformsystems.redline.infrastructure.client.management.dto.NewPolic
 import com.metaformsystems.redline.infrastructure.client.management.dto.QuerySpec;
 import com.metaformsystems.redline.infrastructure.client.management.dto.TransferProcess;
 import com.metaformsystems.redline.infrastructure.client.management.dto.TransferRequest;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.ParameterizedTypeReference;
-import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
 
 import java.util.List;
 import java.util.Map;
 
-import static com.nimbusds.jose.util.Base64URL.encode;
-
 @Component
 public class ManagementApiClientImpl implements ManagementApiClient {
 
-    private static final Logger logger = LoggerFactory.getLogger(ManagementApiClientImpl.class);
+    private static final String DOWNSTREAM = "management";
 
     private final WebClient controlPlaneWebClient;
     private final TokenProvider tokenProvider;
-    private final ParticipantRepository participantRepository;
+    private final ParticipantContextRegistry participantContextRegistry;
     private final ClientCredentials provisionerCredentials;
+    private final ReactiveManagementApiClient reactiveClient;
+    private final ClientMetrics clientMetrics;
 
     public ManagementApiClientImpl(WebClient controlPlaneWebClient,
+                                   ReactiveManagementApiClient reactiveClient,
                                    @Qualifier("token-exchange") TokenProvider tokenProvider,
-                                   ParticipantRepository participantRepository,
+                                   ParticipantContextRegistry participantContextRegistry,
                                    ObjectMapper objectMapper,
                                    @Value("${edc.api.clientId:provisioner}") String adminClientId,
-                                   @Value("${edc.api.clientsecret:provisioner-secret}") String adminClientSecret) {
+                                   @Value("${edc.api.clientsecret:provisioner-secret}") String adminClientSecret,
+                                   ClientMetrics clientMetrics) {
         this.controlPlaneWebClient = controlPlaneWebClient;
+        this.reactiveClient = reactiveClient;
         this.tokenProvider = tokenProvider;
-        this.participantRepository = participantRepository;
+        this.participantContextRegistry = participantContextRegistry;
         this.provisionerCredentials = new ClientCredentials(adminClientId, adminClientSecret);
+        this.clientMetrics = clientMetrics;
     }
 
     @Override
     public void createAsset(String participantContextId, Asset asset) {
-        var token = getToken(participantContextId);
-
-        controlPlaneWebClient.post()
-                .uri("/v5beta/participants/%s/assets".formatted(participantContextId))
-                .header("Authorization", "Bearer %s".formatted(token))
-                .bodyValue(asset)
-                .retrieve()
-                .bodyToMono(Void.class)
-                .block();
+        checkParticipant(participantContextId);
+        reactiveClient.createAsset(participantContextId, asset).block();
     }
 
     @Override
     public List<Map<String, Object>> queryAssets(String participantContextId, QuerySpec query) {
-        return controlPlaneWebClient.post()
-                .uri("/v5beta/participants/{participantContextId}/assets/request", encode(participantContextId))
-                .header("Authorization", "Bearer " + getToken(participantContextId))
-                .bodyValue(query)
-                .retrieve()
-                .bodyToMono(new ParameterizedTypeReference<List<Map<String, Object>>>() {
-                })
-                .block();
+        checkParticipant(participantContextId);
+        return reactiveClient.queryAssets(participantContextId, query).collectList().block();
     }
 
     @Override
     public void deleteAsset(String participantContextId, String assetId) {
-        controlPlaneWebClient.delete()
-                .uri("/v5beta/participants/{participantContextId}/assets/{assetId}", encode(participantContextId), assetId)
-                .header("Authorization", "Bearer " + getToken(participantContextId))
-                .retrieve()
-                .toBodilessEntity()
-                .block();
+        checkParticipant(participantContextId);
+        reactiveClient.deleteAsset(participantContextId, assetId).block();
     }
 
     @Override
     public void createPolicy(String participantContextId, NewPolicyDefinition policy) {
-        controlPlaneWebClient.post()
-                .uri("/v5beta/participants/%s/policydefinitions".formatted(participantContextId))
-                .header("Authorization", "Bearer %s".formatted(getToken(participantContextId)))
-                .bodyValue(policy)
-                .retrieve()
-                .bodyToMono(Void.class)
-                .block();
+        checkParticipant(participantContextId);
+        reactiveClient.createPolicy(participantContextId, policy).block();
     }
 
     @Override
     public List<Map<String, Object>> queryPolicyDefinitions(String participantContextId, QuerySpec query) {
-        return controlPlaneWebClient.post()
-                .uri("/v5beta/participants/{participantContextId}/policydefinitions/request", encode(participantContextId))
-                .header("Authorization", "Bearer " + getToken(participantContextId))
-                .bodyValue(query)
-                .retrieve()
-                .bodyToMono(new ParameterizedTypeReference<List<Map<String, Object>>>() {
-                })
-                .block();
+        checkParticipant(participantContextId);
+        return reactiveClient.queryPolicyDefinitions(participantContextId, query).collectList().block();
     }
 
     @Override
     public void deletePolicyDefinition(String participantContextId, String policyId) {
-        controlPlaneWebClient.delete()
-                .uri("/v5beta/participants/{participantContextId}/policydefinitions/{policyId}", encode(participantContextId), policyId)
-                .header("Authorization", "Bearer " + getToken(participantContextId))
-                .retrieve()
-                .toBodilessEntity()
-                .block();
+        checkParticipant(participantContextId);
+        reactiveClient.deletePolicyDefinition(participantContextId, policyId).block();
     }
 
+    @Override
     public void createContractDefinition(String participantContextId, NewContractDefinition contractDefinition) {
-        controlPlaneWebClient.post()
-                .uri("/v5beta/participants/%s/contractdefinitions".formatted(participantContextId))
-                .header("Authorization", "Bearer %s".formatted(getToken(participantContextId)))
-                .bodyValue(contractDefinition)
-                .retrieve()
-                .bodyToMono(Void.class)
-                .block();
+        checkParticipant(participantContextId);
+        reactiveClient.createContractDefinition(participantContextId, contractDefinition).block();
     }
 
     @Override
     public List<Map<String, Object>> queryContractDefinitions(String participantContextId, QuerySpec query) {
-        return controlPlaneWebClient.post()
-                .uri("/v5beta/participants/{participantContextId}/contractdefinitions/request", participantContextId)
-                .header("Authorization", "Bearer " + getToken(participantContextId))
-                .bodyValue(query)
-                .retrieve()
-                .bodyToMono(new ParameterizedTypeReference<List<Map<String, Object>>>() {
-                })
-                .block();
+        checkParticipant(participantContextId);
+        return reactiveClient.queryContractDefinitions(participantContextId, query).collectList().block();
     }
 
     @Override
     public void deleteContractDefinition(String participantContextId, String contractDefinitionId) {
-        controlPlaneWebClient.delete()
-                .uri("/v5beta/participants/{participantContextId}/contractdefinitions/{id}", participantContextId, contractDefinitionId)
-                .header("Authorization", "Bearer " + getToken(participantContextId))
-                .retrieve()
-                .toBodilessEntity()
-                .block();
+        checkParticipant(participantContextId);
+        reactiveClient.deleteContractDefinition(participantContextId, contractDefinitionId).block();
     }
 
     @Override
     public String initiateContractNegotiation(String participantContextId, ContractRequest negotiationRequest) {
-
-        try {
-            var json = new ObjectMapper().writeValueAsString(negotiationRequest);
-            logger.info("Initiating contract negotiation: {}", json);
-        } catch (JsonProcessingException e) {
-            throw new RuntimeException(e);
-        }
-        var response = controlPlaneWebClient.post()
-                .uri("/v5beta/participants/{participantContextId}/contractnegotiations", participantContextId)
-                .header("Authorization", "Bearer " + getToken(participantContextId))
-                .bodyValue(negotiationRequest)
-                .retrieve()
-                .bodyToMono(new ParameterizedTypeReference<Map<String, Object>>() {
-                })
-                .block();
-
-        return response != null ? (String) response.get("@id") : null;
+        checkParticipant(participantContextId);
+        return reactiveClient.initiateContractNegotiation(participantContextId, negotiationRequest).block();
     }
 
     @Override
     public ContractNegotiation getContractNegotiation(String participantContextId, String negotiationId) {
-        return controlPlaneWebClient.get()
-                .uri("/v5beta/participants/{participantContextId}/contractnegotiations/{id}", participantContextId, negotiationId)
-                .header("Authorization", "Bearer " + getToken(participantContextId))
-                .retrieve()
-                .bodyToMono(new ParameterizedTypeReference<ContractNegotiation>() {
-                })
-                .block();
+        checkParticipant(participantContextId);
+        return reactiveClient.getContractNegotiation(participantContextId, negotiationId).block();
     }
 
     @Override
     public List<Map<String, Object>> queryContractNegotiations(String participantContextId, QuerySpec query) {
-        return controlPlaneWebClient.post()
-                .uri("/v5beta/participants/{participantContextId}/contractnegotiations/request", encode(participantContextId))
-                .header("Authorization", "Bearer " + getToken(participantContextId))
-                .bodyValue(query)
-                .retrieve()
-                .bodyToMono(new ParameterizedTypeReference<List<Map<String, Object>>>() {
-                })
-                .block();
+        checkParticipant(participantContextId);
+        return reactiveClient.queryContractNegotiations(participantContextId, query).collectList().block();
     }
 
     @Override
     public void createCelExpression(CelExpression celExpression) {
-
-        var token = tokenProvider.getToken(null, "management-api:write management-api:read");
-        controlPlaneWebClient.post()
-                .uri("/v5beta/celexpressions")
-                .header("Authorization", "Bearer %s".formatted(token))
-                .bodyValue(celExpression)
-                .retrieve()
-                .bodyToMono(Void.class)
-                .block();
+        reactiveClient.createCelExpression(celExpression).block();
     }
 
     @Override
@@ -237,54 +157,32 @@ public class ManagementApiClientImpl implements ManagementApiClient {
                 .retrieve()
                 .bodyToMono(new ParameterizedTypeReference<Map<String, String>>() {
                 })
+                .transform(clientMetrics.mono(DOWNSTREAM, "setupTransfer", participantContextId))
                 .block();
     }
 
     @Override
     public List<TransferProcess> listTransferProcesses(String participantContextId) {
-        return controlPlaneWebClient.post()
-                .uri("/v5beta/participants/{participantContextId}/transferprocesses/request", participantContextId)
-                .header("Authorization", "Bearer " + getToken(participantContextId))
-                .retrieve()
-                .bodyToMono(new ParameterizedTypeReference<List<TransferProcess>>() {
-                })
-                .block();
+        checkParticipant(participantContextId);
+        return reactiveClient.listTransferProcesses(participantContextId).collectList().block();
     }
 
     @Override
     public String initiateTransferProcess(String participantContextId, TransferRequest request) {
-        var response = controlPlaneWebClient.post()
-                .uri("/v5beta/participants/{participantContextId}/transferprocesses", participantContextId)
-                .header("Authorization", "Bearer " + getToken(participantContextId))
-                .bodyValue(request)
-                .retrieve()
-                .bodyToMono(new ParameterizedTypeReference<Map<String, Object>>() {
-                })
-                .block();
-
-        return response != null ? response.get("@id").toString() : null;
+        checkParticipant(participantContextId);
+        return reactiveClient.initiateTransferProcess(participantContextId, request).block();
     }
 
     @Override
     public TransferProcess getTransferProcess(String participantContextId, String transferProcessId) {
-        return controlPlaneWebClient.get()
-                .uri("/v5beta/participants/{participantContextId}/transferprocesses/{transferProcessId}", participantContextId, transferProcessId)
-                .header("Authorization", "Bearer " + getToken(participantContextId))
-                .retrieve()
-                .bodyToMono(TransferProcess.class)
-                .block();
+        checkParticipant(participantContextId);
+        return reactiveClient.getTransferProcess(participantContextId, transferProcessId).block();
     }
 
     @Override
     public Catalog getCatalog(String participantContextId, CatalogRequest request) {
-        return controlPlaneWebClient.post()
-                .uri("/v5beta/participants/%s/catalog/request".formatted(participantContextId))
-                .header("Authorization", "Bearer " + getToken(participantContextId))
-                .bodyValue(request)
-                .retrieve()
-                .bodyToMono(Catalog.class)
-                .block();
-
+        checkParticipant(participantContextId);
+        return reactiveClient.getCatalog(participantContextId, request).block();
     }
 
     @Override
@@ -295,36 +193,29 @@ public class ManagementApiClientImpl implements ManagementApiClient {
                 .bodyValue(dataplaneRegistration)
                 .retrieve()
                 .bodyToMono(Void.class)
+                .transform(clientMetrics.mono(DOWNSTREAM, "prepareDataplane", participantContextId))
                 .block();
     }
 
     @Override
     public List<ContractNegotiation> listContracts(String participantContextId) {
-        return controlPlaneWebClient.post()
-                .uri("/v5beta/participants/{participantContextId}/contractnegotiations/request", participantContextId)
-                .header("Authorization", "Bearer " + getToken(participantContextId))
-                .contentType(MediaType.APPLICATION_JSON)
-                .retrieve()
-                .bodyToMono(new ParameterizedTypeReference<List<ContractNegotiation>>() {
-                })
-                .block();
+        checkParticipant(participantContextId);
+        return reactiveClient.listContracts(participantContextId).collectList().block();
     }
 
     @Override
     public ContractAgreement getAgreement(String participantContextId, String negotiationId) {
-        return controlPlaneWebClient.get()
-                .uri("/v5beta/participants/{participantContextId}/contractnegotiations/{negotiationId}/agreement", participantContextId, negotiationId)
-                .header("Authorization", "Bearer " + getToken(participantContextId))
-                .retrieve()
-                .bodyToMono(ContractAgreement.class)
-                .block();
+        checkParticipant(participantContextId);
+        return reactiveClient.getAgreement(participantContextId, negotiationId).block();
     }
 
     private String getToken(String participantContextId) {
-        participantRepository.findByParticipantContextId(participantContextId)
-                .orElseThrow(() -> new ObjectNotFoundException("Participant not found with context id: " + participantContextId));
-
+        checkParticipant(participantContextId);
         return tokenProvider.getToken(participantContextId, "read write");
     }
 
+    private void checkParticipant(String participantContextId) {
+        participantContextRegistry.resolve(participantContextId);
+    }
+
 }
@@ -0,0 +1,95 @@
+/*
+ *  Copyright (c) 2026 Metaform Systems, Inc.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Metaform Systems, Inc. - initial API and implementation
+ *
+ */
+
+package com.metaformsystems.redline.infrastructure.client.management;
+
+import com.metaformsystems.redline.infrastructure.client.management.dto.Asset;
+import com.metaformsystems.redline.infrastructure.client.management.dto.Catalog;
+import com.metaformsystems.redline.infrastructure.client.management.dto.CatalogRequest;
+import com.metaformsystems.redline.infrastructure.client.management.dto.CelExpression;
+import com.metaformsystems.redline.infrastructure.client.management.dto.ContractAgreement;
+import com.metaformsystems.redline.infrastructure.client.management.dto.ContractNegotiation;
+import com.metaformsystems.redline.infrastructure.client.management.dto.ContractRequest;
+import com.metaformsystems.redline.infrastructure.client.management.dto.NewContractDefinition;
+import com.metaformsystems.redline.infrastructure.client.management.dto.NewPolicyDefinition;
+import com.metaformsystems.redline.infrastructure.client.management.dto.QuerySpec;
+import com.metaformsystems.redline.infrastructure.client.management.dto.TransferProcess;
+import com.metaformsystems.redline.infrastructure.client.management.dto.TransferRequest;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+/**
+ * Non-blocking variant of the {@link ManagementApiClient}. Nothing is sent to the control plane until the returned
+ * publisher is subscribed to. Lists are decoded element by element as they arrive.
+ */
+public interface ReactiveManagementApiClient {
+    // Assets
+    Mono<Void> createAsset(String participantContextId, Asset asset);
+
+    Flux<Map<String, Object>> queryAssets(String participantContextId, QuerySpec query);
+
+    Mono<Void> deleteAsset(String participantContextId, String assetId);
+
+    // Policy Definitions
+    Mono<Void> createPolicy(String participantContextId, NewPolicyDefinition policy);
+
+    Flux<Map<String, Object>> queryPolicyDefinitions(String participantContextId, QuerySpec query);
+
+    Mono<Void> deletePolicyDefinition(String participantContextId, String policyId);
+
+    // Contract Definitions
+    Mono<Void> createContractDefinition(String participantContextId, NewContractDefinition contractDefinition);
+
+    Flux<Map<String, Object>> queryContractDefinitions(String participantContextId, QuerySpec query);
+
+    Mono<Void> deleteContractDefinition(String participantContextId, String contractDefinitionId);
+
+    // Contract Negotiations
+    Mono<String> initiateContractNegotiation(String participantContextId, ContractRequest negotiationRequest);
+
+    Mono<ContractNegotiation> getContractNegotiation(String participantContextId, String negotiationId);
+
+    Flux<Map<String, Object>> queryContractNegotiations(String participantContextId, QuerySpec query);
+
+    Flux<ContractNegotiation> listContracts(String participantContextId);
+
+    /**
+     * Lists the contract negotiations that match the query, one page at a time.
+     */
+    Flux<ContractNegotiation> listContracts(String participantContextId, QuerySpec query);
+
+    Mono<ContractAgreement> getAgreement(String participantContextId, String negotiationId);
+
+    // TransferProcess
+    Flux<TransferProcess> listTransferProcesses(String participantContextId);
+
+    /**
+     * Lists the transfer processes that match the query, one page at a time. Elements are emitted as they are decoded.
+     */
+    Flux<TransferProcess> listTransferProcesses(String participantContextId, QuerySpec query);
+
+    Mono<String> initiateTransferProcess(String participantContextId, TransferRequest request);
+
+    Mono<TransferProcess> getTransferProcess(String participantContextId, String transferProcessId);
+
+    // Catalog
+    Mono<Catalog> getCatalog(String participantContextId, CatalogRequest request);
+
+    // CEL expressions
+    Mono<Void> createCelExpression(CelExpression celExpression);
+
+    Flux<CelExpression> queryCelExpressions(QuerySpec query);
+}
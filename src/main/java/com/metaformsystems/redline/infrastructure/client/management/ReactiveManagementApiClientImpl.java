@@ -0,0 +1,331 @@
+/*
+ *  Copyright (c) 2026 Metaform Systems, Inc.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Metaform Systems, Inc. - initial API and implementation
+ *
+ */
+
+package com.metaformsystems.redline.infrastructure.client.management;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.metaformsystems.redline.application.service.TokenProvider;
+import com.metaformsystems.redline.infrastructure.client.ClientMetrics;
+import com.metaformsystems.redline.infrastructure.client.management.dto.Asset;
+import com.metaformsystems.redline.infrastructure.client.management.dto.Catalog;
+import com.metaformsystems.redline.infrastructure.client.management.dto.CatalogRequest;
+import com.metaformsystems.redline.infrastructure.client.management.dto.CelExpression;
+import com.metaformsystems.redline.infrastructure.client.management.dto.ContractAgreement;
+import com.metaformsystems.redline.infrastructure.client.management.dto.ContractNegotiation;
+import com.metaformsystems.redline.infrastructure.client.management.dto.ContractRequest;
+import com.metaformsystems.redline.infrastructure.client.management.dto.NewContractDefinition;
+import com.metaformsystems.redline.infrastructure.client.management.dto.NewPolicyDefinition;
+import com.metaformsystems.redline.infrastructure.client.management.dto.QuerySpec;
+import com.metaformsystems.redline.infrastructure.client.management.dto.TransferProcess;
+import com.metaformsystems.redline.infrastructure.client.management.dto.TransferRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.Map;
+
+import static com.nimbusds.jose.util.Base64URL.encode;
+
+/**
+ * Callers are expected to have looked up the participant already, this client does not access the database. Tokens are
+ * obtained on a {@link Schedulers#boundedElastic()} thread, since an expired token is exchanged with a blocking call,
+ * and publishers returned by this client may be subscribed to on an event loop thread.
+ */
+@Component
+public class ReactiveManagementApiClientImpl implements ReactiveManagementApiClient {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveManagementApiClientImpl.class);
+    // CEL expressions are not bound to a participant context
+    private static final String CEL_EXPRESSION_SCOPES = "management-api:write management-api:read";
+    private static final String DOWNSTREAM = "management";
+    private static final ParameterizedTypeReference<Map<String, Object>> MAP_TYPE = new ParameterizedTypeReference<>() {
+    };
+
+    private final WebClient controlPlaneWebClient;
+    private final TokenProvider tokenProvider;
+    private final ObjectMapper objectMapper;
+    private final ClientMetrics clientMetrics;
+
+    public ReactiveManagementApiClientImpl(WebClient controlPlaneWebClient,
+                                           @Qualifier("token-exchange") TokenProvider tokenProvider,
+                                           ObjectMapper objectMapper,
+                                           ClientMetrics clientMetrics) {
+        this.controlPlaneWebClient = controlPlaneWebClient;
+        this.tokenProvider = tokenProvider;
+        this.objectMapper = objectMapper;
+        this.clientMetrics = clientMetrics;
+    }
+
+    @Override
+    public Mono<Void> createAsset(String participantContextId, Asset asset) {
+        return token(participantContextId).flatMap(token -> controlPlaneWebClient.post()
+                .uri("/v5beta/participants/%s/assets".formatted(participantContextId))
+                .header("Authorization", "Bearer %s".formatted(token))
+                .bodyValue(asset)
+                .retrieve()
+                .bodyToMono(Void.class))
+                .transform(clientMetrics.mono(DOWNSTREAM, "createAsset", participantContextId));
+    }
+
+    @Override
+    public Flux<Map<String, Object>> queryAssets(String participantContextId, QuerySpec query) {
+        return token(participantContextId).flatMapMany(token -> controlPlaneWebClient.post()
+                .uri("/v5beta/participants/{participantContextId}/assets/request", encode(participantContextId))
+                .header("Authorization", "Bearer " + token)
+                .bodyValue(query)
+                .retrieve()
+                .bodyToFlux(MAP_TYPE))
+                .transform(clientMetrics.flux(DOWNSTREAM, "queryAssets", participantContextId));
+    }
+
+    @Override
+    public Mono<Void> deleteAsset(String participantContextId, String assetId) {
+        return token(participantContextId).flatMap(token -> controlPlaneWebClient.delete()
+                .uri("/v5beta/participants/{participantContextId}/assets/{assetId}", encode(participantContextId), assetId)
+                .header("Authorization", "Bearer " + token)
+                .retrieve()
+                .toBodilessEntity()
+                .then())
+                .transform(clientMetrics.mono(DOWNSTREAM, "deleteAsset", participantContextId));
+    }
+
+    @Override
+    public Mono<Void> createPolicy(String participantContextId, NewPolicyDefinition policy) {
+        return token(participantContextId).flatMap(token -> controlPlaneWebClient.post()
+                .uri("/v5beta/participants/%s/policydefinitions".formatted(participantContextId))
+                .header("Authorization", "Bearer %s".formatted(token))
+                .bodyValue(policy)
+                .retrieve()
+                .bodyToMono(Void.class))
+                .transform(clientMetrics.mono(DOWNSTREAM, "createPolicy", participantContextId));
+    }
+
+    @Override
+    public Flux<Map<String, Object>> queryPolicyDefinitions(String participantContextId, QuerySpec query) {
+        return token(participantContextId).flatMapMany(token -> controlPlaneWebClient.post()
+                .uri("/v5beta/participants/{participantContextId}/policydefinitions/request", encode(participantContextId))
+                .header("Authorization", "Bearer " + token)
+                .bodyValue(query)
+                .retrieve()
+                .bodyToFlux(MAP_TYPE))
+                .transform(clientMetrics.flux(DOWNSTREAM, "queryPolicyDefinitions", participantContextId));
+    }
+
+    @Override
+    public Mono<Void> deletePolicyDefinition(String participantContextId, String policyId) {
+        return token(participantContextId).flatMap(token -> controlPlaneWebClient.delete()
+                .uri("/v5beta/participants/{participantContextId}/policydefinitions/{policyId}", encode(participantContextId), policyId)
+                .header("Authorization", "Bearer " + token)
+                .retrieve()
+                .toBodilessEntity()
+                .then())
+                .transform(clientMetrics.mono(DOWNSTREAM, "deletePolicyDefinition", participantContextId));
+    }
+
+    @Override
+    public Mono<Void> createContractDefinition(String participantContextId, NewContractDefinition contractDefinition) {
+        return token(participantContextId).flatMap(token -> controlPlaneWebClient.post()
+                .uri("/v5beta/participants/%s/contractdefinitions".formatted(participantContextId))
+                .header("Authorization", "Bearer %s".formatted(token))
+                .bodyValue(contractDefinition)
+                .retrieve()
+                .bodyToMono(Void.class))
+                .transform(clientMetrics.mono(DOWNSTREAM, "createContractDefinition", participantContextId));
+    }
+
+    @Override
+    public Flux<Map<String, Object>> queryContractDefinitions(String participantContextId, QuerySpec query) {
+        return token(participantContextId).flatMapMany(token -> controlPlaneWebClient.post()
+                .uri("/v5beta/participants/{participantContextId}/contractdefinitions/request", participantContextId)
+                .header("Authorization", "Bearer " + token)
+                .bodyValue(query)
+                .retrieve()
+                .bodyToFlux(MAP_TYPE))
+                .transform(clientMetrics.flux(DOWNSTREAM, "queryContractDefinitions", participantContextId));
+    }
+
+    @Override
+    public Mono<Void> deleteContractDefinition(String participantContextId, String contractDefinitionId) {
+        return token(participantContextId).flatMap(token -> controlPlaneWebClient.delete()
+                .uri("/v5beta/participants/{participantContextId}/contractdefinitions/{id}", participantContextId, contractDefinitionId)
+                .header("Authorization", "Bearer " + token)
+                .retrieve()
+                .toBodilessEntity()
+                .then())
+                .transform(clientMetrics.mono(DOWNSTREAM, "deleteContractDefinition", participantContextId));
+    }
+
+    @Override
+    public Mono<String> initiateContractNegotiation(String participantContextId, ContractRequest negotiationRequest) {
+        try {
+            logger.info("Initiating contract negotiation: {}", objectMapper.writeValueAsString(negotiationRequest));
+        } catch (JsonProcessingException e) {
+            return Mono.error(e);
+        }
+        return token(participantContextId).flatMap(token -> controlPlaneWebClient.post()
+                .uri("/v5beta/participants/{participantContextId}/contractnegotiations", participantContextId)
+                .header("Authorization", "Bearer " + token)
+                .bodyValue(negotiationRequest)
+                .retrieve()
+                .bodyToMono(MAP_TYPE)
+                .mapNotNull(response -> (String) response.get("@id")))
+                .transform(clientMetrics.mono(DOWNSTREAM, "initiateContractNegotiation", participantContextId));
+    }
+
+    @Override
+    public Mono<ContractNegotiation> getContractNegotiation(String participantContextId, String negotiationId) {
+        return token(participantContextId).flatMap(token -> controlPlaneWebClient.get()
+                .uri("/v5beta/participants/{participantContextId}/contractnegotiations/{id}", participantContextId, negotiationId)
+                .header("Authorization", "Bearer " + token)
+                .retrieve()
+                .bodyToMono(ContractNegotiation.class))
+                .transform(clientMetrics.mono(DOWNSTREAM, "getContractNegotiation", participantContextId));
+    }
+
+    @Override
+    public Flux<Map<String, Object>> queryContractNegotiations(String participantContextId, QuerySpec query) {
+        return token(participantContextId).flatMapMany(token -> controlPlaneWebClient.post()
+                .uri("/v5beta/participants/{participantContextId}/contractnegotiations/request", encode(participantContextId))
+                .header("Authorization", "Bearer " + token)
+                .bodyValue(query)
+                .retrieve()
+                .bodyToFlux(MAP_TYPE))
+                .transform(clientMetrics.flux(DOWNSTREAM, "queryContractNegotiations", participantContextId));
+    }
+
+    @Override
+    public Flux<ContractNegotiation> listContracts(String participantContextId) {
+        return token(participantContextId).flatMapMany(token -> controlPlaneWebClient.post()
+                .uri("/v5beta/participants/{participantContextId}/contractnegotiations/request", participantContextId)
+                .header("Authorization", "Bearer " + token)
+                .contentType(MediaType.APPLICATION_JSON)
+                .retrieve()
+                .bodyToFlux(ContractNegotiation.class))
+                .transform(clientMetrics.flux(DOWNSTREAM, "listContracts", participantContextId));
+    }
+
+    @Override
+    public Flux<ContractNegotiation> listContracts(String participantContextId, QuerySpec query) {
+        return token(participantContextId).flatMapMany(token -> controlPlaneWebClient.post()
+                .uri("/v5beta/participants/{participantContextId}/contractnegotiations/request", participantContextId)
+                .header("Authorization", "Bearer " + token)
+                .bodyValue(query)
+                .retrieve()
+                .bodyToFlux(ContractNegotiation.class))
+                .transform(clientMetrics.flux(DOWNSTREAM, "listContracts", participantContextId));
+    }
+
+    @Override
+    public Mono<ContractAgreement> getAgreement(String participantContextId, String negotiationId) {
+        return token(participantContextId).flatMap(token -> controlPlaneWebClient.get()
+                .uri("/v5beta/participants/{participantContextId}/contractnegotiations/{negotiationId}/agreement", participantContextId, negotiationId)
+                .header("Authorization", "Bearer " + token)
+                .retrieve()
+                .bodyToMono(ContractAgreement.class))
+                .transform(clientMetrics.mono(DOWNSTREAM, "getAgreement", participantContextId));
+    }
+
+    @Override
+    public Flux<TransferProcess> listTransferProcesses(String participantContextId) {
+        return token(participantContextId).flatMapMany(token -> controlPlaneWebClient.post()
+                .uri("/v5beta/participants/{participantContextId}/transferprocesses/request", participantContextId)
+                .header("Authorization", "Bearer " + token)
+                .retrieve()
+                .bodyToFlux(TransferProcess.class))
+                .transform(clientMetrics.flux(DOWNSTREAM, "listTransferProcesses", participantContextId));
+    }
+
+    @Override
+    public Flux<TransferProcess> listTransferProcesses(String participantContextId, QuerySpec query) {
+        return token(participantContextId).flatMapMany(token -> controlPlaneWebClient.post()
+                .uri("/v5beta/participants/{participantContextId}/transferprocesses/request", participantContextId)
+                .header("Authorization", "Bearer " + token)
+                .bodyValue(query)
+                .retrieve()
+                .bodyToFlux(TransferProcess.class))
+                .transform(clientMetrics.flux(DOWNSTREAM, "listTransferProcesses", participantContextId));
+    }
+
+    @Override
+    public Mono<String> initiateTransferProcess(String participantContextId, TransferRequest request) {
+        return token(participantContextId).flatMap(token -> controlPlaneWebClient.post()
+                .uri("/v5beta/participants/{participantContextId}/transferprocesses", participantContextId)
+                .header("Authorization", "Bearer " + token)
+                .bodyValue(request)
+                .retrieve()
+                .bodyToMono(MAP_TYPE)
+                .map(response -> response.get("@id").toString()))
+                .transform(clientMetrics.mono(DOWNSTREAM, "initiateTransferProcess", participantContextId));
+    }
+
+    @Override
+    public Mono<TransferProcess> getTransferProcess(String participantContextId, String transferProcessId) {
+        return token(participantContextId).flatMap(token -> controlPlaneWebClient.get()
+                .uri("/v5beta/participants/{participantContextId}/transferprocesses/{transferProcessId}", participantContextId, transferProcessId)
+                .header("Authorization", "Bearer " + token)
+                .retrieve()
+                .bodyToMono(TransferProcess.class))
+                .transform(clientMetrics.mono(DOWNSTREAM, "getTransferProcess", participantContextId));
+    }
+
+    @Override
+    public Mono<Catalog> getCatalog(String participantContextId, CatalogRequest request) {
+        return token(participantContextId).flatMap(token -> controlPlaneWebClient.post()
+                .uri("/v5beta/participants/%s/catalog/request".formatted(participantContextId))
+                .header("Authorization", "Bearer " + token)
+                .bodyValue(request)
+                .retrieve()
+                .bodyToMono(Catalog.class))
+                .transform(clientMetrics.mono(DOWNSTREAM, "getCatalog", participantContextId));
+    }
+
+    @Override
+    public Mono<Void> createCelExpression(CelExpression celExpression) {
+        return token(null, CEL_EXPRESSION_SCOPES).flatMap(token -> controlPlaneWebClient.post()
+                .uri("/v5beta/celexpressions")
+                .header("Authorization", "Bearer %s".formatted(token))
+                .bodyValue(celExpression)
+                .retrieve()
+                .bodyToMono(Void.class))
+                .transform(clientMetrics.mono(DOWNSTREAM, "createCelExpression", null));
+    }
+
+    @Override
+    public Flux<CelExpression> queryCelExpressions(QuerySpec query) {
+        return token(null, CEL_EXPRESSION_SCOPES).flatMapMany(token -> controlPlaneWebClient.post()
+                .uri("/v5beta/celexpressions/request")
+                .header("Authorization", "Bearer " + token)
+                .bodyValue(query)
+                .retrieve()
+                .bodyToFlux(CelExpression.class))
+                .transform(clientMetrics.flux(DOWNSTREAM, "queryCelExpressions", null));
+    }
+
+    private Mono<String> token(String participantContextId) {
+        return token(participantContextId, "read write");
+    }
+
+    private Mono<String> token(String resource, String scopes) {
+        return Mono.fromCallable(() -> tokenProvider.getToken(resource, scopes))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+}
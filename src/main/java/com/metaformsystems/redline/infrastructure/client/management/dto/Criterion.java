@@ -21,12 +21,13 @@ public final class Criterion {
     private final String type = "Criterion";
     private String operandLeft;
     private String operator;
-    private String operandRight;
+    // a single value, or a list of values for operators such as "in"
+    private Object operandRight;
 
     public Criterion() {
     }
 
-    public Criterion(String operandLeft, String operator, String operandRight) {
+    public Criterion(String operandLeft, String operator, Object operandRight) {
         this.operandLeft = operandLeft;
         this.operator = operator;
         this.operandRight = operandRight;
@@ -52,11 +53,11 @@ public final class Criterion {
         this.operator = operator;
     }
 
-    public String getOperandRight() {
+    public Object getOperandRight() {
         return operandRight;
     }
 
-    public void setOperandRight(String operandRight) {
+    public void setOperandRight(Object operandRight) {
         this.operandRight = operandRight;
     }
 }
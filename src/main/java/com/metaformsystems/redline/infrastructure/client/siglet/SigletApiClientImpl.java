@@ -1,5 +1,6 @@
 package com.metaformsystems.redline.infrastructure.client.siglet;
 
+import com.metaformsystems.redline.infrastructure.client.ClientMetrics;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
@@ -9,10 +10,13 @@ import java.util.Map;
 @Component
 public class SigletApiClientImpl implements SigletApiClient{
 
+    private static final String DOWNSTREAM = "siglet";
     private final WebClient sigletWebClient;
+    private final ClientMetrics clientMetrics;
 
-    public SigletApiClientImpl(WebClient sigletWebClient) {
+    public SigletApiClientImpl(WebClient sigletWebClient, ClientMetrics clientMetrics) {
         this.sigletWebClient = sigletWebClient;
+        this.clientMetrics = clientMetrics;
     }
 
     @Override
@@ -22,6 +26,7 @@ public class SigletApiClientImpl implements SigletApiClient{
                 .retrieve()
                 .bodyToMono(new ParameterizedTypeReference<Map<String, Object>>() {
                 })
+                .transform(clientMetrics.mono(DOWNSTREAM, "getDataAddress", participantContextId))
                 .block();
     }
 }
@@ -15,6 +15,7 @@
 package com.metaformsystems.redline.infrastructure.client.tenantmanager.v1alpha1;
 
 import com.metaformsystems.redline.application.service.TokenProvider;
+import com.metaformsystems.redline.infrastructure.client.ClientMetrics;
 import com.metaformsystems.redline.infrastructure.client.tenantmanager.v1alpha1.dto.Cell;
 import com.metaformsystems.redline.infrastructure.client.tenantmanager.v1alpha1.dto.CellCreationRequest;
 import com.metaformsystems.redline.infrastructure.client.tenantmanager.v1alpha1.dto.DataspaceProfile;
@@ -36,12 +37,16 @@ public class TenantManagerClientImpl implements TenantManagerClient {
     public static final String TM_API_READ_SCOPE = "cfm-read";
     public static final String TM_API_WRITE_SCOPE = "cfm-write";
     private static final String API_BASE = "/api/v1alpha1";
+    private static final String DOWNSTREAM = "tenantmanager";
     private final WebClient webClient;
     private final TokenProvider tokenProvider;
+    private final ClientMetrics clientMetrics;
 
-    public TenantManagerClientImpl(WebClient tenantManagerWebClient, @Qualifier("token-exchange") TokenProvider tokenProvider) {
+    public TenantManagerClientImpl(WebClient tenantManagerWebClient, @Qualifier("token-exchange") TokenProvider tokenProvider,
+                                   ClientMetrics clientMetrics) {
         this.webClient = tenantManagerWebClient;
         this.tokenProvider = tokenProvider;
+        this.clientMetrics = clientMetrics;
     }
 
     @Override
@@ -52,6 +57,7 @@ public class TenantManagerClientImpl implements TenantManagerClient {
                 .retrieve()
                 .bodyToMono(new ParameterizedTypeReference<List<Cell>>() {
                 })
+                .transform(clientMetrics.mono(DOWNSTREAM, "listCells", null))
                 .block();
     }
 
@@ -63,6 +69,7 @@ public class TenantManagerClientImpl implements TenantManagerClient {
                 .bodyValue(cellCreationRequest)
                 .retrieve()
                 .bodyToMono(Cell.class)
+                .transform(clientMetrics.mono(DOWNSTREAM, "createCell", null))
                 .block();
     }
 
@@ -74,6 +81,7 @@ public class TenantManagerClientImpl implements TenantManagerClient {
                 .retrieve()
                 .bodyToMono(new ParameterizedTypeReference<List<DataspaceProfile>>() {
                 })
+                .transform(clientMetrics.mono(DOWNSTREAM, "listDataspaceProfiles", null))
                 .block();
     }
 
@@ -84,6 +92,7 @@ public class TenantManagerClientImpl implements TenantManagerClient {
                 .header("Authorization", "Bearer " + getToken(TM_API_READ_SCOPE))
                 .retrieve()
                 .bodyToMono(DataspaceProfile.class)
+                .transform(clientMetrics.mono(DOWNSTREAM, "getDataspaceProfile", null))
                 .block();
     }
 
@@ -94,6 +103,7 @@ public class TenantManagerClientImpl implements TenantManagerClient {
                 .header("Authorization", "Bearer " + getToken(TM_API_WRITE_SCOPE))
                 .retrieve()
                 .toBodilessEntity()
+                .transform(clientMetrics.mono(DOWNSTREAM, "deployDataspaceProfile", null))
                 .block();
     }
 
@@ -106,6 +116,7 @@ public class TenantManagerClientImpl implements TenantManagerClient {
                 .retrieve()
                 .bodyToMono(new ParameterizedTypeReference<List<ParticipantProfile>>() {
                 })
+                .transform(clientMetrics.mono(DOWNSTREAM, "queryParticipantProfiles", null))
                 .block();
     }
 
@@ -117,6 +128,7 @@ public class TenantManagerClientImpl implements TenantManagerClient {
                 .retrieve()
                 .bodyToMono(new ParameterizedTypeReference<List<ParticipantProfile>>() {
                 })
+                .transform(clientMetrics.mono(DOWNSTREAM, "listParticipantProfiles", null))
                 .block();
     }
 
@@ -127,6 +139,7 @@ public class TenantManagerClientImpl implements TenantManagerClient {
                 .header("Authorization", "Bearer " + getToken(TM_API_READ_SCOPE))
                 .retrieve()
                 .bodyToMono(ParticipantProfile.class)
+                .transform(clientMetrics.mono(DOWNSTREAM, "getParticipantProfile", null))
                 .block();
     }
 
@@ -138,6 +151,7 @@ public class TenantManagerClientImpl implements TenantManagerClient {
                 .bodyValue(profile)
                 .retrieve()
                 .bodyToMono(ParticipantProfile.class)
+                .transform(clientMetrics.mono(DOWNSTREAM, "deployParticipantProfile", null))
                 .block();
     }
 
@@ -148,6 +162,7 @@ public class TenantManagerClientImpl implements TenantManagerClient {
                 .header("Authorization", "Bearer " + getToken(TM_API_WRITE_SCOPE))
                 .retrieve()
                 .bodyToMono(ParticipantProfile.class)
+                .transform(clientMetrics.mono(DOWNSTREAM, "deleteParticipantProfile", null))
                 .block();
     }
 
@@ -159,6 +174,7 @@ public class TenantManagerClientImpl implements TenantManagerClient {
                 .retrieve()
                 .bodyToMono(new ParameterizedTypeReference<List<Tenant>>() {
                 })
+                .transform(clientMetrics.mono(DOWNSTREAM, "listTenants", null))
                 .block();
     }
 
@@ -169,6 +185,7 @@ public class TenantManagerClientImpl implements TenantManagerClient {
                 .header("Authorization", "Bearer " + getToken(TM_API_READ_SCOPE))
                 .retrieve()
                 .bodyToMono(Tenant.class)
+                .transform(clientMetrics.mono(DOWNSTREAM, "getTenant", null))
                 .block();
     }
 
@@ -180,6 +197,7 @@ public class TenantManagerClientImpl implements TenantManagerClient {
                 .bodyValue(newTenant)
                 .retrieve()
                 .bodyToMono(Tenant.class)
+                .transform(clientMetrics.mono(DOWNSTREAM, "createTenant", null))
                 .block();
     }
 
@@ -191,6 +209,7 @@ public class TenantManagerClientImpl implements TenantManagerClient {
                 .bodyValue(diff)
                 .retrieve()
                 .bodyToMono(Tenant.class)
+                .transform(clientMetrics.mono(DOWNSTREAM, "updateTenant", null))
                 .block();
     }
 
@@ -203,6 +222,7 @@ public class TenantManagerClientImpl implements TenantManagerClient {
                 .retrieve()
                 .bodyToMono(new ParameterizedTypeReference<List<Tenant>>() {
                 })
+                .transform(clientMetrics.mono(DOWNSTREAM, "queryTenants", null))
                 .block();
     }
 
@@ -47,6 +47,8 @@ public class SecurityConfig {
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         http
                 .authorizeHttpRequests(authorize -> authorize
+                        // metrics name participants and downstream services, they are scraped with a token that has the METRICS role
+                        .requestMatchers("/actuator/prometheus").hasRole("METRICS")
                         .requestMatchers("/api/public/**", "/api/ui/**", "/h2-console/**", "/actuator/health/**").permitAll()
                         .requestMatchers("/v3/api-docs/**", "/swagger-ui/**", "/swagger-ui.html").permitAll()
                         .anyRequest().authenticated()
@@ -74,6 +76,8 @@ public class SecurityConfig {
         config.setAllowedOrigins(List.of(allowedOrigins));
         config.setAllowedMethods(List.of("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS"));
         config.setAllowedHeaders(List.of("Authorization", "Content-Type", "x-requested-with"));
+        // paging headers of the list endpoints
+        config.setExposedHeaders(List.of("X-Next-Cursor", "X-Total-Count"));
 
         var source = new UrlBasedCorsConfigurationSource();
         source.registerCorsConfiguration("/api/ui/**", config);
@@ -0,0 +1,78 @@
+/*
+ *  Copyright (c) 2026 Metaform Systems, Inc.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Metaform Systems, Inc. - initial API and implementation
+ *
+ */
+
+package com.metaformsystems.redline.infrastructure.config;
+
+import com.metaformsystems.redline.infrastructure.persistence.RepositoryTracingInterceptor;
+import io.micrometer.common.KeyValue;
+import io.micrometer.tracing.Tracer;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.web.filter.ServerHttpObservationFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Adds what Spring Boot does not trace by itself: spans around repository calls, and the controller method that handled
+ * a request on the server span. Outbound {@code WebClient} exchanges and incoming requests are traced by Spring Boot,
+ * and the trace context is passed on to downstream services in the W3C {@code traceparent} header.
+ * <p>
+ * Spans are exported over OTLP when {@code management.otlp.tracing.endpoint} is set.
+ */
+@Configuration
+public class TracingConfig implements WebMvcConfigurer {
+
+    @Bean
+    static BeanPostProcessor repositoryTracingPostProcessor(ObjectProvider<Tracer> tracer) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+                    factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor((proxyFactory, repositoryInformation) ->
+                            proxyFactory.addAdvice(new RepositoryTracingInterceptor(() -> tracer.getIfAvailable(() -> Tracer.NOOP),
+                                    repositoryInformation.getRepositoryInterface()))));
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new HandlerTagInterceptor());
+    }
+
+    /**
+     * Tags the server span with the controller method, e.g. {@code TenantController.getTenants}. The tag is high
+     * cardinality, so that it does not end up on the {@code http.server.requests} metrics.
+     */
+    private static class HandlerTagInterceptor implements HandlerInterceptor {
+        @Override
+        public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+            if (handler instanceof HandlerMethod method) {
+                ServerHttpObservationFilter.findObservationContext(request)
+                        .ifPresent(context -> context.addHighCardinalityKeyValue(KeyValue.of("handler",
+                                method.getBeanType().getSimpleName() + "." + method.getMethod().getName())));
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+/*
+ *  Copyright (c) 2026 Metaform Systems, Inc.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Metaform Systems, Inc. - initial API and implementation
+ *
+ */
+
+package com.metaformsystems.redline.infrastructure.persistence;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.type.StandardBasicTypes;
+
+/**
+ * Registers {@code json_contains(column, json)}, which is true if the JSON column contains all members of the given
+ * JSON object, e.g. {@code json_contains(f.metadata, '{"category":"reports"}')}.
+ * <p>
+ * On PostgreSQL this is the {@code @>} operator on {@code jsonb}, which is served by the GIN indexes that
+ * {@link JsonIndexContributor} creates. Other databases, i.e. H2 in development and tests, have no JSON containment,
+ * so there the member is looked up in the JSON text, with {@code %}, {@code _} and {@code \} escaped. This is exact
+ * for a single member with a scalar value, which is what the repositories filter on, except that it also matches the
+ * member in a nested object, e.g. {@code {"category":"reports"}} matches {@code {"meta":{"category":"reports"}}}.
+ */
+public class JsonFunctionContributor implements FunctionContributor {
+
+    @Override
+    public void contributeFunctions(FunctionContributions functionContributions) {
+        var booleanType = functionContributions.getTypeConfiguration().getBasicTypeRegistry().resolve(StandardBasicTypes.BOOLEAN);
+        var pattern = functionContributions.getDialect() instanceof PostgreSQLDialect
+                ? "(?1 @> cast(?2 as jsonb))"
+                : "(cast(?1 as varchar) like ('%' || " + escapeLike("substring(?2, 2, length(?2) - 2)") + " || '%') escape '\\')";
+        functionContributions.getFunctionRegistry().registerPattern("json_contains", pattern, booleanType);
+    }
+
+    private static String escapeLike(String expression) {
+        return "replace(replace(replace(" + expression + ", '\\', '\\\\'), '%', '\\%'), '_', '\\_')";
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ *  Copyright (c) 2026 Metaform Systems, Inc.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Metaform Systems, Inc. - initial API and implementation
+ *
+ */
+
+package com.metaformsystems.redline.infrastructure.persistence;
+
+import org.hibernate.boot.ResourceStreamLocator;
+import org.hibernate.boot.model.relational.AuxiliaryDatabaseObject;
+import org.hibernate.boot.model.relational.SqlStringGenerationContext;
+import org.hibernate.boot.spi.AdditionalMappingContributions;
+import org.hibernate.boot.spi.AdditionalMappingContributor;
+import org.hibernate.boot.spi.InFlightMetadataCollector;
+import org.hibernate.boot.spi.MetadataBuildingContext;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.dialect.PostgreSQLDialect;
+
+import java.util.List;
+
+/**
+ * Adds GIN indexes on the JSON columns that are filtered with {@code json_contains} to the generated schema. JPA
+ * cannot declare the index method, so they are contributed as auxiliary database objects. Only PostgreSQL stores
+ * these columns as {@code jsonb}, other databases get no index.
+ */
+public class JsonIndexContributor implements AdditionalMappingContributor {
+    private static final List<GinIndex> INDEXES = List.of(
+            new GinIndex("idx_uploaded_files_metadata", "uploaded_files", "metadata"),
+            new GinIndex("idx_tenants_properties", "tenants", "properties"));
+
+    @Override
+    public void contribute(AdditionalMappingContributions contributions, InFlightMetadataCollector metadata,
+                           ResourceStreamLocator resourceStreamLocator, MetadataBuildingContext buildingContext) {
+        INDEXES.forEach(contributions::contributeAuxiliaryDatabaseObject);
+    }
+
+    /**
+     * A {@code jsonb_path_ops} index, which is smaller than the default operator class and serves {@code @>} only.
+     * Existing indexes are kept, so that a schema update does not rebuild them.
+     */
+    private record GinIndex(String name, String table, String column) implements AuxiliaryDatabaseObject {
+
+        @Override
+        public String getExportIdentifier() {
+            return name;
+        }
+
+        @Override
+        public boolean appliesToDialect(Dialect dialect) {
+            return dialect instanceof PostgreSQLDialect;
+        }
+
+        @Override
+        public boolean beforeTablesOnCreation() {
+            return false;
+        }
+
+        @Override
+        public String[] sqlCreateStrings(SqlStringGenerationContext context) {
+            return new String[]{"create index if not exists %s on %s using gin (%s jsonb_path_ops)".formatted(name, table, column)};
+        }
+
+        @Override
+        public String[] sqlDropStrings(SqlStringGenerationContext context) {
+            // dropped along with the table
+            return new String[0];
+        }
+    }
+}
@@ -0,0 +1,58 @@
+/*
+ *  Copyright (c) 2026 Metaform Systems, Inc.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Metaform Systems, Inc. - initial API and implementation
+ *
+ */
+
+package com.metaformsystems.redline.infrastructure.persistence;
+
+import io.micrometer.tracing.Tracer;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+
+import java.util.function.Supplier;
+
+/**
+ * Wraps every call to a Spring Data repository in a span named after the repository and the method, e.g.
+ * {@code TenantRepository.findById}, so that the time spent in the database shows up in the trace of a request.
+ */
+public class RepositoryTracingInterceptor implements MethodInterceptor {
+    private final Supplier<Tracer> tracer;
+    private final String repositoryName;
+
+    /**
+     * @param tracer supplies the tracer on first use, since repositories are created before it is available
+     */
+    public RepositoryTracingInterceptor(Supplier<Tracer> tracer, Class<?> repositoryInterface) {
+        this.tracer = tracer;
+        this.repositoryName = repositoryInterface.getSimpleName();
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        if (invocation.getMethod().getDeclaringClass() == Object.class) {
+            return invocation.proceed();
+        }
+        var tracer = this.tracer.get();
+        var span = tracer.nextSpan()
+                .name(repositoryName + "." + invocation.getMethod().getName())
+                .tag("repository", repositoryName)
+                .start();
+        try (var ignored = tracer.withSpan(span)) {
+            return invocation.proceed();
+        } catch (Throwable e) {
+            span.error(e);
+            throw e;
+        } finally {
+            span.end();
+        }
+    }
+}
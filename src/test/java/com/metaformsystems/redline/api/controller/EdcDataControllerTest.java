@@ -15,6 +15,7 @@
 
 package com.metaformsystems.redline.api.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.metaformsystems.redline.api.dto.request.Constraint;
 import com.metaformsystems.redline.api.dto.request.ContractRequest;
@@ -29,9 +30,12 @@ import com.metaformsystems.redline.domain.repository.DataspaceRepository;
 import com.metaformsystems.redline.domain.repository.ParticipantRepository;
 import com.metaformsystems.redline.domain.repository.ServiceProviderRepository;
 import com.metaformsystems.redline.domain.repository.TenantRepository;
+import com.metaformsystems.redline.domain.service.CelExpressionRegistry;
 import com.metaformsystems.redline.domain.service.WebDidResolver;
+import okhttp3.mockwebserver.Dispatcher;
 import okhttp3.mockwebserver.MockResponse;
 import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -39,8 +43,6 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
-import org.springframework.mock.web.MockMultipartFile;
-import org.springframework.mock.web.MockPart;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.DynamicPropertyRegistry;
 import org.springframework.test.context.DynamicPropertySource;
@@ -49,22 +51,31 @@ import org.springframework.test.util.TestSocketUtils;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.net.InetAddress;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.HexFormat;
 import java.util.List;
 import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.hasSize;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
-import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 
@@ -98,6 +109,9 @@ public class EdcDataControllerTest {
     @Autowired
     private ParticipantRepository participantRepository;
 
+    @Autowired
+    private CelExpressionRegistry celExpressionRegistry;
+
     @MockitoBean("token-exchange")
     private TokenProvider tokenProvider;
 
@@ -133,8 +147,9 @@ public class EdcDataControllerTest {
 
         mockWebServer = new MockWebServer();
         mockWebServer.start(InetAddress.getByName(mockBackEndHost), mockBackEndPort);
-        when(tokenProvider.getToken(anyString(), anyString())).thenReturn("test-token");
+        when(tokenProvider.getToken(any(), anyString())).thenReturn("test-token");
         when(webDidResolver.resolveProtocolEndpoints(anyString())).thenReturn("http://example.com/api");
+        celExpressionRegistry.evictAll();
     }
 
     @Test
@@ -153,56 +168,108 @@ public class EdcDataControllerTest {
         tenant.addParticipant(participant);
         participant = participantRepository.save(participant);
 
-        // Create mock file
+        // Create the multipart body, metadata parts must precede the file
         var resourcePath = getClass().getClassLoader().getResource("testdocument.pdf").getPath();
         var fileContent = Files.readAllBytes(Paths.get(resourcePath));
-        var mockFile = new MockMultipartFile(
-                "file",
-                "testdocument.pdf",
-                "application/pdf",
-                fileContent
-        );
-
-        // Create metadata
-        var publicMetadata = new MockPart("publicMetadata", "{\"foo\": \"bar\"}".getBytes());
-        publicMetadata.getHeaders().setContentType(MediaType.APPLICATION_JSON);
-        var privateMetadata = new MockPart("privateMetadata", "{\"private\": \"value\"}".getBytes());
-        privateMetadata.getHeaders().setContentType(MediaType.APPLICATION_JSON);
-        var celExpressions = new MockPart("celExpressions", "[{\"id\":\"custom-expression\",\"leftOperand\":\"CustomCredential\",\"description\":\"Custom expression\",\"expression\":\"true\",\"scopes\":[\"catalog\"]}]".getBytes());
-        celExpressions.getHeaders().setContentType(MediaType.APPLICATION_JSON);
-        var constraints = new MockPart("constraints", "[{\"leftOperand\":\"purpose\",\"operator\":\"eq\",\"rightOperand\":\"test\"}]".getBytes());
-        constraints.getHeaders().setContentType(MediaType.APPLICATION_JSON);
-
-        // Mock the upload response from the dataplane
-        mockWebServer.enqueue(new MockResponse()
-                .setResponseCode(200)
-                .setBody("{\"id\": \"generated-file-id-123\"}")
-                .addHeader("Content-Type", "application/json"));
-
-        // mock create-cel-expression (custom)
-        mockWebServer.enqueue(new MockResponse().setResponseCode(200));
+        var body = new MultipartBody()
+                .json("publicMetadata", "{\"foo\": \"bar\"}")
+                .json("privateMetadata", "{\"private\": \"value\"}")
+                .json("celExpressions", "[{\"id\":\"custom-expression\",\"leftOperand\":\"CustomCredential\",\"description\":\"Custom expression\",\"expression\":\"true\",\"scopes\":[\"catalog\"]}]")
+                .json("constraints", "[{\"leftOperand\":\"purpose\",\"operator\":\"eq\",\"rightOperand\":\"test\"}]")
+                .file("file", "testdocument.pdf", "application/pdf", fileContent)
+                .build();
+
+        // the publication steps run concurrently, so responses are matched by path rather than by order
+        mockWebServer.setDispatcher(publicationDispatcher(200));
+
+        mockMvc.perform(post("/api/ui/service-providers/{providerId}/tenants/{tenantId}/participants/{participantId}/files",
+                        serviceProvider.getId(), tenant.getId(), participant.getId())
+                        .contentType(MultipartBody.CONTENT_TYPE)
+                        .content(body))
+                .andExpect(status().isOk());
 
-        // mock create-asset
-        mockWebServer.enqueue(new MockResponse().setResponseCode(200));
+        var expectedDigest = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(fileContent));
+        assertThat(participantRepository.findById(participant.getId())).isPresent()
+                .hasValueSatisfying(p -> assertThat(p.getUploadedFiles()).hasSize(1)
+                        .first()
+                        .satisfies(file -> {
+                            assertThat(file.getOriginalFilename()).isEqualTo("testdocument.pdf");
+                            assertThat(file.getContentType()).isEqualTo("application/pdf");
+                            assertThat(file.getDigest()).isEqualTo(expectedDigest);
+                        }));
+
+        // the file content is forwarded to the data plane unchanged
+        var requests = takeRequests();
+        assertThat(requests).filteredOn(request -> request.getPath().endsWith("/certs")).singleElement()
+                .satisfies(request -> assertThat(request.getBody().readByteArray()).containsSequence(fileContent));
+    }
 
-        // mock create-cel-expression (membership)
-        mockWebServer.enqueue(new MockResponse().setResponseCode(200));
+    @Test
+    void shouldUploadFile_whenMetadataIsSentAsBlob() throws Exception {
+        var tenant = new Tenant();
+        tenant.setName("Test Tenant");
+        tenant.setServiceProvider(serviceProvider);
+        tenant = tenantRepository.save(tenant);
 
-        // mock create-policy
-        mockWebServer.enqueue(new MockResponse().setResponseCode(200));
+        var participant = new Participant();
+        participant.setIdentifier("Test Participant");
+        participant.setTenant(tenant);
+        participant.setParticipantContextId("test-participant-context-id");
+        participant.setClientCredentials(new ClientCredentials("test-client", "test-secret"));
+        tenant.addParticipant(participant);
+        participant = participantRepository.save(participant);
 
-        //mock create-contractdef
-        mockWebServer.enqueue(new MockResponse().setResponseCode(200));
+        // browsers send a JSON Blob appended to FormData with filename="blob", it is still a form part
+        var body = new MultipartBody()
+                .file("publicMetadata", "blob", "application/json", "{\"foo\": \"bar\"}".getBytes(StandardCharsets.UTF_8))
+                .file("privateMetadata", "blob", "application/json", "{\"private\": \"value\"}".getBytes(StandardCharsets.UTF_8))
+                .file("file", "testdocument.txt", "text/plain", "some content".getBytes())
+                .build();
 
+        mockWebServer.setDispatcher(publicationDispatcher(200));
 
-        mockMvc.perform(multipart("/api/ui/service-providers/{providerId}/tenants/{tenantId}/participants/{participantId}/files",
+        mockMvc.perform(post("/api/ui/service-providers/{providerId}/tenants/{tenantId}/participants/{participantId}/files",
                         serviceProvider.getId(), tenant.getId(), participant.getId())
-                        .file(mockFile)
-                        .part(publicMetadata, privateMetadata, celExpressions, constraints))
+                        .contentType(MultipartBody.CONTENT_TYPE)
+                        .content(body))
                 .andExpect(status().isOk());
 
         assertThat(participantRepository.findById(participant.getId())).isPresent()
-                .hasValueSatisfying(p -> assertThat(p.getUploadedFiles()).hasSize(1));
+                .hasValueSatisfying(p -> assertThat(p.getUploadedFiles()).singleElement()
+                        .satisfies(file -> {
+                            assertThat(file.getOriginalFilename()).isEqualTo("testdocument.txt");
+                            assertThat(file.getMetadata()).containsEntry("foo", "bar").containsEntry("private", "value");
+                        }));
+    }
+
+    @Test
+    void shouldRejectUploadFile_whenMetadataFollowsFile() throws Exception {
+        var tenant = new Tenant();
+        tenant.setName("Test Tenant");
+        tenant.setServiceProvider(serviceProvider);
+        tenant = tenantRepository.save(tenant);
+
+        var participant = new Participant();
+        participant.setIdentifier("Test Participant");
+        participant.setTenant(tenant);
+        participant.setParticipantContextId("test-participant-context-id");
+        participant.setClientCredentials(new ClientCredentials("test-client", "test-secret"));
+        tenant.addParticipant(participant);
+        participant = participantRepository.save(participant);
+
+        var body = new MultipartBody()
+                .file("file", "testdocument.txt", "text/plain", "some content".getBytes())
+                .json("publicMetadata", "{\"foo\": \"bar\"}")
+                .json("privateMetadata", "{\"private\": \"value\"}")
+                .build();
+
+        mockMvc.perform(post("/api/ui/service-providers/{providerId}/tenants/{tenantId}/participants/{participantId}/files",
+                        serviceProvider.getId(), tenant.getId(), participant.getId())
+                        .contentType(MultipartBody.CONTENT_TYPE)
+                        .content(body))
+                .andExpect(status().isBadRequest());
+
+        assertThat(mockWebServer.getRequestCount()).isZero();
     }
 
     @Test
@@ -221,42 +288,189 @@ public class EdcDataControllerTest {
         tenant.addParticipant(participant);
         participant = participantRepository.save(participant);
 
-        // Create mock file
+        // Create the multipart body, metadata parts must precede the file
         var resourcePath = getClass().getClassLoader().getResource("testdocument.pdf").getPath();
         var fileContent = Files.readAllBytes(Paths.get(resourcePath));
-        var mockFile = new MockMultipartFile(
-                "file",
-                "testdocument.pdf",
-                "application/pdf",
-                fileContent
-        );
+        var body = new MultipartBody()
+                .json("publicMetadata", "{\"foo\": \"bar\"}")
+                .json("privateMetadata", "{\"private\": \"value\"}")
+                .file("file", "testdocument.pdf", "application/pdf", fileContent)
+                .build();
+
+        // policy creation fails
+        mockWebServer.setDispatcher(publicationDispatcher(409));
+
+        mockMvc.perform(post("/api/ui/service-providers/{providerId}/tenants/{tenantId}/participants/{participantId}/files",
+                        serviceProvider.getId(), tenant.getId(), participant.getId())
+                        .contentType(MultipartBody.CONTENT_TYPE)
+                        .content(body))
+                .andExpect(status().isInternalServerError());
 
-        // Create metadata
-        var publicMetadata = new MockPart("publicMetadata", "{\"foo\": \"bar\"}".getBytes());
-        publicMetadata.getHeaders().setContentType(MediaType.APPLICATION_JSON);
-        var privateMetadata = new MockPart("privateMetadata", "{\"private\": \"value\"}".getBytes());
-        privateMetadata.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        // the asset that was created for the file is deleted again, no contract definition is created
+        var requests = takeRequests();
+        assertThat(requests).anyMatch(request -> "DELETE".equals(request.getMethod()) && request.getPath().contains("/assets/"));
+        assertThat(requests).noneMatch(request -> request.getPath().endsWith("/contractdefinitions"));
+    }
+
+    @Test
+    void shouldUploadFilesInBulk() throws Exception {
+        var tenant = new Tenant();
+        tenant.setName("Test Tenant");
+        tenant.setServiceProvider(serviceProvider);
+        tenant = tenantRepository.save(tenant);
+
+        var participant = new Participant();
+        participant.setIdentifier("Test Participant");
+        participant.setTenant(tenant);
+        participant.setParticipantContextId("test-participant-context-id");
+        participant.setClientCredentials(new ClientCredentials("test-client", "test-secret"));
+        tenant.addParticipant(participant);
+        participant = participantRepository.save(participant);
+
+        // the manifest precedes the files, the files are not sent in manifest order
+        var body = new MultipartBody()
+                .json("manifest", """
+                        [
+                          {"filename": "first.txt", "publicMetadata": {"foo": "bar"}, "privateMetadata": {"private": "value"}},
+                          {"filename": "second.txt", "publicMetadata": {"foo": "baz"}, "privateMetadata": {}}
+                        ]
+                        """)
+                .file("file", "second.txt", "text/plain", "second content".getBytes())
+                .file("file", "first.txt", "text/plain", "first content".getBytes())
+                .build();
+
+        mockWebServer.setDispatcher(publicationDispatcher(200));
+
+        mockMvc.perform(post("/api/ui/service-providers/{providerId}/tenants/{tenantId}/participants/{participantId}/files/bulk",
+                        serviceProvider.getId(), tenant.getId(), participant.getId())
+                        .contentType(MultipartBody.CONTENT_TYPE)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(2)))
+                .andExpect(jsonPath("$.items[0].filename").value("second.txt"))
+                .andExpect(jsonPath("$.items[0].status").value("PUBLISHED"))
+                .andExpect(jsonPath("$.items[1].filename").value("first.txt"))
+                .andExpect(jsonPath("$.items[1].status").value("PUBLISHED"));
+
+        assertThat(participantRepository.findById(participant.getId())).isPresent()
+                .hasValueSatisfying(p -> assertThat(p.getUploadedFiles()).extracting(UploadedFile::getOriginalFilename)
+                        .containsExactlyInAnyOrder("first.txt", "second.txt"));
+
+        // one upload and one asset per file, but a single policy and contract definition for the batch
+        var requests = takeRequests();
+        assertThat(requests).filteredOn(request -> request.getPath().endsWith("/certs")).hasSize(2);
+        assertThat(requests).filteredOn(request -> request.getPath().endsWith("/assets")).hasSize(2);
+        assertThat(requests).filteredOn(request -> request.getPath().endsWith("/policydefinitions")).hasSize(1);
+        assertThat(requests).filteredOn(request -> request.getPath().endsWith("/contractdefinitions")).hasSize(1);
+    }
+
+    @Test
+    void shouldRejectBulkUpload_whenFileIsNotInManifest() throws Exception {
+        var tenant = new Tenant();
+        tenant.setName("Test Tenant");
+        tenant.setServiceProvider(serviceProvider);
+        tenant = tenantRepository.save(tenant);
+
+        var participant = new Participant();
+        participant.setIdentifier("Test Participant");
+        participant.setTenant(tenant);
+        participant.setParticipantContextId("test-participant-context-id");
+        participant.setClientCredentials(new ClientCredentials("test-client", "test-secret"));
+        tenant.addParticipant(participant);
+        participant = participantRepository.save(participant);
+
+        var body = new MultipartBody()
+                .json("manifest", "[{\"filename\": \"first.txt\", \"publicMetadata\": {}, \"privateMetadata\": {}}]")
+                .file("file", "first.txt", "text/plain", "first content".getBytes())
+                .file("file", "unknown.txt", "text/plain", "unknown content".getBytes())
+                .build();
+
+        mockWebServer.setDispatcher(publicationDispatcher(200));
+
+        mockMvc.perform(post("/api/ui/service-providers/{providerId}/tenants/{tenantId}/participants/{participantId}/files/bulk",
+                        serviceProvider.getId(), tenant.getId(), participant.getId())
+                        .contentType(MultipartBody.CONTENT_TYPE)
+                        .content(body))
+                .andExpect(status().isBadRequest());
+
+        // everything that was published before the unknown file is removed again
+        var requests = takeRequests();
+        assertThat(requests).anyMatch(request -> "DELETE".equals(request.getMethod()) && request.getPath().contains("/assets/"));
+        assertThat(requests).anyMatch(request -> "DELETE".equals(request.getMethod()) && request.getPath().contains("/contractdefinitions/"));
+        assertThat(requests).anyMatch(request -> "DELETE".equals(request.getMethod()) && request.getPath().contains("/policydefinitions/"));
+        assertThat(participantRepository.findById(participant.getId()))
+                .hasValueSatisfying(p -> assertThat(p.getUploadedFiles()).isEmpty());
+    }
+
+    @Test
+    void shouldListTransferProcessesPage() throws Exception {
+        var tenant = new Tenant();
+        tenant.setName("Test Tenant");
+        tenant.setServiceProvider(serviceProvider);
+        tenant = tenantRepository.save(tenant);
+
+        var participant = new Participant();
+        participant.setIdentifier("Test Participant");
+        participant.setTenant(tenant);
+        participant.setParticipantContextId("test-participant-context-id");
+        participant.setClientCredentials(new ClientCredentials("test-client", "test-secret"));
+        tenant.addParticipant(participant);
+        participant = participantRepository.save(participant);
 
-        // Mock the upload response from the dataplane
         mockWebServer.enqueue(new MockResponse()
-                .setResponseCode(200)
-                .setBody("{\"id\": \"generated-file-id-123\"}")
+                .setBody("""
+                        [
+                          {"correlationId": "corr-1", "state": "STARTED"},
+                          {"correlationId": "corr-2", "state": "COMPLETED"}
+                        ]
+                        """)
                 .addHeader("Content-Type", "application/json"));
 
-        // mock create-asset
-        mockWebServer.enqueue(new MockResponse().setResponseCode(200));
+        var result = mockMvc.perform(get("/api/ui/service-providers/{providerId}/tenants/{tenantId}/participants/{participantId}/transfers",
+                        serviceProvider.getId(), tenant.getId(), participant.getId())
+                        .param("offset", "20")
+                        .param("limit", "10")
+                        .param("sort", "stateTimestamp")
+                        .param("order", "desc")
+                        .param("state", "STARTED", "COMPLETED"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].correlationId").value("corr-1"));
+
+        // paging, sorting and the state filter are sent to the control plane
+        var query = objectMapper.readTree(mockWebServer.takeRequest().getBody().readUtf8());
+        assertThat(query.get("offset").asInt()).isEqualTo(20);
+        assertThat(query.get("limit").asInt()).isEqualTo(10);
+        assertThat(query.get("sortField").asText()).isEqualTo("stateTimestamp");
+        assertThat(query.get("sortOrder").asText()).isEqualTo("DESC");
+        assertThat(query.get("filterExpression").get(0).get("operator").asText()).isEqualTo("in");
+        assertThat(query.get("filterExpression").get(0).get("operandRight")).hasSize(2);
+    }
 
-        // mock create-cel-expression (membership)
-        mockWebServer.enqueue(new MockResponse().setResponseCode(200));
+    @Test
+    void shouldRejectTransferProcessesPage_whenLimitIsTooLarge() throws Exception {
+        var tenant = new Tenant();
+        tenant.setName("Test Tenant");
+        tenant.setServiceProvider(serviceProvider);
+        tenant = tenantRepository.save(tenant);
 
-        // mock create-policy
-        mockWebServer.enqueue(new MockResponse().setResponseCode(409));
+        var participant = new Participant();
+        participant.setIdentifier("Test Participant");
+        participant.setTenant(tenant);
+        participant.setParticipantContextId("test-participant-context-id");
+        participant.setClientCredentials(new ClientCredentials("test-client", "test-secret"));
+        tenant.addParticipant(participant);
+        participant = participantRepository.save(participant);
 
-        mockMvc.perform(multipart("/api/ui/service-providers/{providerId}/tenants/{tenantId}/participants/{participantId}/files",
+        mockMvc.perform(get("/api/ui/service-providers/{providerId}/tenants/{tenantId}/participants/{participantId}/transfers",
                         serviceProvider.getId(), tenant.getId(), participant.getId())
-                        .file(mockFile)
-                        .part(publicMetadata, privateMetadata))
-                .andExpect(status().isInternalServerError());
+                        .param("limit", "100000"))
+                .andExpect(status().isBadRequest());
+
+        assertThat(mockWebServer.getRequestCount()).isZero();
     }
 
     @Test
@@ -287,6 +501,64 @@ public class EdcDataControllerTest {
                 .andExpect(jsonPath("$[*].contentType").value(containsInAnyOrder("test-file-content-type", "test-file-content-type2")));
     }
 
+    @Test
+    void shouldGetFilesPageByPage() throws Exception {
+        var tenant = new Tenant();
+        tenant.setName("Test Tenant");
+        tenant.setServiceProvider(serviceProvider);
+        tenant = tenantRepository.save(tenant);
+
+        var participant = new Participant();
+        participant.setIdentifier("Test Participant");
+        participant.setTenant(tenant);
+        participant.setParticipantContextId("test-participant-context-id");
+        participant.getUploadedFiles().add(new UploadedFile("test-file-id", "a.txt", "text/plain", Map.of("category", "reports")));
+        participant.getUploadedFiles().add(new UploadedFile("test-file-id2", "b.txt", "text/plain", Map.of("category", "reports")));
+        participant.getUploadedFiles().add(new UploadedFile("test-file-id3", "c.txt", "text/plain", Map.of("category", "invoices")));
+        tenant.addParticipant(participant);
+        participant = participantRepository.save(participant);
+
+        var firstPage = mockMvc.perform(get("/api/ui/service-providers/{serviceProviderId}/tenants/{tenantId}/participants/{participantId}/files",
+                        serviceProvider.getId(), tenant.getId(), participant.getId())
+                        .param("limit", "1")
+                        .param("sort", "fileName")
+                        .param("metadata", "category:reports"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].fileName").value(contains("a.txt")))
+                .andExpect(header().exists("X-Next-Cursor"))
+                .andReturn();
+
+        mockMvc.perform(get("/api/ui/service-providers/{serviceProviderId}/tenants/{tenantId}/participants/{participantId}/files",
+                        serviceProvider.getId(), tenant.getId(), participant.getId())
+                        .param("limit", "1")
+                        .param("sort", "fileName")
+                        .param("metadata", "category:reports")
+                        .param("cursor", firstPage.getResponse().getHeader("X-Next-Cursor")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].fileName").value(contains("b.txt")))
+                .andExpect(header().doesNotExist("X-Next-Cursor"));
+    }
+
+    @Test
+    void shouldRejectInvalidFileCursor() throws Exception {
+        var tenant = new Tenant();
+        tenant.setName("Test Tenant");
+        tenant.setServiceProvider(serviceProvider);
+        tenant = tenantRepository.save(tenant);
+
+        var participant = new Participant();
+        participant.setIdentifier("Test Participant");
+        participant.setTenant(tenant);
+        participant.setParticipantContextId("test-participant-context-id");
+        tenant.addParticipant(participant);
+        participant = participantRepository.save(participant);
+
+        mockMvc.perform(get("/api/ui/service-providers/{serviceProviderId}/tenants/{tenantId}/participants/{participantId}/files",
+                        serviceProvider.getId(), tenant.getId(), participant.getId())
+                        .param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void shouldRequestContract() throws Exception {
         // Create a tenant and participant
@@ -321,6 +593,52 @@ public class EdcDataControllerTest {
                 .andExpect(status().isOk());
     }
 
+    @Test
+    void shouldListStoredContracts_likeFetchedContracts() throws Exception {
+        var tenant = new Tenant();
+        tenant.setName("Test Tenant");
+        tenant.setServiceProvider(serviceProvider);
+        tenant = tenantRepository.save(tenant);
+
+        var participant = new Participant();
+        participant.setIdentifier("Test Participant");
+        participant.setTenant(tenant);
+        participant.setParticipantContextId("stored-contracts-context-id");
+        participant.setClientCredentials(new ClientCredentials("test-client", "test-secret"));
+        tenant.addParticipant(participant);
+        participant = participantRepository.save(participant);
+
+        mockWebServer.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                var body = request.getPath().endsWith("/contractnegotiations/request") ? """
+                        [
+                          {"@id": "negotiation-1", "type": "CONSUMER", "state": "FINALIZED", "counterPartyId": "did:web:provider", "contractAgreementId": "agreement-1"}
+                        ]
+                        """ : """
+                        {
+                          "@id": "agreement-1",
+                          "agreementId": "dsp-agreement-1",
+                          "providerId": "did:web:provider",
+                          "consumerId": "did:web:consumer",
+                          "assetId": "asset-1",
+                          "contractSigningDate": 1767225600,
+                          "policy": {"@type": "Agreement", "permission": [{"action": "use"}]}
+                        }
+                        """;
+                return new MockResponse().setBody(body).addHeader("Content-Type", "application/json");
+            }
+        });
+
+        var fetched = listContracts(tenant, participant);
+        var stored = listContracts(tenant, participant);
+
+        // the second listing is served from the agreement store
+        assertThat(mockWebServer.getRequestCount()).isEqualTo(3);
+        assertThat(fetched.get(0).get("agreementId").asText()).isEqualTo("dsp-agreement-1");
+        assertThat(stored).isEqualTo(fetched);
+    }
+
     @Test
     void shouldRequestContractWithConstraints() throws Exception {
         // Create a tenant and participant
@@ -373,4 +691,76 @@ public class EdcDataControllerTest {
                         .content(objectMapper.writeValueAsString(contractRequest)))
                 .andExpect(status().isOk());
     }
+
+    /**
+     * Answers the requests of a file publication by path. Policy definitions are answered with the given status.
+     */
+    private Dispatcher publicationDispatcher(int policyStatus) {
+        return new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                var path = request.getPath();
+                if (path.endsWith("/certs")) {
+                    return new MockResponse()
+                            .setBody("{\"id\": \"generated-file-id-123\"}")
+                            .addHeader("Content-Type", "application/json");
+                }
+                if ("POST".equals(request.getMethod()) && path.endsWith("/policydefinitions")) {
+                    return new MockResponse().setResponseCode(policyStatus);
+                }
+                return new MockResponse().setResponseCode(200);
+            }
+        };
+    }
+
+    private JsonNode listContracts(Tenant tenant, Participant participant) throws Exception {
+        var result = mockMvc.perform(get("/api/ui/service-providers/{providerId}/tenants/{tenantId}/participants/{participantId}/contracts",
+                        serviceProvider.getId(), tenant.getId(), participant.getId()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        var response = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andReturn();
+        return objectMapper.readTree(response.getResponse().getContentAsString());
+    }
+
+    private List<RecordedRequest> takeRequests() throws InterruptedException {
+        var requests = new ArrayList<RecordedRequest>();
+        for (var i = 0; i < mockWebServer.getRequestCount(); i++) {
+            requests.add(mockWebServer.takeRequest());
+        }
+        return requests;
+    }
+
+    /**
+     * Builds a raw multipart/form-data body. MockMvc's {@code multipart()} does not serialize the parts into the
+     * request body, which the upload endpoint reads as a stream.
+     */
+    private static class MultipartBody {
+        static final String BOUNDARY = "redline-test-boundary";
+        static final String CONTENT_TYPE = "multipart/form-data; boundary=" + BOUNDARY;
+        private final ByteArrayOutputStream body = new ByteArrayOutputStream();
+
+        MultipartBody json(String name, String json) {
+            return part("Content-Disposition: form-data; name=\"%s\"\r\nContent-Type: application/json".formatted(name),
+                    json.getBytes(StandardCharsets.UTF_8));
+        }
+
+        MultipartBody file(String name, String filename, String contentType, byte[] content) {
+            return part("Content-Disposition: form-data; name=\"%s\"; filename=\"%s\"\r\nContent-Type: %s".formatted(name, filename, contentType),
+                    content);
+        }
+
+        byte[] build() {
+            body.writeBytes("--%s--\r\n".formatted(BOUNDARY).getBytes(StandardCharsets.UTF_8));
+            return body.toByteArray();
+        }
+
+        private MultipartBody part(String headers, byte[] content) {
+            body.writeBytes("--%s\r\n%s\r\n\r\n".formatted(BOUNDARY, headers).getBytes(StandardCharsets.UTF_8));
+            body.writeBytes(content);
+            body.writeBytes("\r\n".getBytes(StandardCharsets.UTF_8));
+            return this;
+        }
+    }
 }
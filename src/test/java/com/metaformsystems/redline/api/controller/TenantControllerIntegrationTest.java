@@ -31,6 +31,7 @@ import com.metaformsystems.redline.domain.repository.DataspaceRepository;
 import com.metaformsystems.redline.domain.repository.ParticipantRepository;
 import com.metaformsystems.redline.domain.repository.ServiceProviderRepository;
 import com.metaformsystems.redline.domain.repository.TenantRepository;
+import com.metaformsystems.redline.domain.service.ParticipantProfileReconciler;
 import com.metaformsystems.redline.domain.service.WebDidResolver;
 import okhttp3.mockwebserver.MockResponse;
 import okhttp3.mockwebserver.MockWebServer;
@@ -56,11 +57,13 @@ import java.util.Map;
 import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.hasSize;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -84,6 +87,8 @@ class TenantControllerIntegrationTest {
 
     @Autowired
     private ServiceProviderRepository serviceProviderRepository;
+    @Autowired
+    private ParticipantProfileReconciler participantProfileReconciler;
 
     @Autowired
     private DataspaceRepository dataspaceRepository;
@@ -260,17 +265,53 @@ class TenantControllerIntegrationTest {
                 .andExpect(jsonPath("$[?(@.name == 'Tenant Two')].participants", hasSize(1)));
     }
 
+    @Test
+    void shouldGetTenantsPageByPage() throws Exception {
+        for (var name : List.of("Tenant B", "Tenant C", "Tenant A")) {
+            var tenant = new Tenant();
+            tenant.setName(name);
+            tenant.setServiceProvider(serviceProvider);
+            tenantRepository.save(tenant);
+        }
+
+        var first = mockMvc.perform(get("/api/ui/service-providers/{serviceProviderId}/tenants", serviceProvider.getId())
+                        .param("sort", "name")
+                        .param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].name", contains("Tenant A", "Tenant B")))
+                .andExpect(header().string(PageResponses.TOTAL_COUNT, "3"))
+                .andExpect(header().exists(PageResponses.NEXT_CURSOR))
+                .andReturn();
+
+        mockMvc.perform(get("/api/ui/service-providers/{serviceProviderId}/tenants", serviceProvider.getId())
+                        .param("sort", "name")
+                        .param("limit", "2")
+                        .param("cursor", first.getResponse().getHeader(PageResponses.NEXT_CURSOR)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].name", contains("Tenant C")))
+                .andExpect(header().doesNotExist(PageResponses.NEXT_CURSOR));
+    }
+
+    @Test
+    void shouldRejectTenantsPage_withInvalidLimit() throws Exception {
+        mockMvc.perform(get("/api/ui/service-providers/{serviceProviderId}/tenants", serviceProvider.getId())
+                        .param("limit", "0"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void shouldGetParticipant() throws Exception {
         // Create a tenant and participant
         var tenant = new Tenant();
         tenant.setName("Test Tenant");
         tenant.setServiceProvider(serviceProvider);
+        tenant.setCorrelationId("e2387a34-581b-48d0-864c-66b5c859af29");
         tenant = tenantRepository.save(tenant);
 
         var participant = new Participant();
         participant.setIdentifier("Test Participant");
-        participant.setTenant(tenant);
+        participant.setCorrelationId("0d93930b-2c92-4421-93f2-533d392ca517");
+        tenant.addParticipant(participant);
         participant.setParticipantContextId("test-participant-context-id");
         participant.setClientCredentials(new ClientCredentials("test-client", "test-secret"));
         participant.setAgents(Set.of(new VirtualParticipantAgent(VirtualParticipantAgent.VpaType.CONTROL_PLANE, DeploymentState.PENDING),
@@ -281,48 +322,52 @@ class TenantControllerIntegrationTest {
         mockWebServer.enqueue(new MockResponse()
                 .setHeader("Content-Type", "application/json")
                 .setBody("""
-                        {
-                          "id": "0d93930b-2c92-4421-93f2-533d392ca517",
-                          "version": 0,
-                          "identifier": "did:web:identityhub.edc-v.svc.cluster.local%3A7083:consumer",
-                          "tenantId": "e2387a34-581b-48d0-864c-66b5c859af29",
-                          "participantRoles": {},
-                          "vpas": [
-                            {
-                              "id": "69b9dba2-35fc-47ea-b35a-93edb3804ab9",
-                              "version": 0,
-                              "state": "active",
-                              "stateTimestamp": "2026-01-16T08:01:03.809045341Z",
-                              "type": "cfm.connector",
-                              "cellId": "1db5a032-0515-4e95-bd01-a1069d808bb9"
-                            },
-                            {
-                              "id": "95f509ba-2374-4fe7-8275-e1265a6fcd95",
-                              "version": 0,
-                              "state": "active",
-                              "stateTimestamp": "2026-01-16T08:01:03.809047551Z",
-                              "type": "cfm.credentialservice",
-                              "cellId": "1db5a032-0515-4e95-bd01-a1069d808bb9"
+                        [
+                          {
+                            "id": "0d93930b-2c92-4421-93f2-533d392ca517",
+                            "version": 0,
+                            "identifier": "did:web:identityhub.edc-v.svc.cluster.local%3A7083:consumer",
+                            "tenantId": "e2387a34-581b-48d0-864c-66b5c859af29",
+                            "participantRoles": {},
+                            "vpas": [
+                              {
+                                "id": "69b9dba2-35fc-47ea-b35a-93edb3804ab9",
+                                "version": 0,
+                                "state": "active",
+                                "stateTimestamp": "2026-01-16T08:01:03.809045341Z",
+                                "type": "cfm.connector",
+                                "cellId": "1db5a032-0515-4e95-bd01-a1069d808bb9"
+                              },
+                              {
+                                "id": "95f509ba-2374-4fe7-8275-e1265a6fcd95",
+                                "version": 0,
+                                "state": "active",
+                                "stateTimestamp": "2026-01-16T08:01:03.809047551Z",
+                                "type": "cfm.credentialservice",
+                                "cellId": "1db5a032-0515-4e95-bd01-a1069d808bb9"
+                              },
+                              {
+                                "id": "e7650ca5-8e20-4e98-9883-7f72d6362d0c",
+                                "version": 0,
+                                "state": "active",
+                                "stateTimestamp": "2026-01-16T08:01:03.809049133Z",
+                                "type": "cfm.dataplane",
+                                "cellId": "1db5a032-0515-4e95-bd01-a1069d808bb9"
+                              }
+                            ],
+                            "properties": {
+                              "cfm.vpa.state": {
+                                "credentialRequest": "http://identityhub.edc-v.svc.cluster.local:7081/v1alpha/participants/ODM0YzkzMDhmMjllNDgwMGI0ZmY3MTRkZTkwNzQ0MzM/credentials/request/c248a998-b73b-4288-8f44-e83812d4448f",
+                                "holderPid": "c248a998-b73b-4288-8f44-e83812d4448f",
+                                "participantContextId": "834c9308f29e4800b4ff714de9074433"
+                              }
                             },
-                            {
-                              "id": "e7650ca5-8e20-4e98-9883-7f72d6362d0c",
-                              "version": 0,
-                              "state": "active",
-                              "stateTimestamp": "2026-01-16T08:01:03.809049133Z",
-                              "type": "cfm.dataplane",
-                              "cellId": "1db5a032-0515-4e95-bd01-a1069d808bb9"
-                            }
-                          ],
-                          "properties": {
-                            "cfm.vpa.state": {
-                              "credentialRequest": "http://identityhub.edc-v.svc.cluster.local:7081/v1alpha/participants/ODM0YzkzMDhmMjllNDgwMGI0ZmY3MTRkZTkwNzQ0MzM/credentials/request/c248a998-b73b-4288-8f44-e83812d4448f",
-                              "holderPid": "c248a998-b73b-4288-8f44-e83812d4448f",
-                              "participantContextId": "834c9308f29e4800b4ff714de9074433"
-                            }
-                          },
-                          "error": false
-                        }
+                            "error": false
+                          }
+                        ]
                         """));
+        // VPA states are pulled from CFM in the background, not when the participant is read
+        participantProfileReconciler.reconcile();
 
         mockMvc.perform(get("/api/ui/service-providers/{serviceProviderId}/tenants/{tenantId}/participants/{participantId}",
                         serviceProvider.getId(), tenant.getId(), participant.getId()))
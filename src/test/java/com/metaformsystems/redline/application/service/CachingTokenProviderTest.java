@@ -0,0 +1,170 @@
+/*
+ *  Copyright (c) 2026 Metaform Systems, Inc.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Metaform Systems, Inc. - initial API and implementation
+ *
+ */
+
+package com.metaformsystems.redline.application.service;
+
+import com.metaformsystems.redline.application.service.WorkloadTokenProvider.ExchangedToken;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CachingTokenProviderTest {
+
+    private static final Instant NOW = Instant.parse("2026-01-01T10:00:00Z");
+    private final WorkloadTokenProvider delegate = mock();
+
+    @Test
+    void shouldCacheTokenPerResourceAndScopes() {
+        var provider = new CachingTokenProvider(delegate, Duration.ofSeconds(30), Duration.ofSeconds(60), Clock.fixed(NOW, ZoneOffset.UTC));
+        when(delegate.exchangeToken(eq("ctx-1"), anyString())).thenReturn(new ExchangedToken("token-1", Duration.ofSeconds(300)));
+        when(delegate.exchangeToken(eq("ctx-2"), anyString())).thenReturn(new ExchangedToken("token-2", Duration.ofSeconds(300)));
+
+        assertThat(provider.getToken("ctx-1", "read write")).isEqualTo("token-1");
+        assertThat(provider.getToken("ctx-1", "read write")).isEqualTo("token-1");
+        assertThat(provider.getToken("ctx-2", "read write")).isEqualTo("token-2");
+
+        verify(delegate, times(1)).exchangeToken("ctx-1", "read write");
+        verify(delegate, times(1)).exchangeToken("ctx-2", "read write");
+    }
+
+    @Test
+    void shouldRefreshWithinRefreshMargin() {
+        var clock = new MutableClock(NOW);
+        var provider = new CachingTokenProvider(delegate, Duration.ofSeconds(30), Duration.ofSeconds(60), clock);
+        when(delegate.exchangeToken(any(), anyString()))
+                .thenReturn(new ExchangedToken("expiring", Duration.ofSeconds(300)))
+                .thenReturn(new ExchangedToken("fresh", Duration.ofSeconds(300)));
+
+        assertThat(provider.getToken(null, "cfm-read")).isEqualTo("expiring");
+        clock.instant = NOW.plusSeconds(269);
+        assertThat(provider.getToken(null, "cfm-read")).isEqualTo("expiring");
+        clock.instant = NOW.plusSeconds(271);
+        assertThat(provider.getToken(null, "cfm-read")).isEqualTo("fresh");
+        assertThat(provider.getToken(null, "cfm-read")).isEqualTo("fresh");
+
+        verify(delegate, times(2)).exchangeToken(null, "cfm-read");
+    }
+
+    @Test
+    void shouldCapRefreshMargin_atHalfOfTokenLifetime() {
+        var clock = new MutableClock(NOW);
+        var provider = new CachingTokenProvider(delegate, Duration.ofSeconds(30), Duration.ofSeconds(60), clock);
+        when(delegate.exchangeToken(any(), anyString()))
+                .thenReturn(new ExchangedToken("short-lived", Duration.ofSeconds(20)))
+                .thenReturn(new ExchangedToken("fresh", Duration.ofSeconds(20)));
+
+        // the token lives shorter than the refresh margin, it is refreshed after half of its lifetime
+        assertThat(provider.getToken(null, "cfm-read")).isEqualTo("short-lived");
+        clock.instant = NOW.plusSeconds(9);
+        assertThat(provider.getToken(null, "cfm-read")).isEqualTo("short-lived");
+        clock.instant = NOW.plusSeconds(11);
+        assertThat(provider.getToken(null, "cfm-read")).isEqualTo("fresh");
+
+        verify(delegate, times(2)).exchangeToken(null, "cfm-read");
+    }
+
+    @Test
+    void shouldUseDefaultTtl_whenNoExpiryReported() {
+        var clock = new MutableClock(NOW);
+        var provider = new CachingTokenProvider(delegate, Duration.ofSeconds(30), Duration.ofSeconds(60), clock);
+        when(delegate.exchangeToken(any(), anyString())).thenReturn(new ExchangedToken("token", null));
+
+        provider.getToken(null, "cfm-read");
+        clock.instant = NOW.plusSeconds(59);
+        provider.getToken(null, "cfm-read");
+        verify(delegate, times(1)).exchangeToken(null, "cfm-read");
+
+        clock.instant = NOW.plusSeconds(61);
+        provider.getToken(null, "cfm-read");
+        verify(delegate, times(2)).exchangeToken(null, "cfm-read");
+    }
+
+    @Test
+    void shouldNotCacheFailures() {
+        var provider = new CachingTokenProvider(delegate, Duration.ofSeconds(30), Duration.ofSeconds(60), Clock.fixed(NOW, ZoneOffset.UTC));
+        when(delegate.exchangeToken(any(), anyString()))
+                .thenThrow(new IllegalStateException("token endpoint down"))
+                .thenReturn(new ExchangedToken("token", Duration.ofSeconds(300)));
+
+        assertThatThrownBy(() -> provider.getToken(null, "cfm-read"))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("token endpoint down");
+        assertThat(provider.getToken(null, "cfm-read")).isEqualTo("token");
+    }
+
+    @Test
+    void shouldCollapseConcurrentRefreshes() throws Exception {
+        var provider = new CachingTokenProvider(delegate, Duration.ofSeconds(30), Duration.ofSeconds(60), Clock.fixed(NOW, ZoneOffset.UTC));
+        var release = new CountDownLatch(1);
+        when(delegate.exchangeToken(any(), anyString())).thenAnswer(invocation -> {
+            release.await();
+            return new ExchangedToken("token", Duration.ofSeconds(300));
+        });
+
+        try (var executor = Executors.newFixedThreadPool(8)) {
+            var results = new ArrayList<Future<String>>();
+            for (var i = 0; i < 8; i++) {
+                results.add(executor.submit(() -> provider.getToken("ctx", "read write")));
+            }
+            Thread.sleep(100);
+            release.countDown();
+            for (var result : results) {
+                assertThat(result.get()).isEqualTo("token");
+            }
+        }
+
+        verify(delegate, times(1)).exchangeToken("ctx", "read write");
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant instant;
+
+        MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
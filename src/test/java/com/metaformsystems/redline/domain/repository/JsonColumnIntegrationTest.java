@@ -0,0 +1,132 @@
+/*
+ *  Copyright (c) 2026 Metaform Systems, Inc.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Metaform Systems, Inc. - initial API and implementation
+ *
+ */
+
+package com.metaformsystems.redline.domain.repository;
+
+import com.metaformsystems.redline.domain.entity.Participant;
+import com.metaformsystems.redline.domain.entity.ServiceProvider;
+import com.metaformsystems.redline.domain.entity.Tenant;
+import com.metaformsystems.redline.domain.entity.UploadedFile;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("dev")
+@Transactional
+class JsonColumnIntegrationTest {
+
+    @Autowired
+    private ServiceProviderRepository serviceProviderRepository;
+    @Autowired
+    private TenantRepository tenantRepository;
+    @Autowired
+    private ParticipantRepository participantRepository;
+    @Autowired
+    private UploadedFileRepository uploadedFileRepository;
+    @Autowired
+    private EntityManager entityManager;
+
+    private ServiceProvider serviceProvider;
+
+    @BeforeEach
+    void setUp() {
+        serviceProvider = new ServiceProvider();
+        serviceProvider.setName("Json Provider");
+        serviceProvider = serviceProviderRepository.save(serviceProvider);
+    }
+
+    @Test
+    void shouldFindFilesByMetadata() {
+        var participant = createParticipant("ctx-json-files");
+        participant.getUploadedFiles().add(new UploadedFile("file-1", "report.pdf", "application/pdf", Map.of("category", "reports", "year", 2025)));
+        participant.getUploadedFiles().add(new UploadedFile("file-2", "invoice.pdf", "application/pdf", Map.of("category", "invoices", "year", 2025)));
+        participant.getUploadedFiles().add(new UploadedFile("file-3", "summary.pdf", "application/pdf", Map.of("category", "reports", "year", 2026)));
+        var other = createParticipant("ctx-json-other");
+        other.getUploadedFiles().add(new UploadedFile("file-4", "report.pdf", "application/pdf", Map.of("category", "reports")));
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThat(uploadedFileRepository.findByParticipantIdAndMetadata(participant.getId(), "category", "reports"))
+                .extracting(UploadedFile::getFileId).containsExactlyInAnyOrder("file-1", "file-3");
+        assertThat(uploadedFileRepository.findByParticipantIdAndMetadata(participant.getId(), "year", 2026))
+                .extracting(UploadedFile::getFileId).containsExactly("file-3");
+        assertThat(uploadedFileRepository.findByParticipantIdAndMetadata(participant.getId(), "category", "contracts")).isEmpty();
+    }
+
+    @Test
+    void shouldMatchWildcardCharactersLiterally() {
+        var participant = createParticipant("ctx-json-wildcards");
+        participant.getUploadedFiles().add(new UploadedFile("file-1", "a.pdf", "application/pdf", Map.of("category", "q_1")));
+        participant.getUploadedFiles().add(new UploadedFile("file-2", "b.pdf", "application/pdf", Map.of("category", "qx1")));
+        participant.getUploadedFiles().add(new UploadedFile("file-3", "c.pdf", "application/pdf", Map.of("category", "100%")));
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThat(uploadedFileRepository.findByParticipantIdAndMetadata(participant.getId(), "category", "q_1"))
+                .extracting(UploadedFile::getFileId).containsExactly("file-1");
+        assertThat(uploadedFileRepository.findByParticipantIdAndMetadata(participant.getId(), "category", "100%"))
+                .extracting(UploadedFile::getFileId).containsExactly("file-3");
+        assertThat(uploadedFileRepository.findByParticipantIdAndMetadata(participant.getId(), "category", "1%")).isEmpty();
+    }
+
+    @Test
+    void shouldFindTenantsByProperty() {
+        createTenant("Tenant EU", Map.of("region", "eu", "tier", "gold"));
+        createTenant("Tenant US", Map.of("region", "us", "tier", "gold"));
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThat(tenantRepository.findByServiceProviderIdAndProperty(serviceProvider.getId(), "region", "eu"))
+                .extracting(Tenant::getName).containsExactly("Tenant EU");
+        assertThat(tenantRepository.findByServiceProviderIdAndProperty(serviceProvider.getId(), "tier", "gold"))
+                .extracting(Tenant::getName).containsExactlyInAnyOrder("Tenant EU", "Tenant US");
+    }
+
+    @Test
+    void shouldRoundTripJsonColumns() {
+        var tenant = createTenant("Tenant Nested", Map.of("contact", Map.of("email", "ops@example.com"), "active", true));
+        entityManager.flush();
+        entityManager.clear();
+
+        var loaded = tenantRepository.findById(tenant.getId()).orElseThrow();
+
+        assertThat(loaded.getProperties()).containsEntry("contact", Map.of("email", "ops@example.com")).containsEntry("active", true);
+    }
+
+    private Tenant createTenant(String name, Map<String, Object> properties) {
+        var tenant = new Tenant();
+        tenant.setName(name);
+        tenant.setServiceProvider(serviceProvider);
+        tenant.setProperties(properties);
+        return tenantRepository.save(tenant);
+    }
+
+    private Participant createParticipant(String participantContextId) {
+        var tenant = createTenant("Tenant " + participantContextId, Map.of());
+        var participant = new Participant();
+        participant.setIdentifier(participantContextId);
+        participant.setParticipantContextId(participantContextId);
+        tenant.addParticipant(participant);
+        return participantRepository.save(participant);
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ *  Copyright (c) 2026 Metaform Systems, Inc.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Metaform Systems, Inc. - initial API and implementation
+ *
+ */
+
+package com.metaformsystems.redline.domain.repository;
+
+import com.metaformsystems.redline.domain.entity.ClientCredentials;
+import com.metaformsystems.redline.domain.entity.Dataspace;
+import com.metaformsystems.redline.domain.entity.Participant;
+import com.metaformsystems.redline.domain.entity.ServiceProvider;
+import com.metaformsystems.redline.domain.entity.Tenant;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The cache only holds committed data, so the test data is committed rather than rolled back.
+ */
+@SpringBootTest
+@ActiveProfiles("dev")
+class SecondLevelCacheIntegrationTest {
+
+    @Autowired
+    private ServiceProviderRepository serviceProviderRepository;
+    @Autowired
+    private TenantRepository tenantRepository;
+    @Autowired
+    private ParticipantRepository participantRepository;
+    @Autowired
+    private DataspaceRepository dataspaceRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private ServiceProvider serviceProvider;
+    private Tenant tenant;
+    private Participant participant;
+    private Dataspace dataspace;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        serviceProvider = new ServiceProvider();
+        serviceProvider.setName("Cached Provider");
+        serviceProvider = serviceProviderRepository.save(serviceProvider);
+
+        tenant = new Tenant();
+        tenant.setName("Cached Tenant");
+        tenant.setServiceProvider(serviceProvider);
+        tenant = tenantRepository.save(tenant);
+
+        participant = new Participant();
+        participant.setIdentifier("did:web:cached");
+        participant.setParticipantContextId("cached-ctx");
+        participant.setClientCredentials(new ClientCredentials("client-id", "client-secret"));
+        participant.setTenant(tenant);
+        participant = participantRepository.save(participant);
+
+        dataspace = new Dataspace();
+        dataspace.setName("Cached Dataspace");
+        dataspace = dataspaceRepository.save(dataspace);
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        participantRepository.deleteById(participant.getId());
+        tenantRepository.deleteById(tenant.getId());
+        serviceProviderRepository.deleteById(serviceProvider.getId());
+        dataspaceRepository.deleteById(dataspace.getId());
+    }
+
+    @Test
+    void shouldServeParticipantByContextIdFromCache() {
+        assertThat(participantRepository.findByParticipantContextId("cached-ctx")).map(Participant::getIdentifier).contains("did:web:cached");
+        assertThat(participantRepository.findByParticipantContextId("cached-ctx")).map(Participant::getIdentifier).contains("did:web:cached");
+
+        assertThat(statistics.getQueryCacheMissCount()).isEqualTo(1);
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(1);
+        // the participant of the cached result is assembled from the entity cache
+        assertThat(statistics.getSecondLevelCacheHitCount()).isPositive();
+    }
+
+    @Test
+    void shouldNotServeStaleQueryResult_whenTableChanged() {
+        dataspaceRepository.findAll();
+
+        var other = new Dataspace();
+        other.setName("Other Dataspace");
+        other = dataspaceRepository.save(other);
+        try {
+            assertThat(dataspaceRepository.findAll()).extracting(Dataspace::getName).contains("Cached Dataspace", "Other Dataspace");
+            assertThat(statistics.getQueryCacheHitCount()).isZero();
+        } finally {
+            dataspaceRepository.deleteById(other.getId());
+        }
+    }
+}
@@ -0,0 +1,198 @@
+/*
+ *  Copyright (c) 2026 Metaform Systems, Inc.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Metaform Systems, Inc. - initial API and implementation
+ *
+ */
+
+package com.metaformsystems.redline.domain.service;
+
+import com.metaformsystems.redline.infrastructure.client.management.ReactiveManagementApiClient;
+import com.metaformsystems.redline.infrastructure.client.management.dto.Catalog;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CatalogCacheTest {
+
+    private static final Instant NOW = Instant.parse("2026-01-01T10:00:00Z");
+    private static final Duration TTL = Duration.ofMinutes(5);
+    private static final Duration STALE_WHILE_REVALIDATE = Duration.ofMinutes(10);
+    private static final Duration STALE_IF_ERROR = Duration.ofHours(1);
+    private final ReactiveManagementApiClient client = mock();
+    private final WebDidResolver webDidResolver = mock();
+    private final MutableClock clock = new MutableClock(NOW);
+    private final CatalogCache cache = new CatalogCache(client, webDidResolver, 2, TTL, STALE_WHILE_REVALIDATE, STALE_IF_ERROR, clock);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @BeforeEach
+    void setUp() {
+        cache.bindMetrics(registry);
+        when(webDidResolver.resolveProtocolEndpoints(anyString())).thenReturn("http://example.com/api/dsp");
+    }
+
+    @Test
+    void shouldServeFreshCatalogFromCache() {
+        when(client.getCatalog(eq("ctx"), any())).thenReturn(Mono.just(catalog("v1")));
+
+        assertThat(cache.get("ctx", "did:web:them", null).block()).extracting(Catalog::getId).isEqualTo("v1");
+        clock.instant = NOW.plus(TTL).minusSeconds(1);
+        assertThat(cache.get("ctx", "did:web:them", null).block()).extracting(Catalog::getId).isEqualTo("v1");
+
+        verify(client, times(1)).getCatalog(eq("ctx"), any());
+        assertThat(registry.get("cache.gets").tags("cache", CatalogCache.CACHE_NAME, "result", "hit").functionCounter().count()).isEqualTo(1);
+        assertThat(registry.get("cache.gets").tags("cache", CatalogCache.CACHE_NAME, "result", "miss").functionCounter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldServeStaleCatalog_whileRefreshingInBackground() {
+        when(client.getCatalog(eq("ctx"), any()))
+                .thenReturn(Mono.just(catalog("v1")))
+                .thenReturn(Mono.just(catalog("v2")));
+
+        cache.get("ctx", "did:web:them", null).block();
+        clock.instant = NOW.plus(TTL).plusSeconds(1);
+
+        assertThat(cache.get("ctx", "did:web:them", null).block()).extracting(Catalog::getId).isEqualTo("v1");
+        await().untilAsserted(() -> assertThat(cache.get("ctx", "did:web:them", null).block()).extracting(Catalog::getId).isEqualTo("v2"));
+
+        verify(client, times(2)).getCatalog(eq("ctx"), any());
+    }
+
+    @Test
+    void shouldWaitForRefresh_whenCallerAsksForMaxAge() {
+        when(client.getCatalog(eq("ctx"), any()))
+                .thenReturn(Mono.just(catalog("v1")))
+                .thenReturn(Mono.just(catalog("v2")));
+
+        cache.get("ctx", "did:web:them", null).block();
+        clock.instant = NOW.plusSeconds(61);
+
+        assertThat(cache.get("ctx", "did:web:them", "max-age=60").block()).extracting(Catalog::getId).isEqualTo("v2");
+    }
+
+    @Test
+    void shouldFetchAgain_whenNoCacheIsRequested() {
+        when(client.getCatalog(eq("ctx"), any()))
+                .thenReturn(Mono.just(catalog("v1")))
+                .thenReturn(Mono.just(catalog("v2")));
+
+        cache.get("ctx", "did:web:them", null).block();
+
+        assertThat(cache.get("ctx", "did:web:them", "no-cache").block()).extracting(Catalog::getId).isEqualTo("v2");
+    }
+
+    @Test
+    void shouldCoalesceConcurrentMisses() {
+        var subscriptions = new AtomicInteger();
+        when(client.getCatalog(eq("ctx"), any())).thenReturn(Mono.just(catalog("v1"))
+                .doOnSubscribe(s -> subscriptions.incrementAndGet())
+                .delayElement(Duration.ofMillis(100)));
+
+        var catalogs = Flux.range(0, 10)
+                .flatMap(i -> cache.get("ctx", "did:web:them", null))
+                .collectList()
+                .block();
+
+        assertThat(catalogs).hasSize(10).allSatisfy(catalog -> assertThat(catalog.getId()).isEqualTo("v1"));
+        assertThat(subscriptions).hasValue(1);
+    }
+
+    @Test
+    void shouldServeStaleCatalog_whenCounterPartyIsDown() {
+        when(client.getCatalog(eq("ctx"), any()))
+                .thenReturn(Mono.just(catalog("v1")))
+                .thenReturn(Mono.error(new IllegalStateException("connection refused")));
+
+        cache.get("ctx", "did:web:them", null).block();
+        clock.instant = NOW.plus(TTL).plus(STALE_WHILE_REVALIDATE).plusSeconds(1);
+
+        assertThat(cache.get("ctx", "did:web:them", null).block()).extracting(Catalog::getId).isEqualTo("v1");
+        verify(client, times(2)).getCatalog(eq("ctx"), any());
+    }
+
+    @Test
+    void shouldFail_whenStaleCatalogIsTooOld() {
+        when(client.getCatalog(eq("ctx"), any()))
+                .thenReturn(Mono.just(catalog("v1")))
+                .thenReturn(Mono.error(new IllegalStateException("connection refused")));
+
+        cache.get("ctx", "did:web:them", null).block();
+        clock.instant = NOW.plus(TTL).plus(STALE_IF_ERROR).plusSeconds(1);
+
+        assertThatThrownBy(() -> cache.get("ctx", "did:web:them", null).block())
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("connection refused");
+    }
+
+    @Test
+    void shouldBoundNumberOfCatalogs() {
+        when(client.getCatalog(eq("ctx"), any())).thenReturn(Mono.just(catalog("v1")));
+
+        cache.get("ctx", "did:web:one", null).block();
+        cache.get("ctx", "did:web:two", null).block();
+        cache.get("ctx", "did:web:three", null).block();
+
+        // the cache evicts in the background
+        await().untilAsserted(() -> {
+            assertThat(registry.get("cache.size").tag("cache", CatalogCache.CACHE_NAME).gauge().value()).isEqualTo(2);
+            assertThat(registry.get("cache.evictions").tag("cache", CatalogCache.CACHE_NAME).functionCounter().count()).isEqualTo(1);
+        });
+    }
+
+    private static Catalog catalog(String id) {
+        var catalog = new Catalog();
+        catalog.setId(id);
+        return catalog;
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant instant;
+
+        MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
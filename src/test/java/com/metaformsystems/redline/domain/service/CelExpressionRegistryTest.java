@@ -0,0 +1,130 @@
+/*
+ *  Copyright (c) 2026 Metaform Systems, Inc.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Metaform Systems, Inc. - initial API and implementation
+ *
+ */
+
+package com.metaformsystems.redline.domain.service;
+
+import com.metaformsystems.redline.infrastructure.client.management.ReactiveManagementApiClient;
+import com.metaformsystems.redline.infrastructure.client.management.dto.CelExpression;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CelExpressionRegistryTest {
+
+    private final ReactiveManagementApiClient client = mock();
+    private final CelExpressionRegistry registry = new CelExpressionRegistry(client, Duration.ofSeconds(1));
+
+    @Test
+    void shouldRegisterExpressionOnce() {
+        when(client.createCelExpression(any())).thenReturn(Mono.empty());
+
+        registry.register(expression("expr-1", "true")).block();
+        registry.register(expression("expr-1", "true")).block();
+
+        verify(client, times(1)).createCelExpression(any());
+    }
+
+    @Test
+    void shouldShareConcurrentRegistration() {
+        var subscriptions = new AtomicInteger();
+        when(client.createCelExpression(any())).thenReturn(Mono.<Void>empty()
+                .doOnSubscribe(s -> subscriptions.incrementAndGet())
+                .delaySubscription(Duration.ofMillis(50)));
+
+        Flux.range(0, 10).flatMap(i -> registry.register(expression("expr-1", "true"))).blockLast();
+
+        verify(client, times(1)).createCelExpression(any());
+        assertThat(subscriptions).hasValue(1);
+    }
+
+    @Test
+    void shouldSkipExpressionsFoundOnWarmUp() {
+        when(client.queryCelExpressions(any())).thenReturn(Flux.just(expression("expr-1", "true")));
+
+        registry.warmUp();
+        registry.register(expression("expr-1", "true")).block();
+
+        verify(client, never()).createCelExpression(any());
+    }
+
+    @Test
+    void shouldKeepRegisteredExpression_whenContentDiffers() {
+        when(client.queryCelExpressions(any())).thenReturn(Flux.just(expression("expr-1", "true")));
+
+        registry.warmUp();
+        registry.register(expression("expr-1", "false")).block();
+
+        verify(client, never()).createCelExpression(any());
+    }
+
+    @Test
+    void shouldTreatConflictAsRegistered() {
+        when(client.createCelExpression(any())).thenReturn(Mono.error(
+                WebClientResponseException.create(409, "Conflict", HttpHeaders.EMPTY, new byte[0], null)));
+
+        registry.register(expression("expr-1", "true")).block();
+        registry.register(expression("expr-1", "true")).block();
+
+        verify(client, times(1)).createCelExpression(any());
+    }
+
+    @Test
+    void shouldRetryFailedRegistration() {
+        when(client.createCelExpression(any()))
+                .thenReturn(Mono.error(WebClientResponseException.create(500, "Internal Server Error", HttpHeaders.EMPTY, new byte[0], null)))
+                .thenReturn(Mono.empty());
+
+        assertThatThrownBy(() -> registry.register(expression("expr-1", "true")).block())
+                .isInstanceOf(WebClientResponseException.InternalServerError.class);
+        registry.register(expression("expr-1", "true")).block();
+
+        verify(client, times(2)).createCelExpression(any());
+    }
+
+    @Test
+    void shouldRegisterOnFirstUse_whenWarmUpFails() {
+        when(client.queryCelExpressions(any())).thenReturn(Flux.error(new IllegalStateException("unreachable")));
+        when(client.createCelExpression(any())).thenReturn(Mono.empty());
+
+        registry.warmUp();
+        registry.register(expression("expr-1", "true")).block();
+
+        verify(client, times(1)).createCelExpression(any());
+    }
+
+    private static CelExpression expression(String id, String expression) {
+        return CelExpression.Builder.aNewCelExpression()
+                .id(id)
+                .leftOperand("MembershipCredential")
+                .description("test expression")
+                .scopes(Set.of("catalog"))
+                .expression(expression)
+                .build();
+    }
+}
@@ -15,45 +15,67 @@
 
 package com.metaformsystems.redline.domain.service;
 
+import com.metaformsystems.redline.api.dto.response.BulkPublicationResult;
+import com.metaformsystems.redline.api.dto.response.BulkPublicationResult.Status;
+import com.metaformsystems.redline.api.dto.response.FileResource;
 import com.metaformsystems.redline.application.service.TokenProvider;
 import com.metaformsystems.redline.domain.entity.ClientCredentials;
 import com.metaformsystems.redline.domain.entity.Dataspace;
 import com.metaformsystems.redline.domain.entity.Participant;
 import com.metaformsystems.redline.domain.entity.ServiceProvider;
+import com.metaformsystems.redline.domain.entity.StoredContractAgreement;
 import com.metaformsystems.redline.domain.entity.Tenant;
 import com.metaformsystems.redline.domain.entity.UploadedFile;
+import com.metaformsystems.redline.domain.repository.ContractAgreementRepository;
 import com.metaformsystems.redline.domain.repository.DataspaceRepository;
 import com.metaformsystems.redline.domain.repository.ParticipantRepository;
 import com.metaformsystems.redline.domain.repository.ServiceProviderRepository;
 import com.metaformsystems.redline.domain.repository.TenantRepository;
 import com.metaformsystems.redline.infrastructure.client.management.dto.CelExpression;
 import com.metaformsystems.redline.infrastructure.client.management.dto.Constraint;
+import com.metaformsystems.redline.infrastructure.client.management.dto.ContractNegotiation;
 import com.metaformsystems.redline.infrastructure.client.management.dto.ContractRequest;
 import com.metaformsystems.redline.infrastructure.client.management.dto.Obligation;
 import com.metaformsystems.redline.infrastructure.client.management.dto.Offer;
 import com.metaformsystems.redline.infrastructure.client.management.dto.PolicySet;
+import com.metaformsystems.redline.infrastructure.client.management.dto.QuerySpec;
+import okhttp3.mockwebserver.Dispatcher;
 import okhttp3.mockwebserver.MockResponse;
 import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import okhttp3.mockwebserver.SocketPolicy;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.DynamicPropertyRegistry;
 import org.springframework.test.context.DynamicPropertySource;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.util.TestSocketUtils;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.net.InetAddress;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
@@ -76,8 +98,12 @@ class DataAccessServiceIntegrationTest {
     @Autowired
     private DataAccessService dataAccessService;
     @Autowired
+    private CelExpressionRegistry celExpressionRegistry;
+    @Autowired
     private TenantRepository tenantRepository;
     @Autowired
+    private ContractAgreementRepository contractAgreementRepository;
+    @Autowired
     private ParticipantRepository participantRepository;
     @Autowired
     private DataspaceRepository dataspaceRepository;
@@ -97,6 +123,7 @@ class DataAccessServiceIntegrationTest {
         registry.add("controlplane.url", () -> "http://%s:%s/cp".formatted(mockBackEndHost, mockBackEndPort));
         registry.add("dataplane.url", () -> "http://%s:%s/dataplane".formatted(mockBackEndHost, mockBackEndPort));
         registry.add("dataplane.internal.url", () -> "http://%s:%s/dataplane".formatted(mockBackEndHost, mockBackEndPort));
+        registry.add("contracts.agreement.timeout", () -> "2s");
     }
 
     @AfterEach
@@ -119,7 +146,9 @@ class DataAccessServiceIntegrationTest {
 
         mockWebServer = new MockWebServer();
         mockWebServer.start(InetAddress.getByName(mockBackEndHost), mockBackEndPort);
-        when(tokenProvider.getToken(anyString(), anyString())).thenReturn("mock-token");
+        // CEL expressions are created with a token that is not bound to a participant context
+        when(tokenProvider.getToken(any(), anyString())).thenReturn("mock-token");
+        celExpressionRegistry.evictAll();
     }
 
     @Test
@@ -163,25 +192,8 @@ class DataAccessServiceIntegrationTest {
     void shouldUploadFileWithCelExpressionsAndConstraints() {
         var participant = createAndSaveParticipant("ctx-upload-1", "did:web:me");
 
-        // dataplane upload response
-        mockWebServer.enqueue(new MockResponse()
-                .setBody("{\"id\": \"generated-file-id-123\"}")
-                .addHeader("Content-Type", "application/json"));
-
-        // custom CEL expression
-        mockWebServer.enqueue(new MockResponse().setResponseCode(200));
-
-        // asset creation
-        mockWebServer.enqueue(new MockResponse().setResponseCode(200));
-
-        // membership CEL expression
-        mockWebServer.enqueue(new MockResponse().setResponseCode(200));
-
-        // policy creation
-        mockWebServer.enqueue(new MockResponse().setResponseCode(200));
-
-        // contract definition
-        mockWebServer.enqueue(new MockResponse().setResponseCode(200));
+        // the publication steps run concurrently, so responses are matched by path rather than by order
+        mockWebServer.setDispatcher(publicationDispatcher(200));
 
         var celExpressions = List.of(CelExpression.Builder.aNewCelExpression()
                 .id("custom-expression")
@@ -208,6 +220,158 @@ class DataAccessServiceIntegrationTest {
         assertThat(participantRepository.findById(participant.getId()))
                 .isPresent()
                 .hasValueSatisfying(p -> assertThat(p.getUploadedFiles()).hasSize(1));
+
+        // upload, 2 CEL expressions, asset, policy, contract definition
+        assertThat(mockWebServer.getRequestCount()).isEqualTo(6);
+    }
+
+    @Test
+    void shouldRegisterCelExpressionsOnce() throws InterruptedException {
+        var participant = createAndSaveParticipant("ctx-upload-4", "did:web:me");
+        mockWebServer.setDispatcher(publicationDispatcher(200));
+
+        for (var i = 0; i < 2; i++) {
+            dataAccessService.uploadFileForParticipant(
+                    participant.getId(),
+                    new HashMap<>(Map.of("foo", "bar")),
+                    new HashMap<>(Map.of("private", "value")),
+                    new ByteArrayInputStream("file-data".getBytes()),
+                    "text/plain",
+                    "file-%d.txt".formatted(i),
+                    List.of(),
+                    null
+            );
+        }
+
+        // the membership expression is sent with the first upload only
+        var requests = new ArrayList<RecordedRequest>();
+        for (var i = 0; i < mockWebServer.getRequestCount(); i++) {
+            requests.add(mockWebServer.takeRequest());
+        }
+        assertThat(requests).filteredOn(request -> request.getPath().endsWith("/celexpressions")).hasSize(1);
+        assertThat(requests).filteredOn(request -> request.getPath().endsWith("/contractdefinitions")).hasSize(2);
+    }
+
+    @Test
+    void shouldCompensatePublication_whenContractDefinitionFails() throws InterruptedException {
+        var participant = createAndSaveParticipant("ctx-upload-2", "did:web:me");
+
+        mockWebServer.setDispatcher(publicationDispatcher(500));
+
+        assertThatThrownBy(() -> dataAccessService.uploadFileForParticipant(
+                participant.getId(),
+                new HashMap<>(Map.of("foo", "bar")),
+                new HashMap<>(Map.of("private", "value")),
+                new ByteArrayInputStream("file-data".getBytes()),
+                "text/plain",
+                "file.txt",
+                List.of(),
+                null
+        )).isInstanceOf(WebClientResponseException.InternalServerError.class);
+
+        var requests = new ArrayList<String>();
+        for (var i = 0; i < mockWebServer.getRequestCount(); i++) {
+            var request = mockWebServer.takeRequest();
+            requests.add(request.getMethod() + " " + request.getPath());
+        }
+
+        // the asset and the policy were created, and are deleted again
+        assertThat(requests).anyMatch(r -> r.startsWith("DELETE") && r.contains("/assets/"));
+        assertThat(requests).anyMatch(r -> r.startsWith("DELETE") && r.contains("/policydefinitions/"));
+        assertThat(requests).noneMatch(r -> r.startsWith("DELETE") && r.contains("/contractdefinitions/"));
+        assertThat(participantRepository.findById(participant.getId()))
+                .hasValueSatisfying(p -> assertThat(p.getUploadedFiles()).isEmpty());
+    }
+
+    @Test
+    void shouldPublishFilesInBulk_andReportFailedItems() throws InterruptedException {
+        var participant = createAndSaveParticipant("ctx-upload-3", "did:web:me");
+
+        // the asset of broken.txt cannot be created, the rest of the batch is still published
+        var publication = publicationDispatcher(200);
+        mockWebServer.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) throws InterruptedException {
+                if (request.getPath().endsWith("/assets") && request.getBody().clone().readUtf8().contains("broken.txt")) {
+                    return new MockResponse().setResponseCode(500);
+                }
+                return publication.dispatch(request);
+            }
+        });
+
+        var files = List.of("first.txt", "broken.txt", "third.txt").stream()
+                .map(name -> new FileUpload(name, "text/plain", new HashMap<String, Object>(Map.of("foo", "bar")),
+                        new HashMap<String, Object>(), new ByteArrayInputStream(name.getBytes())))
+                .iterator();
+
+        var result = dataAccessService.uploadFilesForParticipant(participant.getId(), files, List.of(), null);
+
+        assertThat(result.items()).extracting(BulkPublicationResult.PublicationItem::filename)
+                .containsExactly("first.txt", "broken.txt", "third.txt");
+        assertThat(result.items()).extracting(BulkPublicationResult.PublicationItem::status)
+                .containsExactly(Status.PUBLISHED, Status.FAILED, Status.PUBLISHED);
+        assertThat(participantRepository.findById(participant.getId()))
+                .hasValueSatisfying(p -> assertThat(p.getUploadedFiles()).extracting(UploadedFile::getOriginalFilename)
+                        .containsExactlyInAnyOrder("first.txt", "third.txt"));
+
+        // a single contract definition selects all assets of the batch
+        var requests = new ArrayList<RecordedRequest>();
+        for (var i = 0; i < mockWebServer.getRequestCount(); i++) {
+            requests.add(mockWebServer.takeRequest());
+        }
+        assertThat(requests).filteredOn(request -> request.getPath().endsWith("/policydefinitions")).hasSize(1);
+        assertThat(requests).filteredOn(request -> request.getPath().endsWith("/contractdefinitions")).singleElement()
+                .satisfies(request -> assertThat(request.getBody().readUtf8())
+                        .contains(DataAccessService.PUBLICATION_BATCH_PROPERTY)
+                        .contains(result.batchId()));
+        assertThat(requests).filteredOn(request -> request.getPath().endsWith("/assets")).hasSize(3)
+                .allSatisfy(request -> assertThat(request.getBody().readUtf8()).contains(result.batchId()));
+        assertThat(requests).noneMatch(request -> "DELETE".equals(request.getMethod()));
+    }
+
+    @Test
+    void shouldStopReadingFiles_whenSharedOfferFails() throws InterruptedException {
+        var participant = createAndSaveParticipant("ctx-upload-4", "did:web:me");
+
+        var offerFailed = new CountDownLatch(1);
+        var publication = publicationDispatcher(500);
+        mockWebServer.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) throws InterruptedException {
+                var response = publication.dispatch(request);
+                if (request.getPath().endsWith("/contractdefinitions")) {
+                    offerFailed.countDown();
+                }
+                return response;
+            }
+        });
+
+        // hands out files until the offer has failed, then gives the failure time to reach the service
+        var handedOut = new AtomicInteger();
+        var files = new Iterator<FileUpload>() {
+            @Override
+            public boolean hasNext() {
+                if (handedOut.get() == 1) {
+                    try {
+                        offerFailed.await(5, TimeUnit.SECONDS);
+                        Thread.sleep(500);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                return handedOut.get() < 100;
+            }
+
+            @Override
+            public FileUpload next() {
+                var name = "file-%d.txt".formatted(handedOut.incrementAndGet());
+                return new FileUpload(name, "text/plain", new HashMap<>(), new HashMap<>(), new ByteArrayInputStream(name.getBytes()));
+            }
+        };
+
+        assertThatThrownBy(() -> dataAccessService.uploadFilesForParticipant(participant.getId(), files, List.of(), null))
+                .isInstanceOf(WebClientResponseException.InternalServerError.class);
+        assertThat(handedOut.get()).isEqualTo(1);
     }
 
     @Test
@@ -285,6 +449,165 @@ class DataAccessServiceIntegrationTest {
 
     }
 
+    @Test
+    void shouldListContractsAsync() throws InterruptedException {
+        var participant = createAndSaveParticipant("ctx-4a", "did:web:me");
+
+        var contractsResponse = """
+                [
+                    {
+                        "@id": "negotiation-1",
+                        "@type": "ContractNegotiation",
+                        "type": "CONSUMER",
+                        "state": "FINALIZED",
+                        "counterPartyId": "did:web:provider",
+                        "contractAgreementId": "agreement-1"
+                    }
+                ]
+                """;
+
+        var agreementResponse = """
+                {
+                    "@id": "agreement-1",
+                    "@type": "ContractAgreement",
+                    "providerId": "did:web:provider",
+                    "consumerId": "did:web:consumer",
+                    "assetId": "asset-1"
+                }
+                """;
+
+        mockWebServer.enqueue(new MockResponse().setBody(contractsResponse).addHeader("Content-Type", "application/json"));
+        mockWebServer.enqueue(new MockResponse().setBody(agreementResponse).addHeader("Content-Type", "application/json"));
+
+        var contracts = dataAccessService.listContractsAsync(participant.getId(), QuerySpec.Builder.aQuerySpecDto().limit(50).build());
+
+        // nothing is sent before subscription
+        assertThat(mockWebServer.getRequestCount()).isZero();
+
+        var result = contracts.collectList().block();
+
+        assertThat(result).hasSize(1);
+        assertThat(result.getFirst().getContractAgreement()).isNotNull();
+        assertThat(result.getFirst().getContractAgreement().getAssetId()).isEqualTo("asset-1");
+        assertThat(mockWebServer.takeRequest().getPath()).isEqualTo("/cp/v5beta/participants/ctx-4a/contractnegotiations/request");
+        assertThat(mockWebServer.takeRequest().getPath()).isEqualTo("/cp/v5beta/participants/ctx-4a/contractnegotiations/negotiation-1/agreement");
+    }
+
+    @Test
+    void shouldServeStoredAgreements_withoutFetchingThemAgain() {
+        var participant = createAndSaveParticipant("ctx-4c", "did:web:me");
+
+        var contractsResponse = """
+                [
+                    {
+                        "@id": "negotiation-1",
+                        "state": "FINALIZED",
+                        "contractAgreementId": "agreement-1"
+                    },
+                    {
+                        "@id": "negotiation-2",
+                        "state": "FINALIZED",
+                        "contractAgreementId": "agreement-2"
+                    }
+                ]
+                """;
+
+        mockWebServer.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                var path = request.getPath();
+                String body;
+                if (path.endsWith("/contractnegotiations/request")) {
+                    body = contractsResponse;
+                } else if (path.endsWith("/negotiation-1/agreement")) {
+                    body = "{\"@id\": \"agreement-1\", \"assetId\": \"asset-1\", \"policy\": {\"@type\": \"Agreement\"}}";
+                } else {
+                    body = "{\"@id\": \"agreement-2\", \"assetId\": \"asset-2\"}";
+                }
+                return new MockResponse().setBody(body).addHeader("Content-Type", "application/json");
+            }
+        });
+
+        dataAccessService.listContractsAsync(participant.getId(), QuerySpec.Builder.aQuerySpecDto().limit(50).build()).collectList().block();
+        var result = dataAccessService.listContractsAsync(participant.getId(), QuerySpec.Builder.aQuerySpecDto().limit(50).build()).collectList().block();
+
+        assertThat(result).extracting(cn -> cn.getContractAgreement().getAssetId()).containsExactly("asset-1", "asset-2");
+        assertThat(result.getFirst().getContractAgreement().getPolicy()).containsEntry("@type", "Agreement");
+        // the second listing is served from the agreement store
+        assertThat(mockWebServer.getRequestCount()).isEqualTo(4);
+        assertThat(contractAgreementRepository.findByParticipantContextIdAndAgreementIdIn("ctx-4c", List.of("agreement-1", "agreement-2"))).hasSize(2);
+    }
+
+    @Test
+    void shouldLookUpAgreementsConcurrently() {
+        var participant = createAndSaveParticipant("ctx-4b", "did:web:me");
+        var negotiations = IntStream.range(0, 20)
+                .mapToObj(i -> "{\"@id\": \"negotiation-%d\", \"state\": \"FINALIZED\", \"contractAgreementId\": \"agreement-%d\"}".formatted(i, i))
+                .collect(Collectors.joining(",", "[", "]"));
+
+        var inFlight = new AtomicInteger();
+        var maxInFlight = new AtomicInteger();
+        mockWebServer.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) throws InterruptedException {
+                if (request.getPath().endsWith("/contractnegotiations/request")) {
+                    return new MockResponse().setBody(negotiations).addHeader("Content-Type", "application/json");
+                }
+                maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                Thread.sleep(100);
+                inFlight.decrementAndGet();
+                var id = request.getPath().replaceAll(".*/(negotiation-\\d+)/agreement", "$1").replace("negotiation", "agreement");
+                return new MockResponse().setBody("{\"@id\": \"%s\"}".formatted(id)).addHeader("Content-Type", "application/json");
+            }
+        });
+
+        var result = dataAccessService.listContractsAsync(participant.getId(), QuerySpec.Builder.aQuerySpecDto().limit(50).build())
+                .collectList()
+                .block();
+
+        // one listing request, then the agreement lookups with bounded parallelism, in the order they were listed
+        assertThat(result).extracting(ContractNegotiation::getId)
+                .containsExactlyElementsOf(IntStream.range(0, 20).mapToObj(i -> "negotiation-" + i).toList());
+        assertThat(result).allSatisfy(cn -> assertThat(cn.getContractAgreement().getId()).isEqualTo(cn.getContractAgreementId()));
+        assertThat(maxInFlight.get()).isGreaterThan(1).isLessThanOrEqualTo(8);
+    }
+
+    @Test
+    void shouldListNegotiationWithoutAgreement_whenLookupStalls() {
+        var participant = createAndSaveParticipant("ctx-4d", "did:web:me");
+        var negotiations = IntStream.rangeClosed(1, 3)
+                .mapToObj(i -> "{\"@id\": \"negotiation-%d\", \"state\": \"FINALIZED\", \"contractAgreementId\": \"agreement-%d\"}".formatted(i, i))
+                .collect(Collectors.joining(",", "[", "]"));
+
+        mockWebServer.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                var path = request.getPath();
+                if (path.endsWith("/contractnegotiations/request")) {
+                    return new MockResponse().setBody(negotiations).addHeader("Content-Type", "application/json");
+                }
+                if (path.endsWith("/negotiation-2/agreement")) {
+                    return new MockResponse().setSocketPolicy(SocketPolicy.NO_RESPONSE);
+                }
+                var id = path.replaceAll(".*/(negotiation-\\d+)/agreement", "$1").replace("negotiation", "agreement");
+                return new MockResponse().setBody("{\"@id\": \"%s\"}".formatted(id)).addHeader("Content-Type", "application/json");
+            }
+        });
+
+        var result = dataAccessService.listContractsAsync(participant.getId(), QuerySpec.Builder.aQuerySpecDto().limit(50).build())
+                .collectList()
+                .block();
+
+        // the stalled lookup times out, the other negotiations keep their agreements
+        assertThat(result).extracting(ContractNegotiation::getId).containsExactly("negotiation-1", "negotiation-2", "negotiation-3");
+        assertThat(result.get(0).getContractAgreement().getId()).isEqualTo("agreement-1");
+        assertThat(result.get(1).getContractAgreement()).isNull();
+        assertThat(result.get(2).getContractAgreement().getId()).isEqualTo("agreement-3");
+        assertThat(contractAgreementRepository.findByParticipantContextIdAndAgreementIdIn("ctx-4d", List.of("agreement-1", "agreement-2", "agreement-3")))
+                .extracting(StoredContractAgreement::getAgreementId)
+                .containsExactlyInAnyOrder("agreement-1", "agreement-3");
+    }
+
     @Test
     void shouldListFiles() {
         var participant = createAndSaveParticipant("ctx-5", "did:web:me");
@@ -296,7 +619,7 @@ class DataAccessServiceIntegrationTest {
 
         participant = participantRepository.save(participant);
 
-        var result = dataAccessService.listFilesForParticipant(participant.getId());
+        var result = dataAccessService.listFilesForParticipant(participant.getId(), null, Map.of(), new PageQuery(null, null, 50, null)).items();
 
         assertThat(result).hasSize(2);
         assertThat(result).anyMatch(f -> f.fileId().equals("file-id-1") &&
@@ -309,6 +632,59 @@ class DataAccessServiceIntegrationTest {
                 f.metadata().get("quizz").equals("qazz"));
     }
 
+    @Test
+    void shouldPageThroughFiles() {
+        var participant = createAndSaveParticipant("ctx-5a", "did:web:me");
+        for (var name : List.of("e.txt", "c.txt", "a.txt", "d.txt", "b.txt")) {
+            participant.getUploadedFiles().add(new UploadedFile("file-" + name, name, "text/plain", Map.of()));
+        }
+        participantRepository.save(participant);
+
+        var names = new ArrayList<String>();
+        String cursor = null;
+        var pages = 0;
+        do {
+            var page = dataAccessService.listFilesForParticipant(participant.getId(), null, Map.of(),
+                    new PageQuery("fileName", Sort.Direction.DESC, 2, cursor));
+            page.items().forEach(f -> names.add(f.fileName()));
+            cursor = page.nextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertThat(names).containsExactly("e.txt", "d.txt", "c.txt", "b.txt", "a.txt");
+        assertThat(pages).isEqualTo(3);
+    }
+
+    @Test
+    void shouldFilterFilesByContentTypeAndMetadata() {
+        var participant = createAndSaveParticipant("ctx-5b", "did:web:me");
+        participant.getUploadedFiles().add(new UploadedFile("file-1", "report.pdf", "application/pdf", Map.of("category", "reports")));
+        participant.getUploadedFiles().add(new UploadedFile("file-2", "report.txt", "text/plain", Map.of("category", "reports")));
+        participant.getUploadedFiles().add(new UploadedFile("file-3", "invoice.pdf", "application/pdf", Map.of("category", "invoices")));
+        participantRepository.save(participant);
+
+        var result = dataAccessService.listFilesForParticipant(participant.getId(), "application/pdf", Map.of("category", "reports"),
+                new PageQuery(null, null, 50, null));
+
+        assertThat(result.items()).extracting(FileResource::fileId).containsExactly("file-1");
+        assertThat(result.nextCursor()).isNull();
+    }
+
+    @Test
+    void shouldRejectCursor_issuedForDifferentSort() {
+        var participant = createAndSaveParticipant("ctx-5c", "did:web:me");
+        participant.getUploadedFiles().add(new UploadedFile("file-1", "a.txt", "text/plain", Map.of()));
+        participant.getUploadedFiles().add(new UploadedFile("file-2", "b.txt", "text/plain", Map.of()));
+        participantRepository.save(participant);
+        var cursor = dataAccessService.listFilesForParticipant(participant.getId(), null, Map.of(), new PageQuery("fileName", null, 1, null)).nextCursor();
+
+        assertThat(cursor).isNotNull();
+        assertThatThrownBy(() -> dataAccessService.listFilesForParticipant(participant.getId(), null, Map.of(), new PageQuery("createdAt", null, 1, cursor)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> dataAccessService.listFilesForParticipant(participant.getId(), null, Map.of(), new PageQuery(null, null, 1, "not-a-cursor")))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
     @Test
     void shouldInitiateContractNegotiation() throws InterruptedException {
         var participant = createAndSaveParticipant("ctx-6", "did:web:me");
@@ -346,6 +722,27 @@ class DataAccessServiceIntegrationTest {
         assertThat(request.getMethod()).isEqualTo("POST");
     }
 
+    /**
+     * Answers the requests of a file publication by path. Contract definitions are answered with the given status.
+     */
+    private Dispatcher publicationDispatcher(int contractDefinitionStatus) {
+        return new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                var path = request.getPath();
+                if (path.endsWith("/certs")) {
+                    return new MockResponse()
+                            .setBody("{\"id\": \"generated-file-id-123\"}")
+                            .addHeader("Content-Type", "application/json");
+                }
+                if ("POST".equals(request.getMethod()) && path.endsWith("/contractdefinitions")) {
+                    return new MockResponse().setResponseCode(contractDefinitionStatus);
+                }
+                return new MockResponse().setResponseCode(200);
+            }
+        };
+    }
+
     private Participant createAndSaveParticipant(String contextId, String identifier) {
         var p = new Participant();
         p.setParticipantContextId(contextId);
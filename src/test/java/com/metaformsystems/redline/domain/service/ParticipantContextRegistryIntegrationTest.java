@@ -0,0 +1,113 @@
+/*
+ *  Copyright (c) 2026 Metaform Systems, Inc.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Metaform Systems, Inc. - initial API and implementation
+ *
+ */
+
+package com.metaformsystems.redline.domain.service;
+
+import com.metaformsystems.redline.domain.entity.ClientCredentials;
+import com.metaformsystems.redline.domain.entity.Participant;
+import com.metaformsystems.redline.domain.entity.ServiceProvider;
+import com.metaformsystems.redline.domain.entity.Tenant;
+import com.metaformsystems.redline.domain.exception.ObjectNotFoundException;
+import com.metaformsystems.redline.domain.repository.ParticipantRepository;
+import com.metaformsystems.redline.domain.repository.ServiceProviderRepository;
+import com.metaformsystems.redline.domain.repository.TenantRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * The registry is invalidated after commit, so unlike the other integration tests these do not run in a transaction
+ * that is rolled back, and remove their test data themselves.
+ */
+@SpringBootTest
+@ActiveProfiles("dev")
+class ParticipantContextRegistryIntegrationTest {
+    @Autowired
+    private ParticipantContextRegistry participantContextRegistry;
+    @Autowired
+    private ParticipantRepository participantRepository;
+    @Autowired
+    private TenantRepository tenantRepository;
+    @Autowired
+    private ServiceProviderRepository serviceProviderRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private ServiceProvider serviceProvider;
+    private Tenant tenant;
+    private Participant participant;
+
+    @BeforeEach
+    void setUp() {
+        serviceProvider = new ServiceProvider();
+        serviceProvider.setName("Registry Test Provider");
+        serviceProvider = serviceProviderRepository.save(serviceProvider);
+
+        tenant = new Tenant();
+        tenant.setName("Registry Test Tenant");
+        tenant.setServiceProvider(serviceProvider);
+        tenant = tenantRepository.save(tenant);
+
+        participant = new Participant();
+        participant.setParticipantContextId("ctx-registry-1");
+        participant.setIdentifier("did:web:registry");
+        participant.setClientCredentials(new ClientCredentials("client-id", "client-secret"));
+        participant.setTenant(tenant);
+        participant = participantRepository.save(participant);
+    }
+
+    @AfterEach
+    void tearDown() {
+        participantRepository.deleteById(participant.getId());
+        tenantRepository.deleteById(tenant.getId());
+        serviceProviderRepository.deleteById(serviceProvider.getId());
+    }
+
+    @Test
+    void shouldResolveParticipantContext_afterUpdateWasCommitted() {
+        assertThat(participantContextRegistry.resolve(participant.getId()).participantContextId()).isEqualTo("ctx-registry-1");
+
+        participant.setParticipantContextId("ctx-registry-2");
+        participant = participantRepository.save(participant);
+
+        assertThat(participantContextRegistry.resolve(participant.getId()).participantContextId()).isEqualTo("ctx-registry-2");
+        assertThatThrownBy(() -> participantContextRegistry.resolve("ctx-registry-1")).isInstanceOf(ObjectNotFoundException.class);
+    }
+
+    @Test
+    void shouldKeepParticipantContext_whenUpdateIsRolledBack() {
+        assertThat(participantContextRegistry.resolve(participant.getId()).participantContextId()).isEqualTo("ctx-registry-1");
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            var changed = participantRepository.findById(participant.getId()).orElseThrow();
+            changed.setParticipantContextId("ctx-registry-2");
+            participantRepository.saveAndFlush(changed);
+
+            // the uncommitted change must not be loaded into the registry
+            assertThat(participantContextRegistry.resolve(participant.getId()).participantContextId()).isEqualTo("ctx-registry-1");
+            status.setRollbackOnly();
+        });
+
+        assertThat(participantContextRegistry.resolve(participant.getId()).participantContextId()).isEqualTo("ctx-registry-1");
+        assertThat(participantContextRegistry.resolve("ctx-registry-1").participantId()).isEqualTo(participant.getId());
+    }
+}
@@ -0,0 +1,186 @@
+/*
+ *  Copyright (c) 2026 Metaform Systems, Inc.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Metaform Systems, Inc. - initial API and implementation
+ *
+ */
+
+package com.metaformsystems.redline.domain.service;
+
+import com.metaformsystems.redline.domain.entity.Participant;
+import com.metaformsystems.redline.domain.entity.ParticipantChangedEvent;
+import com.metaformsystems.redline.domain.exception.ObjectNotFoundException;
+import com.metaformsystems.redline.domain.repository.ParticipantRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ParticipantContextRegistryTest {
+
+    private static final Instant NOW = Instant.parse("2026-01-01T10:00:00Z");
+    private static final Duration TTL = Duration.ofMinutes(10);
+    private final ParticipantRepository participantRepository = mock();
+    private final MutableClock clock = new MutableClock(NOW);
+    private final ParticipantContextRegistry registry = new ParticipantContextRegistry(participantRepository, 2, TTL, clock);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @BeforeEach
+    void setUp() {
+        registry.bindMetrics(meterRegistry);
+    }
+
+    @Test
+    void shouldResolveContextIdOnce() {
+        when(participantRepository.findByParticipantContextId("ctx-1")).thenReturn(Optional.of(participant(1L, "ctx-1")));
+
+        assertThat(registry.resolve("ctx-1").participantId()).isEqualTo(1L);
+        assertThat(registry.resolve("ctx-1").participantId()).isEqualTo(1L);
+        // the participant is remembered under both ids
+        assertThat(registry.resolve(1L).participantContextId()).isEqualTo("ctx-1");
+
+        verify(participantRepository, times(1)).findByParticipantContextId("ctx-1");
+        assertThat(gets(ParticipantContextRegistry.PARTICIPANT_CONTEXTS_CACHE, "hit")).isEqualTo(1);
+        assertThat(gets(ParticipantContextRegistry.PARTICIPANT_CONTEXTS_CACHE, "miss")).isEqualTo(1);
+        assertThat(gets(ParticipantContextRegistry.PARTICIPANTS_CACHE, "hit")).isEqualTo(1);
+    }
+
+    @Test
+    void shouldReload_whenParticipantChanged() {
+        when(participantRepository.findById(1L))
+                .thenReturn(Optional.of(participant(1L, null)))
+                .thenReturn(Optional.of(participant(1L, "ctx-1")));
+
+        assertThat(registry.resolve(1L).participantContextId()).isNull();
+        registry.onParticipantChanged(new ParticipantChangedEvent(1L, "ctx-1"));
+
+        assertThat(registry.resolve(1L).participantContextId()).isEqualTo("ctx-1");
+        verify(participantRepository, times(2)).findById(1L);
+    }
+
+    @Test
+    void shouldNotRemember_whenInvalidatedWhileLoading() {
+        when(participantRepository.findById(1L))
+                .thenAnswer(invocation -> {
+                    // the change is committed after the old row was read
+                    registry.onParticipantChanged(new ParticipantChangedEvent(1L, "ctx-1"));
+                    return Optional.of(participant(1L, null));
+                })
+                .thenReturn(Optional.of(participant(1L, "ctx-1")));
+
+        assertThat(registry.resolve(1L).participantContextId()).isNull();
+        assertThat(registry.resolve(1L).participantContextId()).isEqualTo("ctx-1");
+        assertThat(registry.resolve(1L).participantContextId()).isEqualTo("ctx-1");
+
+        verify(participantRepository, times(2)).findById(1L);
+    }
+
+    @Test
+    void shouldReload_whenContextIdWasTakenOver() {
+        when(participantRepository.findByParticipantContextId("ctx-1"))
+                .thenReturn(Optional.of(participant(1L, "ctx-1")))
+                .thenReturn(Optional.of(participant(2L, "ctx-1")));
+
+        when(participantRepository.findById(1L)).thenReturn(Optional.of(participant(1L, null)));
+
+        registry.resolve("ctx-1");
+        registry.onParticipantChanged(new ParticipantChangedEvent(2L, "ctx-1"));
+
+        assertThat(registry.resolve("ctx-1").participantId()).isEqualTo(2L);
+        // the participant that had the context id before is dropped as well
+        assertThat(registry.resolve(1L).participantContextId()).isNull();
+    }
+
+    @Test
+    void shouldReload_whenExpired() {
+        when(participantRepository.findById(1L)).thenReturn(Optional.of(participant(1L, "ctx-1")));
+
+        registry.resolve(1L);
+        clock.instant = NOW.plus(TTL);
+        registry.resolve(1L);
+
+        verify(participantRepository, times(2)).findById(1L);
+    }
+
+    @Test
+    void shouldNotRememberMissingParticipant() {
+        when(participantRepository.findByParticipantContextId("ctx-1"))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(participant(1L, "ctx-1")));
+
+        assertThatThrownBy(() -> registry.resolve("ctx-1")).isInstanceOf(ObjectNotFoundException.class);
+        assertThat(registry.resolve("ctx-1").participantId()).isEqualTo(1L);
+    }
+
+    @Test
+    void shouldBoundNumberOfParticipants() {
+        when(participantRepository.findByParticipantContextId("ctx-1")).thenReturn(Optional.of(participant(1L, "ctx-1")));
+        when(participantRepository.findByParticipantContextId("ctx-2")).thenReturn(Optional.of(participant(2L, "ctx-2")));
+        when(participantRepository.findByParticipantContextId("ctx-3")).thenReturn(Optional.of(participant(3L, "ctx-3")));
+
+        registry.resolve("ctx-1");
+        registry.resolve("ctx-2");
+        registry.resolve("ctx-3");
+
+        // the caches evict in the background
+        await().untilAsserted(() -> {
+            assertThat(meterRegistry.get("cache.size").tag("cache", ParticipantContextRegistry.PARTICIPANTS_CACHE).gauge().value()).isEqualTo(2);
+            assertThat(meterRegistry.get("cache.size").tag("cache", ParticipantContextRegistry.PARTICIPANT_CONTEXTS_CACHE).gauge().value()).isEqualTo(2);
+        });
+    }
+
+    private double gets(String cache, String result) {
+        return meterRegistry.get("cache.gets").tags("cache", cache, "result", result).functionCounter().count();
+    }
+
+    private Participant participant(Long id, String participantContextId) {
+        var participant = new Participant();
+        participant.setId(id);
+        participant.setParticipantContextId(participantContextId);
+        return participant;
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant instant;
+
+        MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ *  Copyright (c) 2026 Metaform Systems, Inc.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Metaform Systems, Inc. - initial API and implementation
+ *
+ */
+
+package com.metaformsystems.redline.domain.service;
+
+import com.metaformsystems.redline.domain.entity.ParticipantChangedEvent;
+import com.metaformsystems.redline.domain.entity.Tenant;
+import com.metaformsystems.redline.domain.repository.TenantRepository;
+import com.metaformsystems.redline.infrastructure.client.tenantmanager.v1alpha1.TenantManagerClient;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ParticipantProfileReconcilerTest {
+
+    private static final Instant NOW = Instant.parse("2026-01-01T10:00:00Z");
+    private static final Duration STABLE_INTERVAL = Duration.ofMinutes(5);
+    private final TenantRepository tenantRepository = mock();
+    private final TenantManagerClient tenantManagerClient = mock();
+    private final TenantService tenantService = mock();
+    private final MutableClock clock = new MutableClock(NOW);
+    private final ParticipantProfileReconciler reconciler = new ParticipantProfileReconciler(tenantRepository, tenantManagerClient, tenantService, STABLE_INTERVAL, clock);
+
+    @BeforeEach
+    void setUp() {
+        var tenant = new Tenant();
+        tenant.setId(1L);
+        tenant.setCorrelationId("tenant-1");
+        when(tenantRepository.findByCorrelationIdIsNotNull()).thenReturn(List.of(tenant));
+        when(tenantManagerClient.listParticipantProfiles("tenant-1")).thenReturn(List.of());
+    }
+
+    @Test
+    void shouldReconcileOnEveryTick_whileDeploying() {
+        when(tenantService.applyParticipantProfiles(anyLong(), anyList())).thenReturn(true);
+
+        reconciler.reconcileIfDue();
+        reconciler.reconcileIfDue();
+
+        verify(tenantManagerClient, times(2)).listParticipantProfiles("tenant-1");
+    }
+
+    @Test
+    void shouldReconcileOncePerStableInterval_whenSettled() {
+        when(tenantService.applyParticipantProfiles(anyLong(), anyList())).thenReturn(false);
+
+        reconciler.reconcileIfDue();
+        clock.instant = NOW.plus(STABLE_INTERVAL).minusSeconds(1);
+        reconciler.reconcileIfDue();
+        verify(tenantManagerClient, times(1)).listParticipantProfiles("tenant-1");
+
+        clock.instant = NOW.plus(STABLE_INTERVAL);
+        reconciler.reconcileIfDue();
+        verify(tenantManagerClient, times(2)).listParticipantProfiles("tenant-1");
+    }
+
+    @Test
+    void shouldReconcileOnNextTick_whenParticipantChanged() {
+        when(tenantService.applyParticipantProfiles(anyLong(), anyList())).thenReturn(false);
+
+        reconciler.reconcileIfDue();
+        reconciler.onParticipantChanged(new ParticipantChangedEvent(1L, null));
+        reconciler.reconcileIfDue();
+
+        verify(tenantManagerClient, times(2)).listParticipantProfiles("tenant-1");
+    }
+
+    @Test
+    void shouldKeepDeployingInterval_whenTenantManagerFails() {
+        when(tenantManagerClient.listParticipantProfiles("tenant-1")).thenThrow(new IllegalStateException("unavailable"));
+
+        assertThat(reconciler.reconcile()).isTrue();
+        verify(tenantService, times(0)).applyParticipantProfiles(anyLong(), any());
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant instant;
+
+        MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
@@ -21,22 +21,28 @@ import com.metaformsystems.redline.api.dto.request.TenantRegistration;
 import com.metaformsystems.redline.api.dto.response.VirtualParticipantAgent;
 import com.metaformsystems.redline.application.service.TokenProvider;
 import com.metaformsystems.redline.domain.entity.Dataspace;
+import com.metaformsystems.redline.domain.entity.DeploymentState;
 import com.metaformsystems.redline.domain.entity.Participant;
 import com.metaformsystems.redline.domain.entity.PartnerReference;
 import com.metaformsystems.redline.domain.entity.ServiceProvider;
 import com.metaformsystems.redline.domain.entity.Tenant;
+import com.metaformsystems.redline.domain.entity.VirtualParticipantAgent.VpaType;
 import com.metaformsystems.redline.domain.exception.ObjectNotFoundException;
 import com.metaformsystems.redline.domain.repository.DataspaceRepository;
 import com.metaformsystems.redline.domain.repository.ParticipantRepository;
 import com.metaformsystems.redline.domain.repository.ServiceProviderRepository;
 import com.metaformsystems.redline.domain.repository.TenantRepository;
+import jakarta.persistence.EntityManager;
+import com.metaformsystems.redline.infrastructure.client.tenantmanager.v1alpha1.dto.ParticipantProfile;
 import okhttp3.mockwebserver.MockResponse;
 import okhttp3.mockwebserver.MockWebServer;
+import org.hibernate.SessionFactory;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.DynamicPropertyRegistry;
 import org.springframework.test.context.DynamicPropertySource;
@@ -55,6 +61,7 @@ import static com.metaformsystems.redline.TestData.PARTICIPANT_PROFILE_RESPONSE;
 import static com.metaformsystems.redline.TestData.VAULT_CREDENTIAL_RESPONSE;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.when;
 
@@ -65,6 +72,7 @@ class TenantServiceIntegrationTest {
 
     static final String mockBackEndHost = "localhost";
     static final int mockBackEndPort = TestSocketUtils.findAvailableTcpPort();
+    private static final PageQuery FIRST_PAGE = new PageQuery(null, null, PageQuery.DEFAULT_LIMIT, null);
     private static final String CATALOG_RESPONSE = """
             {
                 "@type": "dcat:Catalog",
@@ -83,6 +91,10 @@ class TenantServiceIntegrationTest {
     private DataspaceRepository dataspaceRepository;
     @Autowired
     private ServiceProviderRepository serviceProviderRepository;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private ParticipantProfileReconciler participantProfileReconciler;
     private ServiceProvider serviceProvider;
     private Dataspace dataspace;
     @MockitoBean("token-exchange")
@@ -146,7 +158,7 @@ class TenantServiceIntegrationTest {
         var registration = new TenantRegistration("Test Tenant", infos);
         tenantService.registerTenant(serviceProvider.getId(), registration);
 
-        var tenants = tenantService.getTenants(serviceProvider.getId());
+        var tenants = tenantService.getTenants(serviceProvider.getId(), FIRST_PAGE).items();
 
         assertThat(tenants).isNotNull();
         assertThat(tenants).hasSize(1);
@@ -154,6 +166,62 @@ class TenantServiceIntegrationTest {
     }
 
     @SuppressWarnings("ResultOfMethodCallIgnored")
+    @Test
+    void shouldGetTenants_withConstantNumberOfStatements() {
+        createTenant(serviceProvider, "Small Tenant", 1);
+        var largeProvider = new ServiceProvider();
+        largeProvider.setName("Large Provider");
+        largeProvider = serviceProviderRepository.save(largeProvider);
+        for (var i = 0; i < 5; i++) {
+            createTenant(largeProvider, "Large Tenant " + i, 4);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        var statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        assertThat(tenantService.getTenants(serviceProvider.getId(), FIRST_PAGE).items()).hasSize(1);
+        var small = statistics.getPrepareStatementCount();
+
+        statistics.clear();
+        var tenants = tenantService.getTenants(largeProvider.getId(), FIRST_PAGE).items();
+        var large = statistics.getPrepareStatementCount();
+
+        assertThat(tenants).hasSize(5).allSatisfy(tenant -> assertThat(tenant.participants()).hasSize(4)
+                .allSatisfy(participant -> {
+                    assertThat(participant.agents()).hasSize(2);
+                    assertThat(participant.dataspaceInfos()).hasSize(2)
+                            .allSatisfy(info -> assertThat(info.getRoles()).containsExactly("provider"));
+                }));
+        // tenant page with the service provider, then participants, agents, dataspace infos, agreement types and roles,
+        // and the total count
+        assertThat(large).isEqualTo(small).isLessThanOrEqualTo(7);
+    }
+
+    @Test
+    void shouldPageThroughTenants_byName() {
+        for (var name : List.of("Delta", "Alpha", "Charlie", "Bravo", "Echo")) {
+            createTenant(serviceProvider, name, 1);
+        }
+
+        var first = tenantService.getTenants(serviceProvider.getId(), new PageQuery("name", Sort.Direction.DESC, 2, null));
+        var second = tenantService.getTenants(serviceProvider.getId(), new PageQuery("name", Sort.Direction.DESC, 2, first.nextCursor()));
+        var last = tenantService.getTenants(serviceProvider.getId(), new PageQuery("name", Sort.Direction.DESC, 2, second.nextCursor()));
+
+        assertThat(first.items()).extracting(tenant -> tenant.name()).containsExactly("Echo", "Delta");
+        assertThat(second.items()).extracting(tenant -> tenant.name()).containsExactly("Charlie", "Bravo");
+        assertThat(last.items()).extracting(tenant -> tenant.name()).containsExactly("Alpha");
+        assertThat(last.nextCursor()).isNull();
+        assertThat(first.total()).isEqualTo(5);
+    }
+
+    @Test
+    void shouldRejectTenantPage_withUnknownSortKey() {
+        assertThatThrownBy(() -> tenantService.getTenants(serviceProvider.getId(), new PageQuery("createdAt", null, 10, null)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("sort must be one of");
+    }
+
     @Test
     void shouldDeployParticipant() {
 
@@ -251,15 +319,61 @@ class TenantServiceIntegrationTest {
         var tenant = tenantService.registerTenant(serviceProvider.getId(), registration);
         var participant = tenant.participants().iterator().next();
 
-        mockWebServer.enqueue(new MockResponse().setResponseCode(200).addHeader("content-type", "application/json").setBody(PARTICIPANT_PROFILE_RESPONSE));
-        mockWebServer.enqueue(new MockResponse().setResponseCode(200).addHeader("content-type", "application/json").setBody(VAULT_CREDENTIAL_RESPONSE));
-
-
         var result = tenantService.getParticipant(participant.id());
 
 
         assertThat(result).isNotNull();
         assertThat(result.identifier()).isEqualTo("Test Tenant");
+        // a pure local read
+        assertThat(mockWebServer.getRequestCount()).isZero();
+    }
+
+    @Test
+    void shouldReconcileParticipantProfiles() throws InterruptedException {
+        var tenant = new Tenant();
+        tenant.setName("Deployed Tenant");
+        tenant.setServiceProvider(serviceProvider);
+        tenant.setCorrelationId("e2387a34-581b-48d0-864c-66b5c859af29");
+        var participant = new Participant();
+        participant.setIdentifier("Deployed Participant");
+        participant.setCorrelationId("0d93930b-2c92-4421-93f2-533d392ca517");
+        for (var type : List.of(VpaType.CONTROL_PLANE, VpaType.CREDENTIAL_SERVICE, VpaType.DATA_PLANE)) {
+            participant.getAgents().add(new com.metaformsystems.redline.domain.entity.VirtualParticipantAgent(type, DeploymentState.PENDING));
+        }
+        tenant.addParticipant(participant);
+        tenant = tenantRepository.save(tenant);
+
+        mockWebServer.enqueue(new MockResponse().setResponseCode(200).addHeader("content-type", "application/json").setBody("[" + PARTICIPANT_PROFILE_RESPONSE + "]"));
+        mockWebServer.enqueue(new MockResponse().setResponseCode(200).addHeader("content-type", "application/json").setBody(VAULT_CREDENTIAL_RESPONSE));
+
+        var deploying = participantProfileReconciler.reconcile();
+
+        assertThat(deploying).isFalse();
+        var reconciled = participantRepository.findById(participant.getId()).orElseThrow();
+        assertThat(reconciled.getParticipantContextId()).isEqualTo("834c9308f29e4800b4ff714de9074433");
+        assertThat(reconciled.getClientCredentials()).isNotNull();
+        assertThat(reconciled.getAgents()).extracting(com.metaformsystems.redline.domain.entity.VirtualParticipantAgent::getState)
+                .containsOnly(DeploymentState.ACTIVE);
+        assertThat(mockWebServer.takeRequest().getPath()).endsWith("/tenants/%s/participant-profiles".formatted(tenant.getCorrelationId()));
+    }
+
+    @Test
+    void shouldReportDeploying_whenParticipantHasNoContextYet() {
+        var tenant = new Tenant();
+        tenant.setName("Deploying Tenant");
+        tenant.setServiceProvider(serviceProvider);
+        tenant.setCorrelationId("tenant-deploying");
+        var participant = new Participant();
+        participant.setIdentifier("Deploying Participant");
+        participant.setCorrelationId("participant-deploying");
+        tenant.addParticipant(participant);
+        tenant = tenantRepository.save(tenant);
+
+        var deploying = tenantService.applyParticipantProfiles(tenant.getId(), List.of(new ParticipantProfile("participant-deploying", 0L,
+                "Deploying Participant", "tenant-deploying", false, null, Map.of(), Map.of(), List.of(), Map.of())));
+
+        assertThat(deploying).isTrue();
+        assertThat(mockWebServer.getRequestCount()).isZero();
     }
 
     @Test
@@ -472,7 +586,7 @@ class TenantServiceIntegrationTest {
         participantRepository.save(participant);
 
 
-        var result = tenantService.getPartnerReferences(participantId, dataspace.getId());
+        var result = tenantService.getPartnerReferences(participantId, dataspace.getId(), FIRST_PAGE).items();
 
 
         assertThat(result).hasSize(2);
@@ -502,7 +616,7 @@ class TenantServiceIntegrationTest {
         participantRepository.save(participant);
 
 
-        var result = tenantService.getPartnerReferences(participantId, dataspace.getId());
+        var result = tenantService.getPartnerReferences(participantId, dataspace.getId(), FIRST_PAGE).items();
 
 
         assertThat(result).hasSize(2);
@@ -516,6 +630,27 @@ class TenantServiceIntegrationTest {
                 && ref.properties().isEmpty());
     }
 
+    @Test
+    void shouldPageThroughPartnerReferences() {
+        var infos = List.of(new DataspaceInfo(dataspace.getId(), List.of(), List.of(), Map.of()));
+        var tenant = tenantService.registerTenant(serviceProvider.getId(), new TenantRegistration("Test Tenant", infos));
+        var participantId = tenant.participants().iterator().next().id();
+        for (var partner : List.of("did:web:c", "did:web:a", "did:web:b")) {
+            tenantService.createPartnerReference(serviceProvider.getId(), tenant.id(), participantId, dataspace.getId(),
+                    new PartnerReferenceRequest(partner, partner, Map.of()));
+        }
+
+        var first = tenantService.getPartnerReferences(participantId, dataspace.getId(), new PageQuery(null, null, 2, null));
+        var last = tenantService.getPartnerReferences(participantId, dataspace.getId(), new PageQuery(null, null, 2, first.nextCursor()));
+
+        assertThat(first.items()).extracting(reference -> reference.identifier()).containsExactly("did:web:a", "did:web:b");
+        assertThat(last.items()).extracting(reference -> reference.identifier()).containsExactly("did:web:c");
+        assertThat(last.nextCursor()).isNull();
+        assertThat(first.total()).isEqualTo(3);
+        assertThatThrownBy(() -> tenantService.getPartnerReferences(participantId, dataspace.getId(), new PageQuery(null, Sort.Direction.DESC, 2, null)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
     @Test
     void shouldGetParticipantDataspaces() {
         // Setup: create tenant with participant and dataspace info
@@ -525,7 +660,7 @@ class TenantServiceIntegrationTest {
         var participantId = tenant.participants().iterator().next().id();
 
         // Test
-        var result = tenantService.getParticipantDataspaces(participantId);
+        var result = tenantService.getParticipantDataspaces(participantId, FIRST_PAGE).items();
 
         // Assert
         assertThat(result).isNotNull();
@@ -565,7 +700,7 @@ class TenantServiceIntegrationTest {
         participant = participantRepository.save(participant);
 
         // Test
-        var result = tenantService.getParticipantDataspaces(participant.getId());
+        var result = tenantService.getParticipantDataspaces(participant.getId(), FIRST_PAGE).items();
 
         // Assert
         assertThat(result).isNotNull();
@@ -589,7 +724,7 @@ class TenantServiceIntegrationTest {
         participant = participantRepository.save(participant);
 
         // Test
-        var result = tenantService.getParticipantDataspaces(participant.getId());
+        var result = tenantService.getParticipantDataspaces(participant.getId(), FIRST_PAGE).items();
 
         // Assert
         assertThat(result).isNotNull();
@@ -739,9 +874,30 @@ class TenantServiceIntegrationTest {
     void shouldGetParticipantDataspaces_whenParticipantNotFound() {
         // Test with non-existent participant ID
         assertThat(org.assertj.core.api.Assertions.catchThrowable(() ->
-                tenantService.getParticipantDataspaces(999L)))
+                tenantService.getParticipantDataspaces(999L, FIRST_PAGE)))
                 .isInstanceOf(ObjectNotFoundException.class)
                 .hasMessageContaining("Participant not found with id: 999");
     }
 
+    private void createTenant(ServiceProvider provider, String name, int participants) {
+        var tenant = new Tenant();
+        tenant.setName(name);
+        tenant.setServiceProvider(provider);
+        for (var i = 0; i < participants; i++) {
+            var participant = new Participant();
+            participant.setIdentifier(name + " participant " + i);
+            for (var type : List.of(VpaType.CONTROL_PLANE, VpaType.DATA_PLANE)) {
+                participant.getAgents().add(new com.metaformsystems.redline.domain.entity.VirtualParticipantAgent(type, DeploymentState.ACTIVE));
+            }
+            for (var j = 0; j < 2; j++) {
+                var info = new com.metaformsystems.redline.domain.entity.DataspaceInfo();
+                info.setDataspaceId(dataspace.getId());
+                info.setAgreementTypes(new ArrayList<>(List.of("agreement-" + j)));
+                info.setRoles(new ArrayList<>(List.of("provider")));
+                participant.getDataspaceInfos().add(info);
+            }
+            tenant.addParticipant(participant);
+        }
+        tenantRepository.save(tenant);
+    }
 }
@@ -15,13 +15,18 @@
 package com.metaformsystems.redline.domain.service;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 
 import java.io.IOException;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
+import java.net.http.HttpHeaders;
 import java.net.http.HttpResponse;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -30,10 +35,20 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 class WebDidResolverTest {
 
+    private static final String DID_DOCUMENT = """
+            {
+              "service": [
+                { "type": "ProtocolEndpoint", "serviceEndpoint": "http://example.com/api" }
+              ]
+            }
+            """;
+
     @Test
     void returnsFirstProtocolEndpoint() throws Exception {
         var json = """
@@ -116,6 +131,17 @@ class WebDidResolverTest {
         assertThat(resolver.resolveProtocolEndpoints("did:web:example.com")).isNull();
     }
 
+    @Test
+    void keepsInterruptFlag_whenFetchIsInterrupted() throws Exception {
+        var httpClient = mock(HttpClient.class);
+        when(httpClient.send(any(HttpRequest.class), any(HttpResponse.BodyHandler.class))).thenThrow(new InterruptedException());
+        var resolver = new WebDidResolver(httpClient, new ObjectMapper());
+
+        assertThrows(IllegalStateException.class, () -> resolver.resolveProtocolEndpoints("did:web:example.com"));
+        // clears the flag again, so that it does not leak into other tests
+        assertTrue(Thread.interrupted());
+    }
+
     @Test
     void convertDidToUrlRespectsHttpsFlag() throws Exception {
         var json = """
@@ -164,6 +190,97 @@ class WebDidResolverTest {
         assertThrows(IllegalArgumentException.class, () -> resolver.resolveProtocolEndpoints("invalid:did"));
     }
 
+    @Test
+    void cachesResolvedDocument() throws Exception {
+        var httpClient = mock(HttpClient.class);
+        var response = mockResponse(200, DID_DOCUMENT, Map.of());
+        when(httpClient.send(any(HttpRequest.class), any(HttpResponse.BodyHandler.class))).thenReturn(response);
+        var resolver = new WebDidResolver(httpClient, new ObjectMapper());
+        var registry = new SimpleMeterRegistry();
+        resolver.bindMetrics(registry);
+
+        assertEquals("http://example.com/api", resolver.resolveProtocolEndpoints("did:web:example.com"));
+        assertEquals("http://example.com/api", resolver.resolveProtocolEndpoints("did:web:example.com"));
+
+        verify(httpClient, times(1)).send(any(HttpRequest.class), any(HttpResponse.BodyHandler.class));
+        assertThat(registry.get("cache.gets").tags("cache", WebDidResolver.CACHE_NAME, "result", "hit").functionCounter().count()).isEqualTo(1);
+        assertThat(registry.get("cache.gets").tags("cache", WebDidResolver.CACHE_NAME, "result", "miss").functionCounter().count()).isEqualTo(1);
+        assertThat(registry.get("cache.size").tag("cache", WebDidResolver.CACHE_NAME).gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    void cachesFailedLookups() throws Exception {
+        var httpClient = mock(HttpClient.class);
+        when(httpClient.send(any(HttpRequest.class), any(HttpResponse.BodyHandler.class))).thenThrow(new IOException("network"));
+        var resolver = new WebDidResolver(httpClient, new ObjectMapper());
+        var registry = new SimpleMeterRegistry();
+        resolver.bindMetrics(registry);
+
+        assertNull(resolver.resolveProtocolEndpoints("did:web:example.com"));
+        assertNull(resolver.resolveProtocolEndpoints("did:web:example.com"));
+
+        verify(httpClient, times(1)).send(any(HttpRequest.class), any(HttpResponse.BodyHandler.class));
+        // failed lookups are not documents, they are not counted as hits
+        assertThat(registry.get("cache.gets").tags("cache", WebDidResolver.CACHE_NAME, "result", "hit").functionCounter().count()).isZero();
+    }
+
+    @Test
+    void doesNotCacheNoStoreDocuments() throws Exception {
+        var httpClient = mock(HttpClient.class);
+        var response = mockResponse(200, DID_DOCUMENT, Map.of("Cache-Control", "no-store"));
+        when(httpClient.send(any(HttpRequest.class), any(HttpResponse.BodyHandler.class))).thenReturn(response);
+        var resolver = new WebDidResolver(httpClient, new ObjectMapper());
+
+        resolver.resolveProtocolEndpoints("did:web:example.com");
+        resolver.resolveProtocolEndpoints("did:web:example.com");
+
+        verify(httpClient, times(2)).send(any(HttpRequest.class), any(HttpResponse.BodyHandler.class));
+    }
+
+    @Test
+    void revalidatesExpiredDocumentWithEtag() throws Exception {
+        var httpClient = mock(HttpClient.class);
+        var captor = ArgumentCaptor.forClass(HttpRequest.class);
+        var first = mockResponse(200, DID_DOCUMENT, Map.of("Cache-Control", "max-age=0", "ETag", "\"v1\""));
+        var notModified = mockResponse(304, "", Map.of("Cache-Control", "max-age=0"));
+        when(httpClient.send(captor.capture(), any(HttpResponse.BodyHandler.class))).thenReturn(first, notModified);
+        var resolver = new WebDidResolver(httpClient, new ObjectMapper());
+
+        assertEquals("http://example.com/api", resolver.resolveProtocolEndpoints("did:web:example.com"));
+        assertEquals("http://example.com/api", resolver.resolveProtocolEndpoints("did:web:example.com"));
+
+        var revalidation = captor.getAllValues().get(1);
+        assertThat(revalidation.headers().firstValue("If-None-Match")).contains("\"v1\"");
+    }
+
+    @Test
+    void countsExpiredDocumentAsMiss() throws Exception {
+        var httpClient = mock(HttpClient.class);
+        var response = mockResponse(200, DID_DOCUMENT, Map.of("Cache-Control", "max-age=0"));
+        when(httpClient.send(any(HttpRequest.class), any(HttpResponse.BodyHandler.class))).thenReturn(response);
+        var resolver = new WebDidResolver(httpClient, new ObjectMapper());
+        var registry = new SimpleMeterRegistry();
+        resolver.bindMetrics(registry);
+
+        resolver.resolveProtocolEndpoints("did:web:example.com");
+        resolver.resolveProtocolEndpoints("did:web:example.com");
+
+        verify(httpClient, times(2)).send(any(HttpRequest.class), any(HttpResponse.BodyHandler.class));
+        assertThat(registry.get("cache.gets").tags("cache", WebDidResolver.CACHE_NAME, "result", "hit").functionCounter().count()).isZero();
+        assertThat(registry.get("cache.gets").tags("cache", WebDidResolver.CACHE_NAME, "result", "miss").functionCounter().count()).isEqualTo(2);
+    }
+
+    private HttpResponse<String> mockResponse(int status, String body, Map<String, String> headers) {
+        @SuppressWarnings("unchecked")
+        var httpResponse = (HttpResponse<String>) mock(HttpResponse.class);
+        when(httpResponse.statusCode()).thenReturn(status);
+        when(httpResponse.body()).thenReturn(body);
+        var headerMap = new HashMap<String, List<String>>();
+        headers.forEach((k, v) -> headerMap.put(k, List.of(v)));
+        when(httpResponse.headers()).thenReturn(HttpHeaders.of(headerMap, (k, v) -> true));
+        return httpResponse;
+    }
+
     private WebDidResolver resolverWithMockResponse(int status, String body, ArgumentCaptor<HttpRequest> requestCaptor) throws Exception {
         var httpClient = mock(HttpClient.class);
         @SuppressWarnings("unchecked")
@@ -0,0 +1,106 @@
+/*
+ *  Copyright (c) 2026 Metaform Systems, Inc.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Metaform Systems, Inc. - initial API and implementation
+ *
+ */
+
+package com.metaformsystems.redline.infrastructure.client;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ClientMetricsTest {
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final ClientMetrics clientMetrics = new ClientMetrics(registry, 2);
+
+    @Test
+    void shouldTagFirstParticipants_andGroupTheRest() {
+        clientMetrics.start("management", "getCatalog", "ctx-1").success();
+        clientMetrics.start("management", "getCatalog", "ctx-2").success();
+        clientMetrics.start("management", "getCatalog", "ctx-3").success();
+        clientMetrics.start("management", "getCatalog", "ctx-1").success();
+        clientMetrics.start("management", "getCatalog", null).success();
+
+        assertThat(count("participant", "ctx-1")).isEqualTo(2);
+        assertThat(count("participant", "ctx-2")).isEqualTo(1);
+        assertThat(count("participant", "other")).isEqualTo(1);
+        assertThat(count("participant", "none")).isEqualTo(1);
+    }
+
+    @Test
+    void shouldRecordCallOnce() {
+        var call = clientMetrics.start("vault", "readSecret", null);
+        call.success();
+        call.failure(new IOException("late"));
+
+        assertThat(count("status", "success")).isEqualTo(1);
+        assertThat(registry.find(ClientMetrics.ERRORS).counter()).isNull();
+    }
+
+    @Test
+    void shouldTrackCallsInFlight() {
+        var call = clientMetrics.start("dataplane", "uploadMultipart", "ctx-1");
+
+        assertThat(registry.get(ClientMetrics.ACTIVE).tag("operation", "uploadMultipart").gauge().value()).isEqualTo(1);
+
+        call.failure(new IOException("connection reset"));
+
+        assertThat(registry.get(ClientMetrics.ACTIVE).tag("operation", "uploadMultipart").gauge().value()).isZero();
+        assertThat(registry.get(ClientMetrics.ERRORS).tags("status", "io_error", "exception", "IOException").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldRecordMono_onSubscription() {
+        var mono = Mono.just("token").transform(clientMetrics.mono("token", "exchange", null));
+
+        assertThat(registry.find(ClientMetrics.REQUESTS).timer()).isNull();
+
+        assertThat(mono.block()).isEqualTo("token");
+        assertThat(mono.block()).isEqualTo("token");
+
+        assertThat(count("operation", "exchange")).isEqualTo(2);
+    }
+
+    @Test
+    void shouldRecordFlux_asFailed() {
+        var flux = Flux.concat(Flux.just(1), Flux.<Integer>error(new IllegalStateException()))
+                .transform(clientMetrics.flux("management", "listTransferProcesses", "ctx-1"));
+
+        assertThatThrownBy(flux::blockLast).isInstanceOf(IllegalStateException.class);
+
+        assertThat(count("status", "error")).isEqualTo(1);
+        assertThat(registry.get(ClientMetrics.ERRORS).tag("exception", "IllegalStateException").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldRecordCancelledFlux_withoutError() {
+        var flux = Flux.range(0, 10).transform(clientMetrics.flux("management", "queryAssets", "ctx-1"));
+
+        assertThat(flux.take(1).blockLast()).isZero();
+
+        assertThat(count("status", "cancelled")).isEqualTo(1);
+        assertThat(registry.find(ClientMetrics.ERRORS).counter()).isNull();
+    }
+
+    private long count(String tag, String value) {
+        return registry.find(ClientMetrics.REQUESTS).tag(tag, value).timers().stream()
+                .mapToLong(Timer::count)
+                .sum();
+    }
+}
@@ -18,6 +18,7 @@ import com.metaformsystems.redline.application.service.TokenProvider;
 import com.metaformsystems.redline.domain.entity.ClientCredentials;
 import com.metaformsystems.redline.domain.entity.Participant;
 import com.metaformsystems.redline.domain.repository.ParticipantRepository;
+import com.metaformsystems.redline.infrastructure.client.dataplane.dto.FileDownload;
 import com.metaformsystems.redline.infrastructure.client.management.dto.QuerySpec;
 import okhttp3.mockwebserver.MockResponse;
 import okhttp3.mockwebserver.MockWebServer;
@@ -26,6 +27,8 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.DynamicPropertyRegistry;
 import org.springframework.test.context.DynamicPropertySource;
@@ -173,14 +176,56 @@ class DataPlaneApiClientIntegrationTest {
                 .addHeader("Content-Type", "application/octet-stream"));
 
         // Act
-        var result = dataPlaneApiClient.downloadFile(participantContextId, fileId);
+        var result = dataPlaneApiClient.downloadFile(participantContextId, fileId, null);
 
         // Assert
-        assertThat(result).isEqualTo(expectedFileData);
+        assertThat(result.status().value()).isEqualTo(200);
+        assertThat(result.headers().getContentType()).isEqualTo(MediaType.APPLICATION_OCTET_STREAM);
+        assertThat(readContent(result)).isEqualTo(expectedFileData);
 
         var request = mockWebServer.takeRequest();
         assertThat(request.getPath()).isEqualTo("/certs/" + fileId);
         assertThat(request.getMethod()).isEqualTo("GET");
+        assertThat(request.getHeader("Range")).isNull();
+    }
+
+    @Test
+    void shouldDownloadFileRange() throws InterruptedException {
+        // Arrange
+        var fileId = "file-123";
+
+        mockWebServer.enqueue(new MockResponse()
+                .setResponseCode(206)
+                .setBody("is the")
+                .addHeader("Content-Type", "application/octet-stream")
+                .addHeader("Content-Range", "bytes 5-10/24"));
+
+        // Act
+        var result = dataPlaneApiClient.downloadFile(participantContextId, fileId, "bytes=5-10");
+
+        // Assert
+        assertThat(result.status().value()).isEqualTo(206);
+        assertThat(result.headers().getFirst("Content-Range")).isEqualTo("bytes 5-10/24");
+        assertThat(readContent(result)).isEqualTo("is the".getBytes());
+
+        var request = mockWebServer.takeRequest();
+        assertThat(request.getHeader("Range")).isEqualTo("bytes=5-10");
+    }
+
+    @Test
+    void shouldPassOnUnsatisfiableRange() {
+        // Arrange
+        mockWebServer.enqueue(new MockResponse()
+                .setResponseCode(416)
+                .addHeader("Content-Range", "bytes */24"));
+
+        // Act
+        var result = dataPlaneApiClient.downloadFile(participantContextId, "file-123", "bytes=100-200");
+
+        // Assert
+        assertThat(result.status().value()).isEqualTo(416);
+        assertThat(result.headers().getFirst("Content-Range")).isEqualTo("bytes */24");
+        assertThat(readContent(result)).isEmpty();
     }
 
     @Test
@@ -193,12 +238,24 @@ class DataPlaneApiClientIntegrationTest {
                 .addHeader("Content-Type", "application/octet-stream"));
 
         // Act
-        var result = dataPlaneApiClient.downloadFile(participantContextId, fileId);
+        var result = dataPlaneApiClient.downloadFile(participantContextId, fileId, null);
 
         // Assert
-        assertThat(result).isNullOrEmpty();
+        assertThat(readContent(result)).isEmpty();
 
         var request = mockWebServer.takeRequest();
         assertThat(request.getPath()).isEqualTo("/certs/" + fileId);
     }
+
+    private byte[] readContent(FileDownload download) {
+        return DataBufferUtils.join(download.content())
+                .map(dataBuffer -> {
+                    var bytes = new byte[dataBuffer.readableByteCount()];
+                    dataBuffer.read(bytes);
+                    DataBufferUtils.release(dataBuffer);
+                    return bytes;
+                })
+                .defaultIfEmpty(new byte[0])
+                .block();
+    }
 }
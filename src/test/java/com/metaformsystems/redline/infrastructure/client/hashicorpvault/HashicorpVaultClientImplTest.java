@@ -0,0 +1,200 @@
+/*
+ *  Copyright (c) 2026 Metaform Systems, Inc.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Metaform Systems, Inc. - initial API and implementation
+ *
+ */
+
+package com.metaformsystems.redline.infrastructure.client.hashicorpvault;
+
+import com.metaformsystems.redline.infrastructure.client.ClientMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+class HashicorpVaultClientImplTest {
+
+    private static final Instant NOW = Instant.parse("2026-01-01T10:00:00Z");
+    private static final String PATH = "/v1/secret/data/ctx-1";
+    private final MutableClock clock = new MutableClock(NOW);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private MockWebServer mockWebServer;
+    private HashicorpVaultClientImpl vaultClient;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        mockWebServer = new MockWebServer();
+        mockWebServer.start();
+        var webClient = WebClient.builder()
+                .baseUrl(mockWebServer.url("/").toString())
+                .build();
+        vaultClient = new HashicorpVaultClientImpl(webClient, "test-token", Duration.ofMinutes(5), Duration.ofSeconds(30), clock, ClientMetrics.NOOP);
+        vaultClient.bindMetrics(meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        mockWebServer.shutdown();
+    }
+
+    @Test
+    void shouldServeCachedSecret_untilLeaseExpires() {
+        mockWebServer.enqueue(secretResponse("secret-1", 1, 60));
+        mockWebServer.enqueue(secretResponse("secret-2", 2, 60));
+
+        assertThat(vaultClient.readSecret(PATH)).isEqualTo("secret-1");
+        clock.instant = NOW.plusSeconds(29);
+        assertThat(vaultClient.readSecret(PATH)).isEqualTo("secret-1");
+        assertThat(mockWebServer.getRequestCount()).isEqualTo(1);
+
+        clock.instant = NOW.plusSeconds(60);
+        assertThat(vaultClient.readSecret(PATH)).isEqualTo("secret-2");
+        assertThat(mockWebServer.getRequestCount()).isEqualTo(2);
+        assertThat(meterRegistry.get("cache.gets").tags("cache", HashicorpVaultClientImpl.CACHE_NAME, "result", "hit").functionCounter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("cache.gets").tags("cache", HashicorpVaultClientImpl.CACHE_NAME, "result", "miss").functionCounter().count()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldUseDefaultTtl_whenVaultReportsNoLease() {
+        mockWebServer.enqueue(secretResponse("secret-1", 1, 0));
+
+        vaultClient.readSecret(PATH);
+        clock.instant = NOW.plus(Duration.ofMinutes(4));
+
+        assertThat(vaultClient.readSecret(PATH)).isEqualTo("secret-1");
+        assertThat(mockWebServer.getRequestCount()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldRefreshAheadOfExpiry() {
+        mockWebServer.enqueue(secretResponse("secret-1", 1, 60));
+        mockWebServer.enqueue(secretResponse("secret-2", 2, 60));
+        vaultClient.readSecret(PATH);
+
+        // within the refresh margin the cached secret is still served, while it is re-read in the background
+        clock.instant = NOW.plusSeconds(45);
+        assertThat(vaultClient.readSecret(PATH)).isEqualTo("secret-1");
+
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> assertThat(vaultClient.readSecret(PATH)).isEqualTo("secret-2"));
+        assertThat(mockWebServer.getRequestCount()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldKeepNewerVersion_whenRefreshReturnsOlderOne() {
+        mockWebServer.enqueue(secretResponse("secret-3", 3, 60));
+        mockWebServer.enqueue(secretResponse("secret-2", 2, 60));
+        vaultClient.readSecret(PATH);
+
+        clock.instant = NOW.plusSeconds(45);
+        vaultClient.readSecret(PATH);
+        await().atMost(Duration.ofSeconds(5)).until(() -> mockWebServer.getRequestCount() == 2);
+
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> assertThat(vaultClient.readSecret(PATH)).isEqualTo("secret-3"));
+        assertThat(mockWebServer.getRequestCount()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldCoalesceConcurrentReads() {
+        mockWebServer.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                return secretResponse("secret-1", 1, 60).setHeadersDelay(200, TimeUnit.MILLISECONDS);
+            }
+        });
+
+        var reads = IntStream.range(0, 10)
+                .mapToObj(i -> CompletableFuture.supplyAsync(() -> vaultClient.readSecret(PATH)))
+                .toList();
+
+        assertThat(reads).allSatisfy(read -> assertThat(read.join()).isEqualTo("secret-1"));
+        assertThat(mockWebServer.getRequestCount()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldNotCacheMissingSecret() {
+        mockWebServer.enqueue(new MockResponse().setResponseCode(404).addHeader("Content-Type", "application/json").setBody("{\"errors\": []}"));
+        mockWebServer.enqueue(secretResponse("secret-1", 1, 60));
+
+        assertThat(vaultClient.readSecret(PATH)).isEmpty();
+        assertThat(vaultClient.readSecret(PATH)).isEqualTo("secret-1");
+        assertThat(mockWebServer.getRequestCount()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldFetchAgain_afterEviction() {
+        mockWebServer.enqueue(secretResponse("secret-1", 1, 60));
+        mockWebServer.enqueue(secretResponse("secret-2", 2, 60));
+
+        vaultClient.readSecret(PATH);
+        vaultClient.evict(PATH);
+
+        assertThat(vaultClient.readSecret(PATH)).isEqualTo("secret-2");
+    }
+
+    private static MockResponse secretResponse(String content, int version, int leaseDuration) {
+        return new MockResponse()
+                .addHeader("Content-Type", "application/json")
+                .setBody("""
+                        {
+                            "lease_duration": %d,
+                            "data": {
+                                "data": {
+                                    "content": "%s"
+                                },
+                                "metadata": {
+                                    "version": %d
+                                }
+                            }
+                        }
+                        """.formatted(leaseDuration, content, version));
+    }
+
+    private static class MutableClock extends Clock {
+        private volatile Instant instant;
+
+        MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
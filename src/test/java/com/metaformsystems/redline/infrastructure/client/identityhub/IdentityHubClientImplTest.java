@@ -19,6 +19,8 @@ import com.metaformsystems.redline.domain.entity.ClientCredentials;
 import com.metaformsystems.redline.domain.entity.Participant;
 import com.metaformsystems.redline.domain.exception.ObjectNotFoundException;
 import com.metaformsystems.redline.domain.repository.ParticipantRepository;
+import com.metaformsystems.redline.domain.service.ParticipantContextRegistry;
+import com.metaformsystems.redline.infrastructure.client.ClientMetrics;
 import com.metaformsystems.redline.infrastructure.client.identityhub.dto.CredentialDescriptor;
 import com.metaformsystems.redline.infrastructure.client.identityhub.dto.CredentialRequestDto;
 import com.metaformsystems.redline.infrastructure.client.identityhub.dto.DidRequestPayload;
@@ -34,6 +36,7 @@ import org.springframework.web.reactive.function.client.WebClient;
 
 import java.io.IOException;
 import java.net.InetAddress;
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -77,9 +80,10 @@ class IdentityHubClientImplTest {
         identityHubClient = new IdentityHubClientImpl(
                 webClient,
                 tokenProvider,
-                participantRepository,
+                new ParticipantContextRegistry(participantRepository, 100, Duration.ofMinutes(10)),
                 ADMIN_CLIENT_ID,
-                ADMIN_CLIENT_SECRET
+                ADMIN_CLIENT_SECRET,
+                ClientMetrics.NOOP
         );
 
         when(tokenProvider.getToken(anyString(), eq("identity-api:read")))
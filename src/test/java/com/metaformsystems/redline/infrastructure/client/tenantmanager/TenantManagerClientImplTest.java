@@ -15,12 +15,14 @@
 package com.metaformsystems.redline.infrastructure.client.tenantmanager;
 
 import com.metaformsystems.redline.application.service.TokenProvider;
+import com.metaformsystems.redline.infrastructure.client.ClientMetrics;
 import com.metaformsystems.redline.infrastructure.client.tenantmanager.v1alpha1.TenantManagerClientImpl;
 import com.metaformsystems.redline.infrastructure.client.tenantmanager.v1alpha1.dto.CellCreationRequest;
 import com.metaformsystems.redline.infrastructure.client.tenantmanager.v1alpha1.dto.ModelQuery;
 import com.metaformsystems.redline.infrastructure.client.tenantmanager.v1alpha1.dto.ParticipantProfile;
 import com.metaformsystems.redline.infrastructure.client.tenantmanager.v1alpha1.dto.TenantCreationRequest;
 import com.metaformsystems.redline.infrastructure.client.tenantmanager.v1alpha1.dto.TenantPropertiesDiff;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import okhttp3.mockwebserver.MockResponse;
 import okhttp3.mockwebserver.MockWebServer;
 import org.junit.jupiter.api.AfterEach;
@@ -29,6 +31,7 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.test.util.TestSocketUtils;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
 
 import java.io.IOException;
 import java.net.InetAddress;
@@ -38,6 +41,7 @@ import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
@@ -48,6 +52,7 @@ class TenantManagerClientImplTest {
 
     private static final String TEST_TOKEN = "test-token";
     private final TokenProvider tokenProvider = mock();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
     private MockWebServer mockWebServer;
     private TenantManagerClientImpl tenantManagerClient;
 
@@ -63,7 +68,7 @@ class TenantManagerClientImplTest {
         when(tokenProvider.getToken(anyString(), eq("identity-api:read")))
                 .thenReturn(TEST_TOKEN);
 
-        tenantManagerClient = new TenantManagerClientImpl(webClient, tokenProvider);
+        tenantManagerClient = new TenantManagerClientImpl(webClient, tokenProvider, new ClientMetrics(meterRegistry, 10));
     }
 
     @AfterEach
@@ -344,6 +349,34 @@ class TenantManagerClientImplTest {
         assertEquals("GET", recordedRequest.getMethod());
     }
 
+    @Test
+    @DisplayName("should record the call to get a participant profile")
+    void getParticipantProfile_recordsCall() {
+        mockWebServer.enqueue(new MockResponse()
+                .setResponseCode(200)
+                .addHeader("Content-Type", "application/json")
+                .setBody("{\"id\": \"participant-1\"}"));
+
+        tenantManagerClient.getParticipantProfile("tenant-1", "participant-1");
+
+        var timer = meterRegistry.get("redline.client.requests")
+                .tags("downstream", "tenantmanager", "operation", "getParticipantProfile", "status", "success", "participant", "none")
+                .timer();
+        assertEquals(1, timer.count());
+        assertEquals(0, meterRegistry.get("redline.client.requests.active").tag("operation", "getParticipantProfile").gauge().value());
+    }
+
+    @Test
+    @DisplayName("should record a failed call to get a participant profile with its status code")
+    void getParticipantProfile_recordsFailure() {
+        mockWebServer.enqueue(new MockResponse().setResponseCode(503));
+
+        assertThrows(WebClientResponseException.class, () -> tenantManagerClient.getParticipantProfile("tenant-1", "participant-1"));
+
+        assertEquals(1, meterRegistry.get("redline.client.requests").tags("operation", "getParticipantProfile", "status", "503").timer().count());
+        assertEquals(1, meterRegistry.get("redline.client.errors").tags("operation", "getParticipantProfile", "status", "503").counter().count());
+    }
+
     @Test
     @DisplayName("should deploy participant profile successfully")
     void deployParticipantProfile_success() throws InterruptedException {
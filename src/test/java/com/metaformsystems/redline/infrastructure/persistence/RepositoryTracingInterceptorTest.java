@@ -0,0 +1,69 @@
+/*
+ *  Copyright (c) 2026 Metaform Systems, Inc.
+ *
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Apache License, Version 2.0 which is available at
+ *  https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  SPDX-License-Identifier: Apache-2.0
+ *
+ *  Contributors:
+ *       Metaform Systems, Inc. - initial API and implementation
+ *
+ */
+
+package com.metaformsystems.redline.infrastructure.persistence;
+
+import io.micrometer.tracing.test.simple.SimpleTracer;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.ProxyFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RepositoryTracingInterceptorTest {
+    private final SimpleTracer tracer = new SimpleTracer();
+
+    @Test
+    void shouldNameSpanAfterRepositoryMethod() {
+        var repository = traced(name -> "tenant " + name);
+
+        assertThat(repository.findByName("a")).isEqualTo("tenant a");
+
+        var span = tracer.onlySpan();
+        assertThat(span.getName()).isEqualTo("SampleRepository.findByName");
+        assertThat(span.getTags()).containsEntry("repository", "SampleRepository");
+        assertThat(span.getError()).isNull();
+    }
+
+    @Test
+    void shouldRecordError() {
+        var repository = traced(name -> {
+            throw new IllegalStateException("connection refused");
+        });
+
+        assertThatThrownBy(() -> repository.findByName("a")).isInstanceOf(IllegalStateException.class);
+
+        assertThat(tracer.onlySpan().getError()).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void shouldNotTraceObjectMethods() {
+        var repository = traced(name -> name);
+
+        repository.toString();
+
+        assertThat(tracer.getSpans()).isEmpty();
+    }
+
+    private SampleRepository traced(SampleRepository target) {
+        var proxyFactory = new ProxyFactory(target);
+        proxyFactory.addInterface(SampleRepository.class);
+        proxyFactory.addAdvice(new RepositoryTracingInterceptor(() -> tracer, SampleRepository.class));
+        return (SampleRepository) proxyFactory.getProxy();
+    }
+
+    interface SampleRepository {
+        String findByName(String name);
+    }
+}